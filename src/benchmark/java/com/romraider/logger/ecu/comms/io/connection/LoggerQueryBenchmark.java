@@ -0,0 +1,89 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.logger.ecu.comms.io.connection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.romraider.io.protocol.ssm.iso9141.SSMProtocol;
+import com.romraider.io.simulator.SimulatedConnectionManager;
+import com.romraider.logger.ecu.comms.manager.PollingState;
+import com.romraider.logger.ecu.comms.manager.PollingStateImpl;
+import com.romraider.logger.ecu.comms.query.EcuQuery;
+import com.romraider.logger.ecu.comms.query.EcuQueryImpl;
+import com.romraider.logger.ecu.definition.EcuData;
+import com.romraider.logger.ecu.definition.LoggerData;
+import com.romraider.logger.ecu.definition.Module;
+import com.romraider.logger.ecu.definition.SyntheticLoggerData;
+
+/**
+ * One SSM logger query of the selected parameters, from building the
+ * request to setting each query's response, against the simulated ECU.
+ * Without baud timing this is the logger's own cost per sample, with it
+ * the sample rate a 4800 baud K-line allows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoggerQueryBenchmark {
+    private static final Module ECU = new Module(
+            "ECU", new byte[]{0x10}, "Engine", new byte[]{(byte) 0xF0}, true);
+
+    @Param({"8", "32"})
+    int parameters;
+
+    @Param({"false", "true"})
+    boolean baudTiming;
+
+    private LoggerConnection connection;
+    private Collection<EcuQuery> queries;
+    private PollingState pollState;
+
+    @Setup
+    public void setUp() {
+        final SimulatedConnectionManager manager = new SimulatedConnectionManager(
+                "SSM", new SSMProtocol().getDefaultConnectionProperties(),
+                SimulatedConnectionManager.createMemory(null, 0));
+        manager.setLatency(0);
+        manager.setBaudTiming(baudTiming);
+        connection = new SSMLoggerConnection(manager);
+        queries = new ArrayList<EcuQuery>(parameters);
+        for (LoggerData parameter : SyntheticLoggerData.createParameters(parameters)) {
+            queries.add(new EcuQueryImpl((EcuData) parameter));
+        }
+        pollState = new PollingStateImpl();
+    }
+
+    @Benchmark
+    public Collection<EcuQuery> sendAddressReads() {
+        connection.sendAddressReads(queries, ECU, pollState);
+        return queries;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.logger.ecu.comms.manager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.romraider.logger.ecu.comms.query.IndexedResponse;
+import com.romraider.logger.ecu.comms.query.Response;
+import com.romraider.logger.ecu.comms.query.ResponseLayout;
+import com.romraider.logger.ecu.definition.LoggerData;
+import com.romraider.logger.ecu.definition.SyntheticLoggerData;
+import com.romraider.logger.ecu.ui.handler.DataUpdateHandler;
+import com.romraider.logger.ecu.ui.handler.DeliveryPolicy;
+import com.romraider.logger.ecu.ui.handler.DeliveryPolicyAware;
+
+/**
+ * Publishing logger samples to several handlers, each on its own
+ * dispatcher thread, until every handler has seen the last sample.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AsyncDataUpdateHandlerBenchmark {
+    private static final int BATCH = 1000;
+
+    @Param({"1", "4"})
+    int handlers;
+
+    @Param({"LOSSLESS", "DROP_OLDEST", "LATEST"})
+    DeliveryPolicy policy;
+
+    private AsyncDataUpdateHandler updater;
+    private SampleCountingHandler[] counters;
+    private ResponseLayout layout;
+    private long timestamp;
+
+    @Setup
+    public void setUp() {
+        final List<LoggerData> loggerDatas = SyntheticLoggerData.createParameters(20);
+        layout = new ResponseLayout(loggerDatas);
+        counters = new SampleCountingHandler[handlers];
+        for (int i = 0; i < handlers; i++) {
+            counters[i] = new SampleCountingHandler(policy);
+        }
+        updater = new AsyncDataUpdateHandler(counters);
+        updater.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        updater.stopUpdater();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void fanOut() {
+        for (int i = 0; i < BATCH; i++) {
+            Response recycled = updater.recycleResponse();
+            final IndexedResponse response = recycled == null
+                    ? new IndexedResponse(layout) : (IndexedResponse) recycled;
+            response.reset(++timestamp);
+            for (int slot = 0; slot < layout.size(); slot++) {
+                response.setDataValue(slot, timestamp + slot);
+            }
+            updater.addResponse(response);
+        }
+        for (SampleCountingHandler counter : counters) {
+            while (counter.lastTimestamp != timestamp) {
+                Thread.yield();
+            }
+        }
+    }
+
+    private static final class SampleCountingHandler
+            implements DataUpdateHandler, DeliveryPolicyAware {
+        private final DeliveryPolicy policy;
+        private volatile long lastTimestamp;
+        private double total;
+
+        private SampleCountingHandler(DeliveryPolicy policy) {
+            this.policy = policy;
+        }
+
+        public DeliveryPolicy getDeliveryPolicy() {
+            return policy;
+        }
+
+        public void handleDataUpdate(Response response) {
+            for (int i = 0; i < response.size(); i++) {
+                total += response.getDataValue(i);
+            }
+            lastTimestamp = response.getTimestamp();
+        }
+
+        public void registerData(LoggerData loggerData) {
+        }
+
+        public void deregisterData(LoggerData loggerData) {
+        }
+
+        public void cleanUp() {
+        }
+
+        public void reset() {
+        }
+    }
+}
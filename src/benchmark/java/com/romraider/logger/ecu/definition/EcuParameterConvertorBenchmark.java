@@ -0,0 +1,80 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.logger.ecu.definition;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.romraider.Settings;
+import com.romraider.logger.ecu.ui.handler.dash.GaugeMinMax;
+
+/**
+ * Conversion of raw ECU response bytes to a value and of the value to its
+ * display text, once per parameter per logger sample.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EcuParameterConvertorBenchmark {
+
+    @Param({"uint8", "uint16", "int16", "float"})
+    String dataType;
+
+    private EcuParameterConvertorImpl convertor;
+    private byte[][] samples;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        final int length = dataType.equals("uint8") ? 1 : dataType.equals("float") ? 4 : 2;
+        final Map<String, String> replaceMap = new HashMap<String, String>();
+        replaceMap.put("0.00", "Off");
+        convertor = new EcuParameterConvertorImpl("units", "x*0.0078125", "0.00", -1,
+                dataType, Settings.Endian.BIG, replaceMap, new GaugeMinMax(0, 255, 1));
+        samples = new byte[256][length];
+        for (int i = 0; i < samples.length; i++) {
+            for (int j = 0; j < length; j++) {
+                samples[i][j] = (byte) (i * 31 + j * 7);
+            }
+        }
+    }
+
+    @Benchmark
+    public double convert() {
+        next = (next + 1) & 0xFF;
+        return convertor.convert(samples[next]);
+    }
+
+    @Benchmark
+    public String convertAndFormat() {
+        next = (next + 1) & 0xFF;
+        return convertor.format(convertor.convert(samples[next]));
+    }
+}
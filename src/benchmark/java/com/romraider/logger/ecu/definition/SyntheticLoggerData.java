@@ -0,0 +1,52 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.logger.ecu.definition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import com.romraider.Settings;
+import com.romraider.logger.ecu.ui.handler.dash.GaugeMinMax;
+
+/**
+ * Creates logger parameters with a single scaled convertor, in place of
+ * those read from a logger definition.
+ */
+public final class SyntheticLoggerData {
+
+    private SyntheticLoggerData() {
+    }
+
+    public static List<LoggerData> createParameters(int count) {
+        final List<LoggerData> parameters = new ArrayList<LoggerData>(count);
+        for (int i = 0; i < count; i++) {
+            parameters.add(new EcuParameterImpl("P" + i, "Parameter " + i, "synthetic",
+                    new EcuAddressImpl(String.format("0x%06X", 0x20 + i * 2), 2, -1),
+                    null, null, null,
+                    new EcuDataConvertor[] {
+                        new EcuParameterConvertorImpl("units", "x*0.0078125", "0.00", -1,
+                                "uint16", Settings.Endian.BIG, new HashMap<String, String>(),
+                                new GaugeMinMax(0, 512, 16))
+                    }));
+        }
+        return parameters;
+    }
+}
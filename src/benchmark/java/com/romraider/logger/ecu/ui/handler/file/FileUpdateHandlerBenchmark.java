@@ -0,0 +1,121 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.logger.ecu.ui.handler.file;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.romraider.logger.ecu.comms.query.IndexedResponse;
+import com.romraider.logger.ecu.comms.query.ResponseLayout;
+import com.romraider.logger.ecu.definition.LoggerData;
+import com.romraider.logger.ecu.definition.SyntheticLoggerData;
+
+/**
+ * Formatting of one logger sample into a log line or binary row, with the
+ * file output itself discarded so only the handler is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FileUpdateHandlerBenchmark {
+
+    @Param({"10", "50"})
+    int parameters;
+
+    @Param({"false", "true"})
+    boolean binary;
+
+    private FileUpdateHandlerImpl handler;
+    private IndexedResponse response;
+    private long timestamp;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        final List<LoggerData> loggerDatas = SyntheticLoggerData.createParameters(parameters);
+        handler = new FileUpdateHandlerImpl(new DiscardingFileLogger(binary, blackhole));
+        for (LoggerData loggerData : loggerDatas) {
+            handler.registerData(loggerData);
+        }
+        handler.start();
+        response = new IndexedResponse(new ResponseLayout(loggerDatas));
+    }
+
+    @Benchmark
+    public void handleDataUpdate() {
+        response.reset(++timestamp);
+        for (int i = 0; i < parameters; i++) {
+            response.setDataValue(i, (timestamp + i) * 0.25);
+        }
+        handler.handleDataUpdate(response);
+    }
+
+    private static final class DiscardingFileLogger implements FileLogger {
+        private final boolean binary;
+        private final Blackhole blackhole;
+        private boolean started;
+
+        private DiscardingFileLogger(boolean binary, Blackhole blackhole) {
+            this.binary = binary;
+            this.blackhole = blackhole;
+        }
+
+        public void start() {
+            started = true;
+        }
+
+        public void stop() {
+            started = false;
+        }
+
+        public void writeHeaders(String headers) {
+            blackhole.consume(headers);
+        }
+
+        public void writeLine(String line, long timestamp) {
+            blackhole.consume(line);
+        }
+
+        public boolean isBinary() {
+            return binary;
+        }
+
+        public void writeSchema(List<BinaryLogColumn> columns, String delimiter) {
+            blackhole.consume(columns);
+        }
+
+        public void writeValues(double[] values, long timestamp) {
+            blackhole.consume(values);
+        }
+
+        public boolean isStarted() {
+            return started;
+        }
+    }
+}
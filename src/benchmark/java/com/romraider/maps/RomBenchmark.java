@@ -0,0 +1,67 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.maps;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.romraider.swing.JProgressPane;
+
+/**
+ * Populating a synthetic ROM of 3D tables from its image, as done when
+ * an image is opened.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RomBenchmark {
+
+    @Param({"100", "1000"})
+    int tables;
+
+    private final JProgressPane progress = new JProgressPane();
+    private byte[] image;
+    private Rom rom;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        image = SyntheticRom.createImage(tables);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        rom = SyntheticRom.createRom(tables);
+    }
+
+    @Benchmark
+    public Rom populateTables() {
+        rom.populateTables(image, progress);
+        return rom;
+    }
+}
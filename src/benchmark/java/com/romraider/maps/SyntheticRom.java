@@ -0,0 +1,96 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.maps;
+
+import java.util.Random;
+
+import com.romraider.Settings;
+
+/**
+ * Builds a ROM of 16 bit 3D tables with ascending 16 bit axes over a
+ * generated image, in place of a definition and a real image.
+ */
+final class SyntheticRom {
+    static final int SIZE = 16;
+    private static final int TABLE_BYTES = (SIZE + SIZE + SIZE * SIZE) * 2;
+
+    private SyntheticRom() {
+    }
+
+    static byte[] createImage(int tableCount) {
+        final byte[] image = new byte[0x1000 + tableCount * TABLE_BYTES];
+        final Random random = new Random(tableCount);
+        random.nextBytes(image);
+        for (int t = 0; t < tableCount; t++) {
+            final int address = tableAddress(t);
+            for (int i = 0; i < SIZE; i++) {
+                putShort(image, address + i * 2, 500 * i);
+                putShort(image, address + (SIZE + i) * 2, 400 * i);
+            }
+        }
+        return image;
+    }
+
+    static Rom createRom(int tableCount) {
+        final RomID romID = new RomID();
+        romID.setXmlid("SYNTHETIC");
+        final Rom rom = new Rom(romID);
+        for (int t = 0; t < tableCount; t++) {
+            final int address = tableAddress(t);
+            final Table3D table = new Table3D();
+            table.setName("Table " + t);
+            table.setSizeX(SIZE);
+            table.setSizeY(SIZE);
+            table.setXAxis(createAxis("X " + t, address));
+            table.setYAxis(createAxis("Y " + t, address + SIZE * 2));
+            configure(table, address + SIZE * 4);
+            rom.addTableByName(table);
+        }
+        return rom;
+    }
+
+    private static Table1D createAxis(String name, int address) {
+        final Table1D axis = new Table1D();
+        axis.setName(name);
+        axis.setDataSize(SIZE);
+        configure(axis, address);
+        return axis;
+    }
+
+    private static void configure(Table table, int address) {
+        table.setStorageAddress(address);
+        table.setStorageType(2);
+        table.setEndian(Settings.Endian.BIG);
+        final Scale scale = new Scale();
+        scale.setName("Default");
+        scale.setExpression("x*0.01");
+        scale.setByteExpression("x/0.01");
+        table.addScale(scale);
+    }
+
+    private static int tableAddress(int table) {
+        return 0x1000 + table * TABLE_BYTES;
+    }
+
+    private static void putShort(byte[] image, int address, int value) {
+        image[address] = (byte) (value >> 8);
+        image[address + 1] = (byte) value;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.maps;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.romraider.swing.JProgressPane;
+
+/**
+ * Interpolated lookups into a populated 3D table, as made for each live
+ * data sample shown on an open table.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class Table3DBenchmark {
+    private static final int SAMPLES = 1024;
+
+    private final double[] inputX = new double[SAMPLES];
+    private final double[] inputY = new double[SAMPLES];
+    private final double[] output = new double[SAMPLES];
+    private Table3D table;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        final Rom rom = SyntheticRom.createRom(1);
+        rom.populateTables(SyntheticRom.createImage(1), new JProgressPane());
+        table = (Table3D) rom.getTableByName("Table 0");
+        final Random random = new Random(SAMPLES);
+        for (int i = 0; i < SAMPLES; i++) {
+            inputX[i] = random.nextDouble() * 80;
+            inputY[i] = random.nextDouble() * 64;
+        }
+    }
+
+    @Benchmark
+    public double queryTable() {
+        next = (next + 1) & (SAMPLES - 1);
+        return table.queryTable(inputX[next], inputY[next]);
+    }
+
+    @Benchmark
+    public double[] queryTableBatch() {
+        table.queryTable(inputX, inputY, output);
+        return output;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.maps.checksum;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Full validation and single edit update of each built in checksum type
+ * over a synthetic image, with every checksum covering the whole image.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChecksumBenchmark {
+
+    @Param({"1048576", "4194304"})
+    int size;
+
+    @Param({"STD", "ALT", "ALT2", "BYTEXOR", "MOTRONICSINGLE", "MOTRONICDOUBLE", "COPY"})
+    String type;
+
+    private byte[] bin;
+    private ChecksumManager manager;
+    private int edit;
+
+    @Setup
+    public void setUp() throws Exception {
+        bin = new byte[size];
+        new Random(size).nextBytes(bin);
+        final int half = size / 2;
+        final Map<String, String> vars = new HashMap<String, String>();
+        vars.put("start", hex(0));
+        vars.put("end", hex(size));
+        vars.put("sumloc", hex(0x100));
+        vars.put("xorloc", hex(0x104));
+        vars.put("skiploc", hex(half));
+        vars.put("loc", hex(0x100));
+        if (type.startsWith("MOTRONIC")) {
+            vars.put("start", hex(0x200));
+            vars.put("end", hex(half - 1));
+            vars.put("startsecond", hex(half));
+            vars.put("endsecond", hex(size - 1));
+        }
+        else if (type.equals("COPY")) {
+            vars.put("end", hex(half - 1));
+            vars.put("loc", hex(half));
+        }
+        manager = (ChecksumManager) Class.forName(
+                getClass().getPackage().getName() + ".Checksum" + type).newInstance();
+        manager.configure(vars);
+        manager.update(bin);
+    }
+
+    @Benchmark
+    public int validate() {
+        manager.invalidate(0, bin.length);
+        return manager.validate(bin);
+    }
+
+    @Benchmark
+    public int updateAfterEdit() {
+        edit = (edit + 4099) % (bin.length - 0x1000) + 0x200;
+        bin[edit]++;
+        manager.invalidate(edit, 1);
+        return manager.update(bin);
+    }
+
+    private static String hex(int value) {
+        return Integer.toHexString(value);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Evaluation of typical definition expressions by name, as the logger
+ * and table scaling do, and through an already compiled expression.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JEPUtilBenchmark {
+
+    @Param({"x", "x*0.0078125", "(x-128)*100/255", "x*14.7/32768"})
+    String expression;
+
+    private final Map<String, Double> valueMap = new HashMap<String, Double>();
+    private CompiledExpression compiled;
+    private double x;
+
+    @Setup
+    public void setUp() {
+        compiled = JEPUtil.compile(expression);
+    }
+
+    @Benchmark
+    public double evaluate() {
+        x = (x + 1) % 256;
+        return JEPUtil.evaluate(expression, x);
+    }
+
+    @Benchmark
+    public double evaluateMap() {
+        x = (x + 1) % 256;
+        valueMap.put("x", x);
+        return JEPUtil.evaluate(expression, valueMap);
+    }
+
+    @Benchmark
+    public double evaluateCompiled() {
+        x = (x + 1) % 256;
+        return compiled.evaluate(x);
+    }
+}
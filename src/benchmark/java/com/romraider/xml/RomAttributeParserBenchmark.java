@@ -0,0 +1,65 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.xml;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.romraider.Settings;
+
+/**
+ * Decoding of a single table cell from a synthetic image, the innermost
+ * step of populating every table of a ROM.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RomAttributeParserBenchmark {
+
+    @Param({"1", "2", "4"})
+    int length;
+
+    @Param({"BIG", "LITTLE"})
+    Settings.Endian endian;
+
+    private byte[] image;
+    private int address;
+
+    @Setup
+    public void setUp() {
+        image = new byte[0x10000];
+        new Random(length).nextBytes(image);
+    }
+
+    @Benchmark
+    public long parseByteValue() {
+        address = (address + length) & 0xFFF0;
+        return RomAttributeParser.parseByteValue(image, endian, address, length, true);
+    }
+}
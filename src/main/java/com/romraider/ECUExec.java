@@ -53,6 +53,7 @@ public class ECUExec {
     private static final String START_LOGGER_ARG = "-logger";
     private static final String START_LOGGER_FULLSCREEN_ARG = "-logger.fullscreen";
     private static final String LOGGER_TOUCH_ARG = "-logger.touch";
+    private static final String LOGGER_SIMULATE_ARG = "-logger.simulate";
     private static final ResourceBundle rb = new ResourceUtil().getBundle(
             ECUExec.class.getName());
 
@@ -126,7 +127,8 @@ public class ECUExec {
         for (String arg : args) {
             if (	arg.equalsIgnoreCase(START_LOGGER_ARG) ||
             		arg.equalsIgnoreCase(START_LOGGER_FULLSCREEN_ARG) ||
-            		arg.equalsIgnoreCase(LOGGER_TOUCH_ARG)) {
+            		arg.equalsIgnoreCase(LOGGER_TOUCH_ARG) ||
+            		arg.equalsIgnoreCase(LOGGER_SIMULATE_ARG)) {
                 return true;
             }
         }
@@ -23,6 +23,7 @@ import static com.romraider.Version.RELEASE_NOTES;
 import static com.romraider.Version.ROM_REVISION_URL;
 import static com.romraider.Version.SUPPORT_URL;
 import static com.romraider.util.ParamChecker.checkNotNullOrEmpty;
+import static java.util.Collections.unmodifiableMap;
 
 import java.awt.Color;
 import java.awt.Dimension;
@@ -33,6 +34,7 @@ import java.io.Serializable;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.romraider.io.connection.ConnectionProperties;
 import com.romraider.logger.ecu.definition.EcuDefinition;
@@ -216,6 +218,7 @@ public class Settings implements Serializable {
     private String fileLoggingControllerSwitchId = "S20"; // defogger switch by default
     private boolean fileLoggingControllerSwitchActive = false;
     private boolean fileLoggingAbsoluteTimestamp;
+    private boolean fileLoggingBinary;
     private String logfileNameText;
     private boolean logExternalsOnly;
     private boolean autoConnectOnStartup = true;
@@ -230,6 +233,8 @@ public class Settings implements Serializable {
     private ConnectionProperties loggerConnectionProperties;
     private Map<String, EcuDefinition> loggerEcuDefinitionMap;
     private Map<String, String> loggerPluginPorts;
+    private final Map<String, Integer> loggerPollIntervals =
+            new ConcurrentHashMap<String, Integer>();
     private boolean loggerRefreshMode;
     private static String loggerTargetModule = "ecu";
     private static Module loggerDestinationTarget;
@@ -282,11 +287,25 @@ public class Settings implements Serializable {
      */
 	private Boolean searchElm327 = false;
 
+    /**
+     * Simulated ECU used in place of a cable, see SimulatedConnectionManager.
+     * The command line option enables it for the current session only.
+     */
+    private boolean loggerSimulatorEnabled;
+    private boolean loggerSimulatorSession;
+    private String loggerSimulatorImage = "";
+    private int loggerSimulatorImageAddress;
+    private int loggerSimulatorLatency = 10;
+    private double loggerSimulatorErrorRate;
+    private boolean loggerSimulatorBaudTiming = true;
+
     public Settings() {
-        //center window by default
-        Dimension screenSize = java.awt.Toolkit.getDefaultToolkit().getScreenSize();
-        windowLocation.move(((int) (screenSize.getWidth() - windowSize.getWidth()) / 2),
-                ((int) (screenSize.getHeight() - windowSize.getHeight()) / 2));
+        //center window by default, there is no screen when run headless
+        if (!java.awt.GraphicsEnvironment.isHeadless()) {
+            Dimension screenSize = java.awt.Toolkit.getDefaultToolkit().getScreenSize();
+            windowLocation.move(((int) (screenSize.getWidth() - windowSize.getWidth()) / 2),
+                    ((int) (screenSize.getHeight() - windowSize.getHeight()) / 2));
+        }
     }
 
     public Dimension getWindowSize() {
@@ -666,6 +685,14 @@ public class Settings implements Serializable {
         this.fileLoggingAbsoluteTimestamp = fileLoggingAbsoluteTimestamp;
     }
 
+    public boolean isFileLoggingBinary() {
+        return fileLoggingBinary;
+    }
+
+    public void setFileLoggingBinary(boolean fileLoggingBinary) {
+        this.fileLoggingBinary = fileLoggingBinary;
+    }
+
     public ConnectionProperties getLoggerConnectionProperties() {
         return loggerConnectionProperties;
     }
@@ -706,6 +733,28 @@ public class Settings implements Serializable {
         this.loggerPluginPorts = loggerPluginPorts;
     }
 
+    /**
+     * @return the number of poll cycles between queries of the parameter,
+     * 1 when it is polled every cycle
+     */
+    public int getLoggerPollInterval(String parameterId) {
+        final Integer interval = loggerPollIntervals.get(parameterId);
+        return interval == null ? 1 : interval;
+    }
+
+    public void setLoggerPollInterval(String parameterId, int interval) {
+        if (interval > 1) {
+            loggerPollIntervals.put(parameterId, interval);
+        }
+        else {
+            loggerPollIntervals.remove(parameterId);
+        }
+    }
+
+    public Map<String, Integer> getLoggerPollIntervals() {
+        return unmodifiableMap(loggerPollIntervals);
+    }
+
     public void setLoggerParameterListState(boolean ShowListState) {
         this.loggerParameterListState = ShowListState;
     }
@@ -999,4 +1048,64 @@ public class Settings implements Serializable {
     public boolean isTableTreeSorted() {
         return this.sortTableTree;
     }
+
+    /**
+     * @return true if the logger connects to a simulated ECU, either from
+     * the settings or for this session from the command line
+     */
+    public boolean isLoggerSimulated() {
+        return loggerSimulatorEnabled || loggerSimulatorSession;
+    }
+
+    public boolean isLoggerSimulatorEnabled() {
+        return loggerSimulatorEnabled;
+    }
+
+    public void setLoggerSimulatorEnabled(boolean enabled) {
+        this.loggerSimulatorEnabled = enabled;
+    }
+
+    public void setLoggerSimulatorSession(boolean enabled) {
+        this.loggerSimulatorSession = enabled;
+    }
+
+    public String getLoggerSimulatorImage() {
+        return loggerSimulatorImage;
+    }
+
+    public void setLoggerSimulatorImage(String path) {
+        this.loggerSimulatorImage = path;
+    }
+
+    public int getLoggerSimulatorImageAddress() {
+        return loggerSimulatorImageAddress;
+    }
+
+    public void setLoggerSimulatorImageAddress(int address) {
+        this.loggerSimulatorImageAddress = address;
+    }
+
+    public int getLoggerSimulatorLatency() {
+        return loggerSimulatorLatency;
+    }
+
+    public void setLoggerSimulatorLatency(int millis) {
+        this.loggerSimulatorLatency = millis;
+    }
+
+    public double getLoggerSimulatorErrorRate() {
+        return loggerSimulatorErrorRate;
+    }
+
+    public void setLoggerSimulatorErrorRate(double rate) {
+        this.loggerSimulatorErrorRate = rate;
+    }
+
+    public boolean isLoggerSimulatorBaudTiming() {
+        return loggerSimulatorBaudTiming;
+    }
+
+    public void setLoggerSimulatorBaudTiming(boolean enabled) {
+        this.loggerSimulatorBaudTiming = enabled;
+    }
 }
@@ -29,6 +29,14 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
@@ -48,6 +56,8 @@ import com.romraider.maps.Rom;
 import com.romraider.swing.DefinitionFilter;
 import com.romraider.util.SettingsManager;
 import com.romraider.xml.DOMRomUnmarshaller;
+import com.romraider.xml.RomDefinitionCache;
+import com.romraider.xml.RomDefinitionIndex;
 import com.romraider.xml.ConversionLayer.ConversionLayer;
 import com.romraider.xml.ConversionLayer.ConversionLayerFactory;
 
@@ -141,6 +151,97 @@ public class OpenImageWorker extends SwingWorker<Void, Void> {
 	    return doc;
     }
 
+    // Identify the ROM in a definition file. Standard definitions are
+    // indexed in a streaming pass, the index is cached on disk, and only
+    // the matching ROM and its bases are loaded into a DOM. Converted
+    // definitions are loaded in full.
+    private Node findRomNode(File f, byte[] input, boolean first) throws Exception {
+        if(ConversionLayerFactory.requiresConversionLayer(f)) {
+            Document doc = createDocument(f);
+            return first ? DOMRomUnmarshaller.findFirstRomNode(doc.getDocumentElement())
+                    : new DOMRomUnmarshaller().checkDefinitionMatch(doc.getDocumentElement(), input);
+        }
+
+        RomDefinitionIndex index = RomDefinitionCache.getInstance().getIndex(f);
+        RomDefinitionIndex.Entry entry = first ? index.getFirst() : index.findMatch(input);
+        return entry == null ? null : index.materialize(entry);
+    }
+
+    /**
+     * The ROM identified in a definition file by a scan. A standard
+     * definition's ROM is only loaded into a DOM once it is chosen.
+     */
+    private static final class Match {
+        private final RomDefinitionIndex index;
+        private final RomDefinitionIndex.Entry entry;
+        private final Node romNode;
+
+        Match(RomDefinitionIndex index, RomDefinitionIndex.Entry entry) {
+            this.index = index;
+            this.entry = entry;
+            this.romNode = null;
+        }
+
+        Match(Node romNode) {
+            this.index = null;
+            this.entry = null;
+            this.romNode = romNode;
+        }
+
+        Node load() throws Exception {
+            return romNode != null ? romNode : index.materialize(entry);
+        }
+    }
+
+    // Check the romids of a definition against the image without loading
+    // the definition's ROMs
+    private Match scanDefinition(File f, byte[] input) throws Exception {
+        if(ConversionLayerFactory.requiresConversionLayer(f)) {
+            Node romNode = findRomNode(f, input, false);
+            return romNode == null ? null : new Match(romNode);
+        }
+
+        RomDefinitionIndex index = RomDefinitionCache.getInstance().getIndex(f);
+        RomDefinitionIndex.Entry entry = index.findMatch(input);
+        return entry == null ? null : new Match(index, entry);
+    }
+
+    // Scan the standard definition files concurrently. Definitions which
+    // need a conversion layer may ask the user for input so they are
+    // scanned in order, when reached, and have no concurrent scan.
+    private List<Future<Match>> startScans(List<File> files, final byte[] input,
+            ExecutorService executor) {
+        List<Future<Match>> scans = new ArrayList<Future<Match>>(files.size());
+        for (final File f : files) {
+            if (!f.exists() || ConversionLayerFactory.requiresConversionLayer(f)) {
+                scans.add(null);
+                continue;
+            }
+            scans.add(executor.submit(new Callable<Match>() {
+                @Override
+                public Match call() throws Exception {
+                    return scanDefinition(f, input);
+                }
+            }));
+        }
+        return scans;
+    }
+
+    private static ExecutorService newScanExecutor(int definitionCount) {
+        int threads = Math.max(1, Math.min(definitionCount,
+                Runtime.getRuntime().availableProcessors()));
+        return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private int count;
+
+            @Override
+            public synchronized Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "Definition Scan " + ++count);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
     private void showExceptionPopup(Exception ex, File defFile) {
 
     	String errorMessage = defFile.getName() + ": " + (ex.getMessage() == null || ex.getMessage().isEmpty() ?
@@ -216,44 +317,71 @@ public class OpenImageWorker extends SwingWorker<Void, Void> {
 
         boolean found = false;
 
-        // parse ecu definition files until result found
-        for (int i = 0; i < settings.getEcuDefinitionFiles().size(); i++) {
-        	File f = settings.getEcuDefinitionFiles().get(i);
-
-            if (!f.exists()) {
-                showMessageDialog(editor,
-                        MessageFormat.format(
-                                ECUEditor.rb.getString("MISSINGMOVED"),
-                                settings.getEcuDefinitionFiles().get(i).getAbsolutePath()),
-                        MessageFormat.format(
-                                ECUEditor.rb.getString("MISSINGFILE"),
-                                settings.getEcuDefinitionFiles().get(i).getName()),
-                        ERROR_MESSAGE);
-                continue;
-            }
-
-            Node romNode = null;
-            Document doc = null;
-
-            try {
-            	doc = createDocument(f);
-				romNode = new DOMRomUnmarshaller().checkDefinitionMatch(doc.getDocumentElement(), input);
-            }
-            catch(Exception e) {
-            	showExceptionPopup(e, f);
-            }
-
-            if(romNode != null) {
-            	openRomWithDefinition(f, doc, romNode, input);
-            	found = true;
-            	break;
+        // scan the ecu definition files concurrently, the first file in
+        // settings order with a match wins and the scans after it are
+        // cancelled
+        List<File> files = new ArrayList<File>(settings.getEcuDefinitionFiles());
+        ExecutorService executor = newScanExecutor(files.size());
+        try {
+            List<Future<Match>> scans = startScans(files, input, executor);
+
+            for (int i = 0; i < files.size(); i++) {
+                File f = files.get(i);
+
+                if (!f.exists()) {
+                    showMessageDialog(editor,
+                            MessageFormat.format(
+                                    ECUEditor.rb.getString("MISSINGMOVED"),
+                                    f.getAbsolutePath()),
+                            MessageFormat.format(
+                                    ECUEditor.rb.getString("MISSINGFILE"),
+                                    f.getName()),
+                            ERROR_MESSAGE);
+                    continue;
+                }
+
+                Node romNode = null;
+
+                try {
+                    Match match = scans.get(i) == null
+                            ? scanDefinition(f, input) : scans.get(i).get();
+                    if (match != null) {
+                        romNode = match.load();
+                    }
+                }
+                catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    showExceptionPopup(cause instanceof Exception
+                            ? (Exception) cause : new Exception(cause), f);
+                }
+                catch (InterruptedException e) {
+                    throw e;
+                }
+                catch (Exception e) {
+                    showExceptionPopup(e, f);
+                }
+
+                if (romNode != null) {
+                    for (int j = i + 1; j < scans.size(); j++) {
+                        if (scans.get(j) != null) {
+                            scans.get(j).cancel(true);
+                        }
+                    }
+                    openRomWithDefinition(f, romNode.getOwnerDocument(), romNode, input);
+                    found = true;
+                    break;
+                }
             }
-         }
+        }
+        finally {
+            executor.shutdownNow();
+        }
 
         if(!found) {
         	showNoDefinitionFoundPopup(input);
         }
 
+        RomDefinitionCache.getInstance().save();
 		return null;
     }
 
@@ -279,11 +407,9 @@ public class OpenImageWorker extends SwingWorker<Void, Void> {
             	settings.setLastDefinitionDir(file.getParentFile());
 
                 Node romNode;
-                Document doc = null;
 
 				try {
-					doc = createDocument(file);
-					romNode = new DOMRomUnmarshaller().checkDefinitionMatch(doc.getDocumentElement(), input);
+					romNode = findRomNode(file, input, false);
 				} catch (Exception e) {
 					showExceptionPopup(e, file);
 					return;
@@ -300,12 +426,20 @@ public class OpenImageWorker extends SwingWorker<Void, Void> {
 	                        options[0]);
 
 	                if(answerForceLoad == 0) {
-	                	Node n = DOMRomUnmarshaller.findFirstRomNode(doc.getDocumentElement());
-	                	openRomWithDefinition(file, doc, n, input);
+	                	Node n;
+	                	try {
+	                		n = findRomNode(file, input, true);
+	                	} catch (Exception e) {
+	                		showExceptionPopup(e, file);
+	                		return;
+	                	}
+	                	if(n != null) {
+	                		openRomWithDefinition(file, n.getOwnerDocument(), n, input);
+	                	}
 	                }
             	}
             	else {
-                	openRomWithDefinition(file, doc, romNode, input);
+                	openRomWithDefinition(file, romNode.getOwnerDocument(), romNode, input);
             	}
             }
         }
@@ -29,6 +29,8 @@ import com.romraider.Settings;
 import com.romraider.io.elm327.ElmConnectionManager;
 import com.romraider.io.j2534.api.J2534TransportFactory;
 import com.romraider.io.serial.connection.SerialConnectionManager;
+import com.romraider.io.serial.connection.SerialFrameFormat;
+import com.romraider.io.simulator.SimulatedConnectionManager;
 import com.romraider.util.SettingsManager;
 import com.romraider.util.proxy.TimerWrapper;
 
@@ -46,8 +48,14 @@ public final class ConnectionManagerFactory {
         final Settings settings = SettingsManager.getSettings();
         ConnectionManager manager = null;
 
+        // Use the simulated ECU, no interface is required
+        if (settings.isLoggerSimulated()) {
+            LOGGER.info("Using simulated " + settings.getLoggerProtocol() + " ECU...");
+            manager = SimulatedConnectionManager.getManager(
+                    settings, connectionProperties);
+        }
         // Try a serial connection
-        if (isNullOrEmpty(settings.getJ2534Device())) {
+        else if (isNullOrEmpty(settings.getJ2534Device())) {
 
             if(SettingsManager.getSettings().getElm327Enabled()) {
                 LOGGER.info("Trying to connect to ELM327...");
@@ -55,7 +63,8 @@ public final class ConnectionManagerFactory {
             }
             else {
                 LOGGER.info("Trying serial connection...");
-                manager = new SerialConnectionManager(portName, connectionProperties);
+                manager = new SerialConnectionManager(portName, connectionProperties,
+                        SerialFrameFormat.forProtocol(settings.getLoggerProtocol()));
             }
         }
         else {
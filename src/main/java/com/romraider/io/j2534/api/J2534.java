@@ -59,6 +59,8 @@ public interface J2534 {
 
     void readMsg(int channelId, byte[] response, long timeout);
 
+    void readMsg(int channelId, J2534ReceiveBuffer frames, int numMsg, long timeout);
+
     void stopMsgFilter(int channelId, int msgId);
 
     void clearBuffers(int channelId);
@@ -40,6 +40,7 @@ public final class J2534ConnectionISO15765 implements ConnectionManager {
     private int deviceId;
     private int msgId;
     private final long timeout;
+    private final J2534ReceiveBuffer frames = new J2534ReceiveBuffer(4128);
     private byte[] stopRequest;
 
     public J2534ConnectionISO15765(
@@ -78,8 +79,8 @@ public final class J2534ConnectionISO15765 implements ConnectionManager {
         pollState.setFastPoll(false);
         pollState.setCurrentState(PollingState.State.STATE_0);
         api.writeMsg(channelId, request, timeout, TxFlags.ISO15765_FRAME_PAD);
-        final byte[] readMsg = api.readMsg(channelId, 1, timeout);
-        System.arraycopy(readMsg, 0, response, 0, readMsg.length) ;
+        api.readMsg(channelId, frames, 1, timeout);
+        frames.copyTo(response);
     }
 
     // Send request and wait specified time for one response with unknown length
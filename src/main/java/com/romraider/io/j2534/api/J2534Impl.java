@@ -20,13 +20,13 @@
 package com.romraider.io.j2534.api;
 
 import static java.lang.System.arraycopy;
-import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.apache.log4j.Logger;
@@ -39,6 +39,7 @@ import com.romraider.io.j2534.api.J2534_v0404.SCONFIG_LIST;
 import com.romraider.util.HexUtil;
 import com.sun.jna.Native;
 import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
 import com.sun.jna.ptr.NativeLongByReference;
 
 /**
@@ -48,6 +49,18 @@ public final class J2534Impl implements J2534 {
     private static final Logger LOGGER = Logger.getLogger(J2534Impl.class);
     private final NativeLong protocolID;
     private boolean loopback;
+    // offsets of the PASSTHRU_MSG fields read from native memory
+    private static final int RX_STATUS_OFFSET = NativeLong.SIZE;
+    private static final int TIMESTAMP_OFFSET = NativeLong.SIZE * 3;
+    private static final int DATA_SIZE_OFFSET = NativeLong.SIZE * 4;
+    private static final int DATA_OFFSET = NativeLong.SIZE * 6;
+    private static final int MAX_DATA_SIZE = 4128;
+    // messages requested by one PassThruReadMsgs call
+    private static final int RX_BATCH = 8;
+    private final PASSTHRU_MSG[] rxMsgs =
+            (PASSTHRU_MSG[]) new PASSTHRU_MSG().toArray(RX_BATCH);
+    private final NativeLongByReference rxNumMsgs = new NativeLongByReference();
+    private final J2534ReceiveBuffer rxFrames = new J2534ReceiveBuffer(MAX_DATA_SIZE);
     private static J2534_v0404 lib;
 
 
@@ -923,48 +936,31 @@ public final class J2534Impl implements J2534 {
      */
     @Override
     public void readMsg(int channelId, byte[] response, long timeout) {
+        final long start = nanoTime();
+        final long deadline = start + MILLISECONDS.toNanos(timeout);
         int index = 0;
-        long start = currentTimeMillis();
-        long end = start + timeout;
-        long current = start;
-        int len = 0;
-        do {
-            if (currentTimeMillis() >= end) {
+        rxFrames.clear();
+        while (index < response.length) {
+            if (readFrames(channelId, rxFrames, 1, deadline) == 0) {
                 String errString = String.format(
                     "readMsg error: timeout expired waiting for %d more bytes",
                     response.length - index);
                 throw new J2534Exception(errString);
             }
-            PASSTHRU_MSG msg = doReadMsg(channelId, timeout);
-            if (LOGGER.isTraceEnabled())
-                LOGGER.trace("Read B Msg: " + toString(msg));
-            if (!isResponse(msg)) continue;
             // if we get a large msg back, only read what will fit in the response buffer
-            len = 0;
-            if (msg.dataSize.intValue() <= (response.length - index)) {
-                len = msg.dataSize.intValue();
-            }
-            else if (msg.dataSize.intValue() == (response.length - index)) {
-                len = response.length;
-                if (LOGGER.isTraceEnabled())
-                    LOGGER.trace(String.format(
-                        "readMsg: only read %d of %d bytes from response message",
-                        len, msg.dataSize.intValue()));
-            }
-            else if (msg.dataSize.intValue() > (response.length - index)) {
-                len = response.length - index;
+            final int frame = rxFrames.getFrameCount() - 1;
+            final int len = Math.min(rxFrames.getLength(frame), response.length - index);
+            if (len < rxFrames.getLength(frame) && LOGGER.isTraceEnabled())
                 LOGGER.trace(String.format(
-                        "readMsg: only read %d of %d bytes from response message",
-                        len, msg.dataSize.intValue()));
-            }
-            arraycopy(msg.data, 0, response, index, len);
+                    "readMsg: only read %d of %d bytes from response message",
+                    len, rxFrames.getLength(frame)));
+            arraycopy(rxFrames.array(), rxFrames.getOffset(frame), response, index, len);
             index += len;
-            current = currentTimeMillis();
-        } while ((current <= end) && (index < response.length));
+        }
         if (LOGGER.isTraceEnabled())
             LOGGER.trace(String.format(
                 "readMsg: read %d of %d bytes in %d msecs",
-                index, response.length, (current - start)));
+                index, response.length, NANOSECONDS.toMillis(nanoTime() - start)));
     }
 
     /**
@@ -975,16 +971,10 @@ public final class J2534Impl implements J2534 {
      */
     @Override
     public byte[] readMsg(int channelId, long maxWait) {
-        List<byte[]> responses = new ArrayList<byte[]>();
-        long end = currentTimeMillis() + maxWait;
-        do {
-            PASSTHRU_MSG msg = doReadMsg(channelId, maxWait);
-            if (LOGGER.isTraceEnabled())
-                LOGGER.trace("Read W Msg: " + toString(msg));
-            if (isResponse(msg))
-                responses.add(data(msg));
-        } while (currentTimeMillis() <= end);
-        return concat(responses);
+        final long deadline = nanoTime() + MILLISECONDS.toNanos(maxWait);
+        rxFrames.clear();
+        readFrames(channelId, rxFrames, Integer.MAX_VALUE, deadline);
+        return rxFrames.toByteArray();
     }
 
     /**
@@ -998,30 +988,35 @@ public final class J2534Impl implements J2534 {
      */
     @Override
     public byte[] readMsg(int channelId, int numMsg, long timeout) {
+        readMsg(channelId, rxFrames, numMsg, timeout);
+        return rxFrames.toByteArray();
+    }
+
+    /**
+     * Retrieve the indicated number of messages through the existing communication
+     * channel from the vehicle into a reusable buffer, one frame per message.
+     * If the number of messages can not be read before the timeout expires,
+     * throw an exception.
+     * @param    channelId - handle to the open communications channel
+     * @param    frames    - cleared and filled with the messages read
+     * @param    numMsg    - number of valid messages to retrieve
+     * @param    timeout   - maximum time (in milliseconds) for read completion
+     * @throws   J2534Exception
+     */
+    @Override
+    public void readMsg(int channelId, J2534ReceiveBuffer frames, int numMsg, long timeout) {
         if (loopback) {
             numMsg++;
         }
-        List<byte[]> responses = new ArrayList<byte[]>();
-        long end = currentTimeMillis() + timeout;
-        do {
-            if (currentTimeMillis() >= end) {
-                String errString = String.format(
-                    "readMsg error: timeout expired waiting for %d more message(s)",
-                    numMsg);
-                throw new J2534Exception(errString);
-            }
-            PASSTHRU_MSG[] msgs = doReadMsg(channelId, numMsg, timeout);  // num of msgs to read
-            for (PASSTHRU_MSG msg : msgs) {
-                if (LOGGER.isTraceEnabled())
-                    LOGGER.trace("Read # Msg: " + toString(msg));
-                if (isResponse(msg)) {
-                    responses.add(data(msg));
-                    numMsg--;
-                }
-                if (numMsg == 0) break;
-            }
-        } while (numMsg != 0);
-        return concat(responses);
+        frames.clear();
+        final int read = readFrames(channelId, frames, numMsg,
+                nanoTime() + MILLISECONDS.toNanos(timeout));
+        if (read < numMsg) {
+            String errString = String.format(
+                "readMsg error: timeout expired waiting for %d more message(s)",
+                numMsg - read);
+            throw new J2534Exception(errString);
+        }
     }
 
     /**
@@ -1086,19 +1081,6 @@ public final class J2534Impl implements J2534 {
                 "PassThruClose", ret.intValue());
         }
 
-    private byte[] concat(List<byte[]> responses) {
-        int length = 0;
-        for (byte[] response : responses) length += response.length;
-        byte[] result = new byte[length];
-        int index = 0;
-        for (byte[] response : responses) {
-            if (response.length == 0) continue;
-            System.arraycopy(response, 0, result, index, response.length);
-            index += response.length;
-        }
-        return result;
-    }
-
     private String toString(PASSTHRU_MSG msg) {
         byte[] bytes = new byte[msg.dataSize.intValue()];
         arraycopy(msg.data, 0, bytes, 0, bytes.length);
@@ -1115,9 +1097,9 @@ public final class J2534Impl implements J2534 {
         return str;
     }
 
-    private boolean isResponse(PASSTHRU_MSG msg) {
-        if (msg.timestamp.intValue() != 0) {
-            switch (RxStatus.get(msg.rxStatus.intValue())) {
+    private boolean isResponse(int rxStatus, int timestamp) {
+        if (timestamp != 0) {
+            switch (RxStatus.get(rxStatus)) {
                 case RX_INDICATION:
                     return true;
 
@@ -1152,46 +1134,60 @@ public final class J2534Impl implements J2534 {
         return false;
     }
 
-    private PASSTHRU_MSG doReadMsg(int channelId, long timeout) {
-        PASSTHRU_MSG msg = passThruMessage();
-        NativeLongByReference pNumMsgs = new NativeLongByReference();
-        pNumMsgs.setValue(new NativeLong(1));
-        NativeLong status = lib.PassThruReadMsgs(
-                new NativeLong(channelId),
-                msg.getPointer(),
-                pNumMsgs,
-                new NativeLong(timeout)
-            );
-        if (status.intValue() != Status.NOERROR.getValue() &&
-            status.intValue() != Status.ERR_TIMEOUT.getValue() &&
-            status.intValue() != Status.ERR_BUFFER_EMPTY.getValue())
-                handleError("PassThruReadMsgs", status.intValue());
-        msg.read();
-        return msg;
+    /**
+     * Read response messages into the frame buffer until <i>numMsg</i> have
+     * been read or the deadline passes.  Messages are read in batches into
+     * the pooled PASSTHRU_MSG array and only the header fields and the
+     * data bytes in use are copied out of native memory.
+     * @param    deadline - System.nanoTime() value at which to stop
+     * @return   the number of response messages read
+     */
+    private int readFrames(int channelId, J2534ReceiveBuffer frames,
+            int numMsg, long deadline) {
+        int read = 0;
+        while (read < numMsg) {
+            final long timeout = NANOSECONDS.toMillis(deadline - nanoTime());
+            if (timeout <= 0) break;
+            final int batch = Math.min(RX_BATCH, numMsg - read);
+            setNumMsgs(batch);
+            NativeLong status = lib.PassThruReadMsgs(
+                    new NativeLong(channelId),
+                    rxMsgs[0].getPointer(),
+                    rxNumMsgs,
+                    new NativeLong(timeout)
+                );
+            if (status.intValue() != Status.NOERROR.getValue() &&
+                status.intValue() != Status.ERR_TIMEOUT.getValue() &&
+                status.intValue() != Status.ERR_BUFFER_EMPTY.getValue())
+                    handleError("PassThruReadMsgs", status.intValue());
+            final int cnt = Math.min(batch, rxNumMsgs.getValue().intValue());
+            for (int i = 0; i < cnt; i++) {
+                final Pointer msg = rxMsgs[i].getPointer();
+                final int rxStatus = msg.getNativeLong(RX_STATUS_OFFSET).intValue();
+                final int timestamp = msg.getNativeLong(TIMESTAMP_OFFSET).intValue();
+                final int dataSize = Math.min(MAX_DATA_SIZE,
+                        msg.getNativeLong(DATA_SIZE_OFFSET).intValue());
+                if (LOGGER.isTraceEnabled())
+                    LOGGER.trace(String.format(
+                        "Read Msg: [rxStatus=0x%02x | timestamp=0x%x | dataSize=%d | data=%s]",
+                        rxStatus, timestamp, dataSize,
+                        HexUtil.asHex(msg.getByteArray(DATA_OFFSET, dataSize))));
+                if (isResponse(rxStatus, timestamp)) {
+                    frames.append(msg, DATA_OFFSET, dataSize);
+                    read++;
+                }
+            }
+        }
+        return read;
     }
 
-    private PASSTHRU_MSG[] doReadMsg(int channelId, int nm, long timeout) {
-        PASSTHRU_MSG[] msgs =
-        (PASSTHRU_MSG[]) new PASSTHRU_MSG.ByReference().toArray(nm);
-        NativeLongByReference pNumMsgs = new NativeLongByReference();
-        pNumMsgs.setValue(new NativeLong(nm));
-        NativeLong status = lib.PassThruReadMsgs(
-                new NativeLong(channelId),
-                msgs[0].getPointer(),
-                pNumMsgs,
-                new NativeLong(timeout)
-            );
-        if (status.intValue() != Status.NOERROR.getValue() &&
-            status.intValue() != Status.ERR_TIMEOUT.getValue() &&
-            status.intValue() != Status.ERR_BUFFER_EMPTY.getValue())
-                handleError("PassThruReadMsgs", status.intValue());
-        int cnt = pNumMsgs.getValue().intValue();
-        if (cnt > nm && LOGGER.isTraceEnabled())
-            LOGGER.trace(cnt - nm + " msgs dropped");
-        for (int i = 0; i < cnt ; i++) {
-            msgs[i].read();
+    private void setNumMsgs(int numMsgs) {
+        if (NativeLong.SIZE == 8) {
+            rxNumMsgs.getPointer().setLong(0, numMsgs);
+        }
+        else {
+            rxNumMsgs.getPointer().setInt(0, numMsgs);
         }
-        return msgs;
     }
 
     private ConfigItem[] configItems(SCONFIG_LIST sConfigs) {
@@ -1279,13 +1275,6 @@ public final class J2534Impl implements J2534 {
         return msg;
     }
 
-    private byte[] data(PASSTHRU_MSG msg) {
-        int length = msg.dataSize.intValue();
-        byte[] data = new byte[length];
-        arraycopy(msg.data, 0, data, 0, length);
-        return data;
-    }
-
     private int setMsgFilter(int channelId, int filterType,
             PASSTHRU_MSG maskMsg, PASSTHRU_MSG patternMsg,
             PASSTHRU_MSG flowMsg) {
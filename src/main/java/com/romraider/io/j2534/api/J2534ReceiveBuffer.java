@@ -0,0 +1,141 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.io.j2534.api;
+
+import static com.romraider.util.ParamChecker.checkGreaterThanZero;
+import static java.lang.System.arraycopy;
+
+import java.util.Arrays;
+
+import com.sun.jna.Pointer;
+
+/**
+ * A reusable buffer of the frames received by one read.  The data of all
+ * frames is stored back to back in a single array and each frame is a
+ * slice of it, so a read does not allocate once the buffer has grown to
+ * the size of the largest response.
+ */
+public final class J2534ReceiveBuffer {
+    private byte[] data;
+    private int[] offsets = new int[8];
+    private int[] lengths = new int[8];
+    private int frameCount;
+    private int size;
+
+    public J2534ReceiveBuffer(int capacity) {
+        checkGreaterThanZero(capacity, "capacity");
+        data = new byte[capacity];
+    }
+
+    /**
+     * Remove all frames, keeping the storage for the next read.
+     */
+    public void clear() {
+        frameCount = 0;
+        size = 0;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return the offset of the frame's data in {@link #array()}
+     */
+    public int getOffset(int frame) {
+        checkFrame(frame);
+        return offsets[frame];
+    }
+
+    /**
+     * @return the number of data bytes in the frame
+     */
+    public int getLength(int frame) {
+        checkFrame(frame);
+        return lengths[frame];
+    }
+
+    /**
+     * @return the total number of data bytes in all frames
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the backing array, valid until the buffer is next cleared
+     */
+    public byte[] array() {
+        return data;
+    }
+
+    /**
+     * Copy the data of all frames into <i>bytes</i>, up to its length.
+     * @return the number of bytes copied
+     */
+    public int copyTo(byte[] bytes) {
+        final int length = Math.min(size, bytes.length);
+        arraycopy(data, 0, bytes, 0, length);
+        return length;
+    }
+
+    /**
+     * @return a copy of the data of all frames
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    // append a frame of length bytes read from native memory at offset
+    void append(Pointer pointer, long offset, int length) {
+        ensureCapacity(length);
+        pointer.read(offset, data, size, length);
+        addFrame(length);
+    }
+
+    void append(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        arraycopy(bytes, offset, data, size, length);
+        addFrame(length);
+    }
+
+    private void addFrame(int length) {
+        if (frameCount == offsets.length) {
+            offsets = Arrays.copyOf(offsets, frameCount * 2);
+            lengths = Arrays.copyOf(lengths, frameCount * 2);
+        }
+        offsets[frameCount] = size;
+        lengths[frameCount++] = length;
+        size += length;
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > data.length) {
+            data = Arrays.copyOf(data, Math.max(size + length, data.length * 2));
+        }
+    }
+
+    private void checkFrame(int frame) {
+        if (frame < 0 || frame >= frameCount) {
+            throw new IndexOutOfBoundsException(
+                    "frame: " + frame + ", frames: " + frameCount);
+        }
+    }
+}
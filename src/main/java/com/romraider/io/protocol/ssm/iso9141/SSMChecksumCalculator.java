@@ -29,8 +29,13 @@ public final class SSMChecksumCalculator {
     }
 
     public static byte calculateChecksum(byte[] bytes) {
+        return calculateChecksum(bytes, 0, bytes.length);
+    }
+
+    // checksum of the frame of length bytes at offset, excluding its last byte
+    public static byte calculateChecksum(byte[] bytes, int offset, int length) {
         int total = 0;
-        for (int i = 0; i < (bytes.length - 1); i++) {
+        for (int i = offset; i < (offset + length - 1); i++) {
             byte b = bytes[i];
             total += asInt(b);
         }
@@ -0,0 +1,315 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.io.protocol.ssm.iso9141;
+
+import static com.romraider.io.protocol.ssm.iso9141.SSMProtocol.ADDRESS_SIZE;
+import static com.romraider.io.protocol.ssm.iso9141.SSMProtocol.RESPONSE_NON_DATA_BYTES;
+import static com.romraider.io.protocol.ssm.iso9141.SSMResponseProcessor.validateResponse;
+import static com.romraider.util.ParamChecker.checkNotNullOrEmpty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import com.romraider.io.protocol.Protocol;
+import com.romraider.logger.ecu.comms.query.EcuQuery;
+import com.romraider.logger.ecu.definition.Module;
+
+/**
+ * The reads needed to poll a set of queries once with SSM over K-line.
+ * Addresses shared by several queries are read once. Runs of consecutive
+ * addresses are read with a memory block read (A0) when that is shorter
+ * than listing them in an address read (A8), the remaining addresses are
+ * split into address reads no longer than the request length byte allows.
+ * <p>
+ * A plan is built for the queries of one poll and reused for as long as
+ * the same queries are polled. Once prepared, each read keeps its request
+ * frame and response buffer so polling allocates nothing.
+ */
+public final class SSMReadPlan {
+    // the data_length byte counts the command and padding bytes too
+    static final int MAX_ADDRESSES = (0xFF - 2) / ADDRESS_SIZE;
+    // the block size used when reading the DimeMod init data
+    static final int MAX_BLOCK = 96;
+    // a block read costs about the line time of ten listed addresses
+    static final int MIN_BLOCK = 10;
+
+    private final List<EcuQuery> queries;
+    private final int[] addresses;
+    private final int[][] querySlots;
+    private final byte[][] queryData;
+    private final byte[] values;
+    private final List<Read> reads;
+    private Module module;
+
+    /**
+     * One request of the plan.
+     */
+    public static final class Read {
+        private final boolean block;
+        private final int[] slots;
+        private final byte[][] addresses;
+        private byte[] request;
+        private byte[] response;
+
+        private Read(boolean block, int[] slots, byte[][] addresses) {
+            this.block = block;
+            this.slots = slots;
+            this.addresses = addresses;
+        }
+
+        /**
+         * @return true for a memory block read of {@link #getLength()}
+         * bytes from the first address, false for an address read
+         */
+        public boolean isBlock() {
+            return block;
+        }
+
+        /**
+         * @return the addresses to read, a block read uses only the first
+         */
+        public byte[][] getAddresses() {
+            return addresses;
+        }
+
+        /**
+         * @return the number of data bytes in the response
+         */
+        public int getLength() {
+            return slots.length;
+        }
+
+        /**
+         * @return the prepared request frame
+         */
+        public byte[] getRequest() {
+            return request;
+        }
+
+        /**
+         * @return the prepared buffer for the request echo and response
+         */
+        public byte[] getResponse() {
+            return response;
+        }
+    }
+
+    /**
+     * @param queries - the queries polled together
+     * @param blockReads - false if the ECU only supports address reads
+     */
+    public SSMReadPlan(Collection<EcuQuery> queries, boolean blockReads) {
+        checkNotNullOrEmpty(queries, "queries");
+        this.queries = new ArrayList<EcuQuery>(queries);
+
+        int count = 0;
+        for (EcuQuery query : this.queries) {
+            count += query.getBytes().length / ADDRESS_SIZE;
+        }
+        final int[] all = new int[count];
+        int n = 0;
+        for (EcuQuery query : this.queries) {
+            final byte[] bytes = query.getBytes();
+            for (int i = 0; i + ADDRESS_SIZE <= bytes.length; i += ADDRESS_SIZE) {
+                all[n++] = toAddress(bytes, i);
+            }
+        }
+        Arrays.sort(all);
+        n = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (i == 0 || all[i] != all[i - 1]) {
+                all[n++] = all[i];
+            }
+        }
+        addresses = Arrays.copyOf(all, n);
+        values = new byte[n];
+
+        querySlots = new int[this.queries.size()][];
+        queryData = new byte[this.queries.size()][];
+        for (int q = 0; q < querySlots.length; q++) {
+            final byte[] bytes = this.queries.get(q).getBytes();
+            final int[] slots = new int[bytes.length / ADDRESS_SIZE];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = Arrays.binarySearch(
+                        addresses, toAddress(bytes, i * ADDRESS_SIZE));
+            }
+            querySlots[q] = slots;
+            queryData[q] = new byte[slots.length];
+        }
+
+        reads = Collections.unmodifiableList(planReads(blockReads));
+    }
+
+    private List<Read> planReads(boolean blockReads) {
+        final List<Read> planned = new ArrayList<Read>();
+        final int[] listed = new int[addresses.length];
+        int listedCount = 0;
+        int i = 0;
+        while (i < addresses.length) {
+            int run = 1;
+            while (i + run < addresses.length
+                    && addresses[i + run] == addresses[i] + run) {
+                run++;
+            }
+            if (blockReads && run >= MIN_BLOCK) {
+                for (int from = i; from < i + run; from += MAX_BLOCK) {
+                    final int length = Math.min(MAX_BLOCK, i + run - from);
+                    planned.add(new Read(true, range(from, length),
+                            new byte[][] {toBytes(addresses[from])}));
+                }
+            }
+            else {
+                for (int j = i; j < i + run; j++) {
+                    listed[listedCount++] = j;
+                }
+            }
+            i += run;
+        }
+
+        for (int from = 0; from < listedCount; from += MAX_ADDRESSES) {
+            final int length = Math.min(MAX_ADDRESSES, listedCount - from);
+            final int[] slots = Arrays.copyOfRange(listed, from, from + length);
+            final byte[][] bytes = new byte[length][];
+            for (int j = 0; j < length; j++) {
+                bytes[j] = toBytes(addresses[slots[j]]);
+            }
+            planned.add(new Read(false, slots, bytes));
+        }
+        return planned;
+    }
+
+    /**
+     * @return true if the plan was built for these queries, in this order
+     */
+    public boolean isFor(Collection<EcuQuery> queries) {
+        if (queries.size() != this.queries.size()) {
+            return false;
+        }
+        int i = 0;
+        for (EcuQuery query : queries) {
+            if (query != this.queries.get(i++)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<Read> getReads() {
+        return reads;
+    }
+
+    public boolean hasBlockReads() {
+        for (Read read : reads) {
+            if (read.block) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Build the request frame and response buffer of each read for the
+     * module, this is only done again if the module changes.
+     */
+    public void prepare(Protocol protocol, Module module) {
+        if (module == this.module) {
+            return;
+        }
+        for (Read read : reads) {
+            read.request = read.block
+                    ? protocol.constructReadMemoryRequest(
+                            module, read.addresses[0], read.getLength())
+                    : protocol.constructReadAddressRequest(
+                            module, read.addresses);
+            read.response = new byte[read.request.length
+                    + read.getLength() + RESPONSE_NON_DATA_BYTES];
+        }
+        this.module = module;
+    }
+
+    /**
+     * Validate the response held in a prepared read's buffer and keep
+     * its data until all reads are done.
+     */
+    public void setData(Read read) {
+        final byte[] response = read.response;
+        final int offset = read.request.length;
+        validateResponse(response, offset, module);
+        // 0x80 0xF0 0x10 data_length 0xE8 response_data checksum
+        final int data = offset + RESPONSE_NON_DATA_BYTES - 1;
+        for (int i = 0; i < read.slots.length; i++) {
+            values[read.slots[i]] = response[data + i];
+        }
+    }
+
+    /**
+     * Keep the data of a read's response until all reads are done.
+     * @param data - the response data, one byte per address read
+     */
+    public void setData(Read read, byte[] data) {
+        if (data.length < read.slots.length) {
+            throw new IllegalArgumentException("Expected "
+                    + read.slots.length + " data bytes, got " + data.length);
+        }
+        for (int i = 0; i < read.slots.length; i++) {
+            values[read.slots[i]] = data[i];
+        }
+    }
+
+    /**
+     * Set the response of each query from the data of all reads.
+     */
+    public void setResponses() {
+        for (int q = 0; q < querySlots.length; q++) {
+            final int[] slots = querySlots[q];
+            final byte[] data = queryData[q];
+            for (int i = 0; i < slots.length; i++) {
+                data[i] = values[slots[i]];
+            }
+            queries.get(q).setResponse(data);
+        }
+    }
+
+    private static int[] range(int from, int length) {
+        final int[] slots = new int[length];
+        for (int i = 0; i < length; i++) {
+            slots[i] = from + i;
+        }
+        return slots;
+    }
+
+    private static int toAddress(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) << 16
+                | (bytes[offset + 1] & 0xFF) << 8
+                | bytes[offset + 2] & 0xFF;
+    }
+
+    private static byte[] toBytes(int address) {
+        final byte[] bytes = new byte[ADDRESS_SIZE];
+        bytes[0] = (byte) (address >> 16);
+        bytes[1] = (byte) (address >> 8);
+        bytes[2] = (byte) address;
+        return bytes;
+    }
+}
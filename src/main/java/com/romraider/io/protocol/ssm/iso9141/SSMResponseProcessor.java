@@ -35,9 +35,13 @@ import static com.romraider.util.ParamChecker.checkNotNull;
 import static com.romraider.util.ParamChecker.checkNotNullOrEmpty;
 
 import com.romraider.logger.ecu.comms.manager.PollingState;
+import com.romraider.logger.ecu.definition.Module;
 import com.romraider.logger.ecu.exception.InvalidResponseException;
 
 public final class SSMResponseProcessor {
+    private static final byte[] RESPONSE_CODES = new byte[]{ECU_INIT_RESPONSE,
+            READ_ADDRESS_RESPONSE, READ_MEMORY_RESPONSE, WRITE_ADDRESS_RESPONSE,
+            WRITE_MEMORY_RESPONSE};
 
     private SSMResponseProcessor() {
         throw new UnsupportedOperationException();
@@ -60,15 +64,22 @@ public final class SSMResponseProcessor {
     }
 
     public static void validateResponse(byte[] response) {
-        int i = 0;
-        assertTrue(response.length > RESPONSE_NON_DATA_BYTES, "Invalid response length");
+        validateResponse(response, 0, module);
+    }
+
+    // validates the response frame that follows the request echo at offset,
+    // in place so a prepared response buffer can be reused
+    public static void validateResponse(byte[] response, int offset, Module module) {
+        final int length = response.length - offset;
+        int i = offset;
+        assertTrue(length > RESPONSE_NON_DATA_BYTES, "Invalid response length");
         assertEquals(HEADER, response[i++], "Invalid header");
         assertEquals(module.getTester()[0], response[i++], "Invalid diagnostic tool id");
         assertEquals(module.getAddress()[0], response[i++],
                 "Invalid " + module.getName() + " id");
-        assertEquals(asByte(response.length - RESPONSE_NON_DATA_BYTES + 1), response[i++], "Invalid response data length");
-        assertOneOf(new byte[]{ECU_INIT_RESPONSE, READ_ADDRESS_RESPONSE, READ_MEMORY_RESPONSE, WRITE_ADDRESS_RESPONSE, WRITE_MEMORY_RESPONSE}, response[i], "Invalid response code");
-        assertEquals(calculateChecksum(response), response[response.length - 1], "Invalid checksum");
+        assertEquals(asByte(length - RESPONSE_NON_DATA_BYTES + 1), response[i++], "Invalid response data length");
+        assertOneOf(RESPONSE_CODES, response[i], "Invalid response code");
+        assertEquals(calculateChecksum(response, offset, length), response[response.length - 1], "Invalid checksum");
     }
 
     public static byte[] extractResponseData(byte[] response) {
@@ -19,6 +19,9 @@
 
 package com.romraider.io.serial.connection;
 
+import static com.romraider.util.ThreadUtil.sleep;
+import static java.lang.System.currentTimeMillis;
+
 public interface SerialConnection {
     void write(byte[] bytes);
 
@@ -37,4 +40,29 @@ public interface SerialConnection {
     void close();
     
     void sendBreak(int duration);
+
+    // Wait up to timeout msec for numBytes to be available
+    default boolean waitForBytes(int numBytes, long timeout) {
+        final long end = currentTimeMillis() + timeout;
+        while (available() < numBytes) {
+            if (currentTimeMillis() >= end) return false;
+            sleep(1);
+        }
+        return true;
+    }
+
+    // Read the response to request, returns once the line has been idle
+    // for timeout msec unless the connection can recognise a complete frame
+    default byte[] readResponse(byte[] request, SerialFrameFormat format, long timeout) {
+        int available = 0;
+        long lastChange = currentTimeMillis();
+        while ((currentTimeMillis() - lastChange) < timeout) {
+            sleep(2);
+            if (available() != available) {
+                available = available();
+                lastChange = currentTimeMillis();
+            }
+        }
+        return readAvailable();
+    }
 }
@@ -20,6 +20,7 @@
 package com.romraider.io.serial.connection;
 
 import static com.fazecast.jSerialComm.SerialPort.FLOW_CONTROL_DISABLED;
+import static com.fazecast.jSerialComm.SerialPort.LISTENING_EVENT_DATA_AVAILABLE;
 import static com.fazecast.jSerialComm.SerialPort.TIMEOUT_READ_SEMI_BLOCKING;
 import static com.romraider.util.HexUtil.asHex;
 import static com.romraider.util.ParamChecker.checkNotNull;
@@ -28,15 +29,14 @@ import static com.romraider.util.ThreadUtil.sleep;
 import static java.lang.System.currentTimeMillis;
 import static org.apache.log4j.Logger.getLogger;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 
 import org.apache.log4j.Logger;
 
 import com.fazecast.jSerialComm.SerialPort;
+import com.fazecast.jSerialComm.SerialPortDataListener;
+import com.fazecast.jSerialComm.SerialPortEvent;
 import com.fazecast.jSerialComm.SerialPortInvalidPortException;
 import com.romraider.io.connection.ConnectionProperties;
 import com.romraider.logger.ecu.exception.ConfigurationException;
@@ -45,10 +45,13 @@ import com.romraider.logger.ecu.exception.SerialCommunicationException;
 
 public class SerialConnectionImpl implements SerialConnection {
     private static final Logger LOGGER = getLogger(SerialConnectionImpl.class);
+    private static final int BUFFER_SIZE = 1024;
+    private final SerialReadBuffer buffer = new SerialReadBuffer(BUFFER_SIZE);
+    private final StringBuilder line = new StringBuilder();
     private final SerialPort serialPort;
     private final BufferedOutputStream os;
-    private final BufferedInputStream is;
-    private final BufferedReader reader;
+    private byte[] received = new byte[BUFFER_SIZE];
+    private boolean skipLF;
 
     public SerialConnectionImpl(String portName, ConnectionProperties connectionProperties) {
         checkNotNullOrEmpty(portName, "portName");
@@ -56,8 +59,8 @@ public class SerialConnectionImpl implements SerialConnection {
         try {
             serialPort = connect(portName, connectionProperties);
             os = new BufferedOutputStream(serialPort.getOutputStream());
-            is = new BufferedInputStream(serialPort.getInputStream());
-            reader = new BufferedReader(new InputStreamReader(is));
+            if (!serialPort.addDataListener(new DataListener()))
+                throw new SerialCommunicationException("Failed to add data listener");
             LOGGER.info("Serial connection initialised: " + connectionProperties);
         } catch (Exception e) {
             close();
@@ -77,41 +80,52 @@ public class SerialConnectionImpl implements SerialConnection {
 
     @Override
     public int available() {
-        try {
-            return is.available();
-        } catch (IOException e) {
-            throw new SerialCommunicationException("Available: " + e);
-        }
+        return buffer.available();
     }
 
     @Override
     public int read() {
-        try {
-            waitForBytes(1);
-            return is.read();
-        } catch (IOException e) {
-            throw new SerialCommunicationException("Read: " + e);
-        }
+        if (!buffer.await(1, 0))
+            throw new SerialCommunicationException("Read: interrupted");
+        return buffer.read();
     }
 
     @Override
     public void read(byte[] bytes) {
-        try {
-            waitForBytes(bytes.length);
-            is.read(bytes, 0, bytes.length);
-        } catch (IOException e) {
-            throw new SerialCommunicationException("Read bytes: " + e);
-        }
+        if (!buffer.await(bytes.length, 0))
+            throw new SerialCommunicationException("Read bytes: interrupted");
+        buffer.read(bytes, 0, bytes.length);
     }
 
     @Override
     public String readLine() {
-        try {
-            waitForBytes(1);
-            return reader.readLine();
-        } catch (IOException e) {
-            throw new SerialCommunicationException("Read line: " + e);
+        line.setLength(0);
+        while (true) {
+            final int c = read();
+            if (skipLF) {
+                skipLF = false;
+                if (c == '\n') continue;
+            }
+            if (c == '\n') break;
+            if (c == '\r') {
+                skipLF = true;
+                break;
+            }
+            line.append((char) c);
         }
+        return line.toString();
+    }
+
+    @Override
+    public boolean waitForBytes(int numBytes, long timeout) {
+        return buffer.await(numBytes, timeout);
+    }
+
+    @Override
+    public byte[] readResponse(byte[] request, SerialFrameFormat format, long timeout) {
+        final byte[] response = new byte[buffer.awaitFrame(request, format, timeout)];
+        buffer.read(response, 0, response.length);
+        return response;
     }
 
     @Override
@@ -129,7 +143,7 @@ public class SerialConnectionImpl implements SerialConnection {
             byte[] staleBytes = readAvailable();
             if (LOGGER.isDebugEnabled())
                 LOGGER.debug("Stale data read: " + asHex(staleBytes));
-            sleep(2);
+            buffer.await(1, 2L);
         } while (  (available() > 0)
                 && (currentTimeMillis() <= end));
     }
@@ -143,23 +157,8 @@ public class SerialConnectionImpl implements SerialConnection {
                 LOGGER.error("Error closing output stream", e);
             }
         }
-        if (reader != null) {
-            try {
-                //readStaleData();
-                reader.close();
-            } catch (IOException e) {
-                LOGGER.error("Error closing input stream reader", e);
-            }
-        }
-        if (is != null) {
-            try {
-                //readStaleData();
-                is.close();
-            } catch (IOException e) {
-                LOGGER.error("Error closing input stream", e);
-            }
-        }
         if (serialPort != null) {
+            serialPort.removeDataListener();
             if (!serialPort.closePort())
                 LOGGER.error("Error closing serial port: " + serialPort.getSystemPortName());
         }
@@ -211,7 +210,20 @@ public class SerialConnectionImpl implements SerialConnection {
         }
     }
 
-    private void waitForBytes(int numBytes) {
-        while (available() < numBytes) sleep(2L);
+    // Moves received bytes into the read buffer on the port's event thread
+    private final class DataListener implements SerialPortDataListener {
+        @Override
+        public int getListeningEvents() {
+            return LISTENING_EVENT_DATA_AVAILABLE;
+        }
+
+        @Override
+        public void serialEvent(SerialPortEvent event) {
+            final int count = serialPort.bytesAvailable();
+            if (count <= 0) return;
+            if (count > received.length) received = new byte[count];
+            final int read = serialPort.readBytes(received, count);
+            if (read > 0) buffer.write(received, 0, read);
+        }
     }
 }
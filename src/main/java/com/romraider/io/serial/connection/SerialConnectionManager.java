@@ -25,7 +25,6 @@ import static com.romraider.util.ParamChecker.checkNotNull;
 import static com.romraider.util.ParamChecker.checkNotNullOrEmpty;
 import static com.romraider.util.ThreadUtil.sleep;
 import static java.lang.System.arraycopy;
-import static java.lang.System.currentTimeMillis;
 import static org.apache.log4j.Logger.getLogger;
 
 import org.apache.log4j.Logger;
@@ -38,16 +37,22 @@ public final class SerialConnectionManager implements ConnectionManager {
     private static final Logger LOGGER = getLogger(SerialConnectionManager.class);
     private final SerialConnection connection;
     private final ConnectionProperties connectionProperties;
+    private final SerialFrameFormat frameFormat;
     private byte[] lastResponse;
     private final long timeout;
-    private long readTimeout;
 
     public SerialConnectionManager(String portName, ConnectionProperties connectionProperties) {
+        this(portName, connectionProperties, SerialFrameFormat.UNKNOWN);
+    }
+
+    public SerialConnectionManager(String portName, ConnectionProperties connectionProperties,
+            SerialFrameFormat frameFormat) {
         checkNotNullOrEmpty(portName, "portName");
         checkNotNull(connectionProperties, "connectionProperties");
+        checkNotNull(frameFormat, "frameFormat");
         this.connectionProperties = connectionProperties;
+        this.frameFormat = frameFormat;
         timeout = connectionProperties.getConnectTimeout();
-        readTimeout = timeout;
         // Use TestSerialConnection for testing!!
         connection = new SerialConnectionImpl(portName, connectionProperties);
         //connection = new TestSerialConnection2(portName, connectionProperties);
@@ -73,17 +78,12 @@ public final class SerialConnectionManager implements ConnectionManager {
             connection.readStaleData();
             connection.write(request);
         }
-        while (connection.available() < response.length) {
-            sleep(1);
-            readTimeout -= 1;
-            if (readTimeout <= 0) {
-                byte[] badBytes = connection.readAvailable();
-                if (LOGGER.isDebugEnabled())
-                    LOGGER.debug("Serial Bad Read response (read timeout): " + asHex(badBytes));
-                return; // this will reinitialize the connection
-            }
+        if (!connection.waitForBytes(response.length, timeout)) {
+            byte[] badBytes = connection.readAvailable();
+            if (LOGGER.isDebugEnabled())
+                LOGGER.debug("Serial Bad Read response (read timeout): " + asHex(badBytes));
+            return; // this will reinitialize the connection
         }
-        readTimeout = timeout;
         connection.read(response);
 
         if (pollState.getCurrentState() == PollingState.State.STATE_1){
@@ -104,7 +104,8 @@ public final class SerialConnectionManager implements ConnectionManager {
         }
     }
 
-    // Send request and wait specified time for response with unknown length
+    // Send request and wait for a complete response frame of unknown length,
+    // or until the line has been idle for the connect timeout
     @Override
     public byte[] send(byte[] bytes) {
         checkNotNull(bytes, "bytes");
@@ -114,18 +115,7 @@ public final class SerialConnectionManager implements ConnectionManager {
         if (LOGGER.isTraceEnabled())
             LOGGER.trace("Writing bytes");
         connection.write(bytes);
-        int available = 0;
-        boolean keepLooking = true;
-        long lastChange = currentTimeMillis();
-        while (keepLooking) {
-            sleep(2);
-            if (connection.available() != available) {
-                available = connection.available();
-                lastChange = currentTimeMillis();
-            }
-            keepLooking = (currentTimeMillis() - lastChange) < timeout;
-        }
-        return connection.readAvailable();
+        return connection.readResponse(bytes, frameFormat, timeout);
     }
 
     @Override
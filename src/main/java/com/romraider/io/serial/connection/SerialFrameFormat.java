@@ -0,0 +1,135 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.io.serial.connection;
+
+/**
+ * Frame layouts of the K-line protocols carried over a serial connection.
+ * Each format reports the length of a complete, checksum valid frame held
+ * in a {@link SerialReadBuffer} so a read can return as soon as the ECU
+ * response has arrived rather than waiting for the line to go idle.
+ */
+public enum SerialFrameFormat {
+    /** SSM: 0x80, dest, source, data length, data, sum checksum. */
+    SSM {
+        @Override
+        int frameLength(SerialReadBuffer buffer, int offset) {
+            final int available = buffer.available() - offset;
+            if (available < 1) return 0;
+            if (buffer.peek(offset) != 0x80) return -1;
+            if (available < 4) return 0;
+            final int length = buffer.peek(offset + 3) + 5;
+            if (available < length) return 0;
+            return sumValid(buffer, offset, length) ? length : -1;
+        }
+    },
+
+    /** DS2: address, total frame length, data, xor checksum. */
+    DS2 {
+        @Override
+        int frameLength(SerialReadBuffer buffer, int offset) {
+            final int available = buffer.available() - offset;
+            if (available < 2) return 0;
+            final int length = buffer.peek(offset + 1);
+            if (length < 3) return -1;
+            if (available < length) return 0;
+            int cs = 0;
+            for (int i = 0; i < length - 1; i++) {
+                cs ^= buffer.peek(offset + i);
+            }
+            return cs == buffer.peek(offset + length - 1) ? length : -1;
+        }
+    },
+
+    /**
+     * KWP2000 (ISO 14230): format byte, optional target and source,
+     * optional length byte, data, sum checksum.
+     */
+    KWP {
+        @Override
+        int frameLength(SerialReadBuffer buffer, int offset) {
+            final int available = buffer.available() - offset;
+            if (available < 1) return 0;
+            final int format = buffer.peek(offset);
+            int header = (format & 0xC0) != 0 ? 3 : 1;
+            int dataLength = format & 0x3F;
+            if (dataLength == 0) {
+                if (available < header + 1) return 0;
+                dataLength = buffer.peek(offset + header);
+                header++;
+            }
+            final int length = header + dataLength + 1;
+            if (available < length) return 0;
+            return sumValid(buffer, offset, length) ? length : -1;
+        }
+
+        @Override
+        boolean isPending(SerialReadBuffer buffer, int offset, int length) {
+            // negative response 0x7F, service id, 0x78 response pending
+            final int format = buffer.peek(offset);
+            int data = offset + ((format & 0xC0) != 0 ? 3 : 1);
+            if ((format & 0x3F) == 0) data++;
+            return length - (data - offset) >= 4
+                    && buffer.peek(data) == 0x7F
+                    && buffer.peek(data + 2) == 0x78;
+        }
+    },
+
+    /** Frame layout is not known, reads fall back to waiting for an idle line. */
+    UNKNOWN {
+        @Override
+        int frameLength(SerialReadBuffer buffer, int offset) {
+            return -1;
+        }
+    };
+
+    /**
+     * Return the length of the frame starting at <i>offset</i> of the
+     * buffer, 0 if the frame is not yet complete or -1 if the bytes
+     * do not form a valid frame of this format.
+     */
+    abstract int frameLength(SerialReadBuffer buffer, int offset);
+
+    /**
+     * Return true if the complete frame only tells that the real
+     * response is still to follow.
+     */
+    boolean isPending(SerialReadBuffer buffer, int offset, int length) {
+        return false;
+    }
+
+    /**
+     * Return the frame format used by the named logger protocol.
+     */
+    public static SerialFrameFormat forProtocol(String protocol) {
+        if ("SSM".equalsIgnoreCase(protocol)) return SSM;
+        if ("DS2".equalsIgnoreCase(protocol)) return DS2;
+        if ("NCS".equalsIgnoreCase(protocol)) return KWP;
+        return UNKNOWN;
+    }
+
+    private static boolean sumValid(SerialReadBuffer buffer, int offset, int length) {
+        int total = 0;
+        for (int i = 0; i < length - 1; i++) {
+            total += buffer.peek(offset + i);
+        }
+        return (total & 0xFF) == buffer.peek(offset + length - 1);
+    }
+}
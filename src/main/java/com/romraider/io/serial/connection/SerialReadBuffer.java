@@ -0,0 +1,185 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.io.serial.connection;
+
+import static com.romraider.util.ParamChecker.checkGreaterThanZero;
+import static java.lang.System.arraycopy;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A reusable ring buffer of received serial bytes.  Bytes are written by
+ * the serial port event thread and readers block on the buffer's monitor
+ * until enough data, or a complete frame, is available.
+ */
+public final class SerialReadBuffer {
+    private byte[] data;
+    private int head;
+    private int size;
+    private long lastChange = nanoTime();
+
+    public SerialReadBuffer(int capacity) {
+        checkGreaterThanZero(capacity, "capacity");
+        data = new byte[capacity];
+    }
+
+    /**
+     * Append received bytes and wake any waiting reader.  The buffer
+     * grows if a reader has fallen behind by more than its capacity.
+     */
+    public synchronized void write(byte[] bytes, int offset, int length) {
+        if (size + length > data.length) {
+            grow(size + length);
+        }
+        int tail = (head + size) % data.length;
+        int first = Math.min(length, data.length - tail);
+        arraycopy(bytes, offset, data, tail, first);
+        arraycopy(bytes, offset + first, data, 0, length - first);
+        size += length;
+        lastChange = nanoTime();
+        notifyAll();
+    }
+
+    public synchronized int available() {
+        return size;
+    }
+
+    /**
+     * Return the unsigned value of the byte at <i>index</i> without
+     * removing it from the buffer.
+     */
+    public synchronized int peek(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        return data[(head + index) % data.length] & 0xFF;
+    }
+
+    /**
+     * Remove and return the next byte, or -1 if the buffer is empty.
+     */
+    public synchronized int read() {
+        if (size == 0) return -1;
+        int b = data[head] & 0xFF;
+        head = (head + 1) % data.length;
+        size--;
+        return b;
+    }
+
+    /**
+     * Remove up to <i>length</i> bytes into the array.
+     * @return the number of bytes copied
+     */
+    public synchronized int read(byte[] bytes, int offset, int length) {
+        int count = Math.min(length, size);
+        int first = Math.min(count, data.length - head);
+        arraycopy(data, head, bytes, offset, first);
+        arraycopy(data, 0, bytes, offset + first, count - first);
+        head = (head + count) % data.length;
+        size -= count;
+        return count;
+    }
+
+    public synchronized void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Wait until at least <i>numBytes</i> are available.
+     * @param timeout - maximum wait in milliseconds, 0 waits indefinitely
+     * @return true if the bytes are available
+     */
+    public synchronized boolean await(int numBytes, long timeout) {
+        final long end = nanoTime() + MILLISECONDS.toNanos(timeout);
+        while (size < numBytes) {
+            long remaining = timeout > 0 ? end - nanoTime() : 0;
+            if (timeout > 0 && remaining <= 0) break;
+            if (!waitNanos(remaining)) break;
+        }
+        return size >= numBytes;
+    }
+
+    /**
+     * Wait for the response to a request.  The echo of the request, when
+     * present, is followed by one complete frame of the given format,
+     * skipping any frames that only report the response is pending.  If
+     * the received bytes cannot be framed the wait ends once no byte has
+     * arrived for <i>idleTimeout</i> milliseconds.
+     * @return the number of buffered bytes making up the response
+     */
+    public synchronized int awaitFrame(byte[] echo, SerialFrameFormat format, long idleTimeout) {
+        final long idle = MILLISECONDS.toNanos(idleTimeout);
+        lastChange = nanoTime();
+        while (true) {
+            int length = frameEnd(echo, format);
+            if (length > 0) return length;
+            long remaining = lastChange + idle - nanoTime();
+            if (remaining <= 0 || !waitNanos(remaining)) return size;
+        }
+    }
+
+    private int frameEnd(byte[] echo, SerialFrameFormat format) {
+        int offset = echoLength(echo);
+        if (offset < 0) return 0;
+        while (true) {
+            int length = format.frameLength(this, offset);
+            if (length <= 0) return 0;
+            if (!format.isPending(this, offset, length)) return offset + length;
+            offset += length;
+        }
+    }
+
+    // length of the echo at the head of the buffer, 0 if there is no echo
+    // or -1 if the echo is still arriving
+    private int echoLength(byte[] echo) {
+        int n = Math.min(echo.length, size);
+        for (int i = 0; i < n; i++) {
+            if (peek(i) != (echo[i] & 0xFF)) return 0;
+        }
+        return n == echo.length ? n : -1;
+    }
+
+    private boolean waitNanos(long nanos) {
+        try {
+            if (nanos > 0) {
+                NANOSECONDS.timedWait(this, nanos);
+            }
+            else {
+                wait();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void grow(int minCapacity) {
+        final byte[] grown = new byte[Math.max(minCapacity, data.length * 2)];
+        final int count = size;
+        read(grown, 0, count);
+        data = grown;
+        head = 0;
+        size = count;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.io.simulator;
+
+import static com.romraider.io.protocol.ds2.iso9141.DS2ChecksumCalculator.calculateChecksum;
+import static com.romraider.io.protocol.ds2.iso9141.DS2Protocol.RESPONSE_NON_DATA_BYTES;
+import static com.romraider.io.protocol.ds2.iso9141.DS2Protocol.VALID_RESPONSE;
+import static com.romraider.util.HexUtil.asBytes;
+import static java.lang.System.arraycopy;
+
+/**
+ * BMW DS2 over K-line.  Requests and replies are framed as
+ * <pre>address length data... checksum</pre>
+ * where the length counts the whole frame.  Requests without a simulated
+ * reply are answered with zero data of the expected length.
+ */
+final class DS2SimulatedEcu extends SimulatedEcu {
+    private static final byte[] IDENTIFICATION = asBytes(
+            "3134333738303631313031333032313232393630303030313135383532" +
+            "36303030393632313432353634");
+    private static final byte NOT_SUPPORTED = (byte) 0xA2;
+    private int[] addresses = new int[0];
+    private int[] widths = new int[0];
+
+    DS2SimulatedEcu(byte[] memory) {
+        super(memory);
+    }
+
+    @Override
+    boolean isEchoed() {
+        return true;
+    }
+
+    @Override
+    byte[] respond(byte[] request, int length) {
+        if (!isValid(request)) return null;
+        final byte[] data;
+        if (request[2] == 0x00) {
+            data = IDENTIFICATION;
+        }
+        else if (request[2] == 0x06 && request.length > 7) {
+            // 06 <seg> <address> <num_bytes>
+            final int address = toInt(request, 4, 3);
+            data = new byte[request[7] & 0xFF];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = read(address + i);
+            }
+        }
+        else if (request[2] == 0x0B && request[3] == 0x01) {
+            // 0B 01 <count> then <type> <four byte address> per parameter
+            final int count = request[4] & 0xFF;
+            addresses = new int[count];
+            widths = new int[count];
+            for (int i = 0; i < count; i++) {
+                final int entry = 5 + i * 5;
+                widths[i] = request[entry] == 0x01 ? 2 : 1;
+                addresses[i] = toInt(request, entry + 2, 3);
+            }
+            data = new byte[0];
+        }
+        else if (request[2] == 0x0B && request[3] == 0x00) {
+            data = new byte[length > 0 ? length - RESPONSE_NON_DATA_BYTES : sum(widths)];
+            read(addresses, widths, data, 0);
+        }
+        else if (length > 0) {
+            data = new byte[length - RESPONSE_NON_DATA_BYTES];
+        }
+        else {
+            return reply(request[0], NOT_SUPPORTED, new byte[0]);
+        }
+        return reply(request[0], VALID_RESPONSE, data);
+    }
+
+    private static boolean isValid(byte[] request) {
+        return request.length > 3
+                && (request[1] & 0xFF) == request.length
+                && request[request.length - 1] == calculateChecksum(request);
+    }
+
+    private static int sum(int[] values) {
+        int total = 0;
+        for (int value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    private static byte[] reply(byte address, byte status, byte[] data) {
+        final byte[] reply = new byte[data.length + RESPONSE_NON_DATA_BYTES];
+        reply[0] = address;
+        reply[1] = (byte) reply.length;
+        reply[2] = status;
+        arraycopy(data, 0, reply, 3, data.length);
+        reply[reply.length - 1] = calculateChecksum(reply);
+        return reply;
+    }
+}
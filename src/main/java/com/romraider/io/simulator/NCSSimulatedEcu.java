@@ -0,0 +1,175 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.io.simulator;
+
+import static com.romraider.io.protocol.ncs.iso14230.NCSChecksumCalculator.calculateChecksum;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.ECU_ID_SID;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.ECU_ID_SID_RESPONSE;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.FASTINIT_COMMAND;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.FASTINIT_RESPONSE;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.FIELD_TYPE_01;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.FIELD_TYPE_02;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.FIELD_TYPE_83;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.LOAD_ADDRESS_COMMAND;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.LOAD_ADDRESS_RESPONSE;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.NCS_NRC;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.OPTION_81;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.PHY_ADDR;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.READ_LOAD_RESPONSE;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.READ_SID_GRP_RESPONSE;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.SID_21;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.SID_22;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.STOP_COMMAND;
+import static com.romraider.io.protocol.ncs.iso14230.NCSProtocol.STOP_RESPONSE;
+import static java.lang.System.arraycopy;
+
+/**
+ * Nissan Consult over ISO 14230 as seen through a J2534 interface, the
+ * request is not echoed.  Requests use a short or long header and are
+ * answered with a short header:
+ * <pre>len sid data... checksum</pre>
+ * PID reads report no PIDs as supported.
+ */
+final class NCSSimulatedEcu extends SimulatedEcu {
+    private static final byte[] ECU_ID = "1AB1C0".getBytes();
+    // PIDs are not memory mapped, read them from the top of the image
+    private static final int PID_BASE = 0xFF0000;
+    private static final int PID_WIDTH = 4;
+    private int[] addresses = new int[0];
+    private int[] widths = new int[0];
+
+    NCSSimulatedEcu(byte[] memory) {
+        super(memory);
+    }
+
+    @Override
+    boolean isEchoed() {
+        return false;
+    }
+
+    @Override
+    boolean isContinuous(byte[] request) {
+        final int sid = sidIndex(request);
+        return isValid(request)
+                && request[sid] == SID_21
+                && request[sid + 1] == OPTION_81
+                && request[sid + 2] == (byte) 0x06;
+    }
+
+    @Override
+    byte[] respond(byte[] request, int length) {
+        if (!isValid(request)) return null;
+        final int sid = sidIndex(request);
+        final int dataEnd = request.length - 1;
+        switch (request[sid]) {
+            case FASTINIT_COMMAND:
+                return reply(FASTINIT_RESPONSE);
+            case STOP_COMMAND:
+                return reply(STOP_RESPONSE);
+            case ECU_ID_SID:
+                return reply(ECU_ID_SID_RESPONSE, ECU_ID);
+            case LOAD_ADDRESS_COMMAND:
+                loadAddresses(request, sid + 2, dataEnd);
+                return reply(LOAD_ADDRESS_RESPONSE, new byte[]{OPTION_81});
+            case SID_21:
+                if (request[sid + 1] == OPTION_81) {
+                    final int size = length > 0 ? length - 4 : sum(widths);
+                    final byte[] data = new byte[size + 1];
+                    data[0] = OPTION_81;
+                    read(addresses, widths, data, 1);
+                    return reply(READ_LOAD_RESPONSE, data);
+                }
+                return reply(READ_LOAD_RESPONSE, request[sid + 1], 0, 0, 0, 0);
+            case SID_22:
+                return reply(READ_SID_GRP_RESPONSE,
+                        request[sid + 1], request[sid + 2], 0, 0, 0, 0);
+            default:
+                // service not supported
+                return reply(NCS_NRC, request[sid], 0x11);
+        }
+    }
+
+    private void loadAddresses(byte[] request, int start, int end) {
+        final int[] loaded = new int[end - start];
+        final int[] loadedWidths = new int[loaded.length];
+        int count = 0;
+        int i = start;
+        while (i < end) {
+            final byte type = request[i++];
+            if (type == FIELD_TYPE_83) {
+                // flag byte then a three byte address
+                loaded[count] = toInt(request, i + 1, 3);
+                loadedWidths[count++] = 1;
+                i += 4;
+            }
+            else if (type == FIELD_TYPE_01) {
+                loaded[count] = PID_BASE | (request[i] & 0xFF) * PID_WIDTH;
+                loadedWidths[count++] = PID_WIDTH;
+                i += 1;
+            }
+            else if (type == FIELD_TYPE_02) {
+                loaded[count] = PID_BASE | toInt(request, i, 2) * PID_WIDTH;
+                loadedWidths[count++] = PID_WIDTH;
+                i += 2;
+            }
+            else {
+                break;
+            }
+        }
+        addresses = new int[count];
+        widths = new int[count];
+        arraycopy(loaded, 0, addresses, 0, count);
+        arraycopy(loadedWidths, 0, widths, 0, count);
+    }
+
+    private static int sidIndex(byte[] request) {
+        return (request[0] & PHY_ADDR) == PHY_ADDR ? 3 : 1;
+    }
+
+    private static boolean isValid(byte[] request) {
+        return request.length > sidIndex(request) + 1
+                && request[request.length - 1] == calculateChecksum(request);
+    }
+
+    private static int sum(int[] values) {
+        int total = 0;
+        for (int value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    private static byte[] reply(byte sid, int... data) {
+        final byte[] bytes = new byte[data.length];
+        for (int i = 0; i < data.length; i++) {
+            bytes[i] = (byte) data[i];
+        }
+        return reply(sid, bytes);
+    }
+
+    private static byte[] reply(byte sid, byte[] data) {
+        final byte[] reply = new byte[data.length + 3];
+        reply[0] = (byte) (data.length + 1);
+        reply[1] = sid;
+        arraycopy(data, 0, reply, 2, data.length);
+        reply[reply.length - 1] = calculateChecksum(reply);
+        return reply;
+    }
+}
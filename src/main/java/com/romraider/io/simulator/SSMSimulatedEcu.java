@@ -0,0 +1,130 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.io.simulator;
+
+import static com.romraider.io.protocol.ssm.iso9141.SSMChecksumCalculator.calculateChecksum;
+import static com.romraider.io.protocol.ssm.iso9141.SSMProtocol.ADDRESS_SIZE;
+import static com.romraider.io.protocol.ssm.iso9141.SSMProtocol.ECU_INIT_COMMAND;
+import static com.romraider.io.protocol.ssm.iso9141.SSMProtocol.ECU_INIT_RESPONSE;
+import static com.romraider.io.protocol.ssm.iso9141.SSMProtocol.HEADER;
+import static com.romraider.io.protocol.ssm.iso9141.SSMProtocol.READ_ADDRESS_COMMAND;
+import static com.romraider.io.protocol.ssm.iso9141.SSMProtocol.READ_ADDRESS_CONTINUOUS;
+import static com.romraider.io.protocol.ssm.iso9141.SSMProtocol.READ_ADDRESS_RESPONSE;
+import static com.romraider.io.protocol.ssm.iso9141.SSMProtocol.READ_MEMORY_COMMAND;
+import static com.romraider.io.protocol.ssm.iso9141.SSMProtocol.READ_MEMORY_RESPONSE;
+import static com.romraider.io.protocol.ssm.iso9141.SSMProtocol.RESPONSE_NON_DATA_BYTES;
+import static com.romraider.io.protocol.ssm.iso9141.SSMProtocol.WRITE_ADDRESS_COMMAND;
+import static com.romraider.io.protocol.ssm.iso9141.SSMProtocol.WRITE_ADDRESS_RESPONSE;
+import static com.romraider.io.protocol.ssm.iso9141.SSMProtocol.WRITE_MEMORY_COMMAND;
+import static com.romraider.io.protocol.ssm.iso9141.SSMProtocol.WRITE_MEMORY_RESPONSE;
+import static com.romraider.util.HexUtil.asBytes;
+import static java.lang.System.arraycopy;
+
+/**
+ * Subaru SSM over K-line.  Requests are
+ * <pre>80 dest src len cmd data... checksum</pre>
+ * and are answered with the source and destination swapped and the
+ * response code of the command.
+ */
+final class SSMSimulatedEcu extends SimulatedEcu {
+    // init reply of a 2007 USDM ECU after the 0xFF response code
+    private static final byte[] INIT_DATA = asBytes(
+            "A210117442594007F3FAC98C0B83FEAC00000046CED4FDB0600003000000" +
+            "000000DC00005D1FB080F0E600FC43FB00F5C98E00000001EDF1");
+    private static final int COMMAND = 4;
+
+    SSMSimulatedEcu(byte[] memory) {
+        super(memory);
+    }
+
+    @Override
+    boolean isEchoed() {
+        return true;
+    }
+
+    @Override
+    boolean isContinuous(byte[] request) {
+        return isValid(request)
+                && request[COMMAND] == READ_ADDRESS_COMMAND
+                && request[COMMAND + 1] == READ_ADDRESS_CONTINUOUS;
+    }
+
+    @Override
+    byte[] respond(byte[] request, int length) {
+        if (!isValid(request)) return null;
+        final int dataStart = COMMAND + 1;
+        final int dataEnd = request.length - 1;
+        switch (request[COMMAND]) {
+            case ECU_INIT_COMMAND:
+                return reply(request, ECU_INIT_RESPONSE, INIT_DATA);
+            case READ_ADDRESS_COMMAND: {
+                final int count = (dataEnd - dataStart - 1) / ADDRESS_SIZE;
+                final byte[] data = new byte[count];
+                for (int i = 0; i < count; i++) {
+                    data[i] = read(toInt(request, dataStart + 1 + i * ADDRESS_SIZE, ADDRESS_SIZE));
+                }
+                return reply(request, READ_ADDRESS_RESPONSE, data);
+            }
+            case READ_MEMORY_COMMAND: {
+                final int address = toInt(request, dataStart + 1, ADDRESS_SIZE);
+                final byte[] data = new byte[(request[dataStart + 1 + ADDRESS_SIZE] & 0xFF) + 1];
+                for (int i = 0; i < data.length; i++) {
+                    data[i] = read(address + i);
+                }
+                return reply(request, READ_MEMORY_RESPONSE, data);
+            }
+            case WRITE_ADDRESS_COMMAND: {
+                final int address = toInt(request, dataStart, ADDRESS_SIZE);
+                write(address, request[dataStart + ADDRESS_SIZE]);
+                return reply(request, WRITE_ADDRESS_RESPONSE, new byte[]{read(address)});
+            }
+            case WRITE_MEMORY_COMMAND: {
+                final int address = toInt(request, dataStart + 1, ADDRESS_SIZE);
+                final byte[] data = new byte[dataEnd - dataStart - 1 - ADDRESS_SIZE];
+                for (int i = 0; i < data.length; i++) {
+                    write(address + i, request[dataStart + 1 + ADDRESS_SIZE + i]);
+                    data[i] = read(address + i);
+                }
+                return reply(request, WRITE_MEMORY_RESPONSE, data);
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isValid(byte[] request) {
+        return request.length > COMMAND + 1
+                && request[0] == HEADER
+                && (request[3] & 0xFF) == request.length - COMMAND - 1
+                && request[request.length - 1] == calculateChecksum(request);
+    }
+
+    private static byte[] reply(byte[] request, byte code, byte[] data) {
+        final byte[] reply = new byte[RESPONSE_NON_DATA_BYTES + data.length];
+        reply[0] = HEADER;
+        reply[1] = request[2];
+        reply[2] = request[1];
+        reply[3] = (byte) (data.length + 1);
+        reply[COMMAND] = code;
+        arraycopy(data, 0, reply, COMMAND + 1, data.length);
+        reply[reply.length - 1] = calculateChecksum(reply);
+        return reply;
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.io.simulator;
+
+import static com.romraider.util.HexUtil.asHex;
+import static com.romraider.util.ParamChecker.checkNotNull;
+import static com.romraider.util.ParamChecker.isNullOrEmpty;
+import static java.lang.System.arraycopy;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.apache.log4j.Logger.getLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.apache.log4j.Logger;
+
+import com.romraider.Settings;
+import com.romraider.io.connection.ConnectionManager;
+import com.romraider.io.connection.ConnectionProperties;
+import com.romraider.logger.ecu.comms.manager.PollingState;
+import com.romraider.logger.ecu.exception.ConfigurationException;
+
+/**
+ * A ConnectionManager answering logger requests from a simulated ECU
+ * instead of a serial port or J2534 device, so the logger can be run and
+ * load tested without a vehicle.  Replies follow the framing of the real
+ * interface, including the request echo of a K-line adapter, and can be
+ * delayed by a fixed latency plus the time the bytes take on the line at
+ * the connection's baud rate.  A fraction of replies can be dropped or
+ * corrupted to exercise the logger's error handling.
+ */
+public final class SimulatedConnectionManager implements ConnectionManager {
+    private static final Logger LOGGER = getLogger(SimulatedConnectionManager.class);
+    /** The size of the simulated ECU address space. */
+    public static final int MEMORY_SIZE = SimulatedEcu.MEMORY_SIZE;
+    private final SimulatedEcu ecu;
+    private final long timeout;
+    private final long byteNanos;
+    private final Random random = new Random();
+    private long latencyNanos;
+    private double errorRate;
+    private boolean baudTiming = true;
+    private byte[] continuousRequest;
+
+    /**
+     * @param protocol - the logger protocol name, SSM, NCS or DS2
+     * @param memory - the ECU memory image of {@link #MEMORY_SIZE} bytes
+     */
+    public SimulatedConnectionManager(String protocol,
+            ConnectionProperties connectionProperties, byte[] memory) {
+        checkNotNull(connectionProperties, "connectionProperties");
+        checkNotNull(memory, "memory");
+        if (memory.length != MEMORY_SIZE) {
+            throw new IllegalArgumentException(
+                    "memory must be " + MEMORY_SIZE + " bytes");
+        }
+        ecu = SimulatedEcu.forProtocol(protocol, memory);
+        timeout = connectionProperties.getConnectTimeout();
+        final int bitsPerByte = 1 + connectionProperties.getDataBits()
+                + connectionProperties.getStopBits()
+                + (connectionProperties.getParity() != 0 ? 1 : 0);
+        byteNanos = bitsPerByte * 1000000000L / connectionProperties.getBaudRate();
+    }
+
+    /**
+     * Create the simulator configured in the logger settings.
+     * @throws ConfigurationException if the memory image cannot be read
+     */
+    public static SimulatedConnectionManager getManager(
+            Settings settings, ConnectionProperties connectionProperties) {
+        checkNotNull(settings, "settings");
+        final SimulatedConnectionManager manager = new SimulatedConnectionManager(
+                settings.getLoggerProtocol(), connectionProperties,
+                createMemory(settings.getLoggerSimulatorImage(),
+                        settings.getLoggerSimulatorImageAddress()));
+        manager.setLatency(settings.getLoggerSimulatorLatency());
+        manager.setErrorRate(settings.getLoggerSimulatorErrorRate());
+        manager.setBaudTiming(settings.isLoggerSimulatorBaudTiming());
+        return manager;
+    }
+
+    /**
+     * Create a memory image with the contents of the image file loaded at
+     * <i>address</i>.  The rest of the memory, or all of it when no file
+     * is given, is filled with a repeatable pattern.
+     */
+    public static byte[] createMemory(String imageFile, int address) {
+        final byte[] memory = new byte[MEMORY_SIZE];
+        for (int i = 0; i < memory.length; i++) {
+            memory[i] = (byte) (i ^ (i >>> 8) ^ (i >>> 16));
+        }
+        if (isNullOrEmpty(imageFile)) return memory;
+        try {
+            final byte[] image = Files.readAllBytes(new File(imageFile).toPath());
+            final int start = address & (MEMORY_SIZE - 1);
+            arraycopy(image, 0, memory, start,
+                    Math.min(image.length, MEMORY_SIZE - start));
+            LOGGER.info(String.format("Simulator loaded %d bytes from %s at 0x%06X",
+                    image.length, imageFile, start));
+        }
+        catch (IOException e) {
+            throw new ConfigurationException(
+                    "Unable to read simulator image: " + imageFile, e);
+        }
+        return memory;
+    }
+
+    /** @param latency - the delay before each reply in milliseconds */
+    public void setLatency(int latency) {
+        latencyNanos = MILLISECONDS.toNanos(Math.max(0, latency));
+    }
+
+    /** @param errorRate - the fraction of replies dropped or corrupted */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    /** @param baudTiming - delay replies by their time on the line */
+    public void setBaudTiming(boolean baudTiming) {
+        this.baudTiming = baudTiming;
+    }
+
+    /** Seed the error injection so a run can be repeated. */
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
+    @Override
+    public void open(byte[] start, byte[] stop) {
+        if (LOGGER.isDebugEnabled())
+            LOGGER.debug("Simulator open, start: " + asHex(start));
+    }
+
+    @Override
+    public void send(byte[] request, byte[] response, PollingState pollState) {
+        checkNotNull(request, "request");
+        checkNotNull(response, "response");
+        checkNotNull(pollState, "pollState");
+
+        final boolean echo;
+        byte[] reply;
+        if (pollState.getCurrentState() == PollingState.State.STATE_1
+                && continuousRequest != null) {
+            // the ECU keeps replying to the last request, nothing is sent
+            echo = false;
+            reply = ecu.respond(continuousRequest, response.length);
+        }
+        else {
+            continuousRequest = ecu.isContinuous(request) ? request : null;
+            echo = ecu.isEchoed()
+                    && pollState.getCurrentState() == PollingState.State.STATE_0;
+            reply = ecu.respond(request,
+                    response.length - (echo ? request.length : 0));
+        }
+        reply = transmit(echo ? request : null, reply);
+        if (reply == null) {
+            if (LOGGER.isDebugEnabled())
+                LOGGER.debug("Simulator Bad Read response (read timeout)");
+            return;
+        }
+        arraycopy(reply, 0, response, 0, Math.min(reply.length, response.length));
+    }
+
+    @Override
+    public byte[] send(byte[] bytes) {
+        checkNotNull(bytes, "bytes");
+        continuousRequest = null;
+        final byte[] reply = transmit(
+                ecu.isEchoed() ? bytes : null, ecu.respond(bytes, -1));
+        return reply == null ? new byte[0] : reply;
+    }
+
+    @Override
+    public void clearLine() {
+        continuousRequest = null;
+    }
+
+    @Override
+    public void close() {
+        continuousRequest = null;
+    }
+
+    // Prefix the echo to the reply and hold it for the simulated line time,
+    // returns null if the reply is lost
+    private byte[] transmit(byte[] echo, byte[] reply) {
+        if (reply == null || errorRate > 0 && random.nextDouble() < errorRate) {
+            if (reply == null || random.nextBoolean()) {
+                pause(MILLISECONDS.toNanos(timeout));
+                return null;
+            }
+            reply = reply.clone();
+            reply[random.nextInt(reply.length)] ^= (byte) (1 << random.nextInt(8));
+        }
+        final int echoLength = echo == null ? 0 : echo.length;
+        final byte[] frame = new byte[echoLength + reply.length];
+        if (echo != null) arraycopy(echo, 0, frame, 0, echoLength);
+        arraycopy(reply, 0, frame, echoLength, reply.length);
+        pause(latencyNanos + (baudTiming ? frame.length * byteNanos : 0));
+        return frame;
+    }
+
+    private static void pause(long nanos) {
+        if (nanos <= 0) return;
+        try {
+            NANOSECONDS.sleep(nanos);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
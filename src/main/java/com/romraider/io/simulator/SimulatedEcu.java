@@ -0,0 +1,105 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.io.simulator;
+
+import static com.romraider.util.ParamChecker.checkNotNull;
+
+import com.romraider.logger.ecu.exception.UnsupportedProtocolException;
+
+/**
+ * An ECU answering logger requests of one protocol from a memory image.
+ * The image covers a 24 bit address space, higher address bits are
+ * ignored.
+ */
+abstract class SimulatedEcu {
+    static final int MEMORY_SIZE = 0x1000000;
+    private static final int ADDRESS_MASK = MEMORY_SIZE - 1;
+    private final byte[] memory;
+
+    SimulatedEcu(byte[] memory) {
+        checkNotNull(memory, "memory");
+        this.memory = memory;
+    }
+
+    static SimulatedEcu forProtocol(String protocol, byte[] memory) {
+        if ("SSM".equalsIgnoreCase(protocol)) return new SSMSimulatedEcu(memory);
+        if ("NCS".equalsIgnoreCase(protocol)) return new NCSSimulatedEcu(memory);
+        if ("DS2".equalsIgnoreCase(protocol)) return new DS2SimulatedEcu(memory);
+        throw new UnsupportedProtocolException(
+                "No simulated ECU for protocol: " + protocol);
+    }
+
+    /**
+     * @param request - a complete request frame
+     * @param length - the expected length of the reply frame, or -1 if
+     * the caller does not know it
+     * @return the reply frame, or null if the ECU does not reply
+     */
+    abstract byte[] respond(byte[] request, int length);
+
+    /**
+     * @return true if the request is echoed back ahead of the reply, as
+     * on a K-line serial interface
+     */
+    abstract boolean isEchoed();
+
+    /**
+     * @return true if the ECU keeps sending replies to the request until
+     * a new request is sent
+     */
+    boolean isContinuous(byte[] request) {
+        return false;
+    }
+
+    final byte read(int address) {
+        return memory[address & ADDRESS_MASK];
+    }
+
+    final void write(int address, byte value) {
+        memory[address & ADDRESS_MASK] = value;
+    }
+
+    /**
+     * Read a value of <i>width</i> bytes from each address, until
+     * <i>data</i> is full. If the addresses do not fill the data the bytes
+     * following the last address are read.
+     */
+    final void read(int[] addresses, int[] widths, byte[] data, int offset) {
+        int address = 0;
+        int a = 0;
+        int remaining = 0;
+        for (int i = offset; i < data.length; i++) {
+            if (remaining == 0 && a < addresses.length) {
+                address = addresses[a];
+                remaining = widths[a++];
+            }
+            data[i] = read(address++);
+            remaining--;
+        }
+    }
+
+    static int toInt(byte[] bytes, int offset, int length) {
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}
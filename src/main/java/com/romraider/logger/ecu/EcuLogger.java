@@ -214,6 +214,7 @@ public final class EcuLogger extends AbstractFrame implements EcuRelatedMessageL
     private static final String ECU_LOGGER_TITLE = PRODUCT_NAME + " v" + VERSION + " | " + rb.getString("TITLE");
     private static final String LOGGER_FULLSCREEN_ARG = "-logger.fullscreen";
     private static final String LOGGER_TOUCH_ARG = "-logger.touch";
+    private static final String LOGGER_SIMULATE_ARG = "-logger.simulate";
     private static final URL ICON_PATH =  Settings.class.getResource("/graphics/romraider-ico.gif");
     private static final String HEADING_PARAMETERS = "Parameters";
     private static final String HEADING_SWITCHES = "Switches";
@@ -2165,6 +2166,7 @@ public final class EcuLogger extends AbstractFrame implements EcuRelatedMessageL
         touchEnabled = setTouchEnabled(args);
         boolean fullscreen = containsFullScreenArg(args);
         EcuLogger ecuLogger = getEcuLogger(ecuEditor);
+        if (containsSimulateArg(args)) ecuLogger.getSettings().setLoggerSimulatorSession(true);
         createAndShowGui(defaultCloseOperation, ecuLogger, fullscreen);
         if (ecuLogger.getSettings().getAutoConnectOnStartup() && !ecuLogger.isLogging()) ecuLogger.startLogging();
     }
@@ -2178,6 +2180,15 @@ public final class EcuLogger extends AbstractFrame implements EcuRelatedMessageL
         return false;
     }
 
+    private static boolean containsSimulateArg(String... args) {
+        if (args == null) return false;
+
+        for (String arg : args) {
+            if (LOGGER_SIMULATE_ARG.equalsIgnoreCase(arg)) return true;
+        }
+        return false;
+    }
+
     private static boolean setTouchEnabled(String... args) {
     	if(args == null) return false;
 
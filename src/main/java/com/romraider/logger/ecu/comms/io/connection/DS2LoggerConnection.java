@@ -40,7 +40,7 @@ import com.romraider.logger.ecu.comms.manager.PollingState;
 import com.romraider.logger.ecu.comms.manager.PollingStateImpl;
 import com.romraider.logger.ecu.comms.query.EcuInitCallback;
 import com.romraider.logger.ecu.comms.query.EcuQuery;
-import com.romraider.logger.ecu.comms.query.EcuQueryRangeTest;
+import com.romraider.logger.ecu.comms.query.EcuQueryPlanner;
 import com.romraider.logger.ecu.definition.EcuData;
 import com.romraider.logger.ecu.definition.Module;
 import com.romraider.logger.ecu.exception.SerialCommunicationException;
@@ -54,6 +54,8 @@ public final class DS2LoggerConnection implements LoggerConnection {
     private final LoggerProtocolDS2 protocol;
     private final ConnectionManager manager;
     private final Settings settings = SettingsManager.getSettings();
+    private final Map<String, EcuQueryPlanner> rangePlanners =
+            new HashMap<String, EcuQueryPlanner>();
     private int queryCount;
 
     public DS2LoggerConnection(ConnectionManager manager) {
@@ -136,38 +138,27 @@ public final class DS2LoggerConnection implements LoggerConnection {
             }
             // read data starting at address [00 SG HI LO NN] NN - number of bytes<249
             else if (groupTest.startsWith("0x060x00")) {
-                final EcuQueryRangeTest range = new EcuQueryRangeTest(querySet, 128);
-                final Collection<EcuQuery> newQuery = range.validate();
-                int length = range.getLength();
-                if (newQuery != null && length > 0) {
+                // Read in as few address ranges as possible, the plan is
+                // kept until the parameter selection changes.
+                EcuQueryPlanner planner = rangePlanners.get(group);
+                if (planner == null) {
+                    // a range read returns up to 128 bytes, a few unused
+                    // bytes cost less than a request
+                    planner = new EcuQueryPlanner(128, 8);
+                    rangePlanners.put(group, planner);
+                }
+                for (EcuQueryPlanner.Range range : planner.plan(querySet)) {
                     request = protocol.constructReadMemoryRange(
-                            module, newQuery, length);
+                            module, range.getStartQuery(), range.getLength());
                     if (LOGGER.isDebugEnabled())
                         LOGGER.debug(String.format("Mode:%s %s Range request  ---> %s",
                             pollState.getCurrentState(), module, asHex(request)));
                     response = protocol.constructReadMemoryRangeResponse(
-                            request.length, length);
+                            request.length, range.getLength());
                     protocol.processReadMemoryRangeResponse(
-                            querySet,
+                            range.getQueries(),
                             sendRcv(module, request, response, pollState));
                 }
-                else {
-                    for (EcuQuery query : querySet) {
-                        final Collection<EcuQuery> queryList = new ArrayList<EcuQuery>();
-                        queryList.add(query);
-                        request = protocol.constructReadMemoryRequest(
-                                module, queryList);
-                        if (LOGGER.isDebugEnabled())
-                            LOGGER.debug(String.format("Mode:%s %s Memory request  ---> %s",
-                                pollState.getCurrentState(), module, asHex(request)));
-                        response = protocol.constructReadAddressResponse(
-                                queryList, request.length);
-                        protocol.processReadAddressResponse(
-                                queryList,
-                                sendRcv(module, request, response, pollState),
-                                pollState);
-                    }
-                }
             }
             //  Pre-defined Group parameter calls
             // #03 Engine Parameters
@@ -42,8 +42,7 @@ import com.romraider.logger.ecu.comms.manager.PollingState;
 import com.romraider.logger.ecu.comms.manager.PollingStateImpl;
 import com.romraider.logger.ecu.comms.query.EcuInitCallback;
 import com.romraider.logger.ecu.comms.query.EcuQuery;
-import com.romraider.logger.ecu.comms.query.EcuQueryData;
-import com.romraider.logger.ecu.comms.query.EcuQueryRangeTest;
+import com.romraider.logger.ecu.comms.query.EcuQueryPlanner;
 import com.romraider.logger.ecu.definition.Module;
 import com.romraider.logger.ecu.exception.SerialCommunicationException;
 
@@ -57,6 +56,8 @@ public final class NCSLoggerConnection implements LoggerConnection {
     private final Settings settings = SettingsManager.getSettings();
     private final Collection<EcuQuery> scQuery = new ArrayList<EcuQuery>();
     private final Collection<EcuQuery> ramQuery = new ArrayList<EcuQuery>();
+    // $23 reads up to 63 bytes, a few unused bytes cost less than a request
+    private final EcuQueryPlanner ramPlanner = new EcuQueryPlanner(63, 8);
     private boolean commsStarted;
     private boolean elevatedDiag;
 
@@ -440,38 +441,19 @@ public final class NCSLoggerConnection implements LoggerConnection {
                         module, asHex(response)));
                 elevatedDiag = true;
             }
-            // Inspect the address of each query to determine if a single query
-            // with a start address and byte length can be substituted as opposed
-            // to querying each address separately.
-            final EcuQueryRangeTest range = new EcuQueryRangeTest(ramQuery, 63);
-            final Collection<EcuQuery> newQuery = range.validate();
-            int length = range.getLength();
-            if (newQuery != null && length > 0) {
-                request = protocol.constructReadMemoryRequest(module, newQuery, length);
+            // Read the RAM parameters in as few address ranges as possible,
+            // the plan is kept until the parameter selection changes.
+            for (EcuQueryPlanner.Range range : ramPlanner.plan(ramQuery)) {
+                request = protocol.constructReadMemoryRequest(
+                        module, range.getStartQuery(), range.getLength());
                 if (LOGGER.isDebugEnabled())
-                    LOGGER.debug(module + " CAN $23 Request  ---> " + asHex(request));
-                response = protocol.constructReadMemoryResponse(1, length);
+                    LOGGER.debug(String.format("Mode:%s %s CAN $23 Request  ---> %s",
+                        pollState.getCurrentState(), module, asHex(request)));
+                response = protocol.constructReadMemoryResponse(1, range.getLength());
                 protocol.processReadMemoryResponses(
-                        ramQuery,
+                        range.getQueries(),
                         sendRcv(module, request, response, pollState));
             }
-            else {
-                // for each query in the collection create a new collection with one item
-                for (EcuQuery query : ramQuery) {
-                    newQuery.clear();
-                    newQuery.add(query);
-                    request = protocol.constructReadMemoryRequest(
-                            module, newQuery, EcuQueryData.getDataLength(query));
-                    if (LOGGER.isDebugEnabled())
-                        LOGGER.debug(String.format("Mode:%s %s Memory request  ---> %s",
-                            pollState.getCurrentState(), module, asHex(request)));
-                    response = protocol.constructReadMemoryResponse(1,
-                            EcuQueryData.getDataLength(query));
-                    protocol.processReadMemoryResponses(
-                            newQuery,
-                            sendRcv(module, request, response, pollState));
-                }
-            }
         }
     }
 
@@ -24,11 +24,13 @@ import static com.romraider.util.ParamChecker.checkNotNull;
 import static org.apache.log4j.Logger.getLogger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
 import com.romraider.io.protocol.ssm.iso9141.SSMProtocol;
+import com.romraider.io.protocol.ssm.iso9141.SSMReadPlan;
 import com.romraider.logger.ecu.comms.query.dimemod.DmInit;
 import com.romraider.logger.ecu.comms.query.dimemod.DmInitCallback;
 import com.romraider.logger.ecu.definition.*;
@@ -47,10 +49,14 @@ import com.romraider.util.SettingsManager;
 
 public final class SSMLoggerConnection implements LoggerConnection {
     private static final Logger LOGGER = getLogger(SSMLoggerConnection.class);
+    private static final int MAX_PLANS = 8;
     private final LoggerProtocol protocol;
     private final ConnectionManager manager;
     private List<EcuQuery> tcuQueries = new ArrayList<EcuQuery>();
     private final Collection<EcuQuery> tcuSubQuery = new ArrayList<EcuQuery>();
+    // one plan per query set the poll scheduler cycles through
+    private final List<SSMReadPlan> plans = new ArrayList<SSMReadPlan>();
+    private boolean blockReads = true;
     Settings settings = SettingsManager.getSettings();
 
     public SSMLoggerConnection(ConnectionManager manager) {
@@ -410,6 +416,8 @@ public final class SSMLoggerConnection implements LoggerConnection {
                 protocol.processReadAddressResponses(
                         tcuSubQuery, processedResponse, pollState);
             }
+        } else if (!settings.isCanBus() && !pollState.isFastPoll()) {
+            sendPlannedReads(queries, module, pollState);
         } else {
             final byte[] request = protocol.constructReadAddressRequest(
                     module, queries);
@@ -431,6 +439,62 @@ public final class SSMLoggerConnection implements LoggerConnection {
         }
     }
 
+    // Slow polling sends one request per poll, so the reads can be split
+    // and block reads used. Fast polling has the ECU repeat a single
+    // address read and keeps the unplanned request.
+    // The plan's requests and response buffers are reused every poll.
+    private void sendPlannedReads(
+            Collection<EcuQuery> queries,
+            Module module,
+            PollingState pollState) {
+
+        SSMReadPlan plan = null;
+        for (SSMReadPlan p : plans) {
+            if (p.isFor(queries)) {
+                plan = p;
+                break;
+            }
+        }
+        if (plan == null) {
+            plan = new SSMReadPlan(queries, blockReads);
+            if (plans.size() == MAX_PLANS) {
+                plans.remove(0);
+            }
+            plans.add(plan);
+            if (LOGGER.isDebugEnabled())
+                LOGGER.debug(module + " Read plan: " + plan.getReads().size() +
+                        " request(s) for " + queries.size() + " queries");
+        }
+        plan.prepare(protocol.getProtocol(), module);
+        for (SSMReadPlan.Read read : plan.getReads()) {
+            final byte[] request = read.getRequest();
+            final byte[] response = read.getResponse();
+            if (LOGGER.isDebugEnabled())
+                LOGGER.debug("Mode:" + pollState.getCurrentState() + " " +
+                        module + " Request  ---> " + asHex(request));
+            // a read timeout leaves the buffer as is, don't accept the last poll's data
+            Arrays.fill(response, (byte) 0);
+            try {
+                manager.send(request, response, pollState);
+                if (LOGGER.isDebugEnabled())
+                    LOGGER.debug("Mode:" + pollState.getCurrentState() + " " +
+                            module + " Response <--- " + asHex(
+                            Arrays.copyOfRange(response, request.length, response.length)));
+                plan.setData(read);
+            }
+            catch (RuntimeException e) {
+                if (read.isBlock()) {
+                    // not all ECUs answer block reads, use address reads only
+                    LOGGER.warn(module + " Block read failed, using address reads", e);
+                    blockReads = false;
+                    plans.clear();
+                }
+                throw e;
+            }
+        }
+        plan.setResponses();
+    }
+
     @Override
     public void clearLine() {
         manager.clearLine();
@@ -19,67 +19,110 @@
 
 package com.romraider.logger.ecu.comms.manager;
 
+import static com.romraider.logger.ecu.ui.handler.DeliveryPolicy.DROP_OLDEST;
 
-import java.util.Vector;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.log4j.Logger;
 import com.romraider.logger.ecu.comms.query.Response;
 import com.romraider.logger.ecu.ui.handler.DataUpdateHandler;
+import com.romraider.logger.ecu.ui.handler.DeliveryPolicy;
+import com.romraider.logger.ecu.ui.handler.DeliveryPolicyAware;
 
-
-public class AsyncDataUpdateHandler extends Thread {
+/**
+ * Fans each logger response out to every {@link DataUpdateHandler}.
+ * Responses are published into a {@link ResponseRingBuffer} and each
+ * handler is driven by its own dispatcher thread, so a slow handler only
+ * falls behind according to its own {@link DeliveryPolicy} instead of
+ * delaying the others.
+ */
+public final class AsyncDataUpdateHandler {
     private static final Logger LOGGER = Logger.getLogger(AsyncDataUpdateHandler.class);
+    private static final int BUFFER_SIZE = 256;
+    private final ResponseRingBuffer responsesToUpdate = new ResponseRingBuffer(BUFFER_SIZE);
+    private final List<Dispatcher> dispatchers = new ArrayList<Dispatcher>();
+    private volatile boolean isRunning = false;
+
+    public AsyncDataUpdateHandler(DataUpdateHandler[] handlers) {
+        for (DataUpdateHandler handler : handlers) {
+            dispatchers.add(new Dispatcher(handler,
+                    responsesToUpdate.newCursor(getPolicy(handler))));
+        }
+    }
 
-    Vector<Response> responsesToUpdate = new Vector<Response>();
-	DataUpdateHandler[] handlers;
-	private  boolean stop = false;
-	private volatile boolean isRunning = false;
-	
-	public AsyncDataUpdateHandler(DataUpdateHandler[] handlers) {
-		this.handlers = handlers;
-		setName("AsyncDataUpdater");
-	}
-	
-    public void run(){
-    	LOGGER.info("Starting AsyncDataUpdateHandler");
-    	stop = false;
-    	
-    	while(!stop) {	    	
-    		isRunning = true;	
-    		
-	    	synchronized(responsesToUpdate) {		   
-	    		Response r;	    		
-	    		while(!responsesToUpdate.isEmpty()) {
-	    			r = responsesToUpdate.get(0);
-	    			
-		    	   for(DataUpdateHandler handler: handlers) {
-		    		   handler.handleDataUpdate(r);
-		    	   }	
-		    	   
-		    	   responsesToUpdate.remove(0);		    	   
-			  }
-	    	}
-		       
-	       try {
-	    	   Thread.sleep(16); //60 FPS
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
-       }
-    	
-    	LOGGER.info("AsyncDataUpdater stopped.");
-    	isRunning = false;
+    public void start() {
+        LOGGER.info("Starting AsyncDataUpdateHandler");
+        isRunning = true;
+        for (Dispatcher dispatcher : dispatchers) {
+            dispatcher.start();
+        }
     }
-    
+
     public void stopUpdater() {
-    	stop = true;
+        for (Dispatcher dispatcher : dispatchers) {
+            dispatcher.cursor.close();
+        }
+        isRunning = false;
     }
-    
+
     public boolean isRunning() {
-    	return isRunning;
+        return isRunning;
     }
-    
+
     public void addResponse(Response response) {
-    	responsesToUpdate.add(response);   
+        responsesToUpdate.publish(response);
+    }
+
+    /**
+     * @return a previously added response that no handler can still be
+     * reading, or null if none is available
+     */
+    public Response recycleResponse() {
+        return responsesToUpdate.reclaim();
+    }
+
+    private static DeliveryPolicy getPolicy(DataUpdateHandler handler) {
+        if (handler instanceof DeliveryPolicyAware) {
+            final DeliveryPolicy policy =
+                    ((DeliveryPolicyAware) handler).getDeliveryPolicy();
+            if (policy != null) return policy;
+        }
+        return DROP_OLDEST;
+    }
+
+    private static final class Dispatcher extends Thread {
+        private final DataUpdateHandler handler;
+        private final ResponseRingBuffer.Cursor cursor;
+
+        private Dispatcher(DataUpdateHandler handler, ResponseRingBuffer.Cursor cursor) {
+            this.handler = handler;
+            this.cursor = cursor;
+            setName("AsyncDataUpdater-" + handler.getClass().getSimpleName());
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                Response response;
+                while ((response = cursor.take()) != null) {
+                    try {
+                        handler.handleDataUpdate(response);
+                    } catch (Exception e) {
+                        LOGGER.error("Error updating " + getName(), e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                LOGGER.debug(getName() + " interrupted");
+            }
+            if (cursor.getDropped() > 0) {
+                LOGGER.info(String.format("%s stopped, %d responses skipped (%s)",
+                        getName(), cursor.getDropped(), cursor.getPolicy()));
+            }
+            else {
+                LOGGER.info(getName() + " stopped.");
+            }
+        }
     }
-  }
\ No newline at end of file
+}
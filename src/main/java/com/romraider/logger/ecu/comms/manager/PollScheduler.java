@@ -0,0 +1,232 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.logger.ecu.comms.manager;
+
+import static java.lang.System.currentTimeMillis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.romraider.logger.ecu.comms.query.EcuQuery;
+import com.romraider.logger.ecu.definition.LoggerData;
+
+/**
+ * Interleaves the ECU queries of parameters with different poll intervals
+ * across poll cycles. A parameter with an interval of n is polled on one
+ * cycle out of every n, and parameters with the same interval are spread
+ * over those cycles so each cycle carries about the same number of
+ * queries. Parameters polled every cycle therefore get most of the bus
+ * time.
+ * <p>
+ * Fast polling has the ECU repeat one request, so all queries are polled
+ * on every cycle in that mode.
+ */
+public final class PollScheduler {
+    /** The poll intervals offered, in poll cycles. */
+    public static final int[] INTERVALS = {1, 2, 4, 8};
+    private static final Map<String, Double> RATES =
+            new ConcurrentHashMap<String, Double>();
+
+    private final Map<String, Integer> pollIntervals;
+    private final List<EcuQuery> queries = new ArrayList<EcuQuery>();
+    private int[] intervals = new int[0];
+    private int[] phases = new int[0];
+    private long[] counts = new long[0];
+    private List<List<EcuQuery>> cycles = Collections.emptyList();
+    private int[][] members = new int[0][];
+    private long cycle;
+    private long start;
+    private boolean reduced;
+
+    /**
+     * @param pollIntervals - the poll interval of each parameter by ID,
+     * parameters not present are polled every cycle
+     * @see com.romraider.Settings#getLoggerPollIntervals()
+     */
+    public PollScheduler(Map<String, Integer> pollIntervals) {
+        this.pollIntervals = pollIntervals;
+        reset();
+    }
+
+    /**
+     * @return the queries to poll this cycle, the same list instances are
+     * returned for as long as the queries and their intervals do not change
+     */
+    public List<EcuQuery> next(List<EcuQuery> ecuQueries, boolean fastPoll) {
+        if (!isPlanned(ecuQueries)) {
+            plan(ecuQueries);
+        }
+        if (fastPoll || !reduced) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i]++;
+            }
+            return queries;
+        }
+        final int c = (int) (cycle++ % cycles.size());
+        for (int i : members[c]) {
+            counts[i]++;
+        }
+        return cycles.get(c);
+    }
+
+    /**
+     * Restart the achieved rate statistics.
+     */
+    public void reset() {
+        start = currentTimeMillis();
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+    }
+
+    /**
+     * @return true if any query is polled less than every cycle
+     */
+    public boolean isReduced() {
+        return reduced;
+    }
+
+    /**
+     * Publish the samples per second achieved by each query since the
+     * last reset.
+     * @return the lowest rate achieved
+     */
+    public double updateRates() {
+        final double duration = (currentTimeMillis() - start) / 1000.0;
+        double lowest = Double.MAX_VALUE;
+        for (int i = 0; i < counts.length; i++) {
+            final double rate = duration > 0 ? counts[i] / duration : 0;
+            RATES.put(queries.get(i).getLoggerData().getId(), rate);
+            lowest = Math.min(lowest, rate);
+        }
+        return counts.length == 0 ? 0 : lowest;
+    }
+
+    /**
+     * @return the samples per second last achieved for the parameter or
+     * zero if it has not been polled
+     */
+    public static double getAchievedRate(LoggerData loggerData) {
+        final Double rate = RATES.get(loggerData.getId());
+        return rate == null ? 0 : rate;
+    }
+
+    private boolean isPlanned(List<EcuQuery> ecuQueries) {
+        if (ecuQueries.size() != queries.size()) {
+            return false;
+        }
+        for (int i = 0; i < intervals.length; i++) {
+            final EcuQuery query = ecuQueries.get(i);
+            if (query != queries.get(i) || getInterval(query) != intervals[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Place each query on the phase whose busiest cycle is least loaded,
+    // longest intervals first.
+    private void plan(List<EcuQuery> ecuQueries) {
+        for (EcuQuery query : queries) {
+            RATES.remove(query.getLoggerData().getId());
+        }
+        queries.clear();
+        queries.addAll(ecuQueries);
+        final int n = queries.size();
+        intervals = new int[n];
+        phases = new int[n];
+        counts = new long[n];
+        int period = 1;
+        for (int i = 0; i < n; i++) {
+            intervals[i] = getInterval(queries.get(i));
+            period = Math.max(period, intervals[i]);
+        }
+
+        final int[] load = new int[period];
+        for (int interval = period; interval >= 1; interval /= 2) {
+            for (int i = 0; i < n; i++) {
+                if (intervals[i] != interval) {
+                    continue;
+                }
+                int best = 0;
+                int bestLoad = Integer.MAX_VALUE;
+                for (int p = 0; p < interval; p++) {
+                    int busiest = 0;
+                    for (int c = p; c < period; c += interval) {
+                        busiest = Math.max(busiest, load[c]);
+                    }
+                    if (busiest < bestLoad) {
+                        bestLoad = busiest;
+                        best = p;
+                    }
+                }
+                phases[i] = best;
+                for (int c = best; c < period; c += interval) {
+                    load[c]++;
+                }
+            }
+        }
+
+        // A cycle with nothing due is left out rather than sent empty, the
+        // remaining cycles then come round sooner. When no parameter is
+        // polled every cycle, e.g. all at an interval of 2, this polls
+        // them more often than asked, the bus would otherwise sit idle.
+        final List<List<EcuQuery>> planned = new ArrayList<List<EcuQuery>>(period);
+        final List<int[]> plannedMembers = new ArrayList<int[]>(period);
+        for (int c = 0; c < period; c++) {
+            if (load[c] == 0) {
+                continue;
+            }
+            final List<EcuQuery> polled = new ArrayList<EcuQuery>(load[c]);
+            final int[] indexes = new int[load[c]];
+            for (int i = 0; i < n; i++) {
+                if (c % intervals[i] == phases[i]) {
+                    indexes[polled.size()] = i;
+                    polled.add(queries.get(i));
+                }
+            }
+            planned.add(polled);
+            plannedMembers.add(indexes);
+        }
+        cycles = planned;
+        members = plannedMembers.toArray(new int[plannedMembers.size()][]);
+        reduced = planned.size() > 1;
+        cycle = 0;
+        reset();
+    }
+
+    private int getInterval(EcuQuery query) {
+        final Integer interval = pollIntervals.get(
+                query.getLoggerData().getId());
+        if (interval == null) {
+            return 1;
+        }
+        for (int i = INTERVALS.length - 1; i >= 0; i--) {
+            if (interval >= INTERVALS[i]) {
+                return INTERVALS[i];
+            }
+        }
+        return 1;
+    }
+}
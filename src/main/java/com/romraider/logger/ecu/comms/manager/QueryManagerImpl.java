@@ -47,14 +47,16 @@ import com.romraider.Settings;
 import com.romraider.io.j2534.api.J2534Library;
 import com.romraider.io.j2534.api.J2534LibraryLocator;
 import com.romraider.logger.ecu.comms.io.connection.LoggerConnection;
+import com.romraider.logger.ecu.comms.query.DerivedParameterGraph;
 import com.romraider.logger.ecu.comms.query.EcuInitCallback;
 import com.romraider.logger.ecu.comms.query.EcuQuery;
 import com.romraider.logger.ecu.comms.query.EcuQueryImpl;
 import com.romraider.logger.ecu.comms.query.ExternalQuery;
 import com.romraider.logger.ecu.comms.query.ExternalQueryImpl;
+import com.romraider.logger.ecu.comms.query.IndexedResponse;
 import com.romraider.logger.ecu.comms.query.Query;
 import com.romraider.logger.ecu.comms.query.Response;
-import com.romraider.logger.ecu.comms.query.ResponseImpl;
+import com.romraider.logger.ecu.comms.query.ResponseLayout;
 import com.romraider.logger.ecu.definition.EcuData;
 import com.romraider.logger.ecu.definition.ExternalData;
 import com.romraider.logger.ecu.definition.LoggerData;
@@ -91,6 +93,13 @@ public final class QueryManagerImpl implements QueryManager {
     private DataUpdateHandler[] updateHandlers;
     private int queryCounter;
     private long queryStart;
+    private ResponseLayout responseLayout = new ResponseLayout(new ArrayList<LoggerData>());
+    private Query[] slotQueries = new Query[0];
+    private final PollScheduler scheduler = new PollScheduler(
+            settings.getLoggerPollIntervals());
+    private final DerivedParameterGraph derivedGraph = new DerivedParameterGraph();
+    private long ratesUpdated;
+    private double lowestRate;
 
     public QueryManagerImpl(EcuInitCallback ecuInitCallback,
             DmInitCallback dmInitCallback,
@@ -204,6 +213,11 @@ public final class QueryManagerImpl implements QueryManager {
 
     private boolean doEcuInit(Module module) {
 
+        // The simulated ECU needs no interface, skip the device search
+        if (settings.isLoggerSimulated()) {
+            return initConnection(module, "simulator");
+        }
+
         final Set<J2534Library> libraries = J2534LibraryLocator.getLibraries(
                 settings.getTransportProtocol().toUpperCase());
 
@@ -288,6 +302,7 @@ public final class QueryManagerImpl implements QueryManager {
         TransmissionManager txManager = new TransmissionManagerImpl();
         queryStart = currentTimeMillis();
         queryCounter = 1;
+        scheduler.reset();
         long end = currentTimeMillis();
 
         try {
@@ -392,7 +407,13 @@ public final class QueryManagerImpl implements QueryManager {
         if (fileLoggerQuery != null
                 && settings.isFileLoggingControllerSwitchActive())
             ecuQueries.add(fileLoggerQuery);
-            txManager.sendQueries(ecuQueries, pollState);
+        final List<EcuQuery> polled =
+                scheduler.next(ecuQueries, pollState.isFastPoll());
+        if (polled.isEmpty()) {
+            return;
+        }
+        txManager.sendQueries(derivedGraph.expand(polled), pollState);
+        derivedGraph.evaluate(polled);
     }
 
     private void sendExternalQueries() {
@@ -413,16 +434,28 @@ public final class QueryManagerImpl implements QueryManager {
     private void handleQueryResponse() {
         if (settings.isFileLoggingControllerSwitchActive())
             monitor.monitorFileLoggerSwitch(fileLoggerQuery.getResponse());
-        final Response response = buildResponse(queryMap.values());
-
-
+        final Response response = buildResponse();
         dataUpdater.addResponse(response);
     }
 
-    private Response buildResponse(Collection<Query> queries) {
-        final Response response = new ResponseImpl();
-        for (final Query query : queries) {
-            response.setDataValue(query.getLoggerData(), query.getResponse());
+    /**
+     * Fill a response from the query slots, reusing a response the data
+     * update handlers are finished with when one is available.
+     */
+    private Response buildResponse() {
+        final Response recycled = dataUpdater.recycleResponse();
+        final IndexedResponse response;
+        if (recycled instanceof IndexedResponse
+                && ((IndexedResponse) recycled).getLayout() == responseLayout) {
+            response = (IndexedResponse) recycled;
+            response.reset(currentTimeMillis());
+        }
+        else {
+            response = new IndexedResponse(responseLayout);
+        }
+        final Query[] queries = slotQueries;
+        for (int i = 0; i < queries.length; i++) {
+            response.setDataValue(i, queries[i].getResponse());
         }
         return response;
     }
@@ -459,8 +492,29 @@ public final class QueryManagerImpl implements QueryManager {
     }
 
     private synchronized void updateQueryList() {
+        if (removeList.isEmpty() && addList.isEmpty()) return;
         removeQueries();
         addQueries();
+        updateResponseLayout();
+    }
+
+    /**
+     * Assign a response slot to each distinct data item being queried.
+     * The layout only changes when the query list changes.
+     */
+    private void updateResponseLayout() {
+        final List<LoggerData> loggerDatas = new ArrayList<LoggerData>();
+        final List<Query> queries = new ArrayList<Query>();
+        synchronized (queryMap) {
+            for (Query query : queryMap.values()) {
+                if (!loggerDatas.contains(query.getLoggerData())) {
+                    loggerDatas.add(query.getLoggerData());
+                    queries.add(query);
+                }
+            }
+        }
+        responseLayout = new ResponseLayout(loggerDatas);
+        slotQueries = queries.toArray(new Query[queries.size()]);
     }
 
     private void addQueries() {
@@ -493,6 +547,20 @@ public final class QueryManagerImpl implements QueryManager {
                     rb.getString("EXTERNALS"), settings.getLoggerProtocol());
         }
         double duration = (currentTimeMillis() - start) / 1000.0;
+        // per parameter rates are published once a second
+        if (currentTimeMillis() - ratesUpdated >= 1000L) {
+            lowestRate = scheduler.updateRates();
+            ratesUpdated = currentTimeMillis();
+        }
+        if (scheduler.isReduced() && !pollState.isFastPoll()) {
+            return MessageFormat.format(
+                    rb.getString("QUERYSTATSREDUCED"),
+                    state,
+                    (count / duration),
+                    (duration / count),
+                    lowestRate
+                    );
+        }
         String result = MessageFormat.format(
                 rb.getString("QUERYSTATS"),
                 state,
@@ -0,0 +1,231 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.logger.ecu.comms.manager;
+
+import static com.romraider.logger.ecu.ui.handler.DeliveryPolicy.LATEST;
+import static com.romraider.logger.ecu.ui.handler.DeliveryPolicy.LOSSLESS;
+import static com.romraider.util.ParamChecker.checkNotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import com.romraider.logger.ecu.comms.query.Response;
+import com.romraider.logger.ecu.ui.handler.DeliveryPolicy;
+
+/**
+ * Bounded single-producer/multi-consumer ring of logger responses.
+ * The producer publishes each response once and every {@link Cursor}
+ * reads the sequence independently, applying its own
+ * {@link DeliveryPolicy} when it falls behind. No locks are taken on the
+ * publish or take paths; waiting threads are parked and woken directly.
+ */
+public final class ResponseRingBuffer {
+    private static final long PRODUCER_PARK_NANOS = 1000000L;
+    private final AtomicReferenceArray<Response> slots;
+    // sequence held by each slot, -1 while the slot is being replaced
+    private final AtomicLongArray sequences;
+    private final AtomicLong published = new AtomicLong(-1L);
+    private final List<Cursor> cursors = new CopyOnWriteArrayList<Cursor>();
+    private final int capacity;
+    private final int mask;
+    private volatile Thread waitingProducer;
+
+    public ResponseRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException(
+                    "Ring buffer capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<Response>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, -1L);
+        }
+    }
+
+    /**
+     * Create a cursor that receives every response published from now on.
+     */
+    public Cursor newCursor(DeliveryPolicy policy) {
+        checkNotNull(policy, "policy");
+        final Cursor cursor = new Cursor(policy, published.get() + 1L);
+        cursors.add(cursor);
+        return cursor;
+    }
+
+    /**
+     * Publish a response to all cursors. Must only be called from a
+     * single producer thread. Waits only while a {@link DeliveryPolicy#LOSSLESS}
+     * cursor is a full buffer behind.
+     */
+    public void publish(Response response) {
+        checkNotNull(response, "response");
+        final long sequence = published.get() + 1L;
+        awaitLosslessCursors(sequence - capacity);
+        final int index = index(sequence);
+        sequences.set(index, -1L);
+        slots.set(index, response);
+        sequences.set(index, sequence);
+        published.set(sequence);
+        for (Cursor cursor : cursors) {
+            cursor.signal();
+        }
+    }
+
+    /**
+     * Get the response the next {@link #publish(Response)} will overwrite,
+     * if no cursor can still read it, so the producer can reuse it for
+     * the next sample. Must only be called from the producer thread.
+     * @return the reusable response or null if there is none
+     */
+    public Response reclaim() {
+        final long sequence = published.get() + 1L - capacity;
+        if (sequence < 0L) return null;
+        for (Cursor cursor : cursors) {
+            if (cursor.reading <= sequence) return null;
+        }
+        return slots.get(index(sequence));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void awaitLosslessCursors(long wrapPoint) {
+        if (wrapPoint < 0L) return;
+        for (Cursor cursor : cursors) {
+            if (cursor.policy != LOSSLESS) continue;
+            while (cursor.next <= wrapPoint && !cursor.closed) {
+                waitingProducer = Thread.currentThread();
+                if (cursor.next <= wrapPoint && !cursor.closed) {
+                    LockSupport.parkNanos(this, PRODUCER_PARK_NANOS);
+                }
+            }
+        }
+        waitingProducer = null;
+    }
+
+    private int index(long sequence) {
+        return (int) sequence & mask;
+    }
+
+    /**
+     * An independent read position in the ring. Each cursor must be read
+     * by a single consumer thread.
+     */
+    public final class Cursor {
+        private final DeliveryPolicy policy;
+        private volatile long next;
+        // lowest sequence this cursor's consumer may still access
+        private volatile long reading;
+        private volatile boolean closed;
+        private volatile Thread consumer;
+        private long dropped;
+
+        private Cursor(DeliveryPolicy policy, long next) {
+            this.policy = policy;
+            this.next = next;
+            this.reading = next;
+        }
+
+        /**
+         * Wait for and return the next response according to this cursor's
+         * policy. Responses already published are still delivered after
+         * {@link #close()}, after which <code>null</code> is returned.
+         */
+        public Response take() throws InterruptedException {
+            consumer = Thread.currentThread();
+            // the previously taken response is no longer in use
+            reading = next;
+            while (true) {
+                final long head = published.get();
+                final long current = next;
+                if (current <= head) {
+                    long sequence = current;
+                    if (policy == LATEST) {
+                        sequence = head;
+                    }
+                    else if (head - current >= capacity) {
+                        sequence = head - capacity + 1L;
+                    }
+                    final int index = index(sequence);
+                    final long before = sequences.get(index);
+                    final Response response = slots.get(index);
+                    if (before != sequence || sequences.get(index) != sequence) {
+                        // slot was overwritten while reading, producer lapped us
+                        continue;
+                    }
+                    dropped += sequence - current;
+                    reading = sequence;
+                    next = sequence + 1L;
+                    final Thread producer = waitingProducer;
+                    if (producer != null) {
+                        LockSupport.unpark(producer);
+                    }
+                    return response;
+                }
+                if (closed) {
+                    return null;
+                }
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+
+        /**
+         * Stop receiving responses and release a producer waiting on
+         * this cursor.
+         */
+        public void close() {
+            closed = true;
+            cursors.remove(this);
+            signal();
+            final Thread producer = waitingProducer;
+            if (producer != null) {
+                LockSupport.unpark(producer);
+            }
+        }
+
+        public DeliveryPolicy getPolicy() {
+            return policy;
+        }
+
+        /**
+         * @return the number of responses skipped by this cursor's policy
+         */
+        public long getDropped() {
+            return dropped;
+        }
+
+        private void signal() {
+            final Thread thread = consumer;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+}
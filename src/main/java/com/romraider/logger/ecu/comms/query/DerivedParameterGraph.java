@@ -0,0 +1,277 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.logger.ecu.comms.query;
+
+import static com.romraider.util.HexUtil.asHex;
+import static com.romraider.util.ParamChecker.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.romraider.logger.ecu.definition.EcuData;
+import com.romraider.logger.ecu.definition.EcuDataConvertor;
+import com.romraider.logger.ecu.definition.EcuDerivedParameterConvertor;
+
+/**
+ * Evaluates derived parameters from the parameters they are derived from.
+ * The derived queries are not sent, each parameter they depend on is read
+ * and converted once per sample however many derived parameters use it,
+ * and each derived expression takes its inputs from value slots bound when
+ * the query list changes.
+ * <p>
+ * Usage, for each sample:
+ * <pre>
+ * transmit(graph.expand(queries));
+ * graph.evaluate(queries);
+ * </pre>
+ */
+public final class DerivedParameterGraph {
+    // poll cycles of the scheduler plus a few replaced lists
+    private static final int MAX_PLANS = 16;
+    private final Map<List<EcuQuery>, Plan> plans =
+            new IdentityHashMap<List<EcuQuery>, Plan>();
+
+    /**
+     * @return the queries to transmit for the queries of a sample, the
+     * derived queries are replaced by the queries of the parameters they
+     * are derived from
+     */
+    public List<EcuQuery> expand(List<EcuQuery> queries) {
+        checkNotNull(queries, "queries");
+        return plan(queries).transmitted;
+    }
+
+    /**
+     * Set the response of each derived query in the list from the
+     * responses received for the list returned by {@link #expand(List)}.
+     */
+    public void evaluate(List<EcuQuery> queries) {
+        checkNotNull(queries, "queries");
+        plan(queries).evaluate();
+    }
+
+    private Plan plan(List<EcuQuery> queries) {
+        Plan plan = plans.get(queries);
+        if (plan == null || !plan.isFor(queries)) {
+            if (plans.size() >= MAX_PLANS) {
+                plans.clear();
+            }
+            plan = new Plan(queries);
+            plans.put(queries, plan);
+        }
+        return plan;
+    }
+
+    private static EcuDataConvertor[] selectedConvertors(List<EcuQuery> queries) {
+        final EcuDataConvertor[] convertors = new EcuDataConvertor[queries.size()];
+        for (int i = 0; i < convertors.length; i++) {
+            convertors[i] = queries.get(i).getLoggerData().getSelectedConvertor();
+        }
+        return convertors;
+    }
+
+    private static final class Plan {
+        private final EcuQuery[] queries;
+        private final EcuDataConvertor[] convertors;
+        private final List<EcuQuery> transmitted;
+        private final List<Slot> slots = new ArrayList<Slot>();
+        private final List<Derived> derived = new ArrayList<Derived>();
+        private final double[] values;
+
+        Plan(List<EcuQuery> list) {
+            queries = list.toArray(new EcuQuery[list.size()]);
+            convertors = selectedConvertors(list);
+            final List<EcuQuery> sent = new ArrayList<EcuQuery>(queries.length);
+            for (int i = 0; i < queries.length; i++) {
+                if (queries[i] instanceof EcuQueryImpl
+                        && convertors[i] instanceof EcuDerivedParameterConvertor) {
+                    derived.add(new Derived((EcuQueryImpl) queries[i],
+                            (EcuDerivedParameterConvertor) convertors[i]));
+                }
+                else {
+                    sent.add(queries[i]);
+                }
+            }
+            if (derived.isEmpty()) {
+                transmitted = list;
+            }
+            else {
+                final int received = sent.size();
+                for (Derived d : derived) {
+                    final EcuData[] ecuDatas = d.convertor.getEcuDatas();
+                    final EcuDataConvertor[] ecuDataConvertors =
+                            d.convertor.getEcuDataConvertors();
+                    for (int i = 0; i < ecuDatas.length; i++) {
+                        d.slots[i] = slot(ecuDatas[i], ecuDataConvertors[i], sent, received);
+                    }
+                }
+                transmitted = sent;
+            }
+            values = new double[slots.size()];
+        }
+
+        boolean isFor(List<EcuQuery> list) {
+            if (list.size() != queries.length) return false;
+            for (int i = 0; i < queries.length; i++) {
+                final EcuQuery query = list.get(i);
+                if (query != queries[i]
+                        || query.getLoggerData().getSelectedConvertor() != convertors[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void evaluate() {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = slots.get(i).value();
+            }
+            for (Derived d : derived) {
+                for (int i = 0; i < d.slots.length; i++) {
+                    d.inputs[i] = values[d.slots[i]];
+                }
+                d.query.setResponse(d.convertor.evaluate(d.inputs));
+            }
+        }
+
+        // The slot of the parameter's value, using the response of a polled
+        // query of the parameter when it has the same convertor, otherwise
+        // converting the bytes of a query added for the derived parameters
+        private int slot(EcuData ecuData, EcuDataConvertor convertor,
+                List<EcuQuery> sent, int received) {
+            final String hex = asHex(ecuData.getAddress().getBytes());
+            for (int i = 0; i < slots.size(); i++) {
+                final Slot slot = slots.get(i);
+                if (slot.hex.equals(hex) && slot.convertor == convertor) return i;
+            }
+            EcuQuery source = null;
+            for (int i = 0; i < received && source == null; i++) {
+                final EcuQuery query = sent.get(i);
+                if (query.getHex().equals(hex)
+                        && query.getLoggerData().getSelectedConvertor() == convertor) {
+                    source = query;
+                }
+            }
+            BaseQuery base = null;
+            if (source == null) {
+                for (int i = received; i < sent.size() && base == null; i++) {
+                    if (sent.get(i).getHex().equals(hex)) {
+                        base = (BaseQuery) sent.get(i);
+                    }
+                }
+                if (base == null) {
+                    base = new BaseQuery(ecuData);
+                    sent.add(base);
+                }
+            }
+            slots.add(new Slot(hex, convertor, source, base));
+            return slots.size() - 1;
+        }
+    }
+
+    private static final class Slot {
+        private final String hex;
+        private final EcuDataConvertor convertor;
+        private final EcuQuery source;
+        private final BaseQuery base;
+
+        Slot(String hex, EcuDataConvertor convertor, EcuQuery source, BaseQuery base) {
+            this.hex = hex;
+            this.convertor = convertor;
+            this.source = source;
+            this.base = base;
+        }
+
+        double value() {
+            return source != null ? source.getResponse() : convertor.convert(base.bytes);
+        }
+    }
+
+    private static final class Derived {
+        private final EcuQueryImpl query;
+        private final EcuDerivedParameterConvertor convertor;
+        private final int[] slots;
+        private final double[] inputs;
+
+        Derived(EcuQueryImpl query, EcuDerivedParameterConvertor convertor) {
+            this.query = query;
+            this.convertor = convertor;
+            slots = new int[convertor.getEcuDatas().length];
+            inputs = new double[slots.length];
+        }
+    }
+
+    /**
+     * A query of a parameter only polled for derived parameters, the
+     * response bytes are kept for the slots to convert.
+     */
+    private static final class BaseQuery implements EcuQuery {
+        private final EcuData ecuData;
+        private final String hex;
+        private byte[] bytes;
+
+        BaseQuery(EcuData ecuData) {
+            this.ecuData = ecuData;
+            hex = asHex(ecuData.getAddress().getBytes());
+            bytes = new byte[ecuData.getAddress().getLength()];
+        }
+
+        public EcuData getLoggerData() {
+            return ecuData;
+        }
+
+        public double getResponse() {
+            return 0.0;
+        }
+
+        public String[] getAddresses() {
+            return ecuData.getAddress().getAddresses();
+        }
+
+        public byte[] getBytes() {
+            return ecuData.getAddress().getBytes();
+        }
+
+        public String getHex() {
+            return hex;
+        }
+
+        public void setResponse(byte[] bytes) {
+            if (this.bytes.length != bytes.length) {
+                this.bytes = new byte[bytes.length];
+            }
+            System.arraycopy(bytes, 0, this.bytes, 0, bytes.length);
+        }
+
+        public boolean equals(Object object) {
+            return object instanceof EcuQuery && hex.equals(((EcuQuery) object).getHex());
+        }
+
+        public int hashCode() {
+            return hex.hashCode();
+        }
+
+        public String toString() {
+            return "0x" + hex;
+        }
+    }
+}
@@ -57,8 +57,13 @@ public final class EcuQueryImpl implements EcuQuery {
         this.response = ecuData.getSelectedConvertor().convert(bytes);
     }
 
+    // set by DerivedParameterGraph for derived parameters
+    void setResponse(double response) {
+        this.response = response;
+    }
+
     public boolean equals(Object object) {
-        return object instanceof EcuQueryImpl && getHex().equals(((EcuQueryImpl) object).getHex());
+        return object instanceof EcuQuery && getHex().equals(((EcuQuery) object).getHex());
     }
 
     public int hashCode() {
@@ -0,0 +1,175 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.logger.ecu.comms.query;
+
+import static com.romraider.util.HexUtil.hexToInt;
+import static com.romraider.util.ParamChecker.checkGreaterThanZero;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Plans the memory range reads for a set of queries. Queries whose data is
+ * duplicated, overlapping, adjacent or separated by no more than the
+ * allowed gap are merged into one range, up to the protocol's maximum
+ * range length.
+ * <p>
+ * The plans of the most recent query sets are kept, so the sets a poll
+ * scheduler cycles through are only planned once.
+ */
+public final class EcuQueryPlanner {
+    private final int maxLength;
+    private final int maxGap;
+    private static final int MAX_PLANS = 8;
+    private final List<List<EcuQuery>> planned = new ArrayList<List<EcuQuery>>();
+    private final List<List<Range>> plans = new ArrayList<List<Range>>();
+
+    /**
+     * A contiguous memory range and the queries it satisfies.
+     */
+    public static final class Range {
+        private final int start;
+        private final int length;
+        private final List<EcuQuery> queries;
+
+        private Range(int start, int length, List<EcuQuery> queries) {
+            this.start = start;
+            this.length = length;
+            this.queries = Collections.unmodifiableList(queries);
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * @return the number of bytes to read from the start address
+         */
+        public int getLength() {
+            return length;
+        }
+
+        /**
+         * @return the queries within the range, the first is at the
+         * start address
+         */
+        public List<EcuQuery> getQueries() {
+            return queries;
+        }
+
+        /**
+         * @return a collection holding only the query at the start address,
+         * as expected by the protocols' read memory requests
+         */
+        public Collection<EcuQuery> getStartQuery() {
+            return Collections.singletonList(queries.get(0));
+        }
+    }
+
+    /**
+     * @param maxLength - the maximum number of bytes read by one request
+     * @param maxGap - the number of unused bytes allowed between queries
+     * merged into one range
+     */
+    public EcuQueryPlanner(int maxLength, int maxGap) {
+        checkGreaterThanZero(maxLength, "maxLength");
+        this.maxLength = maxLength;
+        this.maxGap = maxGap;
+    }
+
+    /**
+     * Plan the reads for the queries, reusing an earlier plan when the
+     * queries are the same.
+     * @return the ranges in ascending address order
+     */
+    public List<Range> plan(Collection<EcuQuery> queries) {
+        for (int i = 0; i < planned.size(); i++) {
+            if (isPlanned(planned.get(i), queries)) {
+                return plans.get(i);
+            }
+        }
+
+        final List<EcuQuery> sorted = new ArrayList<EcuQuery>(queries);
+        Collections.sort(sorted, new Comparator<EcuQuery>() {
+            @Override
+            public int compare(EcuQuery q1, EcuQuery q2) {
+                return Integer.compare(getStart(q1), getStart(q2));
+            }
+        });
+
+        final List<Range> ranges = new ArrayList<Range>();
+        List<EcuQuery> members = null;
+        int start = 0;
+        int end = 0;
+        for (EcuQuery query : sorted) {
+            final int address = getStart(query);
+            final int last = address + EcuQueryData.getDataLength(query);
+            if (members != null && address - end <= maxGap
+                    && Math.max(end, last) - start <= maxLength) {
+                members.add(query);
+                end = Math.max(end, last);
+                continue;
+            }
+            if (members != null) {
+                ranges.add(new Range(start, end - start, members));
+            }
+            members = new ArrayList<EcuQuery>();
+            members.add(query);
+            start = address;
+            end = last;
+        }
+        if (members != null) {
+            ranges.add(new Range(start, end - start, members));
+        }
+
+        if (plans.size() == MAX_PLANS) {
+            planned.remove(0);
+            plans.remove(0);
+        }
+        final List<Range> plan = Collections.unmodifiableList(ranges);
+        planned.add(new ArrayList<EcuQuery>(queries));
+        plans.add(plan);
+        return plan;
+    }
+
+    // The query manager passes the same query instances each poll until
+    // the parameter selection changes
+    private static boolean isPlanned(List<EcuQuery> planned,
+            Collection<EcuQuery> queries) {
+        if (queries.size() != planned.size()) {
+            return false;
+        }
+        int i = 0;
+        for (EcuQuery query : queries) {
+            if (query != planned.get(i++)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int getStart(EcuQuery query) {
+        return hexToInt(query.getAddresses()[0]);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.logger.ecu.comms.query;
+
+import static com.romraider.util.ParamChecker.checkNotNull;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import com.romraider.logger.ecu.definition.LoggerData;
+
+/**
+ * A {@link Response} that stores its values in a primitive array indexed
+ * by the slots of a {@link ResponseLayout}. Instances are recycled by the
+ * logger once no update handler can still read them, so a handler must
+ * not keep a reference after
+ * {@link com.romraider.logger.ecu.ui.handler.DataUpdateHandler#handleDataUpdate(Response)}
+ * returns.
+ */
+public final class IndexedResponse implements Response {
+    private final ResponseLayout layout;
+    private final double[] values;
+    private long timestamp;
+
+    public IndexedResponse(ResponseLayout layout) {
+        checkNotNull(layout, "layout");
+        this.layout = layout;
+        this.values = new double[layout.size()];
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public ResponseLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Prepare a recycled instance for a new sample.
+     */
+    public void reset(long timestamp) {
+        this.timestamp = timestamp;
+        Arrays.fill(values, 0.0);
+    }
+
+    public void setDataValue(int slot, double value) {
+        values[slot] = value;
+    }
+
+    @Override
+    public void setDataValue(LoggerData data, double value) {
+        final int slot = layout.slotOf(data);
+        if (slot < 0) {
+            throw new IllegalArgumentException(
+                    "Data item not in response layout: " + data.getId());
+        }
+        values[slot] = value;
+    }
+
+    @Override
+    public Set<LoggerData> getData() {
+        return layout.getDataSet();
+    }
+
+    @Override
+    public double getDataValue(LoggerData data) {
+        final int slot = layout.slotOf(data);
+        return slot < 0 ? 0.0 : values[slot];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public LoggerData getData(int index) {
+        return layout.getData(index);
+    }
+
+    @Override
+    public double getDataValue(int index) {
+        return values[index];
+    }
+
+    @Override
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
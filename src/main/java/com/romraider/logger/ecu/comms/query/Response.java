@@ -30,5 +30,15 @@ public interface Response {
 
     double getDataValue(LoggerData data);
 
+    /**
+     * @return the number of data items, for index based access without
+     * hashing each data item
+     */
+    int size();
+
+    LoggerData getData(int index);
+
+    double getDataValue(int index);
+
     long getTimestamp();
 }
@@ -20,13 +20,17 @@
 package com.romraider.logger.ecu.comms.query;
 
 import com.romraider.logger.ecu.definition.LoggerData;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 public class ResponseImpl implements Response {
     private static final double ZERO = 0.0;
     private final Map<LoggerData, Double> dataValues = new LinkedHashMap<LoggerData, Double>();
+    // the keys of dataValues in order, for index based access
+    private final List<LoggerData> indexedData = new ArrayList<LoggerData>();
     private final long timestamp;
 
     public ResponseImpl() {
@@ -34,7 +38,9 @@ public class ResponseImpl implements Response {
     }
 
     public void setDataValue(LoggerData data, double value) {
-        dataValues.put(data, value);
+        if (dataValues.put(data, value) == null) {
+            indexedData.add(data);
+        }
     }
 
     public Set<LoggerData> getData() {
@@ -46,6 +52,18 @@ public class ResponseImpl implements Response {
         return value == null ? ZERO : value;
     }
 
+    public int size() {
+        return dataValues.size();
+    }
+
+    public LoggerData getData(int index) {
+        return indexedData.get(index);
+    }
+
+    public double getDataValue(int index) {
+        return getDataValue(indexedData.get(index));
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
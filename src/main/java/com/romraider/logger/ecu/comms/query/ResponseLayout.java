@@ -0,0 +1,78 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.logger.ecu.comms.query;
+
+import static com.romraider.util.ParamChecker.checkNotNull;
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.romraider.logger.ecu.definition.LoggerData;
+
+/**
+ * The slot assignment for one set of logged parameters. Each distinct
+ * {@link LoggerData} is given a fixed slot index, in order of first
+ * appearance, which {@link IndexedResponse}s use to store its value.
+ * A layout is immutable and is replaced whenever the query set changes.
+ */
+public final class ResponseLayout {
+    private final LoggerData[] datas;
+    private final Map<LoggerData, Integer> slots = new IdentityHashMap<LoggerData, Integer>();
+    private final Set<LoggerData> dataSet;
+
+    public ResponseLayout(Collection<? extends LoggerData> loggerDatas) {
+        checkNotNull(loggerDatas, "loggerDatas");
+        final List<LoggerData> ordered = new ArrayList<LoggerData>();
+        for (LoggerData loggerData : loggerDatas) {
+            if (!slots.containsKey(loggerData)) {
+                slots.put(loggerData, ordered.size());
+                ordered.add(loggerData);
+            }
+        }
+        datas = ordered.toArray(new LoggerData[ordered.size()]);
+        dataSet = unmodifiableSet(new LinkedHashSet<LoggerData>(ordered));
+    }
+
+    public int size() {
+        return datas.length;
+    }
+
+    public LoggerData getData(int slot) {
+        return datas[slot];
+    }
+
+    /**
+     * @return the slot of the data item or -1 if it is not in this layout
+     */
+    public int slotOf(LoggerData loggerData) {
+        final Integer slot = slots.get(loggerData);
+        return slot == null ? -1 : slot;
+    }
+
+    public Set<LoggerData> getDataSet() {
+        return dataSet;
+    }
+}
@@ -51,10 +51,14 @@ public final class EcuAddressImpl implements EcuAddress {
     }
 
     public EcuAddressImpl(String[] addresses) {
+        this(addresses, -1);
+    }
+
+    public EcuAddressImpl(String[] addresses, int bit) {
         checkNotNullOrEmpty(addresses, "addresses");
         this.addresses = addresses;
         this.bytes = getAddressBytes(addresses);
-        this.bit = -1;
+        this.bit = bit;
     }
 
     public String[] getAddresses() {
@@ -59,6 +59,12 @@ public final class EcuDataLoaderImpl implements EcuDataLoader {
 
     public void loadEcuDefsFromXml(File ecuDefsFile) {
         checkNotNull(ecuDefsFile, "ecuDefsFile");
+        final LoggerDefinitionCache cache = LoggerDefinitionCache.getInstance();
+        final Map<String, EcuDefinition> cached = cache.getEcuDefinitions(ecuDefsFile);
+        if (cached != null) {
+            ecuDefinitionMap = cached;
+            return;
+        }
         try {
             InputStream inputStream = new BufferedInputStream(
                     new FileInputStream(ecuDefsFile));
@@ -66,6 +72,7 @@ public final class EcuDataLoaderImpl implements EcuDataLoader {
                 EcuDefinitionHandler handler = new EcuDefinitionHandler(ecuDefsFile);
                 getSaxParser().parse(inputStream, handler, ecuDefsFile.getAbsolutePath());
                 ecuDefinitionMap = handler.getEcuDefinitionMap();
+                cache.putEcuDefinitions(ecuDefsFile, ecuDefinitionMap);
             } finally {
                 inputStream.close();
             }
@@ -95,30 +102,32 @@ public final class EcuDataLoaderImpl implements EcuDataLoader {
         boolean valid = true;
         
         try {
-            InputStream inputStream = new BufferedInputStream(new FileInputStream(new File(loggerConfigFilePath)));
-            try {
-                LoggerDefinitionHandler handler = new LoggerDefinitionHandler(
-                        protocol, fileLoggingControllerSwitchId, ecuInit);
-                getSaxParser().parse(inputStream, handler, loggerConfigFilePath);
-                              
-                ecuParameters = handler.getEcuParameters();
-                ecuSwitches = handler.getEcuSwitches();
-                fileLoggingControllerSwitch = handler.getFileLoggingControllerSwitch();
-                connectionProperties = handler.getConnectionProperties();
-                defVersion = handler.getVersion();
-                dtcodes = handler.getEcuCodes();
-                protocolList = handler.getProtocols();
-                
-                valid = isCurrentProtocolValid();
-
-                if(!valid) {                	
-                	s.setLoggerProtocol(protocolList.keySet().iterator().next());
-                	s.setTransportProtocol(protocolList.values().iterator().next().
-                			keySet().iterator().next().getId());               	               	
-                }                              
-            } finally {
-                inputStream.close();
+            final File loggerConfigFile = new File(loggerConfigFilePath);
+            final LoggerDefinitionCache cache = LoggerDefinitionCache.getInstance();
+            LoggerConfig config = cache.getLoggerConfig(loggerConfigFile,
+                    protocol, fileLoggingControllerSwitchId, ecuInit);
+            if (config == null) {
+                config = parseConfig(loggerConfigFile, protocol,
+                        fileLoggingControllerSwitchId, ecuInit);
+                cache.putLoggerConfig(loggerConfigFile, protocol,
+                        fileLoggingControllerSwitchId, ecuInit, config);
             }
+
+            ecuParameters = config.getEcuParameters();
+            ecuSwitches = config.getEcuSwitches();
+            fileLoggingControllerSwitch = config.getFileLoggingControllerSwitch();
+            connectionProperties = config.getConnectionProperties();
+            defVersion = config.getDefVersion();
+            dtcodes = config.getEcuCodes();
+            protocolList = config.getProtocols();
+
+            valid = isCurrentProtocolValid();
+
+            if(!valid) {                	
+            	s.setLoggerProtocol(protocolList.keySet().iterator().next());
+            	s.setTransportProtocol(protocolList.values().iterator().next().
+            			keySet().iterator().next().getId());               	               	
+            }                              
         }/* catch (FileNotFoundException fnfe) {
             throw new ConfigurationException(MessageFormat.format(
                     rb.getString("LOGFNF"), loggerConfigFilePath));
@@ -140,6 +149,25 @@ public final class EcuDataLoaderImpl implements EcuDataLoader {
         }
     }
     
+    private LoggerConfig parseConfig(File loggerConfigFile,
+                                     String protocol,
+                                     String fileLoggingControllerSwitchId,
+                                     EcuInit ecuInit) throws Exception {
+        InputStream inputStream = new BufferedInputStream(new FileInputStream(loggerConfigFile));
+        try {
+            LoggerDefinitionHandler handler = new LoggerDefinitionHandler(
+                    protocol, fileLoggingControllerSwitchId, ecuInit);
+            getSaxParser().parse(inputStream, handler, loggerConfigFile.getPath());
+            return new LoggerConfig(
+                    handler.getEcuParameters(), handler.getEcuSwitches(),
+                    handler.getEcuCodes(), handler.getFileLoggingControllerSwitch(),
+                    handler.getConnectionProperties(), handler.getVersion(),
+                    handler.getProtocols());
+        } finally {
+            inputStream.close();
+        }
+    }
+
     private boolean isCurrentProtocolValid() {    	
         Map<Transport, Collection<Module>> transportMap;
         Settings s = SettingsManager.getSettings();
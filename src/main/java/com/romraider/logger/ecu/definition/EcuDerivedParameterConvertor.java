@@ -23,4 +23,20 @@ public interface EcuDerivedParameterConvertor extends EcuDataConvertor {
 
     void setEcuDatas(EcuData[] ecuDatas);
 
+    /**
+     * @return the parameters the value is derived from
+     */
+    EcuData[] getEcuDatas();
+
+    /**
+     * @return the convertor used for each parameter in {@link #getEcuDatas()}
+     */
+    EcuDataConvertor[] getEcuDataConvertors();
+
+    /**
+     * Evaluate the expression from the converted value of each parameter
+     * in {@link #getEcuDatas()}.
+     */
+    double evaluate(double[] values);
+
 }
@@ -20,7 +20,8 @@
 package com.romraider.logger.ecu.definition;
 
 import com.romraider.logger.ecu.ui.handler.dash.GaugeMinMax;
-import static com.romraider.util.JEPUtil.evaluate;
+import com.romraider.util.CompiledExpression;
+import com.romraider.util.ExpressionCompiler;
 import static com.romraider.util.ParamChecker.checkNotNull;
 import static com.romraider.util.ParamChecker.checkNotNullOrEmpty;
 import static java.util.Collections.synchronizedMap;
@@ -30,12 +31,14 @@ import java.util.Map;
 
 public final class EcuDerivedParameterConvertorImpl implements EcuDerivedParameterConvertor {
     private EcuData[] ecuDatas;
+    private EcuDataConvertor[] ecuDataConvertors;
     private final String units;
     private final String expression;
     private final DecimalFormat format;
     private final Map<String, String> replaceMap;
     private final Map<String, ExpressionInfo> expressionInfoMap = synchronizedMap(new HashMap<String, ExpressionInfo>());
     private final GaugeMinMax gaugeMinMax;
+    private volatile CompiledExpression compiledExpression;
 
     public EcuDerivedParameterConvertorImpl(String units, String expression, String format, Map<String, String> replaceMap, GaugeMinMax gaugeMinMax) {
         checkNotNullOrEmpty(units, "units");
@@ -51,19 +54,20 @@ public final class EcuDerivedParameterConvertorImpl implements EcuDerivedParamet
     }
 
     public double convert(byte[] bytes) {
-        Map<String, Double> valueMap = new HashMap<String, Double>();
-        String exp = expression;
+        final double[] values = new double[ecuDatas.length];
         int index = 0;
-        for (EcuData ecuData : ecuDatas) {
-            int length = ecuData.getAddress().getLength();
+        for (int i = 0; i < ecuDatas.length; i++) {
+            int length = ecuDatas[i].getAddress().getLength();
             byte[] tmp = new byte[length];
             System.arraycopy(bytes, index, tmp, 0, length);
-            ExpressionInfo expressionInfo = expressionInfoMap.get(ecuData.getId());
-            valueMap.put(expressionInfo.getReplacementKey(), expressionInfo.getConvertor().convert(tmp));
-            exp = exp.replace(buildParameterKey(expressionInfo), expressionInfo.getReplacementKey());
+            values[i] = ecuDataConvertors[i].convert(tmp);
             index += length;
         }
-        double result = evaluate(exp, valueMap);
+        return evaluate(values);
+    }
+
+    public double evaluate(double[] values) {
+        double result = compiledExpression.evaluate(values);
         return Double.isNaN(result) || Double.isInfinite(result) ? 0.0 : result;
     }
 
@@ -79,6 +83,10 @@ public final class EcuDerivedParameterConvertorImpl implements EcuDerivedParamet
         return format.toPattern();
     }
 
+    public Map<String, String> getReplaceMap() {
+        return replaceMap;
+    }
+
     public String format(double value) {
         String formattedValue = format.format(value);
         if (replaceMap.containsKey(formattedValue)) {
@@ -91,9 +99,21 @@ public final class EcuDerivedParameterConvertorImpl implements EcuDerivedParamet
     public void setEcuDatas(EcuData[] ecuDatas) {
         checkNotNullOrEmpty(ecuDatas, "ecuDatas");
         this.ecuDatas = ecuDatas;
-        for (EcuData ecuData : ecuDatas) {
-            addExpressionInfo(ecuData);
+        final EcuDataConvertor[] convertors = new EcuDataConvertor[ecuDatas.length];
+        for (int i = 0; i < ecuDatas.length; i++) {
+            addExpressionInfo(ecuDatas[i]);
+            convertors[i] = expressionInfoMap.get(ecuDatas[i].getId()).getConvertor();
         }
+        ecuDataConvertors = convertors;
+        compileExpression();
+    }
+
+    public EcuData[] getEcuDatas() {
+        return ecuDatas;
+    }
+
+    public EcuDataConvertor[] getEcuDataConvertors() {
+        return ecuDataConvertors;
     }
 
     public String toString() {
@@ -125,6 +145,21 @@ public final class EcuDerivedParameterConvertorImpl implements EcuDerivedParamet
         }
     }
 
+    /**
+     * Replace the parameter keys in the expression once and compile it with
+     * one variable per dependency, in the order of <b>ecuDatas</b>.
+     */
+    private void compileExpression() {
+        String exp = expression;
+        final String[] variables = new String[ecuDatas.length];
+        for (int i = 0; i < ecuDatas.length; i++) {
+            ExpressionInfo expressionInfo = expressionInfoMap.get(ecuDatas[i].getId());
+            exp = exp.replace(buildParameterKey(expressionInfo), expressionInfo.getReplacementKey());
+            variables[i] = expressionInfo.getReplacementKey();
+        }
+        compiledExpression = ExpressionCompiler.compile(exp, variables);
+    }
+
     private String buildParameterKey(ExpressionInfo expressionInfo) {
         return '[' + expressionInfo.getEcuDataId() + ':' + expressionInfo.getConvertor().getUnits() + ']';
     }
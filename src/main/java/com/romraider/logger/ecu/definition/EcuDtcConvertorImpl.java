@@ -46,6 +46,10 @@ public final class EcuDtcConvertorImpl implements EcuDataConvertor {
         return result;
     }
 
+    public int getBit() {
+        return bit;
+    }
+
     public String getUnits() {
         return "On/Off";
     }
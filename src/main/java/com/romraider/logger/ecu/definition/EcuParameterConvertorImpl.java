@@ -21,7 +21,7 @@ package com.romraider.logger.ecu.definition;
 
 import static com.romraider.logger.ecu.definition.xml.ConverterMaxMinDefaults.getDefault;
 import static com.romraider.util.ByteUtil.asUnsignedInt;
-import static com.romraider.util.JEPUtil.evaluate;
+import static com.romraider.util.JEPUtil.compile;
 import static com.romraider.util.ParamChecker.checkNotNull;
 import static com.romraider.util.ParamChecker.checkNotNullOrEmpty;
 
@@ -32,6 +32,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.romraider.Settings;
+import com.romraider.util.CompiledExpression;
 import com.romraider.logger.ecu.ui.handler.dash.GaugeMinMax;
 
 public final class EcuParameterConvertorImpl implements EcuDataConvertor {
@@ -39,6 +40,7 @@ public final class EcuParameterConvertorImpl implements EcuDataConvertor {
     private static final String UINT = "uint";
     private final String units;
     private final String expression;
+    private final CompiledExpression compiledExpression;
     private final DecimalFormat format;
     private final int bit;
     private final String dataType;
@@ -61,6 +63,7 @@ public final class EcuParameterConvertorImpl implements EcuDataConvertor {
         checkNotNull(replaceMap, "replaceMap");
         this.units = units;
         this.expression = expression;
+        this.compiledExpression = compile(expression);
         this.format = new DecimalFormat(format);
         this.bit = bit;
         this.dataType = (dataType == null ? "uint8" : dataType);
@@ -80,7 +83,7 @@ public final class EcuParameterConvertorImpl implements EcuDataConvertor {
             return (asUnsignedInt(bytes) & (1 << bit)) != 0 ? 1 : 0;
         }
         else if (dataType.equalsIgnoreCase(FLOAT)) {
-            result = evaluate(expression, bb.getFloat());
+            result = compiledExpression.evaluate(bb.getFloat());
         }
         else {
             long value = 0;
@@ -108,11 +111,19 @@ public final class EcuParameterConvertorImpl implements EcuDataConvertor {
                         break;
                 }
             }
-            result = evaluate(expression, value);
+            result = compiledExpression.evaluate(value);
         }
         return Double.isNaN(result) || Double.isInfinite(result) ? 0.0 : result;
     }
 
+    public int getBit() {
+        return bit;
+    }
+
+    public Settings.Endian getEndian() {
+        return endian;
+    }
+
     public String getUnits() {
         return units;
     }
@@ -125,6 +136,10 @@ public final class EcuParameterConvertorImpl implements EcuDataConvertor {
         return format.toPattern();
     }
 
+    public Map<String, String> getReplaceMap() {
+        return replaceMap;
+    }
+
     public String format(double value) {
         String formattedValue = format.format(value);
         if (replaceMap.containsKey(formattedValue)) {
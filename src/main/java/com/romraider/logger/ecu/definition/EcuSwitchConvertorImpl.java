@@ -40,6 +40,10 @@ public final class EcuSwitchConvertorImpl implements EcuDataConvertor {
         return (bytes[0] & (1 << bit)) > 0 ? 1 : 0;
     }
 
+    public int getBit() {
+        return bit;
+    }
+
     public String getUnits() {
         return units;
     }
@@ -0,0 +1,86 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.logger.ecu.definition;
+
+import static com.romraider.util.ParamChecker.checkNotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.romraider.io.connection.ConnectionProperties;
+
+/**
+ * The parameters, switches, DTCs and connection properties loaded from
+ * the logger definition for one protocol and ECU.
+ */
+final class LoggerConfig {
+    private final List<EcuParameter> ecuParameters;
+    private final List<EcuSwitch> ecuSwitches;
+    private final List<EcuSwitch> dtcodes;
+    private final EcuSwitch fileLoggingControllerSwitch;
+    private final ConnectionProperties connectionProperties;
+    private final String defVersion;
+    private final Map<String, Map<Transport, Collection<Module>>> protocols;
+
+    LoggerConfig(
+            List<EcuParameter> ecuParameters, List<EcuSwitch> ecuSwitches,
+            List<EcuSwitch> dtcodes, EcuSwitch fileLoggingControllerSwitch,
+            ConnectionProperties connectionProperties, String defVersion,
+            Map<String, Map<Transport, Collection<Module>>> protocols) {
+        checkNotNull(ecuParameters, ecuSwitches, dtcodes, protocols);
+        this.ecuParameters = ecuParameters;
+        this.ecuSwitches = ecuSwitches;
+        this.dtcodes = dtcodes;
+        this.fileLoggingControllerSwitch = fileLoggingControllerSwitch;
+        this.connectionProperties = connectionProperties;
+        this.defVersion = defVersion;
+        this.protocols = protocols;
+    }
+
+    List<EcuParameter> getEcuParameters() {
+        return ecuParameters;
+    }
+
+    List<EcuSwitch> getEcuSwitches() {
+        return ecuSwitches;
+    }
+
+    List<EcuSwitch> getEcuCodes() {
+        return dtcodes;
+    }
+
+    EcuSwitch getFileLoggingControllerSwitch() {
+        return fileLoggingControllerSwitch;
+    }
+
+    ConnectionProperties getConnectionProperties() {
+        return connectionProperties;
+    }
+
+    String getDefVersion() {
+        return defVersion;
+    }
+
+    Map<String, Map<Transport, Collection<Module>>> getProtocols() {
+        return protocols;
+    }
+}
@@ -0,0 +1,848 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.logger.ecu.definition;
+
+import static com.romraider.util.HexUtil.asHex;
+import static com.romraider.util.ParamChecker.checkNotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+
+import com.romraider.Settings;
+import com.romraider.io.connection.ConnectionProperties;
+import com.romraider.io.connection.KwpConnectionProperties;
+import com.romraider.io.connection.KwpSerialConnectionProperties;
+import com.romraider.io.connection.SerialConnectionProperties;
+import com.romraider.logger.ecu.comms.query.EcuInit;
+import com.romraider.logger.ecu.ui.handler.dash.GaugeMinMax;
+import com.romraider.util.SettingsManager;
+
+/**
+ * Keeps a compact binary copy of what was loaded from the ECU and logger
+ * definition files so the logger can start, and switch ECU or protocol,
+ * without parsing the XML again. An entry is keyed by the definition's
+ * path and the protocol and ECU it was loaded for, and is used only while
+ * the digest of the definition file's content is unchanged.
+ */
+public final class LoggerDefinitionCache {
+    private static final Logger LOGGER = Logger.getLogger(LoggerDefinitionCache.class);
+    private static final String CACHE_DIR = "/loggercache";
+    private static final int MAGIC = 0x52524C43;
+    private static final int VERSION = 1;
+    private static final int MAX_ENTRIES = 32;
+    private static final int PARAMETER = 0;
+    private static final int DERIVED = 1;
+    private static final int SWITCH = 2;
+    private static final int DTC = 3;
+    private static LoggerDefinitionCache instance;
+
+    private final File cacheDir;
+    private final Map<String, Digest> digests = new HashMap<String, Digest>();
+
+    private static final class Digest {
+        private final long length;
+        private final long modified;
+        private final byte[] value;
+
+        Digest(long length, long modified, byte[] value) {
+            this.length = length;
+            this.modified = modified;
+            this.value = value;
+        }
+
+        boolean isCurrent(File file) {
+            return length == file.length() && modified == file.lastModified();
+        }
+    }
+
+    LoggerDefinitionCache(File cacheDir) {
+        checkNotNull(cacheDir, "cacheDir");
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * @return the cache kept in the settings directory
+     */
+    public static synchronized LoggerDefinitionCache getInstance() {
+        if (instance == null) {
+            instance = new LoggerDefinitionCache(
+                    new File(SettingsManager.getSettingsDir() + CACHE_DIR));
+        }
+        return instance;
+    }
+
+    /**
+     * @return the ECU definitions loaded from the file, or null if they
+     * are not cached or the file changed since they were
+     */
+    public synchronized Map<String, EcuDefinition> getEcuDefinitions(File ecuDefsFile) {
+        final String key = ecuDefsKey(ecuDefsFile);
+        final Reader reader = open(ecuDefsFile, key);
+        if (reader == null) {
+            return null;
+        }
+        try {
+            return reader.readEcuDefinitions(ecuDefsFile);
+        }
+        catch (IOException e) {
+            return discard(key, e);
+        }
+        catch (RuntimeException e) {
+            return discard(key, e);
+        }
+        finally {
+            reader.close();
+        }
+    }
+
+    public synchronized void putEcuDefinitions(
+            File ecuDefsFile, Map<String, EcuDefinition> ecuDefinitionMap) {
+        checkNotNull(ecuDefinitionMap, "ecuDefinitionMap");
+        final String key = ecuDefsKey(ecuDefsFile);
+        final Writer writer = create(ecuDefsFile, key);
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.writeEcuDefinitions(ecuDefinitionMap);
+            commit(writer, key);
+        }
+        catch (IOException e) {
+            LOGGER.warn("ECU definition cache write failed: " + e.getMessage());
+        }
+        finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * @return the logger definition loaded for the protocol and ECU, or
+     * null if it is not cached or the file changed since it was
+     */
+    synchronized LoggerConfig getLoggerConfig(File loggerConfigFile,
+            String protocol, String fileLoggingControllerSwitchId,
+            EcuInit ecuInit) {
+        final String key = loggerConfigKey(
+                loggerConfigFile, protocol, fileLoggingControllerSwitchId, ecuInit);
+        final Reader reader = open(loggerConfigFile, key);
+        if (reader == null) {
+            return null;
+        }
+        try {
+            return reader.readLoggerConfig();
+        }
+        catch (IOException e) {
+            return discard(key, e);
+        }
+        catch (RuntimeException e) {
+            return discard(key, e);
+        }
+        finally {
+            reader.close();
+        }
+    }
+
+    synchronized void putLoggerConfig(File loggerConfigFile, String protocol,
+            String fileLoggingControllerSwitchId, EcuInit ecuInit,
+            LoggerConfig config) {
+        checkNotNull(config, "config");
+        final String key = loggerConfigKey(
+                loggerConfigFile, protocol, fileLoggingControllerSwitchId, ecuInit);
+        final Writer writer = create(loggerConfigFile, key);
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.writeLoggerConfig(config);
+            commit(writer, key);
+        }
+        catch (IOException e) {
+            LOGGER.warn("Logger definition cache write failed: " + e.getMessage());
+        }
+        finally {
+            writer.close();
+        }
+    }
+
+    private static String ecuDefsKey(File ecuDefsFile) {
+        checkNotNull(ecuDefsFile, "ecuDefsFile");
+        return "ecudefs|" + ecuDefsFile.getAbsolutePath();
+    }
+
+    // the supported parameters and switches depend on the init bytes
+    // as well as the ECU id
+    private static String loggerConfigKey(File loggerConfigFile, String protocol,
+            String fileLoggingControllerSwitchId, EcuInit ecuInit) {
+        checkNotNull(loggerConfigFile, "loggerConfigFile");
+        checkNotNull(protocol, "protocol");
+        final StringBuilder key = new StringBuilder("logger|")
+                .append(loggerConfigFile.getAbsolutePath()).append('|')
+                .append(protocol.toUpperCase()).append('|')
+                .append(fileLoggingControllerSwitchId);
+        if (ecuInit != null) {
+            key.append('|').append(ecuInit.getEcuId())
+               .append('|').append(asHex(ecuInit.getEcuInitBytes()));
+        }
+        return key.toString();
+    }
+
+    private Reader open(File source, String key) {
+        final File entry = entryFile(key);
+        if (!entry.exists() || !source.exists()) {
+            return null;
+        }
+        Reader reader = null;
+        try {
+            final byte[] digest = digest(source);
+            reader = new Reader(entry);
+            if (reader.readHeader(key, digest)) {
+                entry.setLastModified(System.currentTimeMillis());
+                return reader;
+            }
+            LOGGER.debug("Definition cache outdated: " + key);
+        }
+        catch (IOException e) {
+            LOGGER.info("Definition cache discarded: " + e.getMessage());
+        }
+        if (reader != null) {
+            reader.close();
+        }
+        entry.delete();
+        return null;
+    }
+
+    private Writer create(File source, String key) {
+        try {
+            cacheDir.mkdirs();
+            final Writer writer = new Writer(
+                    new File(entryFile(key).getPath() + ".tmp"));
+            writer.writeHeader(key, digest(source));
+            return writer;
+        }
+        catch (IOException e) {
+            LOGGER.warn("Definition cache write failed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void commit(Writer writer, String key) throws IOException {
+        writer.flush();
+        final File entry = entryFile(key);
+        if ((entry.exists() && !entry.delete()) || !writer.file.renameTo(entry)) {
+            throw new IOException("Unable to replace " + entry);
+        }
+        LOGGER.debug("Definition cached: " + key);
+        prune();
+    }
+
+    private <T> T discard(String key, Exception e) {
+        LOGGER.info("Definition cache discarded: " + e.getMessage());
+        entryFile(key).delete();
+        return null;
+    }
+
+    // the least recently used entries are removed once the cache is full
+    private void prune() {
+        final File[] entries = cacheDir.listFiles();
+        if (entries == null || entries.length <= MAX_ENTRIES) {
+            return;
+        }
+        final long[] modified = new long[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            modified[i] = entries[i].lastModified();
+        }
+        Arrays.sort(modified);
+        final long oldest = modified[entries.length - MAX_ENTRIES - 1];
+        for (File entry : entries) {
+            if (entry.lastModified() <= oldest) {
+                entry.delete();
+            }
+        }
+    }
+
+    private File entryFile(String key) {
+        return new File(cacheDir, asHex(md5(key.getBytes())).toLowerCase() + ".bin");
+    }
+
+    // the digest of a file is only taken again if its size or
+    // modification time changed
+    private byte[] digest(File file) throws IOException {
+        final String path = file.getAbsolutePath();
+        final Digest cached = digests.get(path);
+        if (cached != null && cached.isCurrent(file)) {
+            return cached.value;
+        }
+        final long length = file.length();
+        final long modified = file.lastModified();
+        final MessageDigest md = newMessageDigest();
+        final InputStream in = new FileInputStream(file);
+        try {
+            final byte[] buffer = new byte[65536];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                md.update(buffer, 0, n);
+            }
+        }
+        finally {
+            in.close();
+        }
+        final byte[] value = md.digest();
+        digests.put(path, new Digest(length, modified, value));
+        return value;
+    }
+
+    private static byte[] md5(byte[] bytes) {
+        return newMessageDigest().digest(bytes);
+    }
+
+    private static MessageDigest newMessageDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes an entry. Repeated strings are written once and then referred
+     * to by their index.
+     */
+    private static final class Writer {
+        private final File file;
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<String, Integer>();
+
+        Writer(File file) throws IOException {
+            this.file = file;
+            this.out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(file)));
+        }
+
+        void writeHeader(String key, byte[] digest) throws IOException {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(key);
+            writeBytes(digest);
+        }
+
+        void writeEcuDefinitions(Map<String, EcuDefinition> ecuDefinitionMap)
+                throws IOException {
+            out.writeInt(ecuDefinitionMap.size());
+            for (Map.Entry<String, EcuDefinition> entry : ecuDefinitionMap.entrySet()) {
+                final EcuDefinition definition = entry.getValue();
+                writeString(entry.getKey());
+                writeString(definition.getEcuId());
+                writeString(definition.getCalId());
+                writeString(definition.getCarString());
+                writeString(definition.getInherits());
+                writeString(definition.getEcuDefFile() == null
+                        ? null : definition.getEcuDefFile().getPath());
+            }
+        }
+
+        void writeLoggerConfig(LoggerConfig config) throws IOException {
+            writeString(config.getDefVersion());
+            writeConnectionProperties(config.getConnectionProperties());
+            writeProtocols(config.getProtocols());
+
+            // switches are written first so derived parameters can refer
+            // to any data defined before them
+            final Map<EcuData, Integer> written = new IdentityHashMap<EcuData, Integer>();
+            writeSwitches(config.getEcuSwitches(), SWITCH, written);
+            writeSwitches(config.getEcuCodes(), DTC, written);
+            out.writeInt(config.getEcuParameters().size());
+            for (EcuParameter parameter : config.getEcuParameters()) {
+                writeParameter(parameter, written);
+                written.put(parameter, written.size());
+            }
+            final EcuSwitch fileLoggingControllerSwitch =
+                    config.getFileLoggingControllerSwitch();
+            out.writeBoolean(fileLoggingControllerSwitch != null);
+            if (fileLoggingControllerSwitch != null) {
+                writeSwitch(fileLoggingControllerSwitch, SWITCH);
+            }
+        }
+
+        private void writeConnectionProperties(ConnectionProperties properties)
+                throws IOException {
+            out.writeBoolean(properties != null);
+            if (properties == null) {
+                return;
+            }
+            final boolean kwp = properties instanceof KwpConnectionProperties;
+            out.writeBoolean(kwp);
+            out.writeInt(properties.getBaudRate());
+            out.writeInt(properties.getDataBits());
+            out.writeInt(properties.getStopBits());
+            out.writeInt(properties.getParity());
+            out.writeInt(properties.getConnectTimeout());
+            out.writeInt(properties.getSendTimeout());
+            if (kwp) {
+                final KwpConnectionProperties kwpProperties =
+                        (KwpConnectionProperties) properties;
+                out.writeInt(kwpProperties.getP1Max());
+                out.writeInt(kwpProperties.getP3Min());
+                out.writeInt(kwpProperties.getP4Min());
+            }
+        }
+
+        private void writeProtocols(
+                Map<String, Map<Transport, Collection<Module>>> protocols)
+                throws IOException {
+            out.writeInt(protocols.size());
+            for (Map.Entry<String, Map<Transport, Collection<Module>>> protocol
+                    : protocols.entrySet()) {
+                writeString(protocol.getKey());
+                final Map<Transport, Collection<Module>> transports = protocol.getValue();
+                out.writeInt(transports == null ? -1 : transports.size());
+                if (transports == null) {
+                    continue;
+                }
+                for (Map.Entry<Transport, Collection<Module>> transport
+                        : transports.entrySet()) {
+                    writeString(transport.getKey().getId());
+                    writeString(transport.getKey().getName());
+                    writeString(transport.getKey().getDescription());
+                    out.writeInt(transport.getValue().size());
+                    for (Module module : transport.getValue()) {
+                        writeString(module.getName());
+                        writeBytes(module.getAddress());
+                        writeString(module.getDescription());
+                        writeBytes(module.getTester());
+                        out.writeBoolean(module.getFastPoll());
+                    }
+                }
+            }
+        }
+
+        private void writeSwitches(List<EcuSwitch> switches, int type,
+                Map<EcuData, Integer> written) throws IOException {
+            out.writeInt(switches.size());
+            for (EcuSwitch ecuSwitch : switches) {
+                writeSwitch(ecuSwitch, type);
+                written.put(ecuSwitch, written.size());
+            }
+        }
+
+        private void writeSwitch(EcuSwitch ecuSwitch, int type) throws IOException {
+            final EcuDataConvertor convertor = ecuSwitch.getConvertors()[0];
+            writeData(ecuSwitch);
+            writeAddress(ecuSwitch.getAddress());
+            if (type == SWITCH && convertor instanceof EcuSwitchConvertorImpl) {
+                final EcuSwitchConvertorImpl switchConvertor =
+                        (EcuSwitchConvertorImpl) convertor;
+                out.writeInt(switchConvertor.getBit());
+                writeString(switchConvertor.getDataType());
+                writeString(switchConvertor.getUnits());
+            }
+            else if (type == DTC && convertor instanceof EcuDtcConvertorImpl) {
+                out.writeInt(((EcuDtcConvertorImpl) convertor).getBit());
+            }
+            else {
+                throw new IOException("Unsupported switch convertor: "
+                        + convertor.getClass().getName());
+            }
+        }
+
+        private void writeParameter(EcuParameter parameter,
+                Map<EcuData, Integer> written) throws IOException {
+            if (parameter instanceof EcuDerivedParameterImpl) {
+                final EcuDataConvertor[] convertors = parameter.getConvertors();
+                final EcuData[] ecuDatas =
+                        ((EcuDerivedParameterConvertor) convertors[0]).getEcuDatas();
+                out.writeByte(DERIVED);
+                writeData(parameter);
+                out.writeInt(ecuDatas.length);
+                for (EcuData ecuData : ecuDatas) {
+                    final Integer index = written.get(ecuData);
+                    if (index == null) {
+                        throw new IOException("Unresolved dependency: " + ecuData.getId());
+                    }
+                    out.writeInt(index);
+                }
+                out.writeInt(convertors.length);
+                for (EcuDataConvertor convertor : convertors) {
+                    if (!(convertor instanceof EcuDerivedParameterConvertorImpl)) {
+                        throw new IOException("Unsupported derived convertor: "
+                                + convertor.getClass().getName());
+                    }
+                    final EcuDerivedParameterConvertorImpl derivedConvertor =
+                            (EcuDerivedParameterConvertorImpl) convertor;
+                    writeString(derivedConvertor.getUnits());
+                    writeString(derivedConvertor.getExpression());
+                    writeString(derivedConvertor.getFormat());
+                    writeReplaceMap(derivedConvertor.getReplaceMap());
+                    writeGauge(derivedConvertor.getGaugeMinMax());
+                }
+            }
+            else if (parameter instanceof EcuParameterImpl) {
+                final EcuDataConvertor[] convertors = parameter.getConvertors();
+                out.writeByte(PARAMETER);
+                writeData(parameter);
+                writeAddress(parameter.getAddress());
+                out.writeInt(convertors.length);
+                for (EcuDataConvertor convertor : convertors) {
+                    if (!(convertor instanceof EcuParameterConvertorImpl)) {
+                        throw new IOException("Unsupported parameter convertor: "
+                                + convertor.getClass().getName());
+                    }
+                    final EcuParameterConvertorImpl parameterConvertor =
+                            (EcuParameterConvertorImpl) convertor;
+                    writeString(parameterConvertor.getUnits());
+                    writeString(parameterConvertor.getExpression());
+                    writeString(parameterConvertor.getFormat());
+                    out.writeInt(parameterConvertor.getBit());
+                    writeString(parameterConvertor.getDataType());
+                    out.writeBoolean(parameterConvertor.getEndian() == Settings.Endian.LITTLE);
+                    writeReplaceMap(parameterConvertor.getReplaceMap());
+                    writeGauge(parameterConvertor.getGaugeMinMax());
+                }
+            }
+            else {
+                throw new IOException("Unsupported parameter: "
+                        + parameter.getClass().getName());
+            }
+        }
+
+        private void writeData(EcuData ecuData) throws IOException {
+            writeString(ecuData.getId());
+            writeString(ecuData.getName());
+            writeString(ecuData.getDescription());
+            writeString(ecuData.getGroup());
+            writeString(ecuData.getSubgroup());
+            out.writeInt(ecuData.getGroupSize());
+        }
+
+        private void writeAddress(EcuAddress address) throws IOException {
+            final String[] addresses = address.getAddresses();
+            out.writeInt(addresses.length);
+            for (String value : addresses) {
+                writeString(value);
+            }
+            out.writeInt(address.getBit());
+        }
+
+        private void writeReplaceMap(Map<String, String> replaceMap) throws IOException {
+            out.writeInt(replaceMap.size());
+            for (Map.Entry<String, String> entry : replaceMap.entrySet()) {
+                writeString(entry.getKey());
+                writeString(entry.getValue());
+            }
+        }
+
+        private void writeGauge(GaugeMinMax gauge) throws IOException {
+            out.writeDouble(gauge.min);
+            out.writeDouble(gauge.max);
+            out.writeDouble(gauge.step);
+        }
+
+        private void writeBytes(byte[] bytes) throws IOException {
+            out.writeInt(bytes == null ? -1 : bytes.length);
+            if (bytes != null) {
+                out.write(bytes);
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            final Integer index = strings.get(value);
+            if (index != null) {
+                out.writeInt(index);
+            }
+            else {
+                out.writeInt(strings.size());
+                out.writeUTF(value);
+                strings.put(value, strings.size());
+            }
+        }
+
+        void flush() throws IOException {
+            out.close();
+        }
+
+        void close() {
+            try {
+                out.close();
+            }
+            catch (IOException e) {
+                LOGGER.warn("Definition cache close failed", e);
+            }
+            file.delete();
+        }
+    }
+
+    /**
+     * Reads an entry written by {@link Writer}.
+     */
+    private static final class Reader {
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<String>();
+
+        Reader(File file) throws IOException {
+            this.in = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(file)));
+        }
+
+        boolean readHeader(String key, byte[] digest) throws IOException {
+            return in.readInt() == MAGIC
+                    && in.readInt() == VERSION
+                    && key.equals(in.readUTF())
+                    && Arrays.equals(digest, readBytes());
+        }
+
+        Map<String, EcuDefinition> readEcuDefinitions(File ecuDefsFile)
+                throws IOException {
+            final int count = in.readInt();
+            final Map<String, EcuDefinition> ecuDefinitionMap =
+                    new HashMap<String, EcuDefinition>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                final String key = readString();
+                final String ecuId = readString();
+                final String calId = readString();
+                final String carString = readString();
+                final String inherits = readString();
+                final String path = readString();
+                final File file = path == null ? null
+                        : path.equals(ecuDefsFile.getPath()) ? ecuDefsFile
+                        : new File(path);
+                ecuDefinitionMap.put(key,
+                        new EcuDefinitionImpl(ecuId, calId, carString, inherits, file));
+            }
+            return ecuDefinitionMap;
+        }
+
+        LoggerConfig readLoggerConfig() throws IOException {
+            final String defVersion = readString();
+            final ConnectionProperties connectionProperties = readConnectionProperties();
+            final Map<String, Map<Transport, Collection<Module>>> protocols =
+                    readProtocols();
+
+            final List<EcuData> read = new ArrayList<EcuData>();
+            final List<EcuSwitch> switches = readSwitches(SWITCH, read);
+            final List<EcuSwitch> dtcodes = readSwitches(DTC, read);
+            final int count = in.readInt();
+            final List<EcuParameter> parameters = new ArrayList<EcuParameter>(count);
+            for (int i = 0; i < count; i++) {
+                final EcuParameter parameter = readParameter(read);
+                parameters.add(parameter);
+                read.add(parameter);
+            }
+            final EcuSwitch fileLoggingControllerSwitch =
+                    in.readBoolean() ? readSwitch(SWITCH) : null;
+            return new LoggerConfig(parameters, switches, dtcodes,
+                    fileLoggingControllerSwitch, connectionProperties,
+                    defVersion, protocols);
+        }
+
+        private ConnectionProperties readConnectionProperties() throws IOException {
+            if (!in.readBoolean()) {
+                return null;
+            }
+            final boolean kwp = in.readBoolean();
+            final int baudRate = in.readInt();
+            final int dataBits = in.readInt();
+            final int stopBits = in.readInt();
+            final int parity = in.readInt();
+            final int connectTimeout = in.readInt();
+            final int sendTimeout = in.readInt();
+            if (kwp) {
+                return new KwpSerialConnectionProperties(baudRate, dataBits,
+                        stopBits, parity, connectTimeout, sendTimeout,
+                        in.readInt(), in.readInt(), in.readInt());
+            }
+            return new SerialConnectionProperties(baudRate, dataBits, stopBits,
+                    parity, connectTimeout, sendTimeout);
+        }
+
+        private Map<String, Map<Transport, Collection<Module>>> readProtocols()
+                throws IOException {
+            final int count = in.readInt();
+            final Map<String, Map<Transport, Collection<Module>>> protocols =
+                    new HashMap<String, Map<Transport, Collection<Module>>>();
+            for (int i = 0; i < count; i++) {
+                final String protocol = readString();
+                final int transportCount = in.readInt();
+                if (transportCount < 0) {
+                    protocols.put(protocol, null);
+                    continue;
+                }
+                final Map<Transport, Collection<Module>> transports =
+                        new HashMap<Transport, Collection<Module>>();
+                for (int j = 0; j < transportCount; j++) {
+                    final Transport transport =
+                            new Transport(readString(), readString(), readString());
+                    final int moduleCount = in.readInt();
+                    final Collection<Module> modules = new ArrayList<Module>(moduleCount);
+                    for (int k = 0; k < moduleCount; k++) {
+                        modules.add(new Module(readString(), readBytes(),
+                                readString(), readBytes(), in.readBoolean()));
+                    }
+                    transports.put(transport, modules);
+                }
+                protocols.put(protocol, transports);
+            }
+            return protocols;
+        }
+
+        private List<EcuSwitch> readSwitches(int type, List<EcuData> read)
+                throws IOException {
+            final int count = in.readInt();
+            final List<EcuSwitch> switches = new ArrayList<EcuSwitch>(count);
+            for (int i = 0; i < count; i++) {
+                final EcuSwitch ecuSwitch = readSwitch(type);
+                switches.add(ecuSwitch);
+                read.add(ecuSwitch);
+            }
+            return switches;
+        }
+
+        private EcuSwitch readSwitch(int type) throws IOException {
+            final String id = readString();
+            final String name = readString();
+            final String description = readString();
+            final String group = readString();
+            final String subgroup = readString();
+            final int groupSize = in.readInt();
+            final EcuAddress address = readAddress();
+            final EcuDataConvertor convertor = type == SWITCH
+                    ? new EcuSwitchConvertorImpl(in.readInt(), readString(), readString())
+                    : new EcuDtcConvertorImpl(in.readInt());
+            return new EcuSwitchImpl(id, name, description, address, group,
+                    subgroup, Integer.toString(groupSize),
+                    new EcuDataConvertor[]{convertor});
+        }
+
+        private EcuParameter readParameter(List<EcuData> read) throws IOException {
+            final int type = in.readByte();
+            final String id = readString();
+            final String name = readString();
+            final String description = readString();
+            final String group = readString();
+            final String subgroup = readString();
+            final int groupSize = in.readInt();
+            if (type == DERIVED) {
+                final EcuData[] ecuDatas = new EcuData[in.readInt()];
+                for (int i = 0; i < ecuDatas.length; i++) {
+                    ecuDatas[i] = read.get(in.readInt());
+                }
+                final EcuDerivedParameterConvertor[] convertors =
+                        new EcuDerivedParameterConvertor[in.readInt()];
+                for (int i = 0; i < convertors.length; i++) {
+                    convertors[i] = new EcuDerivedParameterConvertorImpl(
+                            readString(), readString(), readString(),
+                            readReplaceMap(), readGauge());
+                }
+                return new EcuDerivedParameterImpl(id, name, description,
+                        ecuDatas, convertors);
+            }
+            if (type != PARAMETER) {
+                throw new IOException("Unknown parameter type: " + type);
+            }
+            final EcuAddress address = readAddress();
+            final EcuDataConvertor[] convertors = new EcuDataConvertor[in.readInt()];
+            for (int i = 0; i < convertors.length; i++) {
+                convertors[i] = new EcuParameterConvertorImpl(
+                        readString(), readString(), readString(), in.readInt(),
+                        readString(),
+                        in.readBoolean() ? Settings.Endian.LITTLE : Settings.Endian.BIG,
+                        readReplaceMap(), readGauge());
+            }
+            return new EcuParameterImpl(id, name, description, address, group,
+                    subgroup, Integer.toString(groupSize), convertors);
+        }
+
+        private EcuAddress readAddress() throws IOException {
+            final String[] addresses = new String[in.readInt()];
+            for (int i = 0; i < addresses.length; i++) {
+                addresses[i] = readString();
+            }
+            return new EcuAddressImpl(addresses, in.readInt());
+        }
+
+        private Map<String, String> readReplaceMap() throws IOException {
+            final int count = in.readInt();
+            final Map<String, String> replaceMap = new HashMap<String, String>();
+            for (int i = 0; i < count; i++) {
+                replaceMap.put(readString(), readString());
+            }
+            return replaceMap;
+        }
+
+        private GaugeMinMax readGauge() throws IOException {
+            return new GaugeMinMax(in.readDouble(), in.readDouble(), in.readDouble());
+        }
+
+        private byte[] readBytes() throws IOException {
+            final int length = in.readInt();
+            if (length < 0) {
+                return null;
+            }
+            final byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return bytes;
+        }
+
+        private String readString() throws IOException {
+            final int index = in.readInt();
+            if (index < 0) {
+                return null;
+            }
+            if (index == strings.size()) {
+                strings.add(in.readUTF());
+            }
+            else if (index > strings.size()) {
+                throw new IOException("Invalid string index: " + index);
+            }
+            return strings.get(index);
+        }
+
+        void close() {
+            try {
+                in.close();
+            }
+            catch (IOException e) {
+                LOGGER.warn("Definition cache close failed", e);
+            }
+        }
+    }
+}
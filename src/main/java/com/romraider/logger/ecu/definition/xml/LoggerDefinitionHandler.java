@@ -128,7 +128,6 @@ public final class LoggerDefinitionHandler extends DefaultHandler {
     private EcuSwitch fileLoggingControllerSwitch;
     private ConnectionProperties connectionProperties;
     private Map<String, EcuData> ecuDataMap;
-    private Map<String, String> replaceMap;
     private String id;
     private String name;
     private String desc;
@@ -139,15 +138,16 @@ public final class LoggerDefinitionHandler extends DefaultHandler {
     private String groupsize;
     private String ecuIds;
     private List<String> addrStrings = new ArrayList<String>();
-    private boolean EcuAddressCreated;
     private EcuAddress address;
+    private String switchByte;
+    private int switchBit;
     private Set<String> dependsList;
-    private Map<String, EcuAddress> ecuAddressMap;
+    private boolean ecuMatched;
+    private EcuAddress ecuAddress;
     private boolean derived;
     private int addressBit;
     private int addressLength;
-    private Set<EcuDataConvertor> convertorList;
-    private Set<EcuDerivedParameterConvertor> derivedConvertorList;
+    private List<Conversion> conversions;
     private StringBuilder charBuffer;
     private boolean parseProtocol;
     private String conversionUnits;
@@ -156,6 +156,7 @@ public final class LoggerDefinitionHandler extends DefaultHandler {
     private String conversionStorageType;
     private Settings.Endian conversionEndian;
     private GaugeMinMax conversionGauge;
+    private Map<String, String> conversionReplaceMap;
     private String target;
     private String version;
     private String protocolId;
@@ -260,13 +261,9 @@ public final class LoggerDefinitionHandler extends DefaultHandler {
                 double gaugeMax = getConversionMax(attributes, conversionUnits);
                 double gaugeStep = getConversionStep(attributes, conversionUnits);
                 conversionGauge = new GaugeMinMax(gaugeMin, gaugeMax, gaugeStep);
-                replaceMap = new HashMap<String, String>();
-                if (!derived && !EcuAddressCreated && addrStrings.size() > 0) {
-                    address = new EcuAddressImpl(addrStrings.toArray(new String[0]), addressLength, addressBit);
-                    EcuAddressCreated = true;
-                }
+                conversionReplaceMap = new HashMap<String, String>();
             } else if (TAG_REPLACE.equals(qName)) {
-                replaceMap.put(attributes.getValue(ATTR_VALUE), attributes.getValue(ATTR_WITH));
+                conversionReplaceMap.put(attributes.getValue(ATTR_VALUE), attributes.getValue(ATTR_WITH));
             } else if (TAG_SWITCH.equals(qName)) {
                 id = attributes.getValue(ATTR_ID);
                 name = attributes.getValue(ATTR_NAME);
@@ -279,7 +276,8 @@ public final class LoggerDefinitionHandler extends DefaultHandler {
                 conversionStorageType = attributes.getValue(ATTR_STORAGETYPE);
                 conversionUnits = attributes.getValue(ATTR_UNITS);
                 target = attributes.getValue(ATTR_TARGET);
-                address = new EcuAddressImpl(attributes.getValue(ATTR_BYTE), 1, Integer.valueOf(attributes.getValue(ATTR_BIT)));
+                switchByte = attributes.getValue(ATTR_BYTE);
+                switchBit = Integer.valueOf(attributes.getValue(ATTR_BIT));
                 resetLists();
             } else if (TAG_ECUPARAM.equals(qName)) {
                 id = attributes.getValue(ATTR_ID);
@@ -290,10 +288,11 @@ public final class LoggerDefinitionHandler extends DefaultHandler {
                 groupsize = attributes.getValue(ATTR_GROUPSIZE);
                 target = attributes.getValue(ATTR_TARGET);
                 resetLists();
-                ecuAddressMap = new HashMap<String, EcuAddress>();
+                ecuAddress = null;
                 derived = false;
             } else if (TAG_ECU.equals(qName)) {
                 ecuIds = attributes.getValue(ATTR_ID);
+                ecuMatched = isConnectedEcu(ecuIds);
             } else if (TAG_DTCODE.equals(qName)) {
                 id = attributes.getValue(ATTR_ID);
                 name = attributes.getValue(ATTR_NAME);
@@ -336,55 +335,46 @@ public final class LoggerDefinitionHandler extends DefaultHandler {
                     if (dependsList.size() == dependencies.size()) {
                         EcuParameter param = new EcuDerivedParameterImpl(id, name, desc,
                                 dependencies.toArray(new EcuData[dependencies.size()]),
-                                derivedConvertorList.toArray(new EcuDerivedParameterConvertor[derivedConvertorList.size()]));
+                                buildDerivedConvertors());
                         params.add(param);
                         ecuDataMap.put(param.getId(), param);
                     }
                 } else {
                     if (ecuByteIndex == null || ecuBit == null || ecuInit == null || isSupportedParameter(ecuInit,
                             ecuByteIndex, ecuBit)) {
-                        if (convertorList.isEmpty()) {
-                            convertorList.add(new EcuParameterConvertorImpl());
+                        if (!addrStrings.isEmpty()) {
+                            address = new EcuAddressImpl(addrStrings.toArray(new String[0]), addressLength, addressBit);
                         }
                         EcuParameter param = new EcuParameterImpl(
                                 id, name, desc, address, group, subgroup, groupsize,
-                                convertorList.toArray(new EcuDataConvertor[convertorList.size()]));
+                                buildConvertors(address.getBit()));
                         params.add(param);
                         ecuDataMap.put(param.getId(), param);
                     }
                 }
             } else if (TAG_CONVERSION.equals(qName)) {
-                if (derived) {
-                    derivedConvertorList.add(new EcuDerivedParameterConvertorImpl(conversionUnits,
-                            conversionExpression, conversionFormat, replaceMap, conversionGauge));
-                } else {
-                    convertorList.add(new EcuParameterConvertorImpl(
-                            conversionUnits, conversionExpression, conversionFormat,
-                            address.getBit(), conversionStorageType, conversionEndian,
-                            replaceMap, conversionGauge));
-                }
+                conversions.add(new Conversion(conversionUnits, conversionExpression,
+                        conversionFormat, conversionStorageType, conversionEndian,
+                        conversionReplaceMap, conversionGauge));
             } else if (TAG_ECUPARAM.equals(qName)) {
-                if (ecuInit != null && ecuAddressMap.containsKey(ecuInit.getEcuId())) {
-                    if (convertorList.isEmpty()) {
-                        convertorList.add(new EcuParameterConvertorImpl());
-                    }
+                if (ecuAddress != null) {
                     EcuParameter param = new EcuParameterImpl(
-                            id, name, desc, ecuAddressMap.get(ecuInit.getEcuId()),
+                            id, name, desc, ecuAddress,
                             group, subgroup, groupsize,
-                            convertorList.toArray(new EcuDataConvertor[convertorList.size()]));
+                            buildConvertors(ecuAddress.getBit()));
                     params.add(param);
                     ecuDataMap.put(param.getId(), param);
                 }
             } else if (TAG_ECU.equals(qName)) {
-                address = new EcuAddressImpl(addrStrings.toArray(new String[0]), addressLength, addressBit);
-                EcuAddressCreated = true;
-                for (String ecuId : ecuIds.split(COMMA)) {
-                    ecuAddressMap.put(ecuId, address);
+                if (ecuMatched) {
+                    ecuAddress = new EcuAddressImpl(addrStrings.toArray(new String[0]), addressLength, addressBit);
+                    ecuMatched = false;
                 }
                 addrStrings.clear();
             } else if (TAG_SWITCH.equals(qName)) {
                 if (ecuByteIndex == null || ecuBit == null || ecuInit == null || isSupportedParameter(ecuInit,
                         ecuByteIndex, ecuBit)) {
+                    address = new EcuAddressImpl(switchByte, 1, switchBit);
                     EcuDataConvertor[] convertors =
                             new EcuDataConvertor[]{new EcuSwitchConvertorImpl(
                                     address.getBit(),
@@ -454,9 +444,76 @@ public final class LoggerDefinitionHandler extends DefaultHandler {
 
     private void resetLists() {
         addrStrings.clear();
-        EcuAddressCreated = false;
-        convertorList = new LinkedHashSet<EcuDataConvertor>();
-        derivedConvertorList = new LinkedHashSet<EcuDerivedParameterConvertor>();
+        conversions = new ArrayList<Conversion>();
+    }
+
+    /**
+     * Only the <b>ecu</b> entries of an <b>ecuparam</b> matching the
+     * connected ECU are kept, the address variants of other ECUs are not
+     * built.
+     */
+    private boolean isConnectedEcu(String ecuIds) {
+        if (ecuInit == null || ecuIds == null) {
+            return false;
+        }
+        final String ecuId = ecuInit.getEcuId();
+        for (String id : ecuIds.split(COMMA)) {
+            if (id.equals(ecuId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The conversions of a parameter are compiled only once the parameter
+    // is known to be supported by the connected ECU
+    private EcuDataConvertor[] buildConvertors(int bit) {
+        if (conversions.isEmpty()) {
+            return new EcuDataConvertor[]{new EcuParameterConvertorImpl()};
+        }
+        final EcuDataConvertor[] convertors = new EcuDataConvertor[conversions.size()];
+        for (int i = 0; i < convertors.length; i++) {
+            final Conversion conversion = conversions.get(i);
+            convertors[i] = new EcuParameterConvertorImpl(
+                    conversion.units, conversion.expression, conversion.format,
+                    bit, conversion.storageType, conversion.endian,
+                    conversion.replaceMap, conversion.gauge);
+        }
+        return convertors;
+    }
+
+    private EcuDerivedParameterConvertor[] buildDerivedConvertors() {
+        final EcuDerivedParameterConvertor[] convertors =
+                new EcuDerivedParameterConvertor[conversions.size()];
+        for (int i = 0; i < convertors.length; i++) {
+            final Conversion conversion = conversions.get(i);
+            convertors[i] = new EcuDerivedParameterConvertorImpl(
+                    conversion.units, conversion.expression, conversion.format,
+                    conversion.replaceMap, conversion.gauge);
+        }
+        return convertors;
+    }
+
+    private static final class Conversion {
+        private final String units;
+        private final String expression;
+        private final String format;
+        private final String storageType;
+        private final Settings.Endian endian;
+        private final Map<String, String> replaceMap;
+        private final GaugeMinMax gauge;
+
+        Conversion(String units, String expression, String format,
+                String storageType, Settings.Endian endian,
+                Map<String, String> replaceMap, GaugeMinMax gauge) {
+            this.units = units;
+            this.expression = expression;
+            this.format = format;
+            this.storageType = storageType;
+            this.endian = endian;
+            this.replaceMap = replaceMap;
+            this.gauge = gauge;
+        }
     }
 
     private boolean isSupportedParameter(EcuInit ecuInit, String ecuByteIndex, String ecuBit) {
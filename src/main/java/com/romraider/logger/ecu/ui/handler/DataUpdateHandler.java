@@ -26,6 +26,10 @@ public interface DataUpdateHandler {
 
     void registerData(LoggerData loggerData);
 
+    /**
+     * Handle one logger sample. The response may be recycled for a later
+     * sample once this method returns, so copy any values needed later.
+     */
     void handleDataUpdate(Response response);
 
     void deregisterData(LoggerData loggerData);
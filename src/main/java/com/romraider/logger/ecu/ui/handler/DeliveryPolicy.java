@@ -0,0 +1,47 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.logger.ecu.ui.handler;
+
+/**
+ * How a {@link DataUpdateHandler} wants responses delivered when it cannot
+ * keep up with the rate at which the logger produces them.
+ */
+public enum DeliveryPolicy {
+    /**
+     * Every response is delivered in order. When the handler is a full
+     * buffer behind, the producer waits for it. Use for handlers that
+     * must not lose samples, such as the file logger.
+     */
+    LOSSLESS,
+
+    /**
+     * Responses are delivered in order. When the handler is lapped by the
+     * producer the oldest responses are dropped and delivery resumes with
+     * the oldest response still buffered.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Only the newest response is delivered. Any backlog is coalesced into
+     * the most recent sample. Use for displays that only show the current
+     * value.
+     */
+    LATEST
+}
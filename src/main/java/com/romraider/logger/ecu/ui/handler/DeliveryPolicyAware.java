@@ -1,6 +1,6 @@
 /*
  * RomRaider Open-Source Tuning, Logging and Reflashing
- * Copyright (C) 2006-2019 RomRaider.com
+ * Copyright (C) 2006-2026 RomRaider.com
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -17,22 +17,15 @@
  * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
  */
 
-package com.romraider.maps.checksum;
-
-import java.util.Map;
+package com.romraider.logger.ecu.ui.handler;
 
 /**
- * The Calculator interface is implemented by CalculateXXX classes
- * which perform the actual checksum calculation.
+ * Optionally implemented by a {@link DataUpdateHandler} to choose how
+ * responses are delivered to it. Handlers that do not implement this
+ * interface are delivered with {@link DeliveryPolicy#DROP_OLDEST}.
  */
-public interface Calculator {
+public interface DeliveryPolicyAware {
+
+    DeliveryPolicy getDeliveryPolicy();
 
-    /**
-     * Calculate the sum and xor total over the address range provided.
-     * @param	range	- a map of with the address ranges use.
-     * @param   binData - the binary data t calculate over.
-     * @param   results - a map containing the keys for sumt and xort
-     */
-    void calculate(
-            Map<String, Integer> range, byte[] binData, Map<String, Integer> results);
 }
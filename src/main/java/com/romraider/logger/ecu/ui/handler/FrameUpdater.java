@@ -0,0 +1,136 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.logger.ecu.ui.handler;
+
+import static java.lang.System.currentTimeMillis;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.Timer;
+
+import com.romraider.logger.ecu.definition.LoggerData;
+
+/**
+ * Coalesces logger values for display. Values may be put from any thread,
+ * only the latest value of each {@link LoggerData} and the range of values
+ * seen since the last frame are kept. Once per display frame the kept
+ * values are passed to the {@link Listener} on the event dispatch thread.
+ */
+public final class FrameUpdater {
+    static final int FRAME_MILLIS = 1000 / 60;
+    private final ConcurrentMap<LoggerData, AtomicReference<Sample>> samples =
+            new ConcurrentHashMap<LoggerData, AtomicReference<Sample>>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Listener listener;
+    private final Timer timer;
+    private volatile long lastFrame;
+
+    /**
+     * Receives the values of a frame on the event dispatch thread.
+     */
+    public interface Listener {
+        /**
+         * @param value - the latest value
+         * @param min - the lowest value since the last frame
+         * @param max - the highest value since the last frame
+         */
+        void updateValue(LoggerData loggerData, double value, double min, double max);
+
+        /**
+         * Called after the values of a frame have been updated.
+         */
+        void frameUpdated();
+    }
+
+    private static final class Sample {
+        private final double value;
+        private final double min;
+        private final double max;
+
+        private Sample(double value, double min, double max) {
+            this.value = value;
+            this.min = min;
+            this.max = max;
+        }
+    }
+
+    public FrameUpdater(Listener listener) {
+        this.listener = listener;
+        timer = new Timer(FRAME_MILLIS, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                publish();
+            }
+        });
+        timer.setRepeats(false);
+    }
+
+    public void put(LoggerData loggerData, double value) {
+        AtomicReference<Sample> sample = samples.get(loggerData);
+        if (sample == null) {
+            sample = new AtomicReference<Sample>();
+            final AtomicReference<Sample> existing = samples.putIfAbsent(loggerData, sample);
+            if (existing != null) sample = existing;
+        }
+        Sample last;
+        Sample next;
+        do {
+            last = sample.get();
+            next = last == null
+                    ? new Sample(value, value, value)
+                    : new Sample(value, Math.min(last.min, value), Math.max(last.max, value));
+        } while (!sample.compareAndSet(last, next));
+
+        if (scheduled.compareAndSet(false, true)) {
+            final long wait = lastFrame + FRAME_MILLIS - currentTimeMillis();
+            timer.setInitialDelay((int) Math.max(0, wait));
+            timer.restart();
+        }
+    }
+
+    public void remove(LoggerData loggerData) {
+        samples.remove(loggerData);
+    }
+
+    public void clear() {
+        samples.clear();
+    }
+
+    private void publish() {
+        scheduled.set(false);
+        lastFrame = currentTimeMillis();
+        boolean updated = false;
+        for (Map.Entry<LoggerData, AtomicReference<Sample>> entry : samples.entrySet()) {
+            final Sample sample = entry.getValue().getAndSet(null);
+            if (sample != null) {
+                listener.updateValue(entry.getKey(), sample.value, sample.min, sample.max);
+                updated = true;
+            }
+        }
+        if (updated) listener.frameUpdated();
+    }
+}
@@ -23,6 +23,7 @@ import com.romraider.logger.ecu.comms.query.Response;
 import com.romraider.logger.ecu.definition.ConvertorUpdateListener;
 import com.romraider.logger.ecu.definition.LoggerData;
 import com.romraider.logger.ecu.ui.handler.DataUpdateHandler;
+import com.romraider.logger.ecu.ui.handler.FrameUpdater;
 import static com.romraider.util.ThreadUtil.run;
 import static java.util.Collections.synchronizedMap;
 import javax.swing.JPanel;
@@ -36,6 +37,17 @@ public final class DashboardUpdateHandler implements DataUpdateHandler, Converto
     private static final Class[] STYLES = {PlainGaugeStyle.class, SmallGaugeStyle.class, NoFrillsGaugeStyle.class, DialGaugeStyle.class, SmallDialGaugeStyle.class};
     private final Map<LoggerData, Gauge> gauges = synchronizedMap(new HashMap<LoggerData, Gauge>());
     private final JPanel dashboardPanel;
+    private final FrameUpdater updater = new FrameUpdater(new FrameUpdater.Listener() {
+        public void updateValue(LoggerData loggerData, double value, double min, double max) {
+            Gauge gauge = gauges.get(loggerData);
+            if (gauge != null) {
+                gauge.updateValue(value, min, max);
+            }
+        }
+
+        public void frameUpdated() {
+        }
+    });
     public int styleIndex;
 
     public DashboardUpdateHandler(JPanel dashboardPanel, int styleIndex) {
@@ -51,19 +63,19 @@ public final class DashboardUpdateHandler implements DataUpdateHandler, Converto
         repaintDashboardPanel();
     }
 
-    public synchronized void handleDataUpdate(Response response) {
+    public void handleDataUpdate(Response response) {
     	if (dashboardPanel.isShowing()) {
-	        for (LoggerData loggerData : response.getData()) {
-	            Gauge gauge = gauges.get(loggerData);
-	            if (gauge != null) {
-	                double value = response.getDataValue(loggerData);
-	                gauge.updateValue(value);
+	        for (int i = 0; i < response.size(); i++) {
+	            LoggerData loggerData = response.getData(i);
+	            if (gauges.containsKey(loggerData)) {
+	                updater.put(loggerData, response.getDataValue(i));
 	            }
 	        }
     	}
     }
 
     public synchronized void deregisterData(LoggerData loggerData) {
+        updater.remove(loggerData);
         dashboardPanel.remove(gauges.get(loggerData));
         gauges.remove(loggerData);
         repaintDashboardPanel();
@@ -73,6 +85,7 @@ public final class DashboardUpdateHandler implements DataUpdateHandler, Converto
     }
 
     public synchronized void reset() {
+        updater.clear();
         for (Gauge gauge : gauges.values()) {
             gauge.resetValue();
         }
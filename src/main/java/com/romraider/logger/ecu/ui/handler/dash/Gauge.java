@@ -41,6 +41,13 @@ public final class Gauge extends JPanel {
         style.updateValue(value);
     }
 
+    // show the latest value after the extremes of the values it replaces
+    public void updateValue(double value, double min, double max) {
+        if (min < value) style.updateValue(min);
+        if (max > value) style.updateValue(max);
+        style.updateValue(value);
+    }
+
     public void resetValue() {
         style.resetValue();
     }
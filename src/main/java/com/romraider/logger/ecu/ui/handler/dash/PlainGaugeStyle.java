@@ -23,6 +23,7 @@ import com.romraider.logger.ecu.definition.LoggerData;
 import com.romraider.util.ResourceUtil;
 
 import static com.romraider.util.ParamChecker.checkNotNull;
+import static com.romraider.util.ThreadUtil.runOnEdt;
 import static java.awt.BorderLayout.CENTER;
 import static java.awt.BorderLayout.NORTH;
 import static java.awt.BorderLayout.SOUTH;
@@ -221,7 +222,7 @@ public class PlainGaugeStyle implements GaugeStyle, ActionListener {
     private void refreshValue(final double value) {
         final String text = format(loggerData, value);
         final int scaledValue = scaleForProgressBar(value);
-        SwingUtilities.invokeLater(new Runnable() {
+        runOnEdt(new Runnable() {
             public void run() {
                 if (value > max) {
                     max = value;
@@ -30,9 +30,11 @@ import java.util.Map;
 import com.romraider.logger.ecu.comms.query.Response;
 import com.romraider.logger.ecu.definition.LoggerData;
 import com.romraider.logger.ecu.ui.handler.DataUpdateHandler;
+import com.romraider.logger.ecu.ui.handler.DeliveryPolicy;
+import com.romraider.logger.ecu.ui.handler.DeliveryPolicyAware;
 import com.romraider.dataflowSimulation.DataflowSimulation;
 
-public final class DataflowSimulationHandler implements DataUpdateHandler {
+public final class DataflowSimulationHandler implements DataUpdateHandler, DeliveryPolicyAware {
 	private static final DataflowSimulationHandler INSTANCE = new DataflowSimulationHandler();
 	// LoggerID --> List of (Variable Name, Simulation)
 	private final Map<String, LinkedList<Map.Entry<String, DataflowSimulation>>> simulations = synchronizedMap(
@@ -46,6 +48,12 @@ public final class DataflowSimulationHandler implements DataUpdateHandler {
 	public void registerData(LoggerData loggerData) {
 	}
 
+	@Override
+	public DeliveryPolicy getDeliveryPolicy() {
+		// the simulation only needs the current logger values
+		return DeliveryPolicy.LATEST;
+	}
+
 	@Override
 	public void handleDataUpdate(Response response) {
 		if (!simulations.isEmpty()) {
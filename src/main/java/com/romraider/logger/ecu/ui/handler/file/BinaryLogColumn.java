@@ -0,0 +1,124 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.logger.ecu.ui.handler.file;
+
+import static com.romraider.util.ParamChecker.checkNotNull;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+
+import java.text.DecimalFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.romraider.logger.ecu.definition.EcuDataConvertor;
+import com.romraider.logger.ecu.definition.EcuDerivedParameterConvertorImpl;
+import com.romraider.logger.ecu.definition.EcuDtcConvertorImpl;
+import com.romraider.logger.ecu.definition.EcuParameterConvertorImpl;
+import com.romraider.logger.ecu.definition.EcuSwitchConvertorImpl;
+import com.romraider.logger.ecu.definition.LoggerData;
+
+/**
+ * Describes one column of a binary log: the header text and everything
+ * needed to format a raw value exactly as the selected convertor would
+ * have written it to a CSV log.
+ */
+public final class BinaryLogColumn {
+    static final byte STYLE_DECIMAL = 0;
+    static final byte STYLE_SWITCH = 1;
+
+    private final String name;
+    private final String units;
+    private final byte style;
+    private final String pattern;
+    private final Map<String, String> replaceMap;
+    private DecimalFormat format;
+
+    BinaryLogColumn(String name, String units, byte style, String pattern,
+            Map<String, String> replaceMap) {
+        checkNotNull(name, units, pattern, replaceMap);
+        this.name = name;
+        this.units = units;
+        this.style = style;
+        this.pattern = pattern;
+        this.replaceMap = unmodifiableMap(new LinkedHashMap<String, String>(replaceMap));
+    }
+
+    public static BinaryLogColumn from(LoggerData loggerData) {
+        checkNotNull(loggerData, "loggerData");
+        final EcuDataConvertor convertor = loggerData.getSelectedConvertor();
+        final boolean isSwitch = convertor instanceof EcuSwitchConvertorImpl
+                || convertor instanceof EcuDtcConvertorImpl;
+        Map<String, String> replaceMap = emptyMap();
+        if (convertor instanceof EcuParameterConvertorImpl) {
+            replaceMap = ((EcuParameterConvertorImpl) convertor).getReplaceMap();
+        } else if (convertor instanceof EcuDerivedParameterConvertorImpl) {
+            replaceMap = ((EcuDerivedParameterConvertorImpl) convertor).getReplaceMap();
+        }
+        return new BinaryLogColumn(
+                loggerData.getName(),
+                convertor.getUnits(),
+                isSwitch ? STYLE_SWITCH : STYLE_DECIMAL,
+                convertor.getFormat(),
+                replaceMap);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUnits() {
+        return units;
+    }
+
+    byte getStyle() {
+        return style;
+    }
+
+    String getPattern() {
+        return pattern;
+    }
+
+    Map<String, String> getReplaceMap() {
+        return replaceMap;
+    }
+
+    /**
+     * Format a value the same way the originating convertor does.
+     * Not thread safe.
+     */
+    public String format(double value) {
+        if (style == STYLE_SWITCH) {
+            return value > 0 ? "1" : "0";
+        }
+        if (format == null) {
+            format = new DecimalFormat(pattern);
+        }
+        final String formattedValue = format.format(value);
+        final String replacement = replaceMap.get(formattedValue);
+        return replacement == null ? formattedValue : replacement;
+    }
+
+    /**
+     * @return the CSV header text for this column, eg: "Engine Speed (rpm)"
+     */
+    public String getHeader() {
+        return name + " (" + units + ')';
+    }
+}
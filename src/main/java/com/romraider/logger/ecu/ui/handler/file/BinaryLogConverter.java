@@ -0,0 +1,137 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.logger.ecu.ui.handler.file;
+
+import static com.romraider.util.ParamChecker.checkNotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+import com.romraider.logger.ecu.ui.handler.file.BinaryLogReader.Block;
+
+/**
+ * Export a binary log to the CSV layout written by {@link FileLoggerImpl}.
+ * <p>
+ * Usage: BinaryLogConverter &lt;log.rrlog&gt; [&lt;log.csv&gt;]
+ */
+public final class BinaryLogConverter {
+    public static final String BINARY_EXTENSION = ".rrlog";
+    public static final String CSV_EXTENSION = ".csv";
+    private static final String NEW_LINE = System.getProperty("line.separator");
+
+    private BinaryLogConverter() {
+    }
+
+    /**
+     * Convert a binary log to a CSV file.
+     * @return the number of rows written
+     */
+    public static long toCsv(File binaryLog, File csvLog) throws IOException {
+        checkNotNull(binaryLog, csvLog);
+        final InputStream is = new BufferedInputStream(new FileInputStream(binaryLog));
+        try {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(csvLog)));
+            try {
+                return toCsv(is, writer);
+            } finally {
+                writer.close();
+            }
+        } finally {
+            is.close();
+        }
+    }
+
+    /**
+     * Convert a binary log read from the stream, neither stream is closed.
+     * @return the number of rows written
+     */
+    public static long toCsv(InputStream binaryLog, Writer csvLog) throws IOException {
+        checkNotNull(binaryLog, csvLog);
+        final SimpleDateFormat timestampFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+        final BinaryLogReader reader = new BinaryLogReader(binaryLog);
+        final StringBuilder line = new StringBuilder(1024);
+        long startTimestamp = 0;
+        long count = 0;
+        Block block;
+        while ((block = reader.readBlock()) != Block.END) {
+            final List<BinaryLogColumn> columns = reader.getColumns();
+            final String delimiter = reader.getDelimiter();
+            line.setLength(0);
+            if (block == Block.SCHEMA) {
+                line.append(reader.isAbsoluteTimestamp() ? "Time" : "Time (msec)");
+                for (BinaryLogColumn column : columns) {
+                    line.append(delimiter).append(column.getHeader());
+                }
+                csvLog.write(line.append(NEW_LINE).toString());
+                continue;
+            }
+            for (int row = 0; row < reader.getRowCount(); row++) {
+                line.setLength(0);
+                final long timestamp = reader.getTimestamp(row);
+                if (reader.isAbsoluteTimestamp()) {
+                    line.append(timestampFormat.format(new Date(timestamp)));
+                } else {
+                    if (startTimestamp == 0) startTimestamp = timestamp;
+                    line.append(timestamp - startTimestamp);
+                }
+                for (int i = 0; i < columns.size(); i++) {
+                    line.append(delimiter).append(columns.get(i).format(reader.getValue(row, i)));
+                }
+                csvLog.write(line.append(NEW_LINE).toString());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the CSV file name matching a binary log file name
+     */
+    public static File getCsvFile(File binaryLog) {
+        final String path = binaryLog.getPath();
+        final String base = path.endsWith(BINARY_EXTENSION)
+                ? path.substring(0, path.length() - BINARY_EXTENSION.length())
+                : path;
+        return new File(base + CSV_EXTENSION);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: BinaryLogConverter <log" + BINARY_EXTENSION
+                    + "> [<log" + CSV_EXTENSION + ">]");
+            System.exit(1);
+        }
+        final File binaryLog = new File(args[0]);
+        final File csvLog = args.length == 2 ? new File(args[1]) : getCsvFile(binaryLog);
+        final long rows = toCsv(binaryLog, csvLog);
+        System.out.println("Wrote " + rows + " rows to " + csvLog);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.logger.ecu.ui.handler.file;
+
+import static com.romraider.logger.ecu.ui.handler.file.BinaryLogWriter.BLOCK_DATA;
+import static com.romraider.logger.ecu.ui.handler.file.BinaryLogWriter.BLOCK_SCHEMA;
+import static com.romraider.logger.ecu.ui.handler.file.BinaryLogWriter.COLUMN_DICTIONARY;
+import static com.romraider.logger.ecu.ui.handler.file.BinaryLogWriter.MAX_DICTIONARY_SIZE;
+import static com.romraider.logger.ecu.ui.handler.file.BinaryLogWriter.MAGIC;
+import static com.romraider.logger.ecu.ui.handler.file.BinaryLogWriter.VERSION;
+import static com.romraider.util.ParamChecker.checkNotNull;
+import static java.util.Collections.unmodifiableList;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a log written by {@link BinaryLogWriter} one block at a time.
+ * A truncated final block, as left behind when logging was interrupted,
+ * is treated as the end of the log. This class is not thread safe.
+ */
+public final class BinaryLogReader implements Closeable {
+    public enum Block {
+        SCHEMA, DATA, END
+    }
+
+    private final DataInputStream in;
+    private final Inflater inflater = new Inflater();
+    private List<BinaryLogColumn> columns;
+    private boolean absoluteTimestamp;
+    private String delimiter;
+    private long[] timestamps = new long[0];
+    private double[] values = new double[0];
+    private final long[] dictionary = new long[MAX_DICTIONARY_SIZE];
+    private long[] bits = new long[0];
+    private byte[] raw = new byte[0];
+    private byte[] compressed = new byte[0];
+    private int rows;
+    private int pos;
+
+    public BinaryLogReader(InputStream is) throws IOException {
+        checkNotNull(is, "is");
+        in = new DataInputStream(is);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a RomRaider binary log");
+        }
+        final int version = in.readUnsignedShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary log version: " + version);
+        }
+    }
+
+    /**
+     * Read the next block. After a SCHEMA block the column description is
+     * available, after a DATA block its rows are.
+     */
+    public Block readBlock() throws IOException {
+        final int type = in.read();
+        if (type < 0) {
+            return Block.END;
+        }
+        try {
+            if (type == BLOCK_SCHEMA) {
+                readSchema();
+                return Block.SCHEMA;
+            } else if (type == BLOCK_DATA) {
+                readData();
+                return Block.DATA;
+            }
+        } catch (EOFException e) {
+            return Block.END;
+        }
+        throw new IOException("Unknown binary log block type: " + type);
+    }
+
+    public List<BinaryLogColumn> getColumns() {
+        return columns;
+    }
+
+    public boolean isAbsoluteTimestamp() {
+        return absoluteTimestamp;
+    }
+
+    public String getDelimiter() {
+        return delimiter;
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public long getTimestamp(int row) {
+        return timestamps[row];
+    }
+
+    public double getValue(int row, int column) {
+        return values[column * rows + row];
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+
+    private void readSchema() throws IOException {
+        absoluteTimestamp = in.readBoolean();
+        delimiter = in.readUTF();
+        final int count = in.readInt();
+        final List<BinaryLogColumn> read = new ArrayList<BinaryLogColumn>(count);
+        for (int i = 0; i < count; i++) {
+            final String name = in.readUTF();
+            final String units = in.readUTF();
+            final byte style = in.readByte();
+            final String pattern = in.readUTF();
+            final int replacements = in.readInt();
+            final Map<String, String> replaceMap = new LinkedHashMap<String, String>();
+            for (int j = 0; j < replacements; j++) {
+                replaceMap.put(in.readUTF(), in.readUTF());
+            }
+            read.add(new BinaryLogColumn(name, units, style, pattern, replaceMap));
+        }
+        columns = unmodifiableList(read);
+        rows = 0;
+    }
+
+    private void readData() throws IOException {
+        if (columns == null) {
+            throw new IOException("Binary log data block without a schema");
+        }
+        final int rowCount = in.readInt();
+        final int rawLength = in.readInt();
+        final int length = in.readInt();
+        if (compressed.length < length) {
+            compressed = new byte[length];
+        }
+        in.readFully(compressed, 0, length);
+        if (raw.length < rawLength) {
+            raw = new byte[rawLength];
+        }
+        inflater.reset();
+        inflater.setInput(compressed, 0, length);
+        try {
+            if (inflater.inflate(raw, 0, rawLength) != rawLength) {
+                throw new IOException("Corrupt binary log data block");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt binary log data block", e);
+        }
+        decodeBlock(rowCount);
+    }
+
+    private void decodeBlock(int rowCount) {
+        final int columnCount = columns.size();
+        rows = rowCount;
+        if (timestamps.length < rowCount) {
+            timestamps = new long[rowCount];
+            bits = new long[rowCount];
+        }
+        if (values.length < rowCount * columnCount) {
+            values = new double[rowCount * columnCount];
+        }
+        pos = 0;
+        long previous = 0;
+        for (int i = 0; i < 8; i++) {
+            previous = (previous << 8) | (raw[pos++] & 0xFF);
+        }
+        timestamps[0] = previous;
+        for (int row = 1; row < rowCount; row++) {
+            final long zigzag = getVarLong();
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            timestamps[row] = previous;
+        }
+        for (int column = 0; column < columnCount; column++) {
+            final int offset = column * rowCount;
+            final byte mode = raw[pos++];
+            if (mode == COLUMN_DICTIONARY) {
+                final int count = (raw[pos++] & 0xFF) + 1;
+                getShuffled(dictionary, count);
+                int index = 0;
+                for (int row = 0; row < rowCount; row++) {
+                    index = (index + raw[pos++]) & 0xFF;
+                    values[offset + row] = Double.longBitsToDouble(dictionary[index]);
+                }
+            } else {
+                getShuffled(bits, rowCount);
+                for (int row = 0; row < rowCount; row++) {
+                    values[offset + row] = Double.longBitsToDouble(bits[row]);
+                }
+            }
+        }
+    }
+
+    private void getShuffled(long[] target, int length) {
+        for (int i = 0; i < length; i++) {
+            target[i] = 0;
+        }
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            for (int i = 0; i < length; i++) {
+                target[i] |= (raw[pos++] & 0xFFL) << shift;
+            }
+        }
+        long last = 0;
+        for (int i = 0; i < length; i++) {
+            last ^= target[i];
+            target[i] = last;
+        }
+    }
+
+    private long getVarLong() {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = raw[pos++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.logger.ecu.ui.handler.file;
+
+import static com.romraider.util.ParamChecker.checkNotNull;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Writes logged values as raw doubles in a compact, column oriented
+ * binary format. The file starts with a magic number and version followed
+ * by a sequence of blocks:
+ * <ul>
+ * <li>a schema block, written whenever the logged parameters change,
+ * holding the CSV settings and a {@link BinaryLogColumn} description of
+ * each column</li>
+ * <li>data blocks of up to {@link #ROWS_PER_BLOCK} rows, Deflate
+ * compressed and independent of each other. Timestamps are stored as
+ * deltas. A column with few distinct values in the block is stored as a
+ * sorted dictionary plus the change in dictionary index per row, other
+ * columns as the XOR of consecutive values with their bytes grouped by
+ * significance, so repeated and slowly changing values compress to almost
+ * nothing.</li>
+ * </ul>
+ * Use {@link BinaryLogReader} or {@link BinaryLogConverter} to read a log
+ * back. This class is not thread safe.
+ */
+public final class BinaryLogWriter implements Closeable {
+    static final int MAGIC = 0x52524C47; // "RRLG"
+    static final int VERSION = 1;
+    static final byte BLOCK_SCHEMA = 'S';
+    static final byte BLOCK_DATA = 'D';
+    static final int ROWS_PER_BLOCK = 256;
+    static final byte COLUMN_XOR = 0;
+    static final byte COLUMN_DICTIONARY = 1;
+    static final int MAX_DICTIONARY_SIZE = 256;
+    // bound the data lost if the application dies while logging
+    private static final long MAX_BLOCK_MILLIS = 30000L;
+
+    private final DataOutputStream out;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private long[] timestamps = new long[ROWS_PER_BLOCK];
+    private long[] values = new long[0];
+    private final long[] distinct = new long[ROWS_PER_BLOCK];
+    private byte[] raw = new byte[1024];
+    private byte[] compressed = new byte[1024];
+    private int columnCount = -1;
+    private int rows;
+    private int pos;
+
+    public BinaryLogWriter(OutputStream os) throws IOException {
+        checkNotNull(os, "os");
+        out = new DataOutputStream(os);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+    }
+
+    /**
+     * Start a new set of columns. Any rows pending for the previous set
+     * are written out first.
+     */
+    public void writeSchema(List<BinaryLogColumn> columns, boolean absoluteTimestamp,
+            String delimiter) throws IOException {
+        checkNotNull(columns, "columns");
+        checkNotNull(delimiter, "delimiter");
+        flush();
+        out.writeByte(BLOCK_SCHEMA);
+        out.writeBoolean(absoluteTimestamp);
+        out.writeUTF(delimiter);
+        out.writeInt(columns.size());
+        for (BinaryLogColumn column : columns) {
+            out.writeUTF(column.getName());
+            out.writeUTF(column.getUnits());
+            out.writeByte(column.getStyle());
+            out.writeUTF(column.getPattern());
+            final Map<String, String> replaceMap = column.getReplaceMap();
+            out.writeInt(replaceMap.size());
+            for (Map.Entry<String, String> entry : replaceMap.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeUTF(entry.getValue());
+            }
+        }
+        columnCount = columns.size();
+        if (values.length < columnCount * ROWS_PER_BLOCK) {
+            values = new long[columnCount * ROWS_PER_BLOCK];
+        }
+    }
+
+    /**
+     * Append one row, the values are copied so the array may be reused.
+     */
+    public void writeRow(long timestamp, double[] rowValues) throws IOException {
+        if (columnCount < 0) {
+            throw new IllegalStateException("No schema has been written");
+        }
+        if (rowValues.length < columnCount) {
+            throw new IllegalArgumentException("Expected " + columnCount
+                    + " values but got " + rowValues.length);
+        }
+        timestamps[rows] = timestamp;
+        for (int i = 0; i < columnCount; i++) {
+            values[i * ROWS_PER_BLOCK + rows] = Double.doubleToRawLongBits(rowValues[i]);
+        }
+        rows++;
+        if (rows == ROWS_PER_BLOCK || timestamp - timestamps[0] >= MAX_BLOCK_MILLIS) {
+            flush();
+        }
+    }
+
+    /**
+     * Write out the rows buffered so far as a data block.
+     */
+    public void flush() throws IOException {
+        if (rows > 0) {
+            encodeBlock();
+            deflater.reset();
+            deflater.setInput(raw, 0, pos);
+            deflater.finish();
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, length * 2);
+                }
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            out.writeByte(BLOCK_DATA);
+            out.writeInt(rows);
+            out.writeInt(pos);
+            out.writeInt(length);
+            out.write(compressed, 0, length);
+            rows = 0;
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            deflater.end();
+            out.close();
+        }
+    }
+
+    private void encodeBlock() {
+        pos = 0;
+        ensureCapacity(8 + rows * 10 + columnCount * (2 + rows * 8));
+        long previous = timestamps[0];
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            raw[pos++] = (byte) (previous >>> shift);
+        }
+        for (int row = 1; row < rows; row++) {
+            final long delta = timestamps[row] - previous;
+            putVarLong((delta << 1) ^ (delta >> 63));
+            previous = timestamps[row];
+        }
+        for (int column = 0; column < columnCount; column++) {
+            final int offset = column * ROWS_PER_BLOCK;
+            System.arraycopy(values, offset, distinct, 0, rows);
+            Arrays.sort(distinct, 0, rows);
+            int count = 1;
+            for (int row = 1; row < rows; row++) {
+                if (distinct[row] != distinct[count - 1]) {
+                    distinct[count++] = distinct[row];
+                }
+            }
+            if (count <= MAX_DICTIONARY_SIZE) {
+                // values converted from ECU bytes have few distinct values
+                raw[pos++] = COLUMN_DICTIONARY;
+                raw[pos++] = (byte) (count - 1);
+                putShuffled(distinct, 0, count);
+                int previousIndex = 0;
+                for (int row = 0; row < rows; row++) {
+                    final int index = Arrays.binarySearch(distinct, 0, count, values[offset + row]);
+                    raw[pos++] = (byte) (index - previousIndex);
+                    previousIndex = index;
+                }
+            } else {
+                raw[pos++] = COLUMN_XOR;
+                putShuffled(values, offset, rows);
+            }
+        }
+    }
+
+    /**
+     * Write the XOR of consecutive values a byte position at a time, most
+     * significant first, so the unchanging sign, exponent and leading
+     * mantissa bits become runs of zeros.
+     */
+    private void putShuffled(long[] source, int offset, int length) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            long last = 0;
+            for (int i = offset; i < offset + length; i++) {
+                final long bits = source[i];
+                raw[pos++] = (byte) ((bits ^ last) >>> shift);
+                last = bits;
+            }
+        }
+    }
+
+    private void putVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            raw[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        raw[pos++] = (byte) value;
+    }
+
+    private void ensureCapacity(int size) {
+        if (raw.length < size) {
+            raw = new byte[size];
+        }
+    }
+}
@@ -19,6 +19,8 @@
 
 package com.romraider.logger.ecu.ui.handler.file;
 
+import java.util.List;
+
 public interface FileLogger {
     void start();
 
@@ -28,5 +30,16 @@ public interface FileLogger {
 
     void writeLine(String line, long timestamp);
 
+    /**
+     * @return true if the log being written is a binary log, in which case
+     * {@link #writeSchema} and {@link #writeValues} are used in place of
+     * the CSV text methods
+     */
+    boolean isBinary();
+
+    void writeSchema(List<BinaryLogColumn> columns, String delimiter);
+
+    void writeValues(double[] values, long timestamp);
+
     boolean isStarted();
 }
@@ -19,6 +19,8 @@
 
 package com.romraider.logger.ecu.ui.handler.file;
 
+import static com.romraider.logger.ecu.ui.handler.file.BinaryLogConverter.BINARY_EXTENSION;
+import static com.romraider.logger.ecu.ui.handler.file.BinaryLogConverter.CSV_EXTENSION;
 import static com.romraider.util.ParamChecker.checkNotNull;
 
 import java.io.BufferedOutputStream;
@@ -28,6 +30,7 @@ import java.io.OutputStream;
 import java.text.MessageFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 import java.util.ResourceBundle;
 
 import com.romraider.Settings;
@@ -47,6 +50,7 @@ public final class FileLoggerImpl implements FileLogger {
     private final EcuRelatedMessageListener messageListener;
     private boolean started;
     private OutputStream os;
+    private BinaryLogWriter binaryWriter;
     private long startTimestamp;
     //private boolean zero;
 
@@ -60,8 +64,12 @@ public final class FileLoggerImpl implements FileLogger {
         if (!started) {
             stop();
             try {
-                String filePath = buildFilePath();
+                final boolean binary = SettingsManager.getSettings().isFileLoggingBinary();
+                String filePath = buildFilePath(binary ? BINARY_EXTENSION : CSV_EXTENSION);
                 os = new BufferedOutputStream(new FileOutputStream(filePath));
+                if (binary) {
+                    binaryWriter = new BinaryLogWriter(os);
+                }
                 messageListener.reportMessageInTitleBar(MessageFormat.format(
                         rb.getString("STARTLOG"),
                         FormatFilename.getShortName(filePath)));
@@ -79,10 +87,17 @@ public final class FileLoggerImpl implements FileLogger {
     public void stop() {
         if (os != null) {
             try {
-                os.close();
+                if (binaryWriter != null) {
+                    binaryWriter.close();
+                } else {
+                    os.close();
+                }
                 messageListener.reportMessageInTitleBar(rb.getString("STOPLOG"));
             } catch (Exception e) {
                 throw new FileLoggerException(e);
+            } finally {
+                os = null;
+                binaryWriter = null;
             }
         }
         started = false;
@@ -107,6 +122,32 @@ public final class FileLoggerImpl implements FileLogger {
         writeText(prependTimestamp(line, timestamp));
     }
 
+    @Override
+    public boolean isBinary() {
+        return binaryWriter != null;
+    }
+
+    @Override
+    public void writeSchema(List<BinaryLogColumn> columns, String delimiter) {
+        try {
+            binaryWriter.writeSchema(columns,
+                    SettingsManager.getSettings().isFileLoggingAbsoluteTimestamp(), delimiter);
+        } catch (Exception e) {
+            stop();
+            throw new FileLoggerException(e);
+        }
+    }
+
+    @Override
+    public void writeValues(double[] values, long timestamp) {
+        try {
+            binaryWriter.writeRow(timestamp, values);
+        } catch (Exception e) {
+            stop();
+            throw new FileLoggerException(e);
+        }
+    }
+
     private void writeText(String text) {
         try {
             os.write(text.getBytes());
@@ -130,7 +171,7 @@ public final class FileLoggerImpl implements FileLogger {
         return new StringBuilder(formattedTimestamp).append(line).toString();
     }
 
-    private String buildFilePath() {
+    private String buildFilePath(String extension) {
         String logDir = SettingsManager.getSettings().getLoggerOutputDirPath();
         if (!logDir.endsWith(File.separator)) {
             logDir += File.separator;
@@ -140,7 +181,7 @@ public final class FileLoggerImpl implements FileLogger {
                 && !settings.getLogfileNameText().isEmpty()) {
             logDir += settings.getLogfileNameText() + "_";
         }
-        logDir += dateFormat.format(new Date()) + "_[" + messageListener.getEcuInit().getEcuId() + "]" + ".csv";
+        logDir += dateFormat.format(new Date()) + "_[" + messageListener.getEcuInit().getEcuId() + "]" + extension;
         return logDir;
     }
 
@@ -27,6 +27,7 @@ import static java.util.Collections.synchronizedMap;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -34,14 +35,19 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
+import com.romraider.logger.ecu.comms.query.IndexedResponse;
 import com.romraider.logger.ecu.comms.query.Response;
+import com.romraider.logger.ecu.comms.query.ResponseLayout;
 import com.romraider.logger.ecu.definition.ConvertorUpdateListener;
 import com.romraider.logger.ecu.definition.LoggerData;
 import com.romraider.logger.ecu.ui.EcuRelatedMessageListener;
 import com.romraider.logger.ecu.ui.MessageListener;
 import com.romraider.logger.ecu.ui.StatusChangeListener;
+import com.romraider.logger.ecu.ui.handler.DeliveryPolicy;
+import com.romraider.logger.ecu.ui.handler.DeliveryPolicyAware;
 
-public final class FileUpdateHandlerImpl implements FileUpdateHandler, ConvertorUpdateListener {
+public final class FileUpdateHandlerImpl implements FileUpdateHandler, ConvertorUpdateListener,
+        DeliveryPolicyAware {
     private final Map<LoggerData, Integer> loggerDatas = synchronizedMap(new LinkedHashMap<LoggerData, Integer>());
     private final List<StatusChangeListener> listeners = synchronizedList(new ArrayList<StatusChangeListener>());
     private final FileLogger fileLogger;
@@ -64,9 +70,15 @@ public final class FileUpdateHandlerImpl implements FileUpdateHandler, Convertor
                     : locales.contains(language + "_" + country) ? SEMICOLON : COMMA;
 
     private Line currentLine = new Line(loggerDatas.keySet());
+    private Row currentRow = new Row(loggerDatas.keySet());
 
     public FileUpdateHandlerImpl(EcuRelatedMessageListener messageListener) {
-        fileLogger = new FileLoggerImpl(messageListener);
+        this(new FileLoggerImpl(messageListener));
+    }
+
+    FileUpdateHandlerImpl(FileLogger fileLogger) {
+        checkNotNull(fileLogger, "fileLogger");
+        this.fileLogger = fileLogger;
     }
 
     @Override
@@ -86,11 +98,24 @@ public final class FileUpdateHandlerImpl implements FileUpdateHandler, Convertor
         }
     }
 
+    @Override
+    public DeliveryPolicy getDeliveryPolicy() {
+        // every sample must reach the log file
+        return DeliveryPolicy.LOSSLESS;
+    }
+
     @Override
     public synchronized void handleDataUpdate(Response response) {
-        if (fileLogger.isStarted()) {
-            for (LoggerData loggerData : response.getData()) {
-                currentLine.updateParamValue(loggerData, loggerData.getSelectedConvertor().format(response.getDataValue(loggerData)));
+        if (fileLogger.isStarted() && fileLogger.isBinary()) {
+            currentRow.update(response);
+            if (currentRow.isFull()) {
+                fileLogger.writeValues(currentRow.values(), response.getTimestamp());
+                currentRow.clear();
+            }
+        } else if (fileLogger.isStarted()) {
+            for (int i = 0; i < response.size(); i++) {
+                final LoggerData loggerData = response.getData(i);
+                currentLine.updateParamValue(loggerData, loggerData.getSelectedConvertor().format(response.getDataValue(i)));
             }
             if (currentLine.isFull()) {
                 fileLogger.writeLine(currentLine.values(), response.getTimestamp());
@@ -146,10 +171,13 @@ public final class FileUpdateHandlerImpl implements FileUpdateHandler, Convertor
 
     private void resetLine() {
         currentLine = new Line(loggerDatas.keySet());
+        currentRow = new Row(loggerDatas.keySet());
     }
 
     private void writeHeaders() {
-        if (fileLogger.isStarted()) {
+        if (fileLogger.isStarted() && fileLogger.isBinary()) {
+            fileLogger.writeSchema(currentRow.columns(), delimiter);
+        } else if (fileLogger.isStarted()) {
             fileLogger.writeHeaders(currentLine.headers());
         }
     }
@@ -207,4 +235,80 @@ public final class FileUpdateHandlerImpl implements FileUpdateHandler, Convertor
             return buffer.toString();
         }
     }
+
+    /**
+     * The binary log equivalent of a Line, raw values are kept in column
+     * order and the response slot to column mapping is reused for as long
+     * as the query layout stays the same.
+     */
+    private static final class Row {
+        private final LoggerData[] loggerDatas;
+        private final Map<LoggerData, Integer> columnIndex = new HashMap<LoggerData, Integer>();
+        private final double[] values;
+        private final boolean[] updated;
+        private int updatedCount;
+        private ResponseLayout mappedLayout;
+        private int[] slotColumns = new int[0];
+
+        public Row(Set<LoggerData> loggerDatas) {
+            this.loggerDatas = loggerDatas.toArray(new LoggerData[loggerDatas.size()]);
+            for (int i = 0; i < this.loggerDatas.length; i++) {
+                columnIndex.put(this.loggerDatas[i], i);
+            }
+            values = new double[this.loggerDatas.length];
+            updated = new boolean[this.loggerDatas.length];
+        }
+
+        public void update(Response response) {
+            final int[] columns = columnsOf(response);
+            for (int i = 0; i < response.size(); i++) {
+                final int column = columns[i];
+                if (column >= 0) {
+                    values[column] = response.getDataValue(i);
+                    if (!updated[column]) {
+                        updated[column] = true;
+                        updatedCount++;
+                    }
+                }
+            }
+        }
+
+        public boolean isFull() {
+            return updatedCount == loggerDatas.length;
+        }
+
+        public double[] values() {
+            return values;
+        }
+
+        public void clear() {
+            Arrays.fill(updated, false);
+            updatedCount = 0;
+        }
+
+        public List<BinaryLogColumn> columns() {
+            final List<BinaryLogColumn> columns = new ArrayList<BinaryLogColumn>(loggerDatas.length);
+            for (LoggerData loggerData : loggerDatas) {
+                columns.add(BinaryLogColumn.from(loggerData));
+            }
+            return columns;
+        }
+
+        private int[] columnsOf(Response response) {
+            final ResponseLayout layout = response instanceof IndexedResponse
+                    ? ((IndexedResponse) response).getLayout() : null;
+            if (layout != null && layout == mappedLayout) {
+                return slotColumns;
+            }
+            if (slotColumns.length < response.size()) {
+                slotColumns = new int[response.size()];
+            }
+            for (int i = 0; i < response.size(); i++) {
+                final Integer column = columnIndex.get(response.getData(i));
+                slotColumns[i] = column == null ? -1 : column;
+            }
+            mappedLayout = layout;
+            return slotColumns;
+        }
+    }
 }
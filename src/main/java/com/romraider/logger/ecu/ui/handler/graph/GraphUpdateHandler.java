@@ -41,14 +41,12 @@ import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.xy.StandardXYItemRenderer;
 import org.jfree.chart.title.LegendTitle;
 import org.jfree.data.xy.XYDataset;
-import org.jfree.data.xy.XYSeries;
-import org.jfree.data.xy.XYSeriesCollection;
 import javax.swing.AbstractAction;
 import javax.swing.JCheckBox;
 import javax.swing.JPanel;
 import javax.swing.JToggleButton;
 import javax.swing.SpringLayout;
-import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.event.ActionEvent;
@@ -62,8 +60,12 @@ public final class GraphUpdateHandler implements DataUpdateHandler, ConvertorUpd
             GraphUpdateHandler.class.getName());
     private static final Color DARK_GREY = new Color(80, 80, 80);
     private static final Color LIGHT_GREY = new Color(110, 110, 110);
+    // five minutes of history at 100 samples a second
+    private static final int HISTORY_SAMPLES = 30000;
+    private static final int MAX_POINTS = 2000;
+    private static final int FRAME_MILLIS = 1000 / 25;
     private final Map<LoggerData, ChartPanel> chartMap = synchronizedMap(new HashMap<LoggerData, ChartPanel>());
-    private final Map<LoggerData, XYSeries> seriesMap = synchronizedMap(new HashMap<LoggerData, XYSeries>());
+    private final Map<LoggerData, TimeSeriesDataset> seriesMap = synchronizedMap(new HashMap<LoggerData, TimeSeriesDataset>());
     private final Map<LoggerData, Integer> datasetIndexes = synchronizedMap(new HashMap<LoggerData, Integer>());
     private final JPanel graphPanel;
     private long startTime = System.currentTimeMillis();
@@ -72,6 +74,15 @@ public final class GraphUpdateHandler implements DataUpdateHandler, ConvertorUpd
     private long pauseStartTime = System.currentTimeMillis();
     private ChartPanel combinedChartPanel = null;
     private int counter = 0;
+    private final Timer refreshTimer = new Timer(FRAME_MILLIS, new ActionListener() {
+        public void actionPerformed(ActionEvent actionEvent) {
+            synchronized (seriesMap) {
+                for (TimeSeriesDataset dataset : seriesMap.values()) {
+                    dataset.refresh();
+                }
+            }
+        }
+    });
 
 
     public GraphUpdateHandler(final JPanel panel) {
@@ -108,6 +119,7 @@ public final class GraphUpdateHandler implements DataUpdateHandler, ConvertorUpd
     public synchronized void registerData(LoggerData loggerData) {
         // add to charts
         registerSeries(loggerData);
+        refreshTimer.start();
         if (combinedChart) {
             addToCombined(loggerData);
             layoutForCombined();
@@ -119,8 +131,7 @@ public final class GraphUpdateHandler implements DataUpdateHandler, ConvertorUpd
     }
 
     private synchronized void addToPanel(LoggerData loggerData) {
-        XYSeries series = seriesMap.get(loggerData);
-        ChartPanel chartPanel = new ChartPanel(createXYLineChart(loggerData, new XYSeriesCollection(series), false), false, true, true, true, true);
+        ChartPanel chartPanel = new ChartPanel(createXYLineChart(loggerData, seriesMap.get(loggerData), false), false, true, true, true, true);
         chartPanel.setMinimumSize(new Dimension(600, 200));
         chartPanel.setMaximumSize(new Dimension(10000, 200));
         chartPanel.setPreferredSize(new Dimension(600, 200));
@@ -143,7 +154,7 @@ public final class GraphUpdateHandler implements DataUpdateHandler, ConvertorUpd
             graphPanel.add(combinedChartPanel);
         }
         XYPlot plot = combinedChartPanel.getChart().getXYPlot();
-        plot.setDataset(counter, new XYSeriesCollection(seriesMap.get(loggerData)));
+        plot.setDataset(counter, seriesMap.get(loggerData));
         plot.setRenderer(counter, new StandardXYItemRenderer());
         datasetIndexes.put(loggerData, counter++);
     }
@@ -154,16 +165,14 @@ public final class GraphUpdateHandler implements DataUpdateHandler, ConvertorUpd
 
     public synchronized void handleDataUpdate(final Response response) {
     	if(!paused) {
-	        SwingUtilities.invokeLater(new Runnable() {
-	            public void run() {
-	                for (final LoggerData loggerData : response.getData()) {
-	                    final XYSeries series = seriesMap.get(loggerData);
-	                    if (series != null) {
-	                    	series.add((response.getTimestamp() - startTime) / 1000.0, response.getDataValue(loggerData));
-	                    }
-	                }
-	            }
-	        });
+    	    // the charts pick up new samples on the next refresh
+    	    final long time = response.getTimestamp() - startTime;
+    	    for (int i = 0; i < response.size(); i++) {
+    	        final TimeSeriesDataset dataset = seriesMap.get(response.getData(i));
+    	        if (dataset != null) {
+    	            dataset.getBuffer().add(time, response.getDataValue(i));
+    	        }
+    	    }
     	}
     }
 
@@ -199,26 +208,28 @@ public final class GraphUpdateHandler implements DataUpdateHandler, ConvertorUpd
     }
 
     public synchronized void cleanUp() {
+        refreshTimer.stop();
     }
 
     public synchronized void reset() {
-        for (XYSeries series : seriesMap.values()) {
-            series.clear();
+        synchronized (seriesMap) {
+            for (TimeSeriesDataset dataset : seriesMap.values()) {
+                dataset.getBuffer().clear();
+            }
         }
     }
 
     public synchronized void notifyConvertorUpdate(LoggerData updatedLoggerData) {
         if (chartMap.containsKey(updatedLoggerData)) {
-            seriesMap.get(updatedLoggerData).clear();
+            seriesMap.get(updatedLoggerData).getBuffer().clear();
             JFreeChart chart = chartMap.get(updatedLoggerData).getChart();
             chart.getXYPlot().getRangeAxis().setLabel(buildRangeAxisTitle(updatedLoggerData));
         }
     }
 
     private void registerSeries(LoggerData loggerData) {
-        final XYSeries series = new XYSeries(loggerData.getName());
-        series.setMaximumItemCount(200);
-        seriesMap.put(loggerData, series);
+        final TimeSeriesBuffer buffer = new TimeSeriesBuffer(HISTORY_SAMPLES);
+        seriesMap.put(loggerData, new TimeSeriesDataset(loggerData.getName(), buffer, 1000.0, MAX_POINTS));
     }
 
     private JFreeChart createXYLineChart(LoggerData loggerData, XYDataset dataset, boolean combined) {
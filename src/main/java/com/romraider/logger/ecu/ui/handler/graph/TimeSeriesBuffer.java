@@ -0,0 +1,153 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.logger.ecu.ui.handler.graph;
+
+import static com.romraider.util.ParamChecker.checkGreaterThanZero;
+import static java.lang.System.arraycopy;
+
+/**
+ * A bounded history of time stamped samples held in parallel primitive
+ * arrays.  Once full, each new sample replaces the oldest one.  Samples
+ * are indexed from the oldest (0) to the newest (size - 1).
+ */
+public final class TimeSeriesBuffer {
+    private final long[] times;
+    private final double[] values;
+    private int head;
+    private int size;
+    private int modCount;
+
+    public TimeSeriesBuffer(int capacity) {
+        checkGreaterThanZero(capacity, "capacity");
+        times = new long[capacity];
+        values = new double[capacity];
+    }
+
+    public synchronized void add(long time, double value) {
+        int tail = head + size;
+        if (tail >= times.length) tail -= times.length;
+        times[tail] = time;
+        values[tail] = value;
+        if (size == times.length) {
+            head = tail + 1 == times.length ? 0 : tail + 1;
+        }
+        else {
+            size++;
+        }
+        modCount++;
+    }
+
+    public synchronized void clear() {
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    public int capacity() {
+        return times.length;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * A count that changes each time samples are added or cleared, used
+     * by readers to skip unchanged snapshots.
+     */
+    public synchronized int getModCount() {
+        return modCount;
+    }
+
+    public synchronized long getTime(int index) {
+        return times[position(index)];
+    }
+
+    public synchronized double getValue(int index) {
+        return values[position(index)];
+    }
+
+    /**
+     * Copy all samples, oldest first, into the arrays which must hold at
+     * least <code>size()</code> elements.
+     * @return the number of samples copied
+     */
+    public synchronized int copy(long[] timesOut, double[] valuesOut) {
+        final int first = Math.min(size, times.length - head);
+        arraycopy(times, head, timesOut, 0, first);
+        arraycopy(times, 0, timesOut, first, size - first);
+        arraycopy(values, head, valuesOut, 0, first);
+        arraycopy(values, 0, valuesOut, first, size - first);
+        return size;
+    }
+
+    /**
+     * Reduce the samples to at most <i>maxPoints</i> for display.  The
+     * samples are split into <i>maxPoints</i> / 2 equal buckets and the
+     * minimum and maximum of each bucket are kept in time order, so peaks
+     * survive however many samples share a pixel.
+     * @return the number of samples written to the arrays
+     */
+    public synchronized int decimate(int maxPoints, long[] timesOut, double[] valuesOut) {
+        if (size <= maxPoints) {
+            return copy(timesOut, valuesOut);
+        }
+        final int buckets = maxPoints / 2;
+        int count = 0;
+        int start = 0;
+        for (int b = 1; b <= buckets; b++) {
+            final int end = (int) ((long) size * b / buckets);
+            int min = start;
+            int max = start;
+            double minValue = values[position(start)];
+            double maxValue = minValue;
+            for (int i = start + 1; i < end; i++) {
+                final double value = values[position(i)];
+                if (value < minValue) {
+                    minValue = value;
+                    min = i;
+                }
+                if (value > maxValue) {
+                    maxValue = value;
+                    max = i;
+                }
+            }
+            final int first = Math.min(min, max);
+            final int last = Math.max(min, max);
+            timesOut[count] = times[position(first)];
+            valuesOut[count++] = values[position(first)];
+            if (last != first) {
+                timesOut[count] = times[position(last)];
+                valuesOut[count++] = values[position(last)];
+            }
+            start = end;
+        }
+        return count;
+    }
+
+    private int position(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        final int i = head + index;
+        return i >= times.length ? i - times.length : i;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.logger.ecu.ui.handler.graph;
+
+import static com.romraider.util.ParamChecker.checkGreaterThanZero;
+import static com.romraider.util.ParamChecker.checkNotNull;
+import org.jfree.data.DomainInfo;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.RangeInfo;
+import org.jfree.data.xy.AbstractXYDataset;
+
+/**
+ * A single series chart dataset backed by a {@link TimeSeriesBuffer}.
+ * The chart reads a decimated snapshot of the buffer which is only
+ * rebuilt, and listeners only notified, when {@link #refresh()} finds
+ * new samples.  Times are divided by the scale to give the x values.
+ */
+public final class TimeSeriesDataset extends AbstractXYDataset implements DomainInfo, RangeInfo {
+    private static final long serialVersionUID = -3179125464381823016L;
+    private final String key;
+    private final TimeSeriesBuffer buffer;
+    private final double scale;
+    private final long[] times;
+    private final double[] values;
+    private int count;
+    private int modCount = -1;
+    private double minX;
+    private double maxX;
+    private double minY;
+    private double maxY;
+
+    public TimeSeriesDataset(String key, TimeSeriesBuffer buffer, double scale, int maxPoints) {
+        checkNotNull(key, buffer);
+        checkGreaterThanZero(maxPoints, "maxPoints");
+        this.key = key;
+        this.buffer = buffer;
+        this.scale = scale;
+        times = new long[maxPoints];
+        values = new double[maxPoints];
+    }
+
+    public TimeSeriesBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Take a new snapshot of the buffer if it has changed since the last
+     * one and notify the chart.  Must be called on the event dispatch
+     * thread.
+     * @return true if the snapshot changed
+     */
+    public boolean refresh() {
+        final int current = buffer.getModCount();
+        if (current == modCount) return false;
+        modCount = current;
+        count = buffer.decimate(times.length, times, values);
+        if (count > 0) {
+            minX = times[0] / scale;
+            maxX = times[count - 1] / scale;
+            minY = Double.POSITIVE_INFINITY;
+            maxY = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                minY = Math.min(minY, values[i]);
+                maxY = Math.max(maxY, values[i]);
+            }
+        }
+        fireDatasetChanged();
+        return true;
+    }
+
+    public int getSeriesCount() {
+        return 1;
+    }
+
+    public Comparable<String> getSeriesKey(int series) {
+        return key;
+    }
+
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    public int getItemCount(int series) {
+        return count;
+    }
+
+    public Number getX(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    public double getXValue(int series, int item) {
+        return times[item] / scale;
+    }
+
+    public Number getY(int series, int item) {
+        return getYValue(series, item);
+    }
+
+    public double getYValue(int series, int item) {
+        return values[item];
+    }
+
+    public double getDomainLowerBound(boolean includeInterval) {
+        return count == 0 ? Double.NaN : minX;
+    }
+
+    public double getDomainUpperBound(boolean includeInterval) {
+        return count == 0 ? Double.NaN : maxX;
+    }
+
+    public Range getDomainBounds(boolean includeInterval) {
+        return count == 0 ? null : new Range(minX, maxX);
+    }
+
+    public double getRangeLowerBound(boolean includeInterval) {
+        return count == 0 ? Double.NaN : minY;
+    }
+
+    public double getRangeUpperBound(boolean includeInterval) {
+        return count == 0 ? Double.NaN : maxY;
+    }
+
+    public Range getRangeBounds(boolean includeInterval) {
+        return count == 0 ? null : new Range(minY, maxY);
+    }
+}
@@ -60,12 +60,17 @@ public final class LiveDataRow {
     }
 
     public void updateValue(double value) {
+        updateValue(value, value, value);
+    }
+
+    // update with the latest value and the range of values it replaces
+    public void updateValue(double value, double min, double max) {
         currentValue = value;
-        if (currentValue < minValue || !updated) {
-            minValue = currentValue;
+        if (min < minValue || !updated) {
+            minValue = min;
         }
-        if (currentValue > maxValue || !updated) {
-            maxValue = currentValue;
+        if (max > maxValue || !updated) {
+            maxValue = max;
         }
         updated = true;
     }
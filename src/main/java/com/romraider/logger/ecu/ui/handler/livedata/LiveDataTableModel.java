@@ -92,14 +92,23 @@ public final class LiveDataTableModel extends AbstractTableModel {
     }
 
     public synchronized void updateParam(LoggerData loggerData, double value) {
-        LiveDataRow dataRow = dataRowMap.get(loggerData);
-        if (dataRow != null) {
-            dataRow.updateValue(value);
-            int index = registeredLoggerData.indexOf(loggerData);
+        int index = updateValue(loggerData, value, value, value);
+        if (index >= 0) {
             fireTableRowsUpdated(index, index);
         }
     }
 
+    // updates a row without firing an event, returns the row index or -1
+    public synchronized int updateValue(LoggerData loggerData, double value,
+            double min, double max) {
+        LiveDataRow dataRow = dataRowMap.get(loggerData);
+        if (dataRow == null) {
+            return -1;
+        }
+        dataRow.updateValue(value, min, max);
+        return registeredLoggerData.indexOf(loggerData);
+    }
+
     public synchronized void reset() {
         for (LiveDataRow liveDataRow : dataRowMap.values()) {
             liveDataRow.reset();
@@ -23,13 +23,35 @@ import com.romraider.logger.ecu.comms.query.Response;
 import com.romraider.logger.ecu.definition.ConvertorUpdateListener;
 import com.romraider.logger.ecu.definition.LoggerData;
 import com.romraider.logger.ecu.ui.handler.DataUpdateHandler;
-import javax.swing.SwingUtilities;
+import com.romraider.logger.ecu.ui.handler.FrameUpdater;
 
 public final class LiveDataUpdateHandler implements DataUpdateHandler, ConvertorUpdateListener {
     private final LiveDataTableModel dataTableModel;
+    private final FrameUpdater updater;
 
-    public LiveDataUpdateHandler(LiveDataTableModel dataTableModel) {
+    public LiveDataUpdateHandler(final LiveDataTableModel dataTableModel) {
         this.dataTableModel = dataTableModel;
+        // one table event covering the rows updated in a frame
+        this.updater = new FrameUpdater(new FrameUpdater.Listener() {
+            private int firstRow = Integer.MAX_VALUE;
+            private int lastRow = -1;
+
+            public void updateValue(LoggerData loggerData, double value, double min, double max) {
+                int row = dataTableModel.updateValue(loggerData, value, min, max);
+                if (row >= 0) {
+                    firstRow = Math.min(firstRow, row);
+                    lastRow = Math.max(lastRow, row);
+                }
+            }
+
+            public void frameUpdated() {
+                if (lastRow >= 0) {
+                    dataTableModel.fireTableRowsUpdated(firstRow, lastRow);
+                }
+                firstRow = Integer.MAX_VALUE;
+                lastRow = -1;
+            }
+        });
     }
 
     public synchronized void registerData(LoggerData loggerData) {
@@ -37,18 +59,15 @@ public final class LiveDataUpdateHandler implements DataUpdateHandler, Convertor
         dataTableModel.addParam(loggerData);
     }
 
-    public synchronized void handleDataUpdate(final Response response) {
-        for (final LoggerData loggerData : response.getData()) {
-            SwingUtilities.invokeLater(new Runnable() {
-                public void run() {
-                    dataTableModel.updateParam(loggerData, response.getDataValue(loggerData));
-                }
-            });
+    public void handleDataUpdate(final Response response) {
+        for (int i = 0; i < response.size(); i++) {
+            updater.put(response.getData(i), response.getDataValue(i));
         }
     }
 
     public synchronized void deregisterData(LoggerData loggerData) {
         // remove from datatable
+        updater.remove(loggerData);
         dataTableModel.removeParam(loggerData);
     }
 
@@ -56,6 +75,7 @@ public final class LiveDataUpdateHandler implements DataUpdateHandler, Convertor
     }
 
     public synchronized void reset() {
+        updater.clear();
         dataTableModel.reset();
     }
 
@@ -31,12 +31,14 @@ import java.util.Map;
 import com.romraider.logger.ecu.comms.query.Response;
 import com.romraider.logger.ecu.definition.LoggerData;
 import com.romraider.logger.ecu.ui.handler.DataUpdateHandler;
+import com.romraider.logger.ecu.ui.handler.DeliveryPolicy;
+import com.romraider.logger.ecu.ui.handler.DeliveryPolicyAware;
 import com.romraider.maps.Table;
 import com.romraider.maps.Table2D;
 import com.romraider.maps.Table3D;
 import com.romraider.maps.TableView;
 
-public final class TableUpdateHandler implements DataUpdateHandler {
+public final class TableUpdateHandler implements DataUpdateHandler, DeliveryPolicyAware {
     private static final TableUpdateHandler INSTANCE = new TableUpdateHandler();
     private final Map<String, List<Table>> tableMap = synchronizedMap(new HashMap<String, List<Table>>());
 
@@ -48,6 +50,12 @@ public final class TableUpdateHandler implements DataUpdateHandler {
     public void registerData(LoggerData loggerData) {
     }
 
+    @Override
+    public DeliveryPolicy getDeliveryPolicy() {
+        // only the current value is highlighted
+        return DeliveryPolicy.LATEST;
+    }
+
     @Override
     public void handleDataUpdate(Response response) {
     	if(!tableMap.isEmpty()) {
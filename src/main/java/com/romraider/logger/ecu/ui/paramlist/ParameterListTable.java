@@ -19,19 +19,30 @@
 
 package com.romraider.logger.ecu.ui.paramlist;
 
+import com.romraider.Settings;
 import com.romraider.logger.ecu.EcuLogger;
+import com.romraider.logger.ecu.comms.manager.PollScheduler;
 import com.romraider.logger.ecu.definition.EcuData;
 import com.romraider.logger.ecu.definition.ExternalData;
+import com.romraider.logger.ecu.definition.LoggerData;
+import com.romraider.util.SettingsManager;
 
 import static com.romraider.util.ParamChecker.isNullOrEmpty;
 
+import javax.swing.ButtonGroup;
+import javax.swing.JPopupMenu;
+import javax.swing.JRadioButtonMenuItem;
 import javax.swing.JTable;
 import javax.swing.table.TableCellEditor;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableRowSorter;
 
 import java.awt.Font;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.text.MessageFormat;
 import java.util.List;
 
 public final class ParameterListTable extends JTable {
@@ -60,6 +71,51 @@ public final class ParameterListTable extends JTable {
             Font font = new Font("Tahoma", Font.PLAIN, 16);
             this.setFont(font);
         }
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                showPollIntervalMenu(e);
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                showPollIntervalMenu(e);
+            }
+        });
+    }
+
+    // Let the user poll slow changing ECU parameters less often
+    private void showPollIntervalMenu(MouseEvent e) {
+        if (!e.isPopupTrigger()) return;
+        final int row = rowAtPoint(e.getPoint());
+        if (row < 0) return;
+        final ParameterRow parameterRow = tableModel.getParameterRows().get(
+                convertRowIndexToModel(row));
+        final LoggerData loggerData = parameterRow.getLoggerData();
+        if (!EcuData.class.isAssignableFrom(loggerData.getClass())) return;
+
+        final Settings settings = SettingsManager.getSettings();
+        final int current = settings.getLoggerPollInterval(loggerData.getId());
+        final JPopupMenu menu = new JPopupMenu();
+        final ButtonGroup group = new ButtonGroup();
+        for (final int interval : PollScheduler.INTERVALS) {
+            final JRadioButtonMenuItem item = new JRadioButtonMenuItem(
+                    interval == 1
+                    ? ParameterListTableModel.rb.getString("POLLEVERY")
+                    : MessageFormat.format(
+                            ParameterListTableModel.rb.getString("POLLINTERVAL"),
+                            interval));
+            item.setSelected(interval == current);
+            item.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent event) {
+                    settings.setLoggerPollInterval(loggerData.getId(), interval);
+                }
+            });
+            group.add(item);
+            menu.add(item);
+        }
+        menu.show(this, e.getX(), e.getY());
     }
     
     public TableCellRenderer getCellRenderer(int row, int col) {
@@ -78,6 +134,14 @@ public final class ParameterListTable extends JTable {
                             rowAtPoint(mouseEvent.getPoint())));
             if (parameterRow != null) {
                 String description = parameterRow.getLoggerData().getDescription();
+                final double rate = PollScheduler.getAchievedRate(
+                        parameterRow.getLoggerData());
+                if (rate > 0 && parameterRow.isSelected()) {
+                    description = MessageFormat.format(
+                            ParameterListTableModel.rb.getString("POLLRATE"),
+                            isNullOrEmpty(description) ? parameterRow.getLoggerData().getName() : description,
+                            rate);
+                }
                 if (!isNullOrEmpty(description)) {
                     return description;
                 }
@@ -37,6 +37,7 @@ import static java.awt.event.KeyEvent.VK_H;
 import static java.awt.event.KeyEvent.VK_I;
 import static java.awt.event.KeyEvent.VK_L;
 import static java.awt.event.KeyEvent.VK_M;
+import static java.awt.event.KeyEvent.VK_N;
 import static java.awt.event.KeyEvent.VK_O;
 import static java.awt.event.KeyEvent.VK_P;
 import static java.awt.event.KeyEvent.VK_R;
@@ -64,11 +65,13 @@ import com.romraider.logger.ecu.ui.swing.menubar.action.ComPortAutoRefreshAction
 import com.romraider.logger.ecu.ui.swing.menubar.action.DisconnectAction;
 import com.romraider.logger.ecu.ui.swing.menubar.action.ElmEnabledAction;
 import com.romraider.logger.ecu.ui.swing.menubar.action.ExitAction;
+import com.romraider.logger.ecu.ui.swing.menubar.action.ExportBinaryLogAction;
 import com.romraider.logger.ecu.ui.swing.menubar.action.FastPollModeAction;
 import com.romraider.logger.ecu.ui.swing.menubar.action.GlobalAdjustmentAction;
 import com.romraider.logger.ecu.ui.swing.menubar.action.LearningTableValuesAction;
 import com.romraider.logger.ecu.ui.swing.menubar.action.LoadProfileAction;
 import com.romraider.logger.ecu.ui.swing.menubar.action.LogFileAbsoluteTimestampAction;
+import com.romraider.logger.ecu.ui.swing.menubar.action.LogFileBinaryFormatAction;
 import com.romraider.logger.ecu.ui.swing.menubar.action.LogFileControllerSwitchAction;
 import com.romraider.logger.ecu.ui.swing.menubar.action.LogFileLocationAction;
 import com.romraider.logger.ecu.ui.swing.menubar.action.LogFileNumberFormatAction;
@@ -106,6 +109,8 @@ public class EcuLoggerMenuBar extends JMenuBar {
         fileMenu.add(new MenuItem(rb.getString("SAVEPROFILE"), new SaveProfileAction(logger), VK_S, getKeyStroke(VK_S, CTRL_MASK)));
         fileMenu.add(new MenuItem(rb.getString("SAVEPROFILEAS"), new SaveProfileAsAction(logger), VK_A, getKeyStroke(VK_S, CTRL_MASK | SHIFT_MASK)));
         fileMenu.add(new JSeparator());
+        fileMenu.add(new MenuItem(rb.getString("EXPORTBINARY"), new ExportBinaryLogAction(logger), VK_E));
+        fileMenu.add(new JSeparator());
         fileMenu.add(new MenuItem(rb.getString("EXIT"), new ExitAction(logger), VK_X));
         add(fileMenu);
 
@@ -147,6 +152,9 @@ public class EcuLoggerMenuBar extends JMenuBar {
         final RadioButtonMenuItem numFormat = new RadioButtonMenuItem(rb.getString("USNUMBERS"), VK_B, getKeyStroke(VK_B, CTRL_MASK), new LogFileNumberFormatAction(logger), logger.getSettings().isUsNumberFormat());
         numFormat.setToolTipText(rb.getString("USNUMBERSTT"));
         settingsMenu.add(numFormat);
+        final RadioButtonMenuItem binaryFormat = new RadioButtonMenuItem(rb.getString("BINARYLOG"), VK_N, null, new LogFileBinaryFormatAction(logger), logger.getSettings().isFileLoggingBinary());
+        binaryFormat.setToolTipText(rb.getString("BINARYLOGTT"));
+        settingsMenu.add(binaryFormat);
         add(settingsMenu);
 
         // connection menu items
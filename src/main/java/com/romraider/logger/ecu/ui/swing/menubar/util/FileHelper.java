@@ -78,6 +78,17 @@ public final class FileHelper {
         return fc;
     }
 
+    public static JFileChooser getBinaryLogFileChooser(File lastLoggerOutputDir) {
+        JFileChooser fc;
+        if (lastLoggerOutputDir.exists() && lastLoggerOutputDir.isDirectory()) {
+            fc = new JFileChooser(lastLoggerOutputDir.getAbsolutePath());
+        } else {
+            fc = new JFileChooser();
+        }
+        fc.setFileFilter(new GenericFileFilter(rb.getString("LOGBINARY"), "rrlog"));
+        return fc;
+    }
+
     private static JFileChooser getFileChooser(File file, String description, String... extensions) {
         JFileChooser fc = getFileChooser(file);
         fc.setFileFilter(new GenericFileFilter(description, extensions));
@@ -47,7 +47,8 @@ public final class LoggerChartPanel extends JPanel {
     private static final long serialVersionUID = -6579979878171615665L;
     private static final Color DARK_GREY = new Color(80, 80, 80);
     private static final Color LIGHT_GREY = new Color(110, 110, 110);
-    private final XYSeries data = new XYSeries("Data");
+    private static final int MAX_POINTS = 50000;
+    private final XYSeries data = new XYSeries("Data", false, true);
     private final XYTrendline trendline = new XYTrendline(data);
     private final XYSeries hilite = new XYSeries("Hilite");
     private final String labelX;
@@ -56,6 +57,8 @@ public final class LoggerChartPanel extends JPanel {
     public LoggerChartPanel(String labelX, String labelY) {
         super(new SpringLayout());
         checkNotNull(labelX, labelY);
+        // points are kept in arrival order so the oldest are dropped first
+        data.setMaximumItemCount(MAX_POINTS);
         this.labelX = labelX;
         this.labelY = labelY;
         addChart();
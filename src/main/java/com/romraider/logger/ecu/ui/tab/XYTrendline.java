@@ -30,6 +30,7 @@ import com.romraider.util.ResourceUtil;
 
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -81,6 +82,9 @@ public final class XYTrendline extends AbstractXYDataset {
         }
         try {
             polyfit = new Polyfit(xVals, yVals, order);
+            // the series may be unsorted, draw the curve left to right
+            xVals = Arrays.copyOf(xVals, xVals.length);
+            Arrays.sort(xVals);
             yPoly = calculate(xVals);
         } catch (Exception e) {
             throw new UndeclaredThrowableException(e);
@@ -0,0 +1,126 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.maps;
+
+/**
+ * An immutable snapshot of an axis' real values used to look up the cells
+ * bracketing an input value. Monotonic axes, ascending or descending, are
+ * searched with a binary search, any other axis falls back to a linear scan.
+ */
+final class AxisIndex {
+    private final double[] values;
+    // values in ascending order of search, negated for a descending axis
+    private final double[] keys;
+    private final boolean ascending;
+    private final boolean monotonic;
+    private final int version;
+
+    AxisIndex(double[] values, int version) {
+        this.values = values.clone();
+        this.version = version;
+
+        boolean up = true;
+        boolean down = true;
+        for (int i = 1; i < values.length; i++) {
+            if (!(values[i] >= values[i - 1])) up = false;
+            if (!(values[i] <= values[i - 1])) down = false;
+        }
+        ascending = up;
+        monotonic = up || down;
+        keys = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            keys[i] = ascending ? values[i] : -values[i];
+        }
+    }
+
+    int size() {
+        return values.length;
+    }
+
+    double get(int index) {
+        return values[index];
+    }
+
+    boolean isAscending() {
+        return ascending;
+    }
+
+    boolean isMonotonic() {
+        return monotonic;
+    }
+
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the index of the last breakpoint at or before the input in
+     * axis order, 0 if the input is before the first breakpoint
+     */
+    int lower(double input) {
+        if (!monotonic) {
+            int start = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] <= input) start = i;
+            }
+            return start;
+        }
+        final double key = ascending ? input : -input;
+        return Math.max(0, firstAbove(key) - 1);
+    }
+
+    /**
+     * @return the index of the first breakpoint at or after the input in
+     * axis order, the last index if the input is past the last breakpoint
+     */
+    int upper(double input) {
+        if (!monotonic) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] >= input) return i;
+            }
+            return values.length - 1;
+        }
+        final double key = ascending ? input : -input;
+        return Math.min(values.length - 1, firstAtOrAbove(key));
+    }
+
+    private int firstAbove(double key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (keys[mid] <= key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private int firstAtOrAbove(double key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (keys[mid] < key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
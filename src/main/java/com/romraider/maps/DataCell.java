@@ -21,7 +21,6 @@ package com.romraider.maps;
 
 import java.io.Serializable;
 import java.text.ParseException;
-import java.util.LinkedList;
 import java.util.StringTokenizer;
 
 import org.apache.log4j.Logger;
@@ -30,7 +29,6 @@ import com.romraider.Settings;
 import com.romraider.Settings.Endian;
 import com.romraider.editor.ecu.ECUEditorManager;
 import com.romraider.util.ByteUtil;
-import com.romraider.util.JEPUtil;
 import com.romraider.util.NumberUtil;
 import com.romraider.util.SettingsManager;
 import com.romraider.xml.RomAttributeParser;
@@ -60,6 +58,9 @@ public class DataCell implements Serializable  {
     //Index within table
     private int index;
 
+    //Next cell registered at the same ROM address, see RomAddressIndex
+    private DataCell nextAtAddress;
+
     public DataCell(Table table, Rom rom) {
         this.table = table;
         this.rom = rom;
@@ -150,7 +151,7 @@ public class DataCell implements Serializable  {
 
     private double getValueFromMemory(int index) {
         double dataValue = 0.0;
-        byte[] input = getBinary();
+        RomImage image = rom.getImage();
         int storageType = table.getStorageType();
         Endian endian = table.getEndian();
         int ramOffset = table.getRamOffset();
@@ -159,31 +160,22 @@ public class DataCell implements Serializable  {
 
         // populate data cells
         if (storageType == Settings.STORAGE_TYPE_FLOAT) { //float storage type
-            byte[] byteValue = new byte[4];
-            byteValue[0] = input[storageAddress + index * 4 - table.getRamOffset()];
-            byteValue[1] = input[storageAddress + index * 4 - table.getRamOffset() + 1];
-            byteValue[2] = input[storageAddress + index * 4 - table.getRamOffset() + 2];
-            byteValue[3] = input[storageAddress + index * 4 - table.getRamOffset() + 3];
-            dataValue = RomAttributeParser.byteToFloat(byteValue, table.getEndian(), table.getMemModelEndian());
+            dataValue = image.getFloat(storageAddress + index * 4 - ramOffset,
+                    table.getMemModelEndian());
 
         } else if (storageType == Settings.STORAGE_TYPE_MOVI20 ||
                 storageType == Settings.STORAGE_TYPE_MOVI20S) { // when data is in MOVI20 instruction
-            dataValue = RomAttributeParser.parseByteValue(input,
-                    endian,
-                    storageAddress + index * 3 - ramOffset,
-                    storageType,
-                    signed);
+            dataValue = image.getValue(storageAddress + index * 3 - ramOffset,
+                    storageType, endian, signed);
 
         } else { // integer storage type
             if (bitMask == 0) {
-                dataValue = RomAttributeParser.parseByteValue(input,
-                        endian, storageAddress + index * storageType - ramOffset,
-                        storageType, signed);
+                dataValue = image.getValue(storageAddress + index * storageType - ramOffset,
+                        storageType, endian, signed);
                 }
                 else {
-                    dataValue = RomAttributeParser.parseByteValueMasked(input, endian,
-                            storageAddress + index * storageType - ramOffset,
-                            storageType, signed, bitMask);
+                    dataValue = image.getValueMasked(storageAddress + index * storageType - ramOffset,
+                            storageType, endian, signed, bitMask);
                 }
         }
 
@@ -274,6 +266,8 @@ public class DataCell implements Serializable  {
                         byteLength = 3;
                     }
 
+                    rom.markDirty(index * byteLength + storageAddress - ramOffset, byteLength);
+
                     //If mask enabled, only change bits within the mask
                     if (mask != 0) {
                         int tempBitMask = 0;
@@ -306,6 +300,7 @@ public class DataCell implements Serializable  {
                     for (int z = 0; z < 4; z++) { // insert in to file
                         binData[index * 4 + z + storageAddress - ramOffset] = output[z];
                     }
+                    rom.markDirty(index * 4 + storageAddress - ramOffset, 4);
                 }
         }
 
@@ -316,30 +311,25 @@ public class DataCell implements Serializable  {
     }
 
     public void registerDataCell(DataCell cell) {
-
-        int memoryIndex = getMemoryStartAddress(cell);
-
-        if (rom.byteCellMapping.containsKey(memoryIndex))
-            {
-            rom.byteCellMapping.get(memoryIndex).add(cell);
-            }
-        else {
-            LinkedList<DataCell> l = new LinkedList<DataCell>();
-            l.add(cell);
-            rom.byteCellMapping.put(memoryIndex, l);
-        }
+        rom.getAddressIndex().add(getMemoryStartAddress(cell), cell);
     }
 
     public void checkForDataUpdates() {
         int memoryIndex = getMemoryStartAddress(this);
 
-        if (rom.byteCellMapping.containsKey(memoryIndex)){
-            for(DataCell c : rom.byteCellMapping.get(memoryIndex)) {
-                c.updateBinValueFromMemory();
-            }
+        for (DataCell c = rom.getAddressIndex().get(memoryIndex); c != null; c = c.getNextAtAddress()) {
+            c.updateBinValueFromMemory();
         }
     }
 
+    DataCell getNextAtAddress() {
+        return nextAtAddress;
+    }
+
+    void setNextAtAddress(DataCell nextAtAddress) {
+        this.nextAtAddress = nextAtAddress;
+    }
+
     public static int getMemoryStartAddress(DataCell cell) {
         Table t = cell.getTable();
         return t.getStorageAddress() + cell.getIndexInTable() * t.getStorageType() - t.getRamOffset();
@@ -371,6 +361,7 @@ public class DataCell implements Serializable  {
             calcValueRange();
 
         this.binValue = getValueFromMemory();
+        if (table != null) table.updateRealValue(this);
         updateView();
     }
 
@@ -422,7 +413,7 @@ public class DataCell implements Serializable  {
     public double getRealValue() {
         if (table.getCurrentScale() == null) return binValue;
 
-        return JEPUtil.evaluate(table.getCurrentScale().getExpression(), binValue);
+        return table.getRealValue(this);
     }
 
     public void setRealValue(String input) throws UserLevelException {
@@ -441,7 +432,7 @@ public class DataCell implements Serializable  {
                     result = table.getCurrentScale().approximateToByteFunction(NumberUtil.doubleValue(input), table.getStorageType(), table.isSignedData());
                 }
                 else {
-                    result = JEPUtil.evaluate(table.getCurrentScale().getByteExpression(), NumberUtil.doubleValue(input));
+                    result = table.getCurrentScale().getCompiledByteExpression().evaluate(NumberUtil.doubleValue(input));
                 }
 
                 if (table.getStorageType() != Settings.STORAGE_TYPE_FLOAT) {
@@ -462,12 +453,12 @@ public class DataCell implements Serializable  {
     }
 
     public double getRealCompareValue() {
-        return JEPUtil.evaluate(table.getCurrentScale().getExpression(), binValue) - JEPUtil.evaluate(table.getCurrentScale().getExpression(), compareToValue);
+        return getRealValue() - table.getCurrentScale().getCompiledExpression().evaluate(compareToValue);
     }
 
     public double getRealCompareChangeValue() {
-        double realBinValue = JEPUtil.evaluate(table.getCurrentScale().getExpression(), binValue);
-        double realCompareValue = JEPUtil.evaluate(table.getCurrentScale().getExpression(), compareToValue);
+        double realBinValue = getRealValue();
+        double realCompareValue = table.getCurrentScale().getCompiledExpression().evaluate(compareToValue);
 
         if (realCompareValue != 0.0) {
             // Compare change formula ((V2 - V1) / |V1|).
@@ -503,6 +494,7 @@ public class DataCell implements Serializable  {
 
         // set bin.
         binValue = checkedValue;
+        table.updateRealValue(this);
         saveBinValueInFile();
         updateView();
     }
@@ -519,7 +511,7 @@ public class DataCell implements Serializable  {
             incResult = table.getCurrentScale().approximateToByteFunction(oldValue + increment, table.getStorageType(), table.isSignedData());
         }
         else {
-            incResult = JEPUtil.evaluate(table.getCurrentScale().getByteExpression(), (oldValue + increment));
+            incResult = table.getCurrentScale().getCompiledByteExpression().evaluate((oldValue + increment));
         }
 
         if (table.getStorageType() == Settings.STORAGE_TYPE_FLOAT) {
@@ -35,7 +35,6 @@ import javax.swing.border.Border;
 
 import com.romraider.Settings;
 import com.romraider.editor.ecu.ECUEditorManager;
-import com.romraider.util.JEPUtil;
 import com.romraider.util.SettingsManager;
 
 public class DataCellView extends JLabel implements MouseListener, Serializable {
@@ -385,7 +384,7 @@ public class DataCellView extends JLabel implements MouseListener, Serializable
         try {
             FORMATTER.applyPattern(tableView.getTable().getCurrentScale().getFormat());
             double staticDouble = Double.parseDouble(dataCell.getStaticText());
-            displayString = FORMATTER.format(JEPUtil.evaluate(tableView.getTable().getCurrentScale().getExpression(), staticDouble));
+            displayString = FORMATTER.format(tableView.getTable().getCurrentScale().getCompiledExpression().evaluate(staticDouble));
         } catch (Exception ex) {
             displayString = dataCell.getStaticText();
         }
@@ -42,6 +42,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.ResourceBundle;
 import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.regex.PatternSyntaxException;
 
 import javax.swing.JOptionPane;
@@ -76,6 +79,7 @@ public class Rom extends DefaultMutableTreeNode implements Serializable  {
     private String fileName = "";
     private File fullFileName = new File(".");
     private byte[] binData;
+    private transient RomImage image;
     private Document doc;
     
     // This is currently only used for unit testing
@@ -85,7 +89,7 @@ public class Rom extends DefaultMutableTreeNode implements Serializable  {
 
     //This keeps track of DataCells on a byte level
     //This might also be possible to achieve by using the same Data Tables
-    protected HashMap<Integer, LinkedList<DataCell>> byteCellMapping = new HashMap<Integer, LinkedList<DataCell>>();
+    protected RomAddressIndex addressIndex = new RomAddressIndex();
     
     private final LinkedHashMap<String, TableTreeNode> tableNodes = new LinkedHashMap<String, TableTreeNode>();
     private final LinkedList<DataflowSimulation> simulations = new LinkedList<DataflowSimulation>();
@@ -289,20 +293,41 @@ public class Rom extends DefaultMutableTreeNode implements Serializable  {
     
     public void populateTables(byte[] binData, JProgressPane progress) {
         this.binData = binData;
-        int size = tableNodes.size();
-        int i = 0;
+        this.image = RomImage.wrap(binData);
         faultyTables.clear();
 
-        for(String name: tableNodes.keySet()) {
+        // Decode the tables concurrently, then register them and report any
+        // bad scales and failures one at a time in definition order, as if
+        // populated in turn
+        final List<Table> tables = new ArrayList<Table>(tableNodes.size());
+        final List<ForkJoinTask<RuntimeException>> tasks =
+                new ArrayList<ForkJoinTask<RuntimeException>>(tableNodes.size());
+        for (TableTreeNode tableNode : tableNodes.values()) {
+            final Table table = tableNode.getTable();
+            tables.add(table);
+            tasks.add(isConcurrentPopulate(table)
+                    ? ForkJoinPool.commonPool().submit(new PopulateTask(table))
+                    : null);
+        }
+
+        int size = tables.size();
+        int i = 0;
+        for (int n = 0; n < tables.size(); n++) {
             // update progress
             int currProgress = (int) (i / (double) size * 100);
             progress.update(rb.getString("POPTABLES"), currProgress);
 
-            Table table = tableNodes.get(name.toLowerCase()).getTable();
+            Table table = tables.get(n);
             try {
                 if (table.getStorageAddress() >= 0) {
                     try {
-                        table.populateTable(this);
+                        table.validateScaling();
+                        final ForkJoinTask<RuntimeException> task = tasks.get(n);
+                        final RuntimeException failure = task == null
+                                ? populateTable(table) : task.join();
+                        if (failure != null) {
+                            throw failure;
+                        }
                         TableUpdateHandler.getInstance().registerTable(table);
 
                         if (null != table.getName() && table.getName().equalsIgnoreCase("Checksum Fix")){
@@ -332,6 +357,36 @@ public class Rom extends DefaultMutableTreeNode implements Serializable  {
         }
     }
 
+    // Switches may show dialogs while populating so they are left to the
+    // ordered pass, as are tables which will not be populated at all
+    private static boolean isConcurrentPopulate(Table table) {
+        return table != null
+                && table.getStorageAddress() >= 0
+                && !(table instanceof TableSwitch);
+    }
+
+    private RuntimeException populateTable(Table table) {
+        try {
+            table.populateTable(this);
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private final class PopulateTask implements Callable<RuntimeException> {
+        private final Table table;
+
+        public PopulateTask(Table table) {
+            this.table = table;
+        }
+
+        @Override
+        public RuntimeException call() {
+            return populateTable(table);
+        }
+    }
+
     private void setEditStamp(byte[] binData, int address) {
         byte[] stampData = new byte[4];
         System.arraycopy(binData, address+204, stampData, 0, stampData.length);
@@ -366,6 +421,20 @@ public class Rom extends DefaultMutableTreeNode implements Serializable  {
         return binData;
     }
 
+    /**
+     * @return a typed view of the image, sharing storage with {@link #getBinary()}
+     */
+    public RomImage getImage() {
+        if (image == null && binData != null) {
+            image = RomImage.wrap(binData);
+        }
+        return image;
+    }
+
+    public RomAddressIndex getAddressIndex() {
+        return addressIndex;
+    }
+
     public void setDocument(Document d) {
         this.doc = d;
     }
@@ -433,6 +502,9 @@ public class Rom extends DefaultMutableTreeNode implements Serializable  {
                      binData,
                      checksum.getTable()
              );
+             // the sum of each 12 byte entry is written at its end
+             markDirty(checksum.getTable().getStorageAddress() - checksum.getTable().getRamOffset(),
+                     checksum.getTable().getDataSize() + 12);
          }
     }
 
@@ -468,6 +540,7 @@ public class Rom extends DefaultMutableTreeNode implements Serializable  {
                     binData,
                     binDataPos + 204,
                     4);
+            markDirty(binDataPos + 204, 4);
             setEditStamp(binData, binDataPos);
         }
 
@@ -478,6 +551,9 @@ public class Rom extends DefaultMutableTreeNode implements Serializable  {
                         binData,
                         checksum.getTable()
                 );
+                // the sum of each 12 byte entry is written at its end
+                markDirty(checksum.getTable().getStorageAddress() - checksum.getTable().getRamOffset(),
+                        checksum.getTable().getDataSize() + 12);
             }
             else if (checksum.getTable().isLocked() &&
                     !checksum.getTable().isButtonSelected()) {
@@ -526,14 +602,13 @@ public class Rom extends DefaultMutableTreeNode implements Serializable  {
         checksumManagers.clear();
         tableNodes.clear();
         binData = null;
+        image = null;
         doc = null;
     }
 
     public void clearByteMapping() {
-        for(List<?> l: byteCellMapping.values())l.clear();
-
-        byteCellMapping.clear();
-        byteCellMapping = null;
+        addressIndex.clear();
+        addressIndex = null;
     }
 
     public int getRealFileSize() {
@@ -587,11 +662,32 @@ public class Rom extends DefaultMutableTreeNode implements Serializable  {
         return correctChecksums;
     }
 
+    /**
+     * Record that bytes of the image changed so the checksum managers
+     * recalculate their sums over them.
+     */
+    public void markDirty(int offset, int length) {
+        for(ChecksumManager cm: checksumManagers) {
+            cm.invalidate(offset, length);
+        }
+    }
+
     public int updateChecksum() {
         int updatedCs = 0;
 
         for(ChecksumManager cm: checksumManagers) {
             updatedCs += cm.update(binData);
+
+            // a checksum may be covered by another checksum
+            int[] ranges = cm.getUpdatedRanges();
+            if (ranges == null) {
+                markDirty(0, binData.length);
+            }
+            else {
+                for (int i = 0; i + 1 < ranges.length; i += 2) {
+                    markDirty(ranges[i], ranges[i + 1]);
+                }
+            }
         }
 
         ECUEditorManager.getECUEditor().getStatusPanel().setStatus(
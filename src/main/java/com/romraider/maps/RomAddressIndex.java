@@ -0,0 +1,119 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.maps;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Maps a ROM address to the data cells stored there. Addresses are kept
+ * in a primitive open addressing table and the cells sharing an address
+ * are chained through the cells themselves, so registering a cell creates
+ * no objects. Tables may be populated concurrently, so access is
+ * synchronized.
+ */
+public final class RomAddressIndex implements Serializable {
+    private static final long serialVersionUID = -1843064735126307152L;
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private int[] addresses;
+    private DataCell[] cells;
+    private int size;
+
+    public RomAddressIndex() {
+        allocate(1024);
+    }
+
+    public synchronized void add(int address, DataCell cell) {
+        if (address == EMPTY) {
+            throw new IllegalArgumentException("Invalid address: " + address);
+        }
+        if ((size + 1) * 2 > addresses.length) {
+            resize();
+        }
+        final int slot = slotOf(address, addresses);
+        if (addresses[slot] == EMPTY) {
+            addresses[slot] = address;
+            size++;
+        }
+        cell.setNextAtAddress(cells[slot]);
+        cells[slot] = cell;
+    }
+
+    /**
+     * @return the first cell at the address, the others follow through
+     * {@link DataCell#getNextAtAddress()}, or null if there are none
+     */
+    public synchronized DataCell get(int address) {
+        if (address == EMPTY) {
+            return null;
+        }
+        return cells[slotOf(address, addresses)];
+    }
+
+    /**
+     * @return the number of distinct addresses
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        for (DataCell cell : cells) {
+            while (cell != null) {
+                final DataCell next = cell.getNextAtAddress();
+                cell.setNextAtAddress(null);
+                cell = next;
+            }
+        }
+        Arrays.fill(addresses, EMPTY);
+        Arrays.fill(cells, null);
+        size = 0;
+    }
+
+    private void allocate(int capacity) {
+        addresses = new int[capacity];
+        cells = new DataCell[capacity];
+        Arrays.fill(addresses, EMPTY);
+    }
+
+    private void resize() {
+        final int[] oldAddresses = addresses;
+        final DataCell[] oldCells = cells;
+        allocate(oldAddresses.length * 2);
+        for (int i = 0; i < oldAddresses.length; i++) {
+            if (oldAddresses[i] != EMPTY) {
+                final int slot = slotOf(oldAddresses[i], addresses);
+                addresses[slot] = oldAddresses[i];
+                cells[slot] = oldCells[i];
+            }
+        }
+    }
+
+    private static int slotOf(int address, int[] table) {
+        final int mask = table.length - 1;
+        int hash = address * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (table[slot] != EMPTY && table[slot] != address) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
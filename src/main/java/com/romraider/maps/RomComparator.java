@@ -0,0 +1,174 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.maps;
+
+import static com.romraider.util.ParamChecker.checkNotNull;
+
+import java.util.Map;
+
+import com.romraider.Settings;
+import com.romraider.swing.TableTreeNode;
+
+/**
+ * Compares the tables of two ROM images.  Tables are matched by their
+ * normalized (lower case) name using the ROMs' table maps, and the bytes
+ * each table and its axes occupy are compared before falling back to
+ * comparing every cell.
+ */
+public final class RomComparator {
+
+    public enum Result {
+        EQUAL, DIFFERENT, MISSING
+    }
+
+    public interface Listener {
+        /**
+         * Called once per table, in definition order with the tables
+         * missing from the left image last.
+         * @return false to stop the comparison
+         */
+        boolean tableCompared(String tableName, Result result);
+    }
+
+    private RomComparator() {
+    }
+
+    public static void compare(Rom left, Rom right, Listener listener) {
+        checkNotNull(left, right, listener);
+        final Map<String, TableTreeNode> leftNodes = left.getTableNodes();
+        final Map<String, TableTreeNode> rightNodes = right.getTableNodes();
+        for (Map.Entry<String, TableTreeNode> entry : leftNodes.entrySet()) {
+            final Table leftTable = entry.getValue().getTable();
+            final TableTreeNode rightNode = rightNodes.get(entry.getKey());
+            final Result result;
+            if (rightNode == null) {
+                result = Result.MISSING;
+            }
+            else if (equals(leftTable, rightNode.getTable())) {
+                result = Result.EQUAL;
+            }
+            else {
+                result = Result.DIFFERENT;
+            }
+            if (!listener.tableCompared(leftTable.getName(), result)) return;
+        }
+        for (Map.Entry<String, TableTreeNode> entry : rightNodes.entrySet()) {
+            if (!leftNodes.containsKey(entry.getKey())) {
+                final String name = entry.getValue().getTable().getName();
+                if (!listener.tableCompared(name, Result.MISSING)) return;
+            }
+        }
+    }
+
+    /**
+     * Same result as {@link Table#equals(Object)}.  When both tables read
+     * their cells the same way from identical bytes the cells are not
+     * compared.
+     */
+    public static boolean equals(Table left, Table right) {
+        if (!left.equalsWithoutData(right)) return false;
+        if (!sameLayout(left, right)) return left.equals(right);
+        final int cells;
+        if (left instanceof Table3D) {
+            final Table3D left3D = (Table3D) left;
+            final Table3D right3D = (Table3D) right;
+            if (!equals(left3D.getXAxis(), right3D.getXAxis())
+                    || !equals(left3D.getYAxis(), right3D.getYAxis())) {
+                return false;
+            }
+            if (left3D.getSizeX() != right3D.getSizeX()
+                    || left3D.getSizeY() != right3D.getSizeY()
+                    || left3D.getSwapXY() != right3D.getSwapXY()
+                    || left3D.getFlipX() != right3D.getFlipX()
+                    || left3D.getFlipY() != right3D.getFlipY()
+                    || left3D.getSkipCells() != right3D.getSkipCells()) {
+                return left.equals(right);
+            }
+            cells = cellCount(left3D);
+        }
+        else if (left instanceof Table2D) {
+            if (!equals(((Table2D) left).getAxis(), ((Table2D) right).getAxis())) {
+                return false;
+            }
+            cells = left.getDataSize();
+        }
+        else {
+            cells = left.getDataSize();
+        }
+        if (storageEquals(left, right, cells)) return true;
+        return left.equals(right);
+    }
+
+    // The cells a 3D table reads, including the cells skipped between
+    // rows, the same way Table3D.populateTable lays them out
+    private static int cellCount(Table3D table) {
+        final int rows = table.getSwapXY()
+                ? table.getXAxis().getDataSize() : table.getYAxis().getDataSize();
+        final int columns = table.getSwapXY()
+                ? table.getYAxis().getDataSize() : table.getXAxis().getDataSize();
+        return rows * columns + Math.max(0, rows - 1) * table.getSkipCells();
+    }
+
+    private static boolean sameLayout(Table left, Table right) {
+        return left.getClass() == right.getClass()
+                && !(left instanceof TableBitwiseSwitch)
+                && !left.isStaticDataTable()
+                && !right.isStaticDataTable()
+                && left.getStorageType() == right.getStorageType()
+                && left.getRamOffset() == right.getRamOffset()
+                && left.getBitMask() == right.getBitMask()
+                && left.isSignedData() == right.isSignedData()
+                && left.getEndian() == right.getEndian()
+                && left.getMemModelEndian() == right.getMemModelEndian()
+                && left.getDataLayout() == right.getDataLayout();
+    }
+
+    private static boolean storageEquals(Table left, Table right, int cells) {
+        final Rom leftRom = left.getRom();
+        final Rom rightRom = right.getRom();
+        if (leftRom == null || rightRom == null) return false;
+        final byte[] leftBytes = leftRom.getBinary();
+        final byte[] rightBytes = rightRom.getBinary();
+        if (leftBytes == null || rightBytes == null) return false;
+        final int offset = left.getStorageAddress() - left.getRamOffset();
+        final int length = cells * cellLength(left.getStorageType());
+        if (offset < 0 || offset + length > leftBytes.length
+                || offset + length > rightBytes.length) {
+            return false;
+        }
+        return rangeEquals(leftBytes, rightBytes, offset, length);
+    }
+
+    private static int cellLength(int storageType) {
+        if (storageType == Settings.STORAGE_TYPE_FLOAT) return 4;
+        if (storageType == Settings.STORAGE_TYPE_MOVI20 ||
+                storageType == Settings.STORAGE_TYPE_MOVI20S) return 3;
+        return storageType;
+    }
+
+    private static boolean rangeEquals(byte[] left, byte[] right, int offset, int length) {
+        if (left == right) return true;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (left[i] != right[i]) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.maps;
+
+import static com.romraider.util.ParamChecker.checkNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+import com.romraider.Settings;
+import com.romraider.Settings.Endian;
+
+/**
+ * A ROM image with typed, endian aware accessors. The image is held in a
+ * {@link ByteBuffer} which is either a view of an existing byte array or a
+ * private (copy on write) mapping of the image file, in which case edits
+ * are never written back to the file.
+ * <p>
+ * All accessors use absolute positions so reads allocate nothing and a
+ * single image can be shared by every table of a ROM.
+ */
+public final class RomImage {
+    private final ByteBuffer big;
+    private final ByteBuffer little;
+
+    private RomImage(ByteBuffer buffer) {
+        big = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        little = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Create an image backed by the given array, changes to either are
+     * visible in the other.
+     */
+    public static RomImage wrap(byte[] binData) {
+        checkNotNull(binData, "binData");
+        return new RomImage(ByteBuffer.wrap(binData));
+    }
+
+    /**
+     * Map an image file privately, the file is not modified by writes to
+     * the image.
+     */
+    public static RomImage map(File file) throws IOException {
+        checkNotNull(file, "file");
+        final RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            final FileChannel channel = raf.getChannel();
+            return new RomImage(channel.map(FileChannel.MapMode.PRIVATE, 0, channel.size()));
+        } finally {
+            raf.close();
+        }
+    }
+
+    public int size() {
+        return big.capacity();
+    }
+
+    /**
+     * @return the backing array, or a copy of the image if it is mapped
+     */
+    public byte[] toByteArray() {
+        if (big.hasArray() && big.arrayOffset() == 0
+                && big.array().length == big.capacity()) {
+            return big.array();
+        }
+        final byte[] copy = new byte[big.capacity()];
+        final ByteBuffer source = big.duplicate();
+        source.clear();
+        source.get(copy);
+        return copy;
+    }
+
+    public byte getByte(int address) {
+        return big.get(address);
+    }
+
+    public void putByte(int address, byte value) {
+        big.put(address, value);
+    }
+
+    public short getShort(int address, Endian endian) {
+        return buffer(endian).getShort(address);
+    }
+
+    public int getInt(int address, Endian endian) {
+        return buffer(endian).getInt(address);
+    }
+
+    /**
+     * Read a float, the byte order is taken from the memory model endian
+     * as legacy definitions often declare an incorrect table endian.
+     */
+    public float getFloat(int address, Endian memModelEndian) {
+        return buffer(memModelEndian == Endian.LITTLE ? Endian.LITTLE : Endian.BIG)
+                .getFloat(address);
+    }
+
+    /**
+     * Read an integer value of the given storage type.
+     * @see com.romraider.xml.RomAttributeParser#parseByteValue
+     */
+    public long getValue(int address, int storageType, Endian endian, boolean signed) {
+        final ByteBuffer bb = buffer(endian);
+        switch (storageType) {
+        case 1:
+            return signed ? bb.get(address) : bb.get(address) & 0xffL;
+        case 2:
+            return signed ? bb.getShort(address) : bb.getShort(address) & 0xffffL;
+        case 4:
+            return signed ? bb.getInt(address) : bb.getInt(address) & 0xffffffffL;
+        case Settings.STORAGE_TYPE_MOVI20:
+        case Settings.STORAGE_TYPE_MOVI20S:
+            // the 20 bit value is in the low bytes of the 4 ending at address + 2
+            return getMovi20(bb.getInt(address - 1));
+        default:
+            return 0L;
+        }
+    }
+
+    /**
+     * Read the bits of an integer value selected by a contiguous mask,
+     * shifted down to bit 0.
+     */
+    public long getValueMasked(int address, int storageType, Endian endian,
+            boolean signed, int mask) {
+        return (getValue(address, storageType, endian, signed) & mask)
+                >> Integer.numberOfTrailingZeros(mask);
+    }
+
+    private ByteBuffer buffer(Endian endian) {
+        return endian == Endian.LITTLE ? little : big;
+    }
+
+    // when data is in MOVI20 instruction
+    private static int getMovi20(int value) {
+        final int shift = value & 0x00010000;
+        value = ((value & 0x00f00000) >>> 4) + (value & 0x0000FFFF);
+        if ((value & 0x00080000) > 0) {
+            value = (value | 0xfff00000);
+        }
+        if (shift > 0) { //MOVI20S
+            return (value << 8);
+        }
+        return value;
+    }
+}
@@ -24,6 +24,7 @@ package com.romraider.maps;
 import java.io.Serializable;
 import java.util.HashMap;
 
+import com.romraider.util.CompiledExpression;
 import com.romraider.util.JEPUtil;
 
 public class Scale implements Serializable {
@@ -40,6 +41,8 @@ public class Scale implements Serializable {
     private double fineIncrement = 1;
     private double min = 0.0;
     private double max = 0.0;
+    private transient CompiledExpression compiledExpression;
+    private transient CompiledExpression compiledByteExpression;
     
     HashMap<Double, Double> cachedValues = new HashMap<Double,Double>();
     int maxCacheSize = 100;
@@ -68,8 +71,8 @@ public class Scale implements Serializable {
 
         double startValue = 5;
         // convert real world value of "5"
-        double toReal = JEPUtil.evaluate(getExpression(), startValue);
-        double endValue = JEPUtil.evaluate(getByteExpression(), toReal);
+        double toReal = getCompiledExpression().evaluate(startValue);
+        double endValue = getCompiledByteExpression().evaluate(toReal);
 
         // if real to byte doesn't equal 5, report conflict
         if (Math.abs(endValue - startValue) > .001) return false;
@@ -102,10 +105,11 @@ public class Scale implements Serializable {
     	int stepSize = (int) (Math.pow(2, 8 * storageType) / 2);;
     	double epsilon = 0.00001;
     	double output = 0;
+    	final CompiledExpression toReal = getCompiledExpression();
     	
     	while(stepSize > 0 && error > epsilon) {  		
-    		double minusValue = JEPUtil.evaluate(getExpression(), currentStep-stepSize);
-    		double plusValue = JEPUtil.evaluate(getExpression(), currentStep+stepSize);
+    		double minusValue = toReal.evaluate(currentStep-stepSize);
+    		double plusValue = toReal.evaluate(currentStep+stepSize);
     		
     		double plusError = Math.abs(plusValue - input);
     		double minusError = Math.abs(minusValue - input);
@@ -165,6 +169,20 @@ public class Scale implements Serializable {
 
     public void setExpression(String expression) {
         this.expression = expression;
+        this.compiledExpression = null;
+    }
+
+    /**
+     * @return the compiled form of <b>expression</b>, compiled once and
+     * kept until the expression changes
+     */
+    public CompiledExpression getCompiledExpression() {
+        CompiledExpression compiled = compiledExpression;
+        if (compiled == null) {
+            compiled = JEPUtil.compile(expression);
+            compiledExpression = compiled;
+        }
+        return compiled;
     }
 
     public double getCoarseIncrement() {
@@ -198,6 +216,20 @@ public class Scale implements Serializable {
     		this.byteExpression = null;
     	else
     		this.byteExpression = byteExpression;
+        this.compiledByteExpression = null;
+    }
+
+    /**
+     * @return the compiled form of <b>byteExpression</b> or null if
+     * there is no byte expression
+     */
+    public CompiledExpression getCompiledByteExpression() {
+        CompiledExpression compiled = compiledByteExpression;
+        if (compiled == null && byteExpression != null) {
+            compiled = JEPUtil.compile(byteExpression);
+            compiledByteExpression = compiled;
+        }
+        return compiled;
     }
 
     public double getFineIncrement() {
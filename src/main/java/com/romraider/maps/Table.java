@@ -29,7 +29,7 @@ import org.apache.log4j.Logger;
 import com.romraider.Settings;
 import com.romraider.swing.TableFrame;
 import com.romraider.util.ByteUtil;
-import com.romraider.util.JEPUtil;
+import com.romraider.util.CompiledExpression;
 import com.romraider.util.NumberUtil;
 import com.romraider.util.SettingsManager;
 
@@ -59,6 +59,11 @@ public abstract class Table implements Serializable, Comparable<Table> {
     protected DataLayout dataLayout = DataLayout.DEFAULT;   //DataCell Ordering
     protected DataCell[] data = new DataCell[1];
 
+    //Real values of data for the current scale, see getRealValue(DataCell)
+    private transient volatile RealValues realValues;
+    //Changes each time a real value changes, see Table1D.getAxisIndex()
+    private transient volatile int realValuesVersion;
+
     protected boolean beforeRam = false;
     protected int ramOffset = 0;
 
@@ -82,6 +87,16 @@ public abstract class Table implements Serializable, Comparable<Table> {
         BOSCH_SUBTRACT
     }
 
+    private static final class RealValues {
+        private final CompiledExpression expression;
+        private final double[] values;
+
+        private RealValues(CompiledExpression expression, double[] values) {
+            this.expression = expression;
+            this.values = values;
+        }
+    }
+
     public void setTableView(TableView v) {
         this.tableView = v;
     }
@@ -132,6 +147,7 @@ public abstract class Table implements Serializable, Comparable<Table> {
 
     public void setData(DataCell[] data) {
         this.data = data;
+        clearRealValues();
     }
 
     public int getRamOffset() {
@@ -148,7 +164,6 @@ public abstract class Table implements Serializable, Comparable<Table> {
 
     public void populateTable(Rom rom) throws ArrayIndexOutOfBoundsException, IndexOutOfBoundsException {
     	if(isStaticDataTable()) return;
-        validateScaling();
 
         // temporarily remove lock;
         boolean tempLock = locked;
@@ -164,6 +179,7 @@ public abstract class Table implements Serializable, Comparable<Table> {
 
         // reset locked status
         locked = tempLock;
+        clearRealValues();
         calcCellRanges();
 
         //Add Raw Scale
@@ -273,6 +289,7 @@ public abstract class Table implements Serializable, Comparable<Table> {
 
     public void setDataSize(int size) {
         data = new DataCell[size];
+        clearRealValues();
     }
 
     public int getDataSize() {
@@ -399,6 +416,89 @@ public abstract class Table implements Serializable, Comparable<Table> {
         }
     }
 
+    /**
+     * Get the real value of one of this table's cells. The real values of
+     * all cells are converted together and kept until the scale changes.
+     */
+    double getRealValue(DataCell cell) {
+        final CompiledExpression expression = getCurrentScale().getCompiledExpression();
+        final int index = cell.getIndexInTable();
+        final DataCell[] cells = getIndexedCells();
+        if (cells == null || index >= cells.length || cells[index] != cell) {
+            return expression.evaluate(cell.getBinValue());
+        }
+        return getRealValues(expression, cells).values[index];
+    }
+
+    /**
+     * Get the real values of all cells by their index in the table. The
+     * array is shared and must not be modified.
+     */
+    double[] getRealValues() {
+        final DataCell[] cells = getIndexedCells();
+        if (getCurrentScale() == null) {
+            final double[] binValues = new double[cells.length];
+            for (int i = 0; i < cells.length; i++) {
+                binValues[i] = cells[i] == null ? Double.NaN : cells[i].getBinValue();
+            }
+            return binValues;
+        }
+        return getRealValues(getCurrentScale().getCompiledExpression(), cells).values;
+    }
+
+    int getRealValuesVersion() {
+        return realValuesVersion;
+    }
+
+    /**
+     * @return the cells of this table by their index in the table
+     */
+    protected DataCell[] getIndexedCells() {
+        return data;
+    }
+
+    protected synchronized void clearRealValues() {
+        realValues = null;
+        realValuesVersion++;
+    }
+
+    private RealValues getRealValues(CompiledExpression expression, DataCell[] cells) {
+        RealValues values = realValues;
+        if (values == null || values.expression != expression
+                || values.values.length != cells.length) {
+            values = convertRealValues(expression, cells);
+        }
+        return values;
+    }
+
+    private synchronized RealValues convertRealValues(
+            CompiledExpression expression, DataCell[] cells) {
+        final double[] converted = new double[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            converted[i] = cells[i] == null
+                    ? Double.NaN
+                    : expression.evaluate(cells[i].getBinValue());
+        }
+        final RealValues values = new RealValues(expression, converted);
+        realValues = values;
+        realValuesVersion++;
+        return values;
+    }
+
+    /**
+     * Update the kept real value of a cell after its bin value changed.
+     */
+    synchronized void updateRealValue(DataCell cell) {
+        realValuesVersion++;
+        final RealValues values = realValues;
+        if (values == null) return;
+        final int index = cell.getIndexInTable();
+        final DataCell[] cells = getIndexedCells();
+        if (index < values.values.length && cells != null && cells[index] == cell) {
+            values.values[index] = values.expression.evaluate(cell.getBinValue());
+        }
+    }
+
     public void calcCellRanges() {
         if(data.length > 0) {
             double binMax = data[0].getBinValue();
@@ -442,11 +542,11 @@ public abstract class Table implements Serializable, Comparable<Table> {
     }
 
     public double getMaxReal() {
-    	return JEPUtil.evaluate(getCurrentScale().getExpression(), getMaxBin());
+    	return getCurrentScale().getCompiledExpression().evaluate(getMaxBin());
     }
 
     public double getMinReal() {
-    	return JEPUtil.evaluate(getCurrentScale().getExpression(), getMinBin());
+    	return getCurrentScale().getCompiledExpression().evaluate(getMinBin());
     }
 
     public void setMaxBin(double maxBin) {
@@ -551,8 +651,13 @@ public abstract class Table implements Serializable, Comparable<Table> {
     	return tableBitMask;
     }
 
+    /**
+     * Report any scale whose byte expression does not invert its
+     * expression.  Not done when populating, the ROM reports bad scales
+     * itself in table order.
+     */
     public void validateScaling() {
-        if (getType() != TableType.SWITCH) {
+        if (getType() != TableType.SWITCH && !isStaticDataTable()) {
             for(Scale scale : scales) {
                 if (!scale.validate()) {
                     TableView.showBadScalePopup(this, scale);
@@ -639,6 +744,19 @@ public abstract class Table implements Serializable, Comparable<Table> {
     
     public abstract double queryTable(Double input_x, Double input_y);
 
+    /**
+     * Query the table for many inputs at once, <b>output[i]</b> is set to
+     * the value at <b>inputX[i]</b>, <b>inputY[i]</b>. Either input may be
+     * null if the table has no such axis.
+     */
+    public void queryTable(double[] inputX, double[] inputY, double[] output) {
+        for (int i = 0; i < output.length; i++) {
+            output[i] = queryTable(
+                    inputX == null ? null : inputX[i],
+                    inputY == null ? null : inputY[i]);
+        }
+    }
+
     public void interpolate() throws UserLevelException {
         horizontalInterpolate();
     }
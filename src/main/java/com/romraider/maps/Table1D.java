@@ -23,6 +23,7 @@ import com.romraider.Settings;
 public class Table1D extends Table {
     private static final long serialVersionUID = -8747180767803835631L;
     private Table axisParent = null;
+    private transient volatile AxisIndex axisIndex;
     
     @Override
     public TableType getType() {
@@ -37,6 +38,21 @@ public class Table1D extends Table {
         return axisParent;
     }
 
+    /**
+     * @return a snapshot of this axis' real values for lookups, rebuilt
+     * only after a value or the scale changes
+     */
+    AxisIndex getAxisIndex() {
+        getRealValues();
+        final int version = getRealValuesVersion();
+        AxisIndex index = axisIndex;
+        if (index == null || index.getVersion() != version) {
+            index = new AxisIndex(getRealValues(), version);
+            axisIndex = index;
+        }
+        return index;
+    }
+
     @Override
     public StringBuffer getTableAsString() {
         if(isStaticDataTable()) {
@@ -82,6 +82,12 @@ public class Table2D extends Table {
             super.populateTable(rom);
     }
 
+    @Override
+    public void validateScaling() {
+        axis.validateScaling();
+        super.validateScaling();
+    }
+
     @Override
     public void setRevertPoint() {
         super.setRevertPoint();
@@ -210,25 +216,25 @@ public class Table2D extends Table {
     @Override
 	public double queryTable(Double input_x, Double input_y) {
 		double input = input_x == null ? input_y : input_x;
-		DataCell[] tableData = getData();
-		DataCell[] axisData = getAxis().getData();
-
-		int start = 0;
-		int end = tableData.length - 1;
-		boolean foundEnd = false;
-
-		for (int i = 0; i < tableData.length && i < axisData.length; i++) {
-			DataCell c = axisData[i];
-			if (c.getRealValue() <= input) {
-				start = i;
-			}
-			if (c.getRealValue() >= input && !foundEnd) {
-				end = i;
-				foundEnd = true;
-			}
+		return query(getAxis().getAxisIndex(), input);
+	}
+
+	@Override
+	public void queryTable(double[] inputX, double[] inputY, double[] output) {
+		final double[] input = inputX == null ? inputY : inputX;
+		final AxisIndex axis = getAxis().getAxisIndex();
+		for (int i = 0; i < output.length; i++) {
+			output[i] = query(axis, input[i]);
 		}
-		
-		return linearInterpolation(input, axisData[start].getRealValue(), axisData[end].getRealValue(),
+	}
+
+	private double query(AxisIndex axis, double input) {
+		final DataCell[] tableData = getData();
+		final int last = Math.min(tableData.length, axis.size()) - 1;
+		final int start = Math.min(axis.lower(input), last);
+		final int end = Math.min(axis.upper(input), last);
+
+		return linearInterpolation(input, axis.get(start), axis.get(end),
 				tableData[start].getRealValue(), tableData[end].getRealValue());
 	}
 
@@ -34,6 +34,8 @@ public class Table3D extends Table {
     private Table1D yAxis= new Table1D();
 
     DataCell[][] data = new DataCell[1][1];
+    // data by the cells' index in the table, see getIndexedCells()
+    private DataCell[] indexedCells = new DataCell[0];
     private boolean swapXY = false;
     private boolean flipX = false;
     private boolean flipY = false;
@@ -130,10 +132,16 @@ public class Table3D extends Table {
         yAxis.clearData();
 
         data = null;
+        indexedCells = null;
         xAxis=null;
         yAxis=null;
     }
 
+    @Override
+    protected DataCell[] getIndexedCells() {
+        return indexedCells;
+    }
+
     @Override
     public StringBuffer getTableAsString() {
         StringBuffer output = new StringBuffer(Settings.BLANK);
@@ -164,8 +172,6 @@ public class Table3D extends Table {
 
     @Override
     public void populateTable(Rom rom) throws NullPointerException, ArrayIndexOutOfBoundsException, IndexOutOfBoundsException {
-        validateScaling();
-
         // fill first empty cell
         if (!beforeRam) {
             this.ramOffset = rom.getRomID().getRamOffset();
@@ -186,6 +192,7 @@ public class Table3D extends Table {
         int offset = 0;
         int iMax = swapXY ? xAxis.getDataSize() : yAxis.getDataSize();
         int jMax = swapXY ? yAxis.getDataSize() : xAxis.getDataSize();
+        DataCell[] cells = new DataCell[iMax * (jMax + skipCells)];
         
         for (int i = 0; i < iMax; i++) {
             for (int j = 0; j < jMax; j++) {
@@ -199,6 +206,7 @@ public class Table3D extends Table {
                 }
                 DataCell c = new DataCell(this, offset, rom);
                 data[x][y] = c;
+                cells[offset] = c;
                 
                 // If on last cell on row/column
                 if(j == jMax - 1)
@@ -214,12 +222,21 @@ public class Table3D extends Table {
 
         // reset locked status
         locked = tempLock;
+        indexedCells = cells;
+        clearRealValues();
         calcCellRanges();
 
         //Add Raw Scale
         addScale(new Scale());
     }
 
+    @Override
+    public void validateScaling() {
+        super.validateScaling();
+        xAxis.validateScaling();
+        yAxis.validateScaling();
+    }
+
     @Override
     public void calcCellRanges() {
         double binMax = data[0][0].getBinValue();
@@ -538,54 +555,39 @@ public class Table3D extends Table {
 
 	@Override
 	public double queryTable(Double input_x, Double input_y) {
-		DataCell[][] tableData = get3dData();
-		DataCell[] axisXData = getXAxis().getData();
-		DataCell[] axisYData = getYAxis().getData();
-
-		int startX = 0;
-		int endX = axisXData.length - 1;
-		boolean foundEnd = false;
-
-		for (int i = 0; i < axisXData.length; i++) {
-			DataCell c = axisXData[i];
-			if (c.getRealValue() <= input_x) {
-				startX = i;
-			}
-			if (c.getRealValue() >= input_x && !foundEnd) {
-				foundEnd = true;
-				endX = i;
-			}
-		}
+		return query(getXAxis().getAxisIndex(), getYAxis().getAxisIndex(),
+				input_x, input_y);
+	}
 
-		int startY = 0;
-		int endY = axisYData.length - 1;
-		foundEnd = false;
-
-		for (int i = 0; i < axisYData.length; i++) {
-			DataCell c = axisYData[i];
-			if (c.getRealValue() <= input_y) {
-				startY = i;
-			}
-			if (c.getRealValue() >= input_y && !foundEnd) {
-				endY = i;
-				foundEnd = true;
-			}
+	@Override
+	public void queryTable(double[] inputX, double[] inputY, double[] output) {
+		final AxisIndex axisX = getXAxis().getAxisIndex();
+		final AxisIndex axisY = getYAxis().getAxisIndex();
+		for (int i = 0; i < output.length; i++) {
+			output[i] = query(axisX, axisY, inputX[i], inputY[i]);
 		}
+	}
+
+	private double query(AxisIndex axisX, AxisIndex axisY, double input_x, double input_y) {
+		final DataCell[][] tableData = get3dData();
+		final int startX = axisX.lower(input_x);
+		final int endX = axisX.upper(input_x);
+		final int startY = axisY.lower(input_y);
+		final int endY = axisY.upper(input_y);
 
 		double valueX1 = linearInterpolation(input_x,
-			    axisXData[startX].getRealValue(),
-			    axisXData[endX].getRealValue(),
+			    axisX.get(startX),
+			    axisX.get(endX),
 			    tableData[startX][startY].getRealValue(),
 			    tableData[endX][startY].getRealValue());
 
 		double valueX2 = linearInterpolation(input_x,
-			    axisXData[startX].getRealValue(),
-			    axisXData[endX].getRealValue(),
+			    axisX.get(startX),
+			    axisX.get(endX),
 			    tableData[startX][endY].getRealValue(),
 			    tableData[endX][endY].getRealValue());
 
-
-		return linearInterpolation(input_y, axisYData[startY].getRealValue(), axisYData[endY].getRealValue(),
+		return linearInterpolation(input_y, axisY.get(startY), axisY.get(endY),
 				valueX1, valueX2);
 	}
 
@@ -33,7 +33,6 @@ public class TableBitwiseSwitch extends TableSwitch {
 	@Override
     public void populateTable(Rom rom) throws ArrayIndexOutOfBoundsException, IndexOutOfBoundsException {      
     	if(isStaticDataTable()) return;       
-        validateScaling();
 
         // temporarily remove lock;
         boolean tempLock = locked;
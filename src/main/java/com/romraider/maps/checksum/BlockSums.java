@@ -0,0 +1,165 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.maps.checksum;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+
+/**
+ * The wrapping sum and the xor of the unsigned big endian words of an
+ * address range, cached per block of the range.  After the first pass
+ * only blocks containing bytes reported by {@link #invalidate(int, int)}
+ * are read again.
+ * <p>
+ * Words start at <i>start</i> and every <i>width</i> bytes after, up to
+ * but not including <i>end</i>.  Words starting at one of the skipped
+ * addresses are left out of the totals.
+ */
+final class BlockSums {
+    private static final int BLOCK_SIZE = 4096;
+    private final int start;
+    private final int end;
+    private final int width;
+    private final int[] skip;
+    private final int[] sums;
+    private final int[] xors;
+    private final boolean[] dirty;
+    private byte[] data;
+    private int sum;
+    private int xor;
+
+    BlockSums(int start, int end, int width, int... skip) {
+        this.start = start;
+        this.end = Math.max(start, end);
+        this.width = width;
+        this.skip = skip;
+        final int blocks = (this.end - start + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        sums = new int[blocks];
+        xors = new int[blocks];
+        dirty = new boolean[blocks];
+    }
+
+    /**
+     * Mark the blocks holding any word that overlaps the byte range.
+     */
+    void invalidate(int offset, int length) {
+        if (length <= 0) return;
+        final int first = Math.max(0, (offset - width + 1 - start) / BLOCK_SIZE);
+        final int last = Math.min(dirty.length - 1, (offset + length - 1 - start) / BLOCK_SIZE);
+        if (offset + length - 1 < start) return;
+        for (int i = first; i <= last; i++) {
+            dirty[i] = true;
+        }
+    }
+
+    /**
+     * Bring the totals up to date with the image.  Every block is read if
+     * this is a different image from the previous call.
+     */
+    void calculate(byte[] binData) {
+        if (binData != data) {
+            data = binData;
+            Arrays.fill(dirty, true);
+        }
+        boolean changed = false;
+        for (int i = 0; i < dirty.length; i++) {
+            if (dirty[i]) {
+                calculateBlock(i);
+                dirty[i] = false;
+                changed = true;
+            }
+        }
+        if (changed) {
+            int s = 0;
+            int x = 0;
+            for (int i = 0; i < sums.length; i++) {
+                s += sums[i];
+                x ^= xors[i];
+            }
+            sum = s;
+            xor = x;
+        }
+    }
+
+    int getSum() {
+        return sum;
+    }
+
+    int getXor() {
+        return xor;
+    }
+
+    private void calculateBlock(int block) {
+        final int from = start + block * BLOCK_SIZE;
+        final int to = Math.min(end, from + BLOCK_SIZE);
+        final int words = (to - from + width - 1) / width;
+        final ByteBuffer bb = (ByteBuffer) ByteBuffer.wrap(data).position(from);
+        int s = 0;
+        int x = 0;
+        switch (width) {
+        case 4:
+            final IntBuffer ints = bb.slice().asIntBuffer();
+            for (int i = 0; i < words; i++) {
+                final int w = ints.get(i);
+                s += w;
+                x ^= w;
+            }
+            break;
+        case 2:
+            final ShortBuffer shorts = bb.slice().asShortBuffer();
+            for (int i = 0; i < words; i++) {
+                final int w = shorts.get(i) & 0xFFFF;
+                s += w;
+                x ^= w;
+            }
+            break;
+        default:
+            for (int i = from; i < to; i++) {
+                final int w = data[i] & 0xFF;
+                s += w;
+                x ^= w;
+            }
+        }
+        for (int address : skip) {
+            if (address >= from && address < to && (address - start) % width == 0) {
+                final int w = word(address);
+                s -= w;
+                x ^= w;
+            }
+        }
+        sums[block] = s;
+        xors[block] = x;
+    }
+
+    private int word(int address) {
+        switch (width) {
+        case 4:
+            return (data[address] & 0xFF) << 24 | (data[address + 1] & 0xFF) << 16
+                    | (data[address + 2] & 0xFF) << 8 | (data[address + 3] & 0xFF);
+        case 2:
+            return (data[address] & 0xFF) << 8 | (data[address + 1] & 0xFF);
+        default:
+            return data[address] & 0xFF;
+        }
+    }
+}
@@ -26,6 +26,5 @@ package com.romraider.maps.checksum;
     public final class ChecksumALT extends NissanChecksum {
 
     public ChecksumALT() {
-        calculator = new CalculateSTD();
     }
 }
@@ -19,12 +19,9 @@
 
 package com.romraider.maps.checksum;
 
-import static com.romraider.xml.RomAttributeParser.parseByteValue;
-import static com.romraider.xml.RomAttributeParser.parseIntegerValue;
-
+import java.nio.ByteBuffer;
 import java.util.Map;
 
-import com.romraider.Settings;
 import com.romraider.util.HexUtil;
 
 /**
@@ -33,20 +30,34 @@ import com.romraider.util.HexUtil;
  */
 public final class ChecksumALT2 extends NissanChecksum {
     protected static final String SKIPLOC = "skiploc";
+    private int skiploc;
+    private BlockSums calWords;
+    private BlockSums codeWords;
+    private short calsum;
+    private short codesum;
 
     public ChecksumALT2() {
-        calculator = new CalculateALT2();
     }
 
     @Override
     public void configure(Map<String, String> vars) {
-        super.configure(vars);
         if (vars.containsKey(SKIPLOC)) {
-            range.put(SKIPLOC, HexUtil.hexToInt(vars.get(SKIPLOC)));
+            skiploc = HexUtil.hexToInt(vars.get(SKIPLOC));
         }
         else {
-            range.put(SKIPLOC, 0x20000);
+            skiploc = 0x20000;
         }
+        super.configure(vars);
+        // the 32bit sumt and xort are added to the calibration checksum
+        // in place of the words stored at their locations
+        calWords = new BlockSums(start + 2, skiploc, 2,
+                sumloc, sumloc + 2, xorloc, xorloc + 2);
+        codeWords = new BlockSums(skiploc + 2, end, 2);
+    }
+
+    @Override
+    protected BlockSums createWords() {
+        return new BlockSums(start + 4, end, 4, sumloc, xorloc, skiploc);
     }
 
     @Override
@@ -56,22 +67,26 @@ public final class ChecksumALT2 extends NissanChecksum {
 
     @Override
     public int validate(byte[] binData) {
-        calculator.calculate(range, binData, results);
+        // a validation always reads the whole image, bytes changed
+        // without an invalidate are still seen
+        invalidate(0, binData.length);
+        calculate(binData);
+        final ByteBuffer bb = ByteBuffer.wrap(binData);
         int valid = 0;
 
-        if(results.get(SUMT) == (int)parseByteValue(binData, Settings.Endian.BIG, range.get(SUMLOC), 4, true)) {
+        if(sumt == bb.getInt(sumloc)) {
         	valid++;
         }
 
-        if(results.get(XORT) == (int)parseByteValue(binData, Settings.Endian.BIG, range.get(XORLOC), 4, true)) {
+        if(xort == bb.getInt(xorloc)) {
         	valid++;
         }
 
-        if(results.get(START) == (short)parseByteValue(binData, Settings.Endian.BIG, range.get(START), 2, false)) {
+        if(calsum == bb.getShort(start)) {
         	valid++;
         }
 
-        if(results.get(SKIPLOC) == (short)parseByteValue(binData, Settings.Endian.BIG, range.get(SKIPLOC), 2, false)) {
+        if(codesum == bb.getShort(skiploc)) {
         	valid++;
         }
 
@@ -82,8 +97,46 @@ public final class ChecksumALT2 extends NissanChecksum {
     public int update(byte[] binData) {
         // SUMT & XORT are updated in super before START and SKIPLOC
         super.update(binData);
-        System.arraycopy(parseIntegerValue(results.get(START), Settings.Endian.BIG, 2), 0, binData, range.get(START), 2);
-        System.arraycopy(parseIntegerValue(results.get(SKIPLOC), Settings.Endian.BIG, 2), 0, binData, range.get(SKIPLOC), 2);
+        final ByteBuffer bb = ByteBuffer.wrap(binData);
+        bb.putShort(start, calsum);
+        bb.putShort(skiploc, codesum);
         return getNumberOfChecksums();
     }
+
+    @Override
+    public void invalidate(int offset, int length) {
+        super.invalidate(offset, length);
+        calWords.invalidate(offset, length);
+        codeWords.invalidate(offset, length);
+    }
+
+    @Override
+    public int[] getUpdatedRanges() {
+        return new int[] {sumloc, 4, xorloc, 4, start, 2, skiploc, 2};
+    }
+
+    @Override
+    protected void calculate(byte[] binData) {
+        // 32bit checksum calculation
+        super.calculate(binData);
+
+        // 16bit calibration checksum calculation
+        calWords.calculate(binData);
+        int sum = calWords.getSum();
+        if (isCalWord(sumloc)) {
+            sum += (sumt >>> 16) + (sumt & 0xffff);
+        }
+        if (isCalWord(xorloc)) {
+            sum += (xort >>> 16) + (xort & 0xffff);
+        }
+        calsum = (short) sum;
+
+        // 16bit code checksum calculation
+        codeWords.calculate(binData);
+        codesum = (short) codeWords.getSum();
+    }
+
+    private boolean isCalWord(int address) {
+        return address >= start + 2 && address < skiploc && (address - start) % 2 == 0;
+    }
 }
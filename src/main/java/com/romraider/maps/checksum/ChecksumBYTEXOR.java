@@ -19,11 +19,8 @@
 
 package com.romraider.maps.checksum;
 
-import static com.romraider.xml.RomAttributeParser.parseByteValue;
-
 import java.util.Map;
 
-import com.romraider.Settings;
 import com.romraider.util.HexUtil;
 
 /**
@@ -38,12 +35,14 @@ import com.romraider.util.HexUtil;
     private int end;
     private int xorloc;
     private byte xort;  
+    private BlockSums bytes;
 
     @Override
     public void configure(Map<String, String> vars) {
         this.start = HexUtil.hexToInt(vars.get(START));
         this.end = HexUtil.hexToInt(vars.get(END));
         this.xorloc = HexUtil.hexToInt(vars.get(XORLOC));
+        this.bytes = new BlockSums(start, end, 1, xorloc);
     }
     
 	@Override
@@ -53,10 +52,13 @@ import com.romraider.util.HexUtil;
 
     @Override
     public int validate(byte[] binData) {
+        // a validation always reads the whole image, bytes changed
+        // without an invalidate are still seen
+        invalidate(0, binData.length);
         calculate(binData);
         int valid = 0;
         
-        if(xort == (byte)parseByteValue(binData, Settings.Endian.BIG, xorloc, 1, false))
+        if(xort == binData[xorloc])
         	valid++;
         	
         return valid;  	
@@ -74,13 +76,18 @@ import com.romraider.util.HexUtil;
     	return updateNeeded;
     }
 
+    @Override
+    public void invalidate(int offset, int length) {
+        bytes.invalidate(offset, length);
+    }
+
+    @Override
+    public int[] getUpdatedRanges() {
+        return new int[] {xorloc, 1};
+    }
+
     private void calculate(byte[] binData) {
-        xort = 0;
-        int dw = 0;
-        for (int i = start; i < end; i += 1) {
-            if ((i == xorloc)) continue;
-            dw = (byte)parseByteValue(binData, Settings.Endian.BIG, i, 1, false);
-            xort ^= dw;
-        }
+        bytes.calculate(binData);
+        xort = (byte) bytes.getXor();
     }
 }
\ No newline at end of file
@@ -68,4 +68,9 @@ public final class ChecksumCOPY implements ChecksumManager {
 		}
 		return updateNeeded;
 	}
+
+	@Override
+	public int[] getUpdatedRanges() {
+		return new int[] {loc, end - start + 1};
+	}
 }
\ No newline at end of file
@@ -19,11 +19,9 @@
 
 package com.romraider.maps.checksum;
 
-import static com.romraider.xml.RomAttributeParser.parseByteValue;
-
+import java.nio.ByteBuffer;
 import java.util.Map;
 
-import com.romraider.Settings;
 import com.romraider.util.HexUtil;
 
 /**
@@ -39,6 +37,7 @@ import com.romraider.util.HexUtil;
     protected int end;
     protected int loc;
     protected short initial = 0;
+    private BlockSums bytes;
 
     @Override
     public void configure(Map<String, String> vars) {
@@ -48,6 +47,8 @@ import com.romraider.util.HexUtil;
         
         if(vars.get(INITIAL) != null)
         	this.initial = (short) HexUtil.hexToInt(vars.get(INITIAL));
+        // the end address is included in the checksum
+        this.bytes = new BlockSums(start, end + 1, 1);
     }
     
 	@Override
@@ -57,8 +58,11 @@ import com.romraider.util.HexUtil;
 
     @Override
     public int validate(byte[] binData) {
-        short checksum = calculate(initial, binData, start, end);
-        short checksumInBin = (short) parseByteValue(binData, Settings.Endian.BIG, loc, 2, false);
+        // a validation always reads the whole image, bytes changed
+        // without an invalidate are still seen
+        invalidate(0, binData.length);
+        short checksum = calculate(binData);
+        short checksumInBin = ByteBuffer.wrap(binData).getShort(loc);
         int valid = 0;
         
         if(checksum == checksumInBin)
@@ -70,8 +74,8 @@ import com.romraider.util.HexUtil;
     @Override
     public int update(byte[] binData) {
     	int updateNeeded = 0;
-		short checksum = calculate(initial, binData, start, end);
-		short checksumInBin = (short)parseByteValue(binData, Settings.Endian.BIG, loc, 2, false);
+		short checksum = calculate(binData);
+		short checksumInBin = ByteBuffer.wrap(binData).getShort(loc);
 		
 		if(checksumInBin != checksum) {
 			updateNeeded++;
@@ -83,12 +87,30 @@ import com.romraider.util.HexUtil;
     	return updateNeeded;
     }
     
+    @Override
+    public void invalidate(int offset, int length) {
+        bytes.invalidate(offset, length);
+    }
+
+    @Override
+    public int[] getUpdatedRanges() {
+        return new int[] {loc, 2};
+    }
+
+    /**
+     * The initial value plus the unsigned bytes of the range.
+     */
+    protected short calculate(byte[] binData) {
+        bytes.calculate(binData);
+        return (short) (initial + bytes.getSum());
+    }
+
     public static short calculate(short initalValue, byte[] binData, int startAddress, int endAddress) {
-        short value = initalValue;
+        int value = initalValue;
         for (int i = startAddress; i <= endAddress; i++) {
-        	value += parseByteValue(binData, Settings.Endian.BIG, i, 1, false);
+        	value += binData[i] & 0xFF;
         }
         
-        return value;
+        return (short) value;
     }
 }
\ No newline at end of file
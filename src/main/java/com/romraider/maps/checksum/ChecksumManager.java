@@ -43,7 +43,9 @@ public interface ChecksumManager {
 	int getNumberOfChecksums();
 	
     /**
-     * Perform the checksum validation upon ROM file loading.
+     * Perform the checksum validation upon ROM file loading.  Every byte
+     * covered by the checksums is read again, whether or not it was
+     * reported by {@link #invalidate(int, int)}.
      * @param	binData	- the ROM file to validate
      * @return	Number of correct checksums
      */
@@ -55,4 +57,23 @@ public interface ChecksumManager {
      * @return Number of checksums which needed to be updated
      */
 	int update(byte[] data);
+
+    /**
+     * Notify the manager that bytes of the ROM file changed since it last
+     * updated it, so that any partial results it keeps for those bytes
+     * are recalculated by the next update.
+     * @param	offset - the first changed byte
+     * @param	length - the number of changed bytes
+     */
+	default void invalidate(int offset, int length) {
+	}
+
+    /**
+     * Returns the bytes written by update as offset, length pairs.
+     * @return	the written ranges, or null if they are not known and any
+     * 			byte of the ROM file may have changed
+     */
+	default int[] getUpdatedRanges() {
+		return null;
+	}
 }
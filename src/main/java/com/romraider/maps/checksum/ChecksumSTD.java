@@ -26,6 +26,5 @@ package com.romraider.maps.checksum;
     public final class ChecksumSTD extends NissanChecksum {
 
     public ChecksumSTD() {
-        calculator = new CalculateSTD();
     }
 }
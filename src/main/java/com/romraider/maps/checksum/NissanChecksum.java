@@ -19,13 +19,9 @@
 
 package com.romraider.maps.checksum;
 
-import static com.romraider.xml.RomAttributeParser.parseByteValue;
-import static com.romraider.xml.RomAttributeParser.parseIntegerValue;
-
-import java.util.HashMap;
+import java.nio.ByteBuffer;
 import java.util.Map;
 
-import com.romraider.Settings;
 import com.romraider.util.HexUtil;
 
 /**
@@ -37,18 +33,29 @@ import com.romraider.util.HexUtil;
         public static final String END = "end";
         public static final String SUMLOC = "sumloc";
         public static final String XORLOC = "xorloc";
-        public static final String SUMT = "sumt";
-        public static final String XORT = "xort";
-        protected final Map<String, Integer> range = new HashMap<String, Integer>();
-        protected final Map<String, Integer> results = new HashMap<String, Integer>();
-        protected Calculator calculator;
+        protected int start;
+        protected int end;
+        protected int sumloc;
+        protected int xorloc;
+        protected int sumt;
+        protected int xort;
+        private BlockSums words;
 
     @Override
     public void configure(Map<String, String> vars) {
-        range.put(START, HexUtil.hexToInt(vars.get(START)));
-        range.put(END, HexUtil.hexToInt(vars.get(END)));
-        range.put(SUMLOC, HexUtil.hexToInt(vars.get(SUMLOC)));
-        range.put(XORLOC, HexUtil.hexToInt(vars.get(XORLOC)));
+        start = HexUtil.hexToInt(vars.get(START));
+        end = HexUtil.hexToInt(vars.get(END));
+        sumloc = HexUtil.hexToInt(vars.get(SUMLOC));
+        xorloc = HexUtil.hexToInt(vars.get(XORLOC));
+        words = createWords();
+    }
+
+    /**
+     * The 32 bit words summed and xored, by default every word of the
+     * range except the two checksums.
+     */
+    protected BlockSums createWords() {
+        return new BlockSums(start, end, 4, sumloc, xorloc);
     }
 
     @Override
@@ -58,14 +65,18 @@ import com.romraider.util.HexUtil;
 
     @Override
     public int validate(byte[] binData) {
-        calculator.calculate(range, binData, results);
+        // a validation always reads the whole image, bytes changed
+        // without an invalidate are still seen
+        invalidate(0, binData.length);
+        calculate(binData);
+        final ByteBuffer bb = ByteBuffer.wrap(binData);
         int valid = 0;
 
-        if(results.get(SUMT) == (int)parseByteValue(binData, Settings.Endian.BIG, range.get(SUMLOC), 4, true)) {
+        if(sumt == bb.getInt(sumloc)) {
         	valid++;
         }
 
-        if((results.get(XORT) == (int)parseByteValue(binData, Settings.Endian.BIG, range.get(XORLOC), 4, true))) {
+        if(xort == bb.getInt(xorloc)) {
         	valid++;
         }
 
@@ -74,9 +85,26 @@ import com.romraider.util.HexUtil;
 
     @Override
     public int update(byte[] binData) {
-        calculator.calculate(range, binData, results);
-        System.arraycopy(parseIntegerValue(results.get(SUMT), Settings.Endian.BIG, 4), 0, binData, range.get(SUMLOC), 4);
-        System.arraycopy(parseIntegerValue(results.get(XORT), Settings.Endian.BIG, 4), 0, binData, range.get(XORLOC), 4);
+        calculate(binData);
+        final ByteBuffer bb = ByteBuffer.wrap(binData);
+        bb.putInt(sumloc, sumt);
+        bb.putInt(xorloc, xort);
         return getNumberOfChecksums();
     }
+
+    @Override
+    public void invalidate(int offset, int length) {
+        words.invalidate(offset, length);
+    }
+
+    @Override
+    public int[] getUpdatedRanges() {
+        return new int[] {sumloc, 4, xorloc, 4};
+    }
+
+    protected void calculate(byte[] binData) {
+        words.calculate(binData);
+        sumt = words.getSum();
+        xort = words.getXor();
+    }
 }
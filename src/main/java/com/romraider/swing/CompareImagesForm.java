@@ -26,8 +26,10 @@ import java.awt.Image;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.text.MessageFormat;
+import java.util.List;
 import java.util.ResourceBundle;
 import java.util.Vector;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.DefaultListModel;
 import javax.swing.JButton;
@@ -40,19 +42,23 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.ListCellRenderer;
 import javax.swing.ListSelectionModel;
+import javax.swing.SwingWorker;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.EtchedBorder;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 
+import org.apache.log4j.Logger;
+
 import com.romraider.Settings;
 import com.romraider.editor.ecu.ECUEditorManager;
 import com.romraider.maps.Rom;
-import com.romraider.maps.Table;
+import com.romraider.maps.RomComparator;
 import com.romraider.util.ResourceUtil;
 
 public class CompareImagesForm extends JFrame implements ActionListener {
     private static final long serialVersionUID = -8937472127815934398L;
+    private static final Logger LOGGER = Logger.getLogger(CompareImagesForm.class);
     private static final ResourceBundle rb = new ResourceUtil().getBundle(
             CompareImagesForm.class.getName());
     private final Vector<Rom> roms;
@@ -65,6 +71,7 @@ public class CompareImagesForm extends JFrame implements ActionListener {
     private final ChangeListCellRenderer changeRenderer = new ChangeListCellRenderer();
     private final JScrollPane scrollPaneResults;
     private final JLabel lblImageResultString;
+    private CompareWorker compareWorker;
 
     public CompareImagesForm(Vector<Rom> roms, Image parentImage) {
         this.setIconImage(parentImage);
@@ -127,6 +134,7 @@ public class CompareImagesForm extends JFrame implements ActionListener {
             public void valueChanged(ListSelectionEvent arg0) {
                 if (!arg0.getValueIsAdjusting()) {
                     ListItem selectedTableName = (ListItem) listChanges.getSelectedValue();
+                    if (selectedTableName == null) return;
                     String tableName = selectedTableName.getValue();
                     Rom leftRom = (Rom) comboBoxImageLeft.getSelectedItem();
                     Rom rightRom = (Rom) comboBoxImageRight.getSelectedItem();
@@ -171,59 +179,20 @@ public class CompareImagesForm extends JFrame implements ActionListener {
 
     public void compareTables(Rom left, Rom right)
     {
-        listModelChanges.clear();
-
-        int equal = 0;
-        int different = 0;
-        int missing = 0;
-
-        //TODO: Utilize map correctly!
-        for(TableTreeNode leftNode : left.getTableNodes().values())
-        {
-            Boolean found = false;
-            Table leftTable = leftNode.getTable();
-            for(TableTreeNode rightNode : right.getTableNodes().values())
-            {
-                Table rightTable = rightNode.getTable();
-
-                if(leftTable.getName().equalsIgnoreCase(rightTable.getName()))
-                {
-                    if(leftTable.equals(rightTable)) {
-                        equal++;
-                        listModelChanges.addElement(new ListItem(1, leftTable.getName()));
-                    }
-                    else {
-                        different++;
-                        listModelChanges.add(0, new ListItem(2, leftTable.getName()));
-                    }
-                    found = true;
-                    break;
-                }
-            }
-
-            if(!found) {
-                missing++;
-                listModelChanges.add(0, new ListItem(3, leftTable.getName()));
-            }
-        }
-
-        // Check if rightTables has tables that do not exist in left table.
-        for(TableTreeNode rightFrame : right.getTableNodes().values()) {
-            Boolean found = false;
-            for(TableTreeNode leftFrame : left.getTableNodes().values()) {
-                if(leftFrame.getTable().getName().equalsIgnoreCase(rightFrame.getTable().getName()))
-                {
-                    found = true;
-                    break;
-                }
-            }
-
-            if(!found) {
-                missing++;
-                listModelChanges.add(0, new ListItem(3, rightFrame.getTable().getName()));
-            }
+        if (compareWorker != null) {
+            compareWorker.cancel(false);
         }
+        listModelChanges.clear();
+        lblImageResultString.setText(rb.getString("LBLCOMPAREIMGS"));
+        lblImageResultString.setForeground(Color.BLACK);
+        btnCompare.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        compareWorker = new CompareWorker(left, right);
+        compareWorker.execute();
+    }
 
+    private void showResults(int equal, int different, int missing)
+    {
         // Fill out the result string.
         if(equal > 0 && different == 0 && missing == 0) {
             lblImageResultString.setText(rb.getString("LBLEQUALS"));
@@ -265,9 +234,78 @@ public class CompareImagesForm extends JFrame implements ActionListener {
 
     }
 
+    /**
+     * Compares the images off the event dispatch thread and adds each
+     * table to the list as soon as its result is known.  Equal tables are
+     * listed last, changed and missing tables first.
+     */
+    private final class CompareWorker extends SwingWorker<Void, ListItem> {
+        private final Rom left;
+        private final Rom right;
+        private int equal;
+        private int different;
+        private int missing;
+
+        private CompareWorker(Rom left, Rom right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        protected Void doInBackground() {
+            RomComparator.compare(left, right, new RomComparator.Listener() {
+                @Override
+                public boolean tableCompared(String tableName, RomComparator.Result result) {
+                    switch (result) {
+                        case EQUAL:
+                            equal++;
+                            publish(new ListItem(1, tableName));
+                            break;
+                        case DIFFERENT:
+                            different++;
+                            publish(new ListItem(2, tableName));
+                            break;
+                        default:
+                            missing++;
+                            publish(new ListItem(3, tableName));
+                    }
+                    return !isCancelled();
+                }
+            });
+            return null;
+        }
+
+        @Override
+        protected void process(List<ListItem> items) {
+            if (isCancelled()) return;
+            for (ListItem item : items) {
+                if (item.getType() == 1) {
+                    listModelChanges.addElement(item);
+                }
+                else {
+                    listModelChanges.add(0, item);
+                }
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) return;
+            try {
+                get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                LOGGER.error("Image compare failed", e.getCause());
+            }
+            showResults(equal, different, missing);
+            btnCompare.setEnabled(true);
+            setCursor(Cursor.getDefaultCursor());
+        }
+    }
+
     @Override
     public void actionPerformed(ActionEvent e) {
-        this.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
         if (e.getSource() == this.btnCompare) {
             if(this.comboBoxImageLeft.getItemCount() > 0 && this.comboBoxImageRight.getItemCount() > 0)
             {
@@ -279,7 +317,6 @@ public class CompareImagesForm extends JFrame implements ActionListener {
                 }
             }
         }
-        this.setCursor(Cursor.getDefaultCursor());
     }
 
     class ComboBoxRenderer extends JLabel implements ListCellRenderer
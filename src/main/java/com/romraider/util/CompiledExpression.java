@@ -0,0 +1,95 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.util;
+
+/**
+ * A parsed expression that can be evaluated repeatedly without
+ * re-parsing. Implementations are immutable and safe to share between
+ * threads.
+ * @see ExpressionCompiler
+ */
+public abstract class CompiledExpression {
+    private final String expression;
+    private final String[] variables;
+
+    CompiledExpression(String expression, String[] variables) {
+        this.expression = expression;
+        this.variables = variables;
+    }
+
+    /**
+     * Evaluate an expression that has at most one variable, binding
+     * <b>value</b> to that variable.
+     * @param value - the value of the variable, usually <code>x</code>
+     * @return the result of the expression
+     */
+    public abstract double evaluate(double value);
+
+    /**
+     * Evaluate the expression with the variable values supplied in the
+     * same order as {@link #getVariable(int)}.
+     * @param values - one value per variable
+     * @return the result of the expression
+     */
+    public abstract double evaluate(double[] values);
+
+    public final String getExpression() {
+        return expression;
+    }
+
+    public final int getVariableCount() {
+        return variables.length;
+    }
+
+    public final String getVariable(int index) {
+        return variables[index];
+    }
+
+    /**
+     * @return the index of the named variable or -1 if the expression
+     * does not use it
+     */
+    public final int indexOf(String variable) {
+        for (int i = 0; i < variables.length; i++) {
+            if (variables[i].equals(variable)) return i;
+        }
+        return -1;
+    }
+
+    final void checkSingleVariable() {
+        if (variables.length > 1) {
+            throw new IllegalStateException(
+                    "Expression has more than one variable: " + expression);
+        }
+    }
+
+    final void checkValues(double[] values) {
+        if (values.length < variables.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Expression needs %d values, got %d: %s",
+                    variables.length, values.length, expression));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -0,0 +1,494 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.util;
+
+import static com.romraider.util.ParamChecker.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Compiles definition expressions such as <code>x*0.01</code>,
+ * <code>BitWise(24,x,1)</code> or derived parameter formulas into
+ * {@link CompiledExpression}s.
+ * <p>
+ * The grammar, operator precedence and numeric results follow JEP, so a
+ * compiled expression gives the same value as {@link JEPUtil} always has.
+ * Expressions using JEP features not handled here (strings, complex
+ * numbers, random numbers and rarely used functions) fall back to a JEP
+ * backed evaluator.
+ */
+public final class ExpressionCompiler {
+    private static final Logger LOGGER = Logger.getLogger(ExpressionCompiler.class);
+    private static final Map<String, Integer> FUNCTIONS_1 = new HashMap<String, Integer>();
+    private static final Map<String, Integer> FUNCTIONS_2 = new HashMap<String, Integer>();
+    static {
+        FUNCTIONS_1.put("sin", ExpressionProgram.SIN);
+        FUNCTIONS_1.put("cos", ExpressionProgram.COS);
+        FUNCTIONS_1.put("tan", ExpressionProgram.TAN);
+        FUNCTIONS_1.put("asin", ExpressionProgram.ASIN);
+        FUNCTIONS_1.put("acos", ExpressionProgram.ACOS);
+        FUNCTIONS_1.put("atan", ExpressionProgram.ATAN);
+        FUNCTIONS_1.put("log", ExpressionProgram.LOG);
+        FUNCTIONS_1.put("ln", ExpressionProgram.LN);
+        FUNCTIONS_1.put("exp", ExpressionProgram.EXP);
+        FUNCTIONS_1.put("sqrt", ExpressionProgram.SQRT);
+        FUNCTIONS_1.put("abs", ExpressionProgram.ABS);
+        FUNCTIONS_2.put("atan2", ExpressionProgram.ATAN2);
+        FUNCTIONS_2.put("mod", ExpressionProgram.MODF);
+    }
+
+    private ExpressionCompiler() {
+    }
+
+    /**
+     * Compile an expression of the single variable <code>x</code>.
+     */
+    public static CompiledExpression compile(String expression) {
+        return compile(expression, "x");
+    }
+
+    /**
+     * Compile an expression using only the declared variables. Values are
+     * passed to {@link CompiledExpression#evaluate(double[])} in the order
+     * the variables are declared here.
+     */
+    public static CompiledExpression compile(String expression, String... variables) {
+        checkNotNull(expression, "expression");
+        checkNotNull(variables, "variables");
+        try {
+            return new Parser(expression, Arrays.asList(variables), false).compile();
+        }
+        catch (IllegalArgumentException e) {
+            if (LOGGER.isDebugEnabled())
+                LOGGER.debug("Using JEP for expression " + expression + ": " + e.getMessage());
+            return JepExpression.create(expression, variables);
+        }
+    }
+
+    /**
+     * Compile an expression, declaring every identifier it uses as a
+     * variable in order of first appearance.
+     */
+    public static CompiledExpression compileWithFreeVariables(String expression) {
+        checkNotNull(expression, "expression");
+        try {
+            return new Parser(expression, new ArrayList<String>(), true).compile();
+        }
+        catch (IllegalArgumentException e) {
+            if (LOGGER.isDebugEnabled())
+                LOGGER.debug("Using JEP for expression " + expression + ": " + e.getMessage());
+            return JepExpression.createWithFreeVariables(expression);
+        }
+    }
+
+    /**
+     * A node of the expression tree, only used while compiling.
+     */
+    private static final class Node {
+        private final int op;
+        private final int operand;
+        private final double value;
+        private final Node[] args;
+
+        private Node(int op, int operand, double value, Node... args) {
+            this.op = op;
+            this.operand = operand;
+            this.value = value;
+            this.args = args;
+        }
+
+        private boolean isConstant() {
+            return op == ExpressionProgram.CONST;
+        }
+    }
+
+    /**
+     * Recursive descent parser for the JEP grammar:
+     * <pre>
+     * or         := and ( '||' and )*
+     * and        := equality ( '&&' equality )*
+     * equality   := relational ( ( '==' | '!=' ) relational )*
+     * relational := additive ( ( '<' | '>' | '<=' | '>=' ) additive )*
+     * additive   := multiplicative ( ( '+' | '-' ) multiplicative )*
+     * multiplicative := unary ( ( '*' | '/' | '%' ) unary )*
+     * unary      := ( '+' | '-' | '!' ) unary | power
+     * power      := primary [ '^' unary ]
+     * primary    := number | variable | function '(' args ')' | '(' or ')'
+     * </pre>
+     * Any error is reported as an {@link IllegalArgumentException}.
+     */
+    private static final class Parser {
+        private final String text;
+        private final List<String> variables;
+        private final boolean declareVariables;
+        private int pos;
+
+        private Parser(String text, List<String> variables, boolean declareVariables) {
+            this.text = text;
+            this.variables = variables;
+            this.declareVariables = declareVariables;
+        }
+
+        private CompiledExpression compile() {
+            final Node root = parseOr();
+            skipWhitespace();
+            if (pos < text.length()) {
+                throw error("unexpected '" + text.charAt(pos) + "'");
+            }
+            final int[] code = new int[countCode(root)];
+            final List<Double> constants = new ArrayList<Double>();
+            final int[] depth = new int[2];
+            final int length = emit(root, code, 0, constants, depth);
+            if (length != code.length) {
+                throw error("internal code size mismatch");
+            }
+            final double[] values = new double[constants.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = constants.get(i);
+            }
+            return new ExpressionProgram(text,
+                    variables.toArray(new String[variables.size()]),
+                    code, values, depth[1]);
+        }
+
+        private Node parseOr() {
+            Node left = parseAnd();
+            while (accept("||")) {
+                left = binary(ExpressionProgram.OR, left, parseAnd());
+            }
+            return left;
+        }
+
+        private Node parseAnd() {
+            Node left = parseEquality();
+            while (accept("&&")) {
+                left = binary(ExpressionProgram.AND, left, parseEquality());
+            }
+            return left;
+        }
+
+        private Node parseEquality() {
+            Node left = parseRelational();
+            while (true) {
+                if (accept("==")) {
+                    left = binary(ExpressionProgram.EQ, left, parseRelational());
+                }
+                else if (accept("!=")) {
+                    left = binary(ExpressionProgram.NE, left, parseRelational());
+                }
+                else {
+                    return left;
+                }
+            }
+        }
+
+        private Node parseRelational() {
+            Node left = parseAdditive();
+            while (true) {
+                if (accept("<=")) {
+                    left = binary(ExpressionProgram.LE, left, parseAdditive());
+                }
+                else if (accept(">=")) {
+                    left = binary(ExpressionProgram.GE, left, parseAdditive());
+                }
+                else if (accept("<")) {
+                    left = binary(ExpressionProgram.LT, left, parseAdditive());
+                }
+                else if (accept(">")) {
+                    left = binary(ExpressionProgram.GT, left, parseAdditive());
+                }
+                else {
+                    return left;
+                }
+            }
+        }
+
+        private Node parseAdditive() {
+            Node left = parseMultiplicative();
+            while (true) {
+                if (accept("+")) {
+                    left = binary(ExpressionProgram.ADD, left, parseMultiplicative());
+                }
+                else if (accept("-")) {
+                    left = binary(ExpressionProgram.SUB, left, parseMultiplicative());
+                }
+                else {
+                    return left;
+                }
+            }
+        }
+
+        private Node parseMultiplicative() {
+            Node left = parseUnary();
+            while (true) {
+                if (accept("*")) {
+                    left = binary(ExpressionProgram.MUL, left, parseUnary());
+                }
+                else if (accept("/")) {
+                    left = binary(ExpressionProgram.DIV, left, parseUnary());
+                }
+                else if (accept("%")) {
+                    left = binary(ExpressionProgram.MOD, left, parseUnary());
+                }
+                else {
+                    return left;
+                }
+            }
+        }
+
+        private Node parseUnary() {
+            if (accept("+")) {
+                return parseUnary();
+            }
+            if (accept("-")) {
+                return fold(new Node(ExpressionProgram.NEG, 0, 0, parseUnary()));
+            }
+            if (peek("!=")) {
+                throw error("unexpected '!='");
+            }
+            if (accept("!")) {
+                return fold(new Node(ExpressionProgram.NOT, 0, 0, parseUnary()));
+            }
+            return parsePower();
+        }
+
+        private Node parsePower() {
+            final Node base = parsePrimary();
+            if (accept("^")) {
+                return binary(ExpressionProgram.POW, base, parseUnary());
+            }
+            return base;
+        }
+
+        private Node parsePrimary() {
+            skipWhitespace();
+            if (pos >= text.length()) {
+                throw error("unexpected end of expression");
+            }
+            final char c = text.charAt(pos);
+            if (accept("(")) {
+                final Node node = parseOr();
+                expect(")");
+                return node;
+            }
+            if (Character.isDigit(c) || c == '.') {
+                return constant(parseNumber());
+            }
+            if (Character.isLetter(c) || c == '_') {
+                final String name = parseIdentifier();
+                if (accept("(")) {
+                    return parseFunction(name);
+                }
+                return variable(name);
+            }
+            throw error("unexpected '" + c + "'");
+        }
+
+        private Node parseFunction(String name) {
+            final List<Node> args = new ArrayList<Node>();
+            if (!accept(")")) {
+                do {
+                    args.add(parseOr());
+                } while (accept(","));
+                expect(")");
+            }
+            final Node[] argArray = args.toArray(new Node[args.size()]);
+            final Integer f1 = FUNCTIONS_1.get(name);
+            if (f1 != null && argArray.length == 1) {
+                return fold(new Node(ExpressionProgram.FUNC1, f1, 0, argArray));
+            }
+            final Integer f2 = FUNCTIONS_2.get(name);
+            if (f2 != null && argArray.length == 2) {
+                return fold(new Node(ExpressionProgram.FUNC2, f2, 0, argArray));
+            }
+            if (name.equals("BitWise") && argArray.length == 3) {
+                return fold(new Node(ExpressionProgram.BITWISE, 0, 0, argArray));
+            }
+            if (name.equals("if") && argArray.length == 3) {
+                return fold(new Node(ExpressionProgram.IF, 0, 0, argArray));
+            }
+            if (name.equals("sum") && argArray.length > 0) {
+                return fold(new Node(ExpressionProgram.SUM, argArray.length, 0, argArray));
+            }
+            throw error("unsupported function " + name + " with "
+                    + argArray.length + " parameters");
+        }
+
+        private double parseNumber() {
+            final int start = pos;
+            while (pos < text.length() && Character.isDigit(text.charAt(pos))) pos++;
+            if (pos < text.length() && text.charAt(pos) == '.') {
+                pos++;
+                while (pos < text.length() && Character.isDigit(text.charAt(pos))) pos++;
+            }
+            if (pos < text.length() && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+                pos++;
+                if (pos < text.length() && (text.charAt(pos) == '+' || text.charAt(pos) == '-')) pos++;
+                final int digits = pos;
+                while (pos < text.length() && Character.isDigit(text.charAt(pos))) pos++;
+                if (digits == pos) {
+                    throw error("invalid number " + text.substring(start, pos));
+                }
+            }
+            final String number = text.substring(start, pos);
+            if (number.equals(".")) {
+                throw error("invalid number");
+            }
+            return Double.parseDouble(number);
+        }
+
+        private String parseIdentifier() {
+            final int start = pos;
+            while (pos < text.length() && (Character.isLetterOrDigit(text.charAt(pos))
+                    || text.charAt(pos) == '_')) {
+                pos++;
+            }
+            return text.substring(start, pos);
+        }
+
+        private Node variable(String name) {
+            int index = variables.indexOf(name);
+            if (index < 0) {
+                if (!declareVariables) {
+                    throw error("undeclared variable " + name);
+                }
+                variables.add(name);
+                index = variables.size() - 1;
+            }
+            return new Node(ExpressionProgram.VAR, index, 0);
+        }
+
+        private static Node constant(double value) {
+            return new Node(ExpressionProgram.CONST, 0, value);
+        }
+
+        private static Node binary(int op, Node left, Node right) {
+            return fold(new Node(op, 0, 0, left, right));
+        }
+
+        /**
+         * Replace an operation on constants with its result.
+         */
+        private static Node fold(Node node) {
+            for (Node arg : node.args) {
+                if (!arg.isConstant()) return node;
+            }
+            final int[] code = new int[countCode(node)];
+            final List<Double> constants = new ArrayList<Double>();
+            final int[] depth = new int[2];
+            emit(node, code, 0, constants, depth);
+            final double[] values = new double[constants.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = constants.get(i);
+            }
+            final ExpressionProgram program = new ExpressionProgram(
+                    "", new String[0], code, values, depth[1]);
+            return constant(program.evaluate(new double[0]));
+        }
+
+        private static int countCode(Node node) {
+            int count = 1;
+            if (node.op == ExpressionProgram.CONST
+                    || node.op == ExpressionProgram.VAR
+                    || node.op == ExpressionProgram.SUM
+                    || node.op == ExpressionProgram.FUNC1
+                    || node.op == ExpressionProgram.FUNC2) {
+                count++;
+            }
+            for (Node arg : node.args) {
+                count += countCode(arg);
+            }
+            return count;
+        }
+
+        /**
+         * Write the node in postfix order, tracking the current and
+         * maximum stack depth in <b>depth</b>.
+         */
+        private static int emit(Node node, int[] code, int pc,
+                List<Double> constants, int[] depth) {
+            for (Node arg : node.args) {
+                pc = emit(arg, code, pc, constants, depth);
+            }
+            code[pc++] = node.op;
+            switch (node.op) {
+                case ExpressionProgram.CONST:
+                    int index = constants.indexOf(node.value);
+                    if (index < 0) {
+                        constants.add(node.value);
+                        index = constants.size() - 1;
+                    }
+                    code[pc++] = index;
+                    depth[0]++;
+                    break;
+                case ExpressionProgram.VAR:
+                    code[pc++] = node.operand;
+                    depth[0]++;
+                    break;
+                case ExpressionProgram.SUM:
+                case ExpressionProgram.FUNC1:
+                case ExpressionProgram.FUNC2:
+                    code[pc++] = node.operand;
+                    depth[0] -= node.args.length - 1;
+                    break;
+                default:
+                    depth[0] -= node.args.length - 1;
+                    break;
+            }
+            depth[1] = Math.max(depth[1], depth[0]);
+            return pc;
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private boolean peek(String token) {
+            skipWhitespace();
+            return text.startsWith(token, pos);
+        }
+
+        private boolean accept(String token) {
+            if (peek(token)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String token) {
+            if (!accept(token)) {
+                throw error("expected '" + token + "'");
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.util;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An expression flattened into postfix primitive operations. The program
+ * runs over a <code>double</code> operand stack with no boxing or
+ * allocation per evaluation. A single spare stack is handed between
+ * callers so uncontended use does not allocate, while concurrent callers
+ * simply use their own stack.
+ */
+final class ExpressionProgram extends CompiledExpression {
+    static final int CONST = 0;
+    static final int VAR = 1;
+    static final int ADD = 2;
+    static final int SUB = 3;
+    static final int MUL = 4;
+    static final int DIV = 5;
+    static final int MOD = 6;
+    static final int POW = 7;
+    static final int NEG = 8;
+    static final int NOT = 9;
+    static final int LT = 10;
+    static final int GT = 11;
+    static final int LE = 12;
+    static final int GE = 13;
+    static final int EQ = 14;
+    static final int NE = 15;
+    static final int AND = 16;
+    static final int OR = 17;
+    static final int IF = 18;
+    static final int BITWISE = 19;
+    static final int SUM = 20;
+    static final int FUNC1 = 21;
+    static final int FUNC2 = 22;
+
+    static final int SIN = 0;
+    static final int COS = 1;
+    static final int TAN = 2;
+    static final int ASIN = 3;
+    static final int ACOS = 4;
+    static final int ATAN = 5;
+    static final int LOG = 6;
+    static final int LN = 7;
+    static final int EXP = 8;
+    static final int SQRT = 9;
+    static final int ABS = 10;
+    static final int ATAN2 = 11;
+    static final int MODF = 12;
+
+    private static final double LOG10 = Math.log(10);
+    private final int[] code;
+    private final double[] constants;
+    private final int maxStack;
+    private final AtomicReference<double[]> spare = new AtomicReference<double[]>();
+
+    ExpressionProgram(String expression, String[] variables,
+            int[] code, double[] constants, int maxStack) {
+        super(expression, variables);
+        this.code = code;
+        this.constants = constants;
+        this.maxStack = Math.max(1, maxStack);
+    }
+
+    @Override
+    public double evaluate(double value) {
+        checkSingleVariable();
+        return execute(value, null);
+    }
+
+    @Override
+    public double evaluate(double[] values) {
+        checkValues(values);
+        return execute(0.0, values);
+    }
+
+    private double execute(double x, double[] vars) {
+        double[] stack = spare.getAndSet(null);
+        if (stack == null) {
+            stack = new double[maxStack];
+        }
+        final double result = run(x, vars, stack);
+        spare.set(stack);
+        return result;
+    }
+
+    private double run(double x, double[] vars, double[] stack) {
+        final int[] code = this.code;
+        int sp = -1;
+        for (int pc = 0; pc < code.length; pc++) {
+            switch (code[pc]) {
+                case CONST:
+                    stack[++sp] = constants[code[++pc]];
+                    break;
+                case VAR: {
+                    final int index = code[++pc];
+                    stack[++sp] = vars == null ? x : vars[index];
+                    break;
+                }
+                case ADD:
+                    sp--;
+                    stack[sp] = stack[sp] + stack[sp + 1];
+                    break;
+                case SUB:
+                    sp--;
+                    stack[sp] = stack[sp] - stack[sp + 1];
+                    break;
+                case MUL:
+                    sp--;
+                    stack[sp] = stack[sp] * stack[sp + 1];
+                    break;
+                case DIV:
+                    sp--;
+                    stack[sp] = stack[sp] / stack[sp + 1];
+                    break;
+                case MOD:
+                    sp--;
+                    stack[sp] = stack[sp] % stack[sp + 1];
+                    break;
+                case POW:
+                    sp--;
+                    stack[sp] = Math.pow(stack[sp], stack[sp + 1]);
+                    break;
+                case NEG:
+                    stack[sp] = -stack[sp];
+                    break;
+                case NOT:
+                    stack[sp] = stack[sp] == 0 ? 1 : 0;
+                    break;
+                case LT:
+                    sp--;
+                    stack[sp] = stack[sp] < stack[sp + 1] ? 1 : 0;
+                    break;
+                case GT:
+                    sp--;
+                    stack[sp] = stack[sp] > stack[sp + 1] ? 1 : 0;
+                    break;
+                case LE:
+                    sp--;
+                    stack[sp] = stack[sp] <= stack[sp + 1] ? 1 : 0;
+                    break;
+                case GE:
+                    sp--;
+                    stack[sp] = stack[sp] >= stack[sp + 1] ? 1 : 0;
+                    break;
+                case EQ:
+                    sp--;
+                    stack[sp] = stack[sp] == stack[sp + 1] ? 1 : 0;
+                    break;
+                case NE:
+                    sp--;
+                    stack[sp] = stack[sp] != stack[sp + 1] ? 1 : 0;
+                    break;
+                case AND:
+                    sp--;
+                    stack[sp] = stack[sp] != 0 && stack[sp + 1] != 0 ? 1 : 0;
+                    break;
+                case OR:
+                    sp--;
+                    stack[sp] = stack[sp] != 0 || stack[sp + 1] != 0 ? 1 : 0;
+                    break;
+                case IF:
+                    sp -= 2;
+                    stack[sp] = stack[sp] > 0 ? stack[sp + 1] : stack[sp + 2];
+                    break;
+                case BITWISE:
+                    sp -= 2;
+                    stack[sp] = bitWise(stack[sp], stack[sp + 1], stack[sp + 2]);
+                    break;
+                case SUM: {
+                    final int count = code[++pc];
+                    // added from the last parameter back like JEP
+                    double sum = stack[sp];
+                    for (int i = sp - 1; i > sp - count; i--) {
+                        sum = stack[i] + sum;
+                    }
+                    sp -= count - 1;
+                    stack[sp] = sum;
+                    break;
+                }
+                case FUNC1:
+                    stack[sp] = function(code[++pc], stack[sp]);
+                    break;
+                case FUNC2:
+                    sp--;
+                    stack[sp] = function(code[++pc], stack[sp], stack[sp + 1]);
+                    break;
+                default:
+                    throw new IllegalStateException("Invalid operation " + code[pc]);
+            }
+        }
+        return stack[sp];
+    }
+
+    /**
+     * Same operations as the {@link BitWise} JEP function.
+     */
+    static double bitWise(double mask, double variable, double operation) {
+        final int m = (int) mask;
+        final int v = (int) variable;
+        switch ((int) operation) {
+            case 1:  return v & m;
+            case 2:  return v | m;
+            case 3:  return v ^ m;
+            case 4:  return v << m;
+            case 5:  return v >> m;
+            case 6:  return v >>> m;
+            case 7:  return ~v;
+            default: return 0;
+        }
+    }
+
+    static double function(int function, double a) {
+        switch (function) {
+            case SIN:  return Math.sin(a);
+            case COS:  return Math.cos(a);
+            case TAN:  return Math.tan(a);
+            case ASIN: return Math.asin(a);
+            case ACOS: return Math.acos(a);
+            case ATAN: return Math.atan(a);
+            case LOG:  return a > 0 ? Math.log(a) / LOG10 : Double.NaN;
+            case LN:   return a >= 0 ? Math.log(a) : Double.NaN;
+            case EXP:  return Math.exp(a);
+            case SQRT: return Math.sqrt(a);
+            case ABS:  return Math.abs(a);
+            default:
+                throw new IllegalStateException("Invalid function " + function);
+        }
+    }
+
+    static double function(int function, double a, double b) {
+        switch (function) {
+            case ATAN2: return Math.atan2(a, b);
+            case MODF:  return a % b;
+            default:
+                throw new IllegalStateException("Invalid function " + function);
+        }
+    }
+}
@@ -19,65 +19,63 @@
 
 package com.romraider.util;
 
-import org.nfunk.jep.JEP;
-
-import java.util.Collections;
 import java.util.Map;
-import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Evaluates definition expressions through a shared cache of
+ * {@link CompiledExpression}s. Evaluation does not lock, callers on a hot
+ * path should keep the result of {@link #compile(String)} rather than
+ * looking it up by expression text on every call.
+ */
 public final class JEPUtil {
-	@SuppressWarnings("serial")
-	static class LRUCache<K, V> extends LinkedHashMap<K, V> {
-		private int cacheSize;
-
-		public LRUCache(int cacheSize) {
-			super(32, 0.75f, true);
-			this.cacheSize = cacheSize;
-		}
-
-		@Override
-		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
-			return size() >= cacheSize;
-		}
-	};
+	private static final int MAX_CACHE_SIZE = 1024;
+	private static final Map<String, CompiledExpression> compiledCache =
+			new ConcurrentHashMap<String, CompiledExpression>();
+	private static final Map<String, CompiledExpression> freeVariableCache =
+			new ConcurrentHashMap<String, CompiledExpression>();
 
-	private static final Map<String, JEP> parserCache = Collections.synchronizedMap(new LRUCache<String, JEP>(32));
+	private JEPUtil() {
+	}
 
-	public static synchronized double evaluate(String expression, double value) {
-		JEP parser = parserCache.get(expression);
-		if (parser == null) {
-			parser = new JEP();
-			parser.addStandardFunctions();
-			parser.addFunction("BitWise", new BitWise());
-			parser.initSymTab(); // clear the contents of the symbol table
-			parser.addVariable("x", value);
-			parser.parseExpression(expression);
-			parserCache.put(expression, parser);
-		} else {
-			parser.setVarValue("x", value);
+	/**
+	 * Get the compiled form of an expression of the variable <code>x</code>.
+	 */
+	public static CompiledExpression compile(String expression) {
+		CompiledExpression compiled = compiledCache.get(expression);
+		if (compiled == null) {
+			compiled = ExpressionCompiler.compile(expression);
+			cache(compiledCache, expression, compiled);
 		}
-		return parser.getValue();
+		return compiled;
 	}
 
-	public static synchronized double evaluate(String expression, Map<String, Double> valueMap) {
-		JEP parser = parserCache.get(expression);
-		if (parser == null) {
-			parser = new JEP();
-			parser.initSymTab(); // clear the contents of the symbol table
-			for (String id : valueMap.keySet()) {
-				parser.addVariable(id, valueMap.get(id));
-			}
-			parser.parseExpression(expression);
-			parserCache.put(expression, parser);
-		} else {
+	public static double evaluate(String expression, double value) {
+		return compile(expression).evaluate(value);
+	}
 
-			for (String id : valueMap.keySet()) {
-				if (parser.getSymbolTable().containsKey(id)) {
-					parser.setVarValue(id, valueMap.get(id));
-				}
+	public static double evaluate(String expression, Map<String, Double> valueMap) {
+		CompiledExpression compiled = freeVariableCache.get(expression);
+		if (compiled == null) {
+			compiled = ExpressionCompiler.compileWithFreeVariables(expression);
+			cache(freeVariableCache, expression, compiled);
+		}
+		final double[] values = new double[compiled.getVariableCount()];
+		for (int i = 0; i < values.length; i++) {
+			final Double value = valueMap.get(compiled.getVariable(i));
+			if (value == null) {
+				return Double.NaN;
 			}
+			values[i] = value;
+		}
+		return compiled.evaluate(values);
+	}
 
+	private static void cache(Map<String, CompiledExpression> cache,
+			String expression, CompiledExpression compiled) {
+		if (cache.size() >= MAX_CACHE_SIZE) {
+			cache.clear();
 		}
-		return parser.getValue();
+		cache.put(expression, compiled);
 	}
 }
@@ -0,0 +1,86 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.nfunk.jep.JEP;
+
+/**
+ * Fallback for expressions the {@link ExpressionCompiler} does not
+ * handle natively. Evaluation is delegated to a private JEP parser and is
+ * serialized on this instance only.
+ */
+final class JepExpression extends CompiledExpression {
+    private final JEP parser;
+
+    private JepExpression(String expression, String[] variables, JEP parser) {
+        super(expression, variables);
+        this.parser = parser;
+    }
+
+    static JepExpression create(String expression, String[] variables) {
+        final JEP parser = createParser();
+        for (String variable : variables) {
+            parser.addVariable(variable, 0.0);
+        }
+        parser.parseExpression(expression);
+        return new JepExpression(expression, variables, parser);
+    }
+
+    static JepExpression createWithFreeVariables(String expression) {
+        final JEP parser = createParser();
+        parser.setAllowUndeclared(true);
+        parser.parseExpression(expression);
+        final List<String> variables = new ArrayList<String>();
+        for (Object key : parser.getSymbolTable().keySet()) {
+            variables.add(key.toString());
+        }
+        return new JepExpression(expression,
+                variables.toArray(new String[variables.size()]), parser);
+    }
+
+    private static JEP createParser() {
+        final JEP parser = new JEP();
+        parser.addStandardFunctions();
+        parser.addFunction("BitWise", new BitWise());
+        parser.initSymTab(); // clear the contents of the symbol table
+        return parser;
+    }
+
+    @Override
+    public synchronized double evaluate(double value) {
+        checkSingleVariable();
+        if (getVariableCount() == 1) {
+            parser.setVarValue(getVariable(0), value);
+        }
+        return parser.getValue();
+    }
+
+    @Override
+    public synchronized double evaluate(double[] values) {
+        checkValues(values);
+        for (int i = 0; i < getVariableCount(); i++) {
+            parser.setVarValue(getVariable(i), values[i]);
+        }
+        return parser.getValue();
+    }
+}
@@ -23,6 +23,7 @@ import static com.romraider.Version.VERSION;
 import static javax.swing.JOptionPane.INFORMATION_MESSAGE;
 import static javax.swing.JOptionPane.showMessageDialog;
 
+import java.awt.GraphicsEnvironment;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -68,6 +69,13 @@ public class SettingsManager {
     public static boolean getTesting() {
     	return testing;
     }
+
+    /**
+     * @return the directory the settings are loaded from and saved to
+     */
+    public static String getSettingsDir() {
+        return settingsDir;
+    }
     
     private static Settings load() {
         Settings loadedSettings;
@@ -99,9 +107,14 @@ public class SettingsManager {
                 throw new FileNotFoundException("file length is 0");
             }
         } catch (FileNotFoundException e) {
-            showMessageDialog(null,
-                    rb.getString("FNF"),
-                    rb.getString("ERROR"), INFORMATION_MESSAGE);
+            if (GraphicsEnvironment.isHeadless()) {
+                LOGGER.info("Settings file not found, using defaults");
+            }
+            else {
+                showMessageDialog(null,
+                        rb.getString("FNF"),
+                        rb.getString("ERROR"), INFORMATION_MESSAGE);
+            }
             loadedSettings = new Settings();
         } catch (Exception e) {
             throw new RuntimeException(e);
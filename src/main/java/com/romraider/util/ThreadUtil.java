@@ -22,6 +22,8 @@ package com.romraider.util;
 import org.apache.log4j.Logger;
 import java.util.concurrent.TimeUnit;
 
+import javax.swing.SwingUtilities;
+
 public final class ThreadUtil {
     private static final Logger LOGGER = Logger.getLogger(ThreadUtil.class);
 
@@ -42,6 +44,15 @@ public final class ThreadUtil {
         new Thread(runnable).start();
     }
 
+    // runs on the Swing event dispatch thread, at once if already on it
+    public static void runOnEdt(Runnable runnable) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            runnable.run();
+        } else {
+            SwingUtilities.invokeLater(runnable);
+        }
+    }
+
     public static void runAsDaemon(Runnable runnable) {
         Thread thread = new Thread(runnable);
         thread.setDaemon(true);
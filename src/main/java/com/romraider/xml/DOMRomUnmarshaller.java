@@ -222,73 +222,85 @@ public final class DOMRomUnmarshaller {
 
             if (n.getNodeType() == ELEMENT_NODE) {
                 String nodeName = n.getNodeName();
+                unmarshallRomIDField(romID, nodeName, unmarshallText(n));
 
-                if (nodeName.equalsIgnoreCase("xmlid")) {
-                    romID.setXmlid(unmarshallText(n));
+                if (nodeName.equalsIgnoreCase("memmodel")) {
+                    tableScaleHandler.setMemModelEndian(unmarshallAttribute(n, "endian", null));
+                }
+            } else { /* unexpected node-type in RomID (skip) */
+            }
+        }
+        return romID;
+    }
 
-                } else if (nodeName.equalsIgnoreCase("internalidaddress")) {
-                    romID.setInternalIdAddress(RomAttributeParser
-                            .parseHexString(unmarshallText(n)));
+    /**
+     * Set the RomID property for a child element of a romid element.
+     * @param romID - the RomID to update
+     * @param nodeName - the name of the child element
+     * @param text - the text content of the child element
+     */
+    public static void unmarshallRomIDField(RomID romID, String nodeName, String text) {
+        if (nodeName.equalsIgnoreCase("xmlid")) {
+            romID.setXmlid(text);
 
-                } else if (nodeName.equalsIgnoreCase("internalidstring")) {
-                    romID.setInternalIdString(unmarshallText(n));
+        } else if (nodeName.equalsIgnoreCase("internalidaddress")) {
+            romID.setInternalIdAddress(RomAttributeParser
+                    .parseHexString(text));
 
-                } else if (nodeName.equalsIgnoreCase("author")) {
-                    romID.setAuthor(unmarshallText(n));
+        } else if (nodeName.equalsIgnoreCase("internalidstring")) {
+            romID.setInternalIdString(text);
 
-                } else if (nodeName.equalsIgnoreCase("version")) {
-                    romID.setVersion(unmarshallText(n));
+        } else if (nodeName.equalsIgnoreCase("author")) {
+            romID.setAuthor(text);
 
-                } else if (nodeName.equalsIgnoreCase("caseid")) {
-                    romID.setCaseId(unmarshallText(n));
+        } else if (nodeName.equalsIgnoreCase("version")) {
+            romID.setVersion(text);
 
-                } else if (nodeName.equalsIgnoreCase("ecuid")) {
-                    romID.setEcuId(unmarshallText(n));
+        } else if (nodeName.equalsIgnoreCase("caseid")) {
+            romID.setCaseId(text);
 
-                } else if (nodeName.equalsIgnoreCase("make")) {
-                    romID.setMake(unmarshallText(n));
+        } else if (nodeName.equalsIgnoreCase("ecuid")) {
+            romID.setEcuId(text);
 
-                } else if (nodeName.equalsIgnoreCase("market")) {
-                    romID.setMarket(unmarshallText(n));
+        } else if (nodeName.equalsIgnoreCase("make")) {
+            romID.setMake(text);
 
-                } else if (nodeName.equalsIgnoreCase("model")) {
-                    romID.setModel(unmarshallText(n));
+        } else if (nodeName.equalsIgnoreCase("market")) {
+            romID.setMarket(text);
 
-                } else if (nodeName.equalsIgnoreCase("submodel")) {
-                    romID.setSubModel(unmarshallText(n));
+        } else if (nodeName.equalsIgnoreCase("model")) {
+            romID.setModel(text);
 
-                } else if (nodeName.equalsIgnoreCase("transmission")) {
-                    romID.setTransmission(unmarshallText(n));
+        } else if (nodeName.equalsIgnoreCase("submodel")) {
+            romID.setSubModel(text);
 
-                } else if (nodeName.equalsIgnoreCase("year")) {
-                    romID.setYear(unmarshallText(n));
+        } else if (nodeName.equalsIgnoreCase("transmission")) {
+            romID.setTransmission(text);
 
-                } else if (nodeName.equalsIgnoreCase("noramoffset")) {
-                    romID.disableRamOffset();
+        } else if (nodeName.equalsIgnoreCase("year")) {
+            romID.setYear(text);
 
-                } else if (nodeName.equalsIgnoreCase("offset")) {
-                    romID.setOffset(HexUtil.hexToInt(unmarshallText(n)));
+        } else if (nodeName.equalsIgnoreCase("noramoffset")) {
+            romID.disableRamOffset();
 
-                } else if (nodeName.equalsIgnoreCase("flashmethod")) {
-                    romID.setFlashMethod(unmarshallText(n));
+        } else if (nodeName.equalsIgnoreCase("offset")) {
+            romID.setOffset(HexUtil.hexToInt(text));
 
-                } else if (nodeName.equalsIgnoreCase("memmodel")) {
-                    romID.setMemModel(unmarshallText(n));
+        } else if (nodeName.equalsIgnoreCase("flashmethod")) {
+            romID.setFlashMethod(text);
 
-                    tableScaleHandler.setMemModelEndian(unmarshallAttribute(n, "endian", null));
-                } else if (nodeName.equalsIgnoreCase("filesize")) {
-                    romID.setFileSize(RomAttributeParser
-                            .parseFileSize(unmarshallText(n)));
+        } else if (nodeName.equalsIgnoreCase("memmodel")) {
+            romID.setMemModel(text);
 
-                } else if (nodeName.equalsIgnoreCase("obsolete")) {
-                    romID.setObsolete(Boolean.parseBoolean(unmarshallText(n)));
+        } else if (nodeName.equalsIgnoreCase("filesize")) {
+            romID.setFileSize(RomAttributeParser
+                    .parseFileSize(text));
 
-                } else { /* unexpected element in RomID (skip) */
-                }
-            } else { /* unexpected node-type in RomID (skip) */
-            }
+        } else if (nodeName.equalsIgnoreCase("obsolete")) {
+            romID.setObsolete(Boolean.parseBoolean(text));
+
+        } else { /* unexpected element in RomID (skip) */
         }
-        return romID;
     }
 
     /**
@@ -347,6 +347,17 @@ public final class DOMSettingsBuilder {
         protocol.setAttribute("library", validateAttr(settings.getJ2534Device()));
         loggerSettings.appendChild(protocol);
 
+        // simulated ECU
+        IIOMetadataNode simulator = new IIOMetadataNode("simulator");
+        simulator.setAttribute("enabled", String.valueOf(settings.isLoggerSimulatorEnabled()));
+        simulator.setAttribute("image", validateAttr(settings.getLoggerSimulatorImage()));
+        simulator.setAttribute("address",
+                "0x" + Integer.toHexString(settings.getLoggerSimulatorImageAddress()).toUpperCase());
+        simulator.setAttribute("latency", String.valueOf(settings.getLoggerSimulatorLatency()));
+        simulator.setAttribute("errorrate", String.valueOf(settings.getLoggerSimulatorErrorRate()));
+        simulator.setAttribute("baudtiming", String.valueOf(settings.isLoggerSimulatorBaudTiming()));
+        loggerSettings.appendChild(simulator);
+
         // window maximized
         IIOMetadataNode maximized = new IIOMetadataNode("maximized");
         maximized.setAttribute("value", String.valueOf((settings.isLoggerWindowMaximized())));
@@ -387,6 +398,7 @@ public final class DOMSettingsBuilder {
         filelogging.setAttribute("switchid", settings.getFileLoggingControllerSwitchId());
         filelogging.setAttribute("active", String.valueOf(settings.isFileLoggingControllerSwitchActive()));
         filelogging.setAttribute("absolutetimestamp", String.valueOf(settings.isFileLoggingAbsoluteTimestamp()));
+        filelogging.setAttribute("binary", String.valueOf(settings.isFileLoggingBinary()));
         loggerSettings.appendChild(filelogging);
 
         // debug level
@@ -425,6 +437,19 @@ public final class DOMSettingsBuilder {
             loggerSettings.appendChild(plugins);
         }
 
+        // parameter poll intervals
+        final Map<String, Integer> pollIntervals = settings.getLoggerPollIntervals();
+        if (!pollIntervals.isEmpty()) {
+            IIOMetadataNode intervals = new IIOMetadataNode("pollintervals");
+            for (Map.Entry<String, Integer> entry : pollIntervals.entrySet()) {
+                IIOMetadataNode parameter = new IIOMetadataNode("parameter");
+                parameter.setAttribute("id", entry.getKey());
+                parameter.setAttribute("interval", String.valueOf(entry.getValue()));
+                intervals.appendChild(parameter);
+            }
+            loggerSettings.appendChild(intervals);
+        }
+
         // Dashboard Gauge Index
         IIOMetadataNode gaugeindex = new IIOMetadataNode("gauge");
         gaugeindex.setAttribute("index", String.valueOf((settings.getLoggerSelectedGaugeIndex())));
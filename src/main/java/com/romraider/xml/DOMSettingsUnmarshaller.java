@@ -272,6 +272,15 @@ public final class DOMSettingsUnmarshaller {
                 settings.setFastPoll(unmarshallAttribute(n, "fastpoll", true));
                 settings.setJ2534Device(unmarshallAttribute(n, "library", null));
 
+            } else if (n.getNodeType() == ELEMENT_NODE && n.getNodeName().equalsIgnoreCase("simulator")) {
+                settings.setLoggerSimulatorEnabled(unmarshallAttribute(n, "enabled", false));
+                settings.setLoggerSimulatorImage(unmarshallAttribute(n, "image", ""));
+                settings.setLoggerSimulatorImageAddress(
+                        Integer.decode(unmarshallAttribute(n, "address", "0")));
+                settings.setLoggerSimulatorLatency(unmarshallAttribute(n, "latency", 10));
+                settings.setLoggerSimulatorErrorRate(unmarshallAttribute(n, "errorrate", 0.0));
+                settings.setLoggerSimulatorBaudTiming(unmarshallAttribute(n, "baudtiming", true));
+
             } else if (n.getNodeType() == ELEMENT_NODE && n.getNodeName().equalsIgnoreCase("maximized")) {
                 settings.setLoggerWindowMaximized(unmarshallAttribute(n, "value", false));
 
@@ -299,6 +308,7 @@ public final class DOMSettingsUnmarshaller {
                 settings.setFileLoggingControllerSwitchId(unmarshallAttribute(n, "switchid", settings.getFileLoggingControllerSwitchId()));
                 settings.setFileLoggingControllerSwitchActive(unmarshallAttribute(n, "active", true));
                 settings.setFileLoggingAbsoluteTimestamp(unmarshallAttribute(n, "absolutetimestamp", false));
+                settings.setFileLoggingBinary(unmarshallAttribute(n, "binary", false));
 
             } else if (n.getNodeType() == ELEMENT_NODE && n.getNodeName().equalsIgnoreCase("debug")) {
                 settings.setLoggerDebuggingLevel(unmarshallAttribute(n, "level", "info"));
@@ -312,6 +322,19 @@ public final class DOMSettingsUnmarshaller {
                 settings.setDynoThreshold(unmarshallAttribute(n, "threshold", "98"));
                 settings.setDynoThrottle(unmarshallAttribute(n, "units", "%"));
 
+            } else if (n.getNodeType() == ELEMENT_NODE && n.getNodeName().equalsIgnoreCase("pollintervals")) {
+                NodeList parameterNodes = n.getChildNodes();
+                for (int j = 0; j < parameterNodes.getLength(); j++) {
+                    Node parameterNode = parameterNodes.item(j);
+                    if (parameterNode.getNodeType() == ELEMENT_NODE && parameterNode.getNodeName().equalsIgnoreCase("parameter")) {
+                        String id = unmarshallAttribute(parameterNode, "id", null);
+                        if (id != null) {
+                            settings.setLoggerPollInterval(id.trim(),
+                                    unmarshallAttribute(parameterNode, "interval", 1));
+                        }
+                    }
+                }
+
             } else if (n.getNodeType() == ELEMENT_NODE && n.getNodeName().equalsIgnoreCase("plugins")) {
                 Map<String, String> pluginPorts = new HashMap<String, String>();
                 NodeList pluginNodes = n.getChildNodes();
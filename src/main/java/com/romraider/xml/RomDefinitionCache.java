@@ -0,0 +1,213 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.xml;
+
+import static com.romraider.util.ParamChecker.checkNotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.log4j.Logger;
+import org.xml.sax.SAXException;
+
+import com.romraider.util.SettingsManager;
+
+/**
+ * Keeps the {@link RomDefinitionIndex} of each definition file on disk so
+ * ROMs can be identified without reading the definitions again. An index
+ * is keyed by the definition's path and is rebuilt only when the size or
+ * modification time of the file, or of a file it includes, changes.
+ */
+public final class RomDefinitionCache {
+    private static final Logger LOGGER = Logger.getLogger(RomDefinitionCache.class);
+    private static final String CACHE_FILE = "/definitions.idx";
+    private static RomDefinitionCache instance;
+
+    private final File cacheFile;
+    private final Map<String, Record> records;
+    private boolean dirty;
+
+    private static final class Record implements Serializable {
+        private static final long serialVersionUID = 2385561307468142907L;
+        private final long length;
+        private final long modified;
+        private final RomDefinitionIndex index;
+        private final long[] includeLengths;
+        private final long[] includeModified;
+
+        Record(long length, long modified, RomDefinitionIndex index) {
+            this.length = length;
+            this.modified = modified;
+            this.index = index;
+            final List<File> includes = index.getIncludes();
+            includeLengths = new long[includes.size()];
+            includeModified = new long[includes.size()];
+            for (int i = 0; i < includeLengths.length; i++) {
+                includeLengths[i] = includes.get(i).length();
+                includeModified[i] = includes.get(i).lastModified();
+            }
+        }
+
+        boolean isCurrent(File definition) {
+            if (length != definition.length()
+                    || modified != definition.lastModified()) {
+                return false;
+            }
+            final List<File> includes = index.getIncludes();
+            for (int i = 0; i < includeLengths.length; i++) {
+                if (includeLengths[i] != includes.get(i).length()
+                        || includeModified[i] != includes.get(i).lastModified()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    RomDefinitionCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+        this.records = load(cacheFile);
+    }
+
+    /**
+     * @return the cache kept in the settings directory
+     */
+    public static synchronized RomDefinitionCache getInstance() {
+        if (instance == null) {
+            instance = new RomDefinitionCache(
+                    new File(SettingsManager.getSettingsDir() + CACHE_FILE));
+        }
+        return instance;
+    }
+
+    /**
+     * @return the index of the definition, built again only if the file
+     * changed since it was last indexed. Definitions are indexed outside
+     * the cache's lock so several files can be indexed at once.
+     */
+    public RomDefinitionIndex getIndex(File definition)
+            throws IOException, SAXException, ParserConfigurationException {
+        checkNotNull(definition, "definition");
+        final String key = definition.getAbsolutePath();
+        synchronized (this) {
+            final Record record = records.get(key);
+            if (record != null && record.isCurrent(definition)) {
+                return record.index;
+            }
+        }
+
+        final long length = definition.length();
+        final long modified = definition.lastModified();
+        final RomDefinitionIndex index = RomDefinitionIndex.build(definition);
+        synchronized (this) {
+            records.put(key, new Record(length, modified, index));
+            dirty = true;
+        }
+        LOGGER.debug("Indexed definition: " + key);
+        return index;
+    }
+
+    /**
+     * Write the cache if an index was added or replaced. Definitions which
+     * no longer exist are dropped.
+     */
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        for (Iterator<String> i = records.keySet().iterator(); i.hasNext(); ) {
+            if (!new File(i.next()).exists()) {
+                i.remove();
+            }
+        }
+
+        final File temp = new File(cacheFile.getPath() + ".tmp");
+        ObjectOutputStream out = null;
+        try {
+            cacheFile.getParentFile().mkdirs();
+            out = new ObjectOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(temp)));
+            out.writeObject(records);
+            out.close();
+            out = null;
+            if ((cacheFile.exists() && !cacheFile.delete())
+                    || !temp.renameTo(cacheFile)) {
+                throw new IOException("Unable to replace " + cacheFile);
+            }
+            dirty = false;
+        }
+        catch (IOException e) {
+            LOGGER.warn("Definition index cache write failed", e);
+        }
+        finally {
+            if (out != null) {
+                try {
+                    out.close();
+                }
+                catch (IOException e) {
+                    LOGGER.warn("Definition index cache close failed", e);
+                }
+            }
+            temp.delete();
+        }
+    }
+
+    // An unreadable or outdated cache is discarded and rebuilt as
+    // definitions are used
+    @SuppressWarnings("unchecked")
+    private static Map<String, Record> load(File cacheFile) {
+        if (cacheFile.exists()) {
+            ObjectInputStream in = null;
+            try {
+                in = new ObjectInputStream(
+                        new BufferedInputStream(new FileInputStream(cacheFile)));
+                return (Map<String, Record>) in.readObject();
+            }
+            catch (Exception e) {
+                LOGGER.info("Definition index cache discarded: " + e.getMessage());
+            }
+            finally {
+                if (in != null) {
+                    try {
+                        in.close();
+                    }
+                    catch (IOException e) {
+                        LOGGER.warn("Definition index cache close failed", e);
+                    }
+                }
+            }
+        }
+        return new HashMap<String, Record>();
+    }
+}
@@ -0,0 +1,399 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.xml;
+
+import static com.romraider.util.ParamChecker.checkNotNull;
+import static java.util.Collections.unmodifiableList;
+import static org.w3c.dom.Node.ELEMENT_NODE;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.sax.SAXSource;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.DefaultHandler2;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+import com.romraider.maps.RomID;
+
+/**
+ * An index of the ROMs in an ECU editor definition file, built in a single
+ * streaming pass without loading the file into a DOM. Each entry holds the
+ * unmarshalled romid of a rom element and the ID of the ROM it inherits
+ * from.
+ * <p>
+ * Once a ROM is identified only it and its chain of base ROMs need to be
+ * loaded, {@link #materialize(Entry)} builds a DOM holding just those rom
+ * elements plus the other top level elements, such as scalingbase, which
+ * {@link DOMRomUnmarshaller} then reads as before.
+ */
+public final class RomDefinitionIndex implements Serializable {
+    private static final long serialVersionUID = 5019478839602218311L;
+    private static final int ROM_DEPTH = 2;
+    private static final int ROMID_DEPTH = 3;
+    private static final int FIELD_DEPTH = 4;
+
+    private final File definition;
+    private final List<Entry> entries;
+    private final List<File> includes;
+    private transient volatile RomIdLookup lookup;
+
+    public static final class Entry implements Serializable {
+        private static final long serialVersionUID = 8131906125917347790L;
+        private final int ordinal;
+        private final RomID romID;
+        private final String base;
+
+        Entry(int ordinal, RomID romID, String base) {
+            this.ordinal = ordinal;
+            this.romID = romID;
+            this.base = base;
+        }
+
+        /**
+         * @return the position of the rom element among all rom elements
+         */
+        public int getOrdinal() {
+            return ordinal;
+        }
+
+        /**
+         * @return the first romid of the rom element or null if it has none
+         */
+        public RomID getRomID() {
+            return romID;
+        }
+
+        /**
+         * @return the xmlid of the base ROM or null if there is none
+         */
+        public String getBase() {
+            return base;
+        }
+    }
+
+    RomDefinitionIndex(File definition, List<Entry> entries, List<File> includes) {
+        this.definition = definition;
+        this.entries = unmodifiableList(entries);
+        this.includes = unmodifiableList(includes);
+    }
+
+    /**
+     * Index a definition file.
+     */
+    public static RomDefinitionIndex build(File definition)
+            throws IOException, SAXException, ParserConfigurationException {
+        checkNotNull(definition, "definition");
+        final IndexHandler handler = new IndexHandler();
+        final XMLReader reader = newReader();
+        reader.setContentHandler(handler);
+        reader.setEntityResolver(handler);
+        reader.setProperty("http://xml.org/sax/properties/lexical-handler", handler);
+        reader.parse(new InputSource(definition.toURI().toString()));
+        return new RomDefinitionIndex(definition, handler.entries,
+                new ArrayList<File>(handler.includes));
+    }
+
+    public File getDefinition() {
+        return definition;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return the local files read through XInclude while indexing
+     */
+    public List<File> getIncludes() {
+        return includes;
+    }
+
+    /**
+     * @return the first ROM whose ID matches the image or null
+     * @see RomID#checkMatch(byte[])
+     */
+    public Entry findMatch(byte[] input) {
+        RomIdLookup l = lookup;
+        if (l == null) {
+            l = new RomIdLookup(entries);
+            lookup = l;
+        }
+        return l.find(input);
+    }
+
+    /**
+     * @return the first ROM with the given xmlid, ignoring case, or null
+     */
+    public Entry findByXmlId(String xmlID) {
+        for (Entry entry : entries) {
+            if (entry.romID != null && entry.romID.getXmlid() != null
+                    && entry.romID.getXmlid().equalsIgnoreCase(xmlID)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the first ROM in the definition or null if there are none
+     */
+    public Entry getFirst() {
+        return entries.isEmpty() ? null : entries.get(0);
+    }
+
+    /**
+     * Load the rom element of the entry and those of its base ROMs.
+     * @return the rom element of the entry, the owning document contains
+     * only it, its bases and the top level elements which are not roms
+     */
+    public Node materialize(Entry entry) throws IOException, SAXException,
+            ParserConfigurationException, TransformerException {
+        checkNotNull(entry, "entry");
+        final Set<Integer> keep = new TreeSet<Integer>();
+        final Set<String> visited = new HashSet<String>();
+        for (Entry e = entry; e != null && keep.add(e.ordinal); ) {
+            // a looped inheritance is left for the unmarshaller to report
+            if (e.base == null || !visited.add(e.base.toLowerCase())) {
+                break;
+            }
+            e = findByXmlId(e.base);
+        }
+
+        final XMLFilterImpl filter = new RomFilter(keep);
+        filter.setParent(newReader());
+        final DOMResult result = new DOMResult();
+        TransformerFactory.newInstance().newTransformer().transform(
+                new SAXSource(filter, new InputSource(definition.toURI().toString())),
+                result);
+
+        // the entry's position among the kept rom elements
+        int rank = 0;
+        for (int ordinal : keep) {
+            if (ordinal == entry.ordinal) {
+                break;
+            }
+            rank++;
+        }
+        final Node root = ((Document) result.getNode()).getDocumentElement();
+        final NodeList nodes = root.getChildNodes();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            final Node n = nodes.item(i);
+            if (n.getNodeType() == ELEMENT_NODE
+                    && n.getNodeName().equalsIgnoreCase("rom") && rank-- == 0) {
+                return n;
+            }
+        }
+        return null;
+    }
+
+    // Match the DOM settings used to load definitions
+    private static XMLReader newReader() throws SAXException, ParserConfigurationException {
+        final SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setXIncludeAware(true);
+        return factory.newSAXParser().getXMLReader();
+    }
+
+    private static boolean isElement(String qName, String name) {
+        return qName.equalsIgnoreCase(name);
+    }
+
+    /**
+     * Collects the first romid of each top level rom element. Text is
+     * gathered the way DOMHelper.unmarshallText does, from the direct text
+     * children of an element, excluding CDATA sections.
+     */
+    private static final class IndexHandler extends DefaultHandler2 {
+        private final List<Entry> entries = new ArrayList<Entry>();
+        private final Set<File> includes = new LinkedHashSet<File>();
+        private final StringBuilder text = new StringBuilder();
+        private int depth;
+        private int ordinal;
+        private String base;
+        private RomID romID;
+        private boolean inRom;
+        private boolean inRomID;
+        private boolean romIDSeen;
+        private String field;
+        private boolean inCDATA;
+
+        @Override
+        public void startElement(String uri, String localName, String qName,
+                Attributes attributes) throws SAXException {
+            depth++;
+            if (depth == ROM_DEPTH && isElement(qName, "rom")) {
+                // indexing stops when a scan of several definitions is
+                // cancelled
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new SAXException("Indexing interrupted");
+                }
+                final String value = attributes.getValue("base");
+                base = value == null || value.equals("NaN")
+                        || value.equalsIgnoreCase("none") ? null : value;
+                romID = null;
+                inRom = true;
+                romIDSeen = false;
+            } else if (depth == ROMID_DEPTH && inRom && !romIDSeen
+                    && isElement(qName, "romid")) {
+                romID = new RomID();
+                inRomID = true;
+                romIDSeen = true;
+            } else if (depth == FIELD_DEPTH && inRomID) {
+                field = qName;
+                text.setLength(0);
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (field != null && depth == FIELD_DEPTH && !inCDATA) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (depth == FIELD_DEPTH && field != null) {
+                DOMRomUnmarshaller.unmarshallRomIDField(romID, field, text.toString());
+                field = null;
+            } else if (depth == ROMID_DEPTH && inRomID) {
+                inRomID = false;
+            } else if (depth == ROM_DEPTH && inRom) {
+                entries.add(new Entry(ordinal++, romID, base));
+                inRom = false;
+            }
+            depth--;
+        }
+
+        @Override
+        public void startCDATA() {
+            inCDATA = true;
+        }
+
+        // Included files are resolved through here, note each and let
+        // the parser read it as usual
+        @Override
+        public InputSource resolveEntity(String name, String publicId,
+                String baseURI, String systemId) {
+            if (systemId != null) {
+                try {
+                    final URI uri = baseURI == null
+                            ? new URI(systemId) : new URI(baseURI).resolve(systemId);
+                    if ("file".equalsIgnoreCase(uri.getScheme())) {
+                        includes.add(new File(uri));
+                    }
+                } catch (URISyntaxException e) {
+                    // not a file the cache can check
+                } catch (IllegalArgumentException e) {
+                    // not a file the cache can check
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void endCDATA() {
+            inCDATA = false;
+        }
+    }
+
+    /**
+     * Passes on everything except the rom elements which are not kept.
+     */
+    private static final class RomFilter extends XMLFilterImpl {
+        private final Set<Integer> keep;
+        private int depth;
+        private int ordinal;
+        private int skipDepth;
+
+        RomFilter(Set<Integer> keep) {
+            this.keep = keep;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName,
+                Attributes atts) throws SAXException {
+            depth++;
+            if (skipDepth == 0 && depth == ROM_DEPTH && isElement(qName, "rom")
+                    && !keep.contains(ordinal++)) {
+                skipDepth = depth;
+            }
+            if (skipDepth == 0) {
+                super.startElement(uri, localName, qName, atts);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName)
+                throws SAXException {
+            if (skipDepth == 0) {
+                super.endElement(uri, localName, qName);
+            } else if (skipDepth == depth) {
+                skipDepth = 0;
+            }
+            depth--;
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            if (skipDepth == 0) {
+                super.characters(ch, start, length);
+            }
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length)
+                throws SAXException {
+            if (skipDepth == 0) {
+                super.ignorableWhitespace(ch, start, length);
+            }
+        }
+
+        @Override
+        public void processingInstruction(String target, String data)
+                throws SAXException {
+            if (skipDepth == 0) {
+                super.processingInstruction(target, data);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.xml;
+
+import static com.romraider.util.HexUtil.asBytes;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.romraider.maps.RomID;
+import com.romraider.xml.RomDefinitionIndex.Entry;
+
+/**
+ * Hash lookup of the ROMs of a definition by the ID they expect in an
+ * image. The IDs are grouped by where they are read from, so identifying
+ * an image takes one map lookup per distinct ID address and length
+ * instead of a comparison per ROM.
+ */
+final class RomIdLookup {
+    private static final Charset RAW = Charset.forName("ISO-8859-1");
+
+    private final Map<Probe, Map<String, List<Entry>>> probes =
+            new LinkedHashMap<Probe, Map<String, List<Entry>>>();
+    // forced and malformed IDs are checked one by one
+    private final List<Entry> others = new ArrayList<Entry>();
+
+    RomIdLookup(List<Entry> entries) {
+        for (Entry entry : entries) {
+            final RomID romID = entry.getRomID();
+            if (romID == null) {
+                continue;
+            }
+            final String id = romID.getInternalIdString();
+            final int address = romID.getInternalIdAddress();
+            if (id == null || id.length() == 0) {
+                continue;
+            }
+            if (address < 0) {
+                others.add(entry);
+                continue;
+            }
+
+            final Probe probe;
+            final String key;
+            if (id.length() > 2 && id.substring(0, 2).equalsIgnoreCase("0x")) {
+                final byte[] bytes;
+                try {
+                    bytes = asBytes(id.substring(2));
+                }
+                catch (RuntimeException e) {
+                    others.add(entry);
+                    continue;
+                }
+                probe = new Probe(true, address, bytes.length);
+                key = new String(bytes, RAW);
+            }
+            else {
+                probe = new Probe(false, address, id.length());
+                key = id.toUpperCase(Locale.ENGLISH);
+            }
+
+            Map<String, List<Entry>> ids = probes.get(probe);
+            if (ids == null) {
+                ids = new HashMap<String, List<Entry>>();
+                probes.put(probe, ids);
+            }
+            List<Entry> matches = ids.get(key);
+            if (matches == null) {
+                matches = new ArrayList<Entry>(1);
+                ids.put(key, matches);
+            }
+            matches.add(entry);
+        }
+    }
+
+    /**
+     * @return the first ROM in definition order whose ID matches the image
+     * or null if there is none
+     */
+    Entry find(byte[] input) {
+        Entry found = null;
+        for (Map.Entry<Probe, Map<String, List<Entry>>> group : probes.entrySet()) {
+            final Probe probe = group.getKey();
+            if (input.length < probe.address + probe.length) {
+                continue;
+            }
+            final String key = probe.hex
+                    ? new String(input, probe.address, probe.length, RAW)
+                    : new String(input, probe.address, probe.length).toUpperCase(Locale.ENGLISH);
+            final List<Entry> matches = group.getValue().get(key);
+            if (matches != null) {
+                found = first(found, matches, input);
+            }
+        }
+        return first(found, others, input);
+    }
+
+    // The candidates are in definition order, confirm with the
+    // definition's own comparison
+    private static Entry first(Entry found, List<Entry> candidates, byte[] input) {
+        for (Entry entry : candidates) {
+            if (found != null && found.getOrdinal() < entry.getOrdinal()) {
+                break;
+            }
+            if (entry.getRomID().checkMatch(input)) {
+                return entry;
+            }
+        }
+        return found;
+    }
+
+    private static final class Probe {
+        private final boolean hex;
+        private final int address;
+        private final int length;
+
+        Probe(boolean hex, int address, int length) {
+            this.hex = hex;
+            this.address = address;
+            this.length = length;
+        }
+
+        @Override
+        public int hashCode() {
+            return (address * 31 + length) * 2 + (hex ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Probe)) {
+                return false;
+            }
+            final Probe other = (Probe) obj;
+            return hex == other.hex && address == other.address
+                    && length == other.length;
+        }
+    }
+}
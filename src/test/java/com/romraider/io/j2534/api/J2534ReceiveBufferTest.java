@@ -0,0 +1,60 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.io.j2534.api;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class J2534ReceiveBufferTest {
+
+    @Test
+    public void storesFramesAsSlicesOfOneArray() {
+        final J2534ReceiveBuffer frames = new J2534ReceiveBuffer(4);
+        frames.append(new byte[] {1, 2, 3}, 0, 3);
+        frames.append(new byte[] {9, 4, 5, 6}, 1, 3);
+        assertEquals(2, frames.getFrameCount());
+        assertEquals(6, frames.size());
+        assertEquals(3, frames.getOffset(1));
+        assertEquals(3, frames.getLength(1));
+        assertEquals(4, frames.array()[frames.getOffset(1)]);
+        assertArrayEquals(new byte[] {1, 2, 3, 4, 5, 6}, frames.toByteArray());
+
+        final byte[] response = new byte[4];
+        assertEquals(4, frames.copyTo(response));
+        assertArrayEquals(new byte[] {1, 2, 3, 4}, response);
+    }
+
+    @Test
+    public void reusesStorageAfterClear() {
+        final J2534ReceiveBuffer frames = new J2534ReceiveBuffer(4);
+        for (int i = 0; i < 10; i++) {
+            frames.append(new byte[] {(byte) i, 0}, 0, 2);
+        }
+        final byte[] array = frames.array();
+        frames.clear();
+        assertEquals(0, frames.getFrameCount());
+        frames.append(new byte[] {7}, 0, 1);
+        assertSame(array, frames.array());
+        assertEquals(0, frames.getOffset(0));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.io.protocol.ssm.iso9141;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.romraider.Settings;
+import com.romraider.logger.ecu.comms.query.EcuQuery;
+import com.romraider.logger.ecu.comms.query.EcuQueryImpl;
+import com.romraider.logger.ecu.definition.EcuAddressImpl;
+import com.romraider.logger.ecu.definition.EcuDataConvertor;
+import com.romraider.logger.ecu.definition.EcuParameterConvertorImpl;
+import com.romraider.logger.ecu.definition.EcuParameterImpl;
+import com.romraider.logger.ecu.definition.Module;
+import com.romraider.logger.ecu.exception.InvalidResponseException;
+import com.romraider.logger.ecu.ui.handler.dash.GaugeMinMax;
+
+public class SSMReadPlanTest {
+
+    @Test
+    public void sharesAddressesBetweenQueries() {
+        final EcuQuery word = query(0xFF6000, 2, "uint16");
+        final EcuQuery high = query(0xFF6000, 1, "uint8");
+        final EcuQuery other = query(0x000020, 1, "uint8");
+        final List<EcuQuery> queries = Arrays.asList(word, high, other, word);
+
+        final SSMReadPlan plan = new SSMReadPlan(queries, true);
+        assertEquals(1, plan.getReads().size());
+        final SSMReadPlan.Read read = plan.getReads().get(0);
+        assertFalse(read.isBlock());
+        assertEquals(3, read.getLength());
+        assertEquals(0x20, read.getAddresses()[0][2]);
+
+        plan.setData(read, new byte[] {0x11, 0x12, 0x34});
+        plan.setResponses();
+        assertEquals(0x1234, word.getResponse(), 0.0);
+        assertEquals(0x12, high.getResponse(), 0.0);
+        assertEquals(0x11, other.getResponse(), 0.0);
+
+        assertTrue(plan.isFor(new ArrayList<EcuQuery>(queries)));
+        assertFalse(plan.isFor(Arrays.asList(word, high, other)));
+    }
+
+    @Test
+    public void readsConsecutiveAddressesAsBlocks() {
+        final List<EcuQuery> queries = new ArrayList<EcuQuery>();
+        for (int i = 0; i < 25; i++) {
+            queries.add(query(0xFF8000 + i * 4, 4, "uint32"));
+        }
+        queries.add(query(0xFF9000, 1, "uint8"));
+
+        final SSMReadPlan plan = new SSMReadPlan(queries, true);
+        assertTrue(plan.hasBlockReads());
+        assertEquals(3, plan.getReads().size());
+        assertEquals(SSMReadPlan.MAX_BLOCK, plan.getReads().get(0).getLength());
+        assertEquals(4, plan.getReads().get(1).getLength());
+        assertFalse(plan.getReads().get(2).isBlock());
+
+        final SSMReadPlan listed = new SSMReadPlan(queries, false);
+        assertFalse(listed.hasBlockReads());
+        assertEquals(2, listed.getReads().size());
+        assertEquals(SSMReadPlan.MAX_ADDRESSES, listed.getReads().get(0).getLength());
+        assertEquals(101 - SSMReadPlan.MAX_ADDRESSES, listed.getReads().get(1).getLength());
+    }
+
+    @Test
+    public void decodesPreparedResponseInPlace() {
+        final EcuQuery word = query(0xFF6000, 2, "uint16");
+        final EcuQuery other = query(0x000020, 1, "uint8");
+        final Module module = new Module("ECU", new byte[] {0x10}, "ECU",
+                new byte[] {(byte) 0xF0}, false);
+        final SSMReadPlan plan = new SSMReadPlan(Arrays.asList(word, other), true);
+        plan.prepare(new SSMProtocol(), module);
+        final SSMReadPlan.Read read = plan.getReads().get(0);
+        final byte[] request = read.getRequest();
+        final byte[] response = read.getResponse();
+        assertEquals(request.length + 3 + SSMProtocol.RESPONSE_NON_DATA_BYTES,
+                response.length);
+
+        final byte[] frame = {(byte) 0x80, (byte) 0xF0, 0x10, 0x04, (byte) 0xE8,
+                0x11, 0x12, 0x34, 0};
+        frame[frame.length - 1] = SSMChecksumCalculator.calculateChecksum(frame);
+        System.arraycopy(request, 0, response, 0, request.length);
+        System.arraycopy(frame, 0, response, request.length, frame.length);
+        plan.setData(read);
+        plan.setResponses();
+        assertEquals(0x1234, word.getResponse(), 0.0);
+        assertEquals(0x11, other.getResponse(), 0.0);
+
+        plan.prepare(new SSMProtocol(), module);
+        assertSame(request, read.getRequest());
+        assertSame(response, read.getResponse());
+    }
+
+    @Test(expected = InvalidResponseException.class)
+    public void rejectsInvalidPreparedResponse() {
+        final Module module = new Module("ECU", new byte[] {0x10}, "ECU",
+                new byte[] {(byte) 0xF0}, false);
+        final SSMReadPlan plan = new SSMReadPlan(
+                Arrays.asList(query(0x000020, 1, "uint8")), true);
+        plan.prepare(new SSMProtocol(), module);
+        plan.setData(plan.getReads().get(0));
+    }
+
+    private static EcuQuery query(int address, int length, String dataType) {
+        return new EcuQueryImpl(new EcuParameterImpl("P" + address, "test", "test",
+                new EcuAddressImpl(String.format("0x%06X", address), length, -1),
+                null, null, null,
+                new EcuDataConvertor[] {
+                    new EcuParameterConvertorImpl("raw", "x", "0", -1, dataType,
+                            Settings.Endian.BIG, new HashMap<String, String>(),
+                            new GaugeMinMax(0, 255, 1))
+                }));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.io.serial.connection;
+
+import static com.romraider.util.HexUtil.asBytes;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class SerialReadBufferTest {
+
+    @Test
+    public void wrapsAndGrows() {
+        final SerialReadBuffer buffer = new SerialReadBuffer(4);
+        buffer.write(new byte[] {1, 2, 3}, 0, 3);
+        assertEquals(1, buffer.read());
+        assertEquals(2, buffer.read());
+        buffer.write(new byte[] {4, 5, 6}, 0, 3);
+        assertEquals(4, buffer.available());
+        buffer.write(new byte[] {7, 8}, 0, 2);
+        final byte[] bytes = new byte[6];
+        assertEquals(6, buffer.read(bytes, 0, bytes.length));
+        assertArrayEquals(new byte[] {3, 4, 5, 6, 7, 8}, bytes);
+        assertEquals(-1, buffer.read());
+    }
+
+    @Test
+    public void awaitTimesOut() {
+        final SerialReadBuffer buffer = new SerialReadBuffer(8);
+        buffer.write(new byte[] {1}, 0, 1);
+        assertTrue(buffer.await(1, 10L));
+        assertFalse(buffer.await(2, 10L));
+    }
+
+    @Test
+    public void completesSsmFrameAfterEcho() {
+        final byte[] request = sum("8010F005A800000020");
+        final byte[] response = sum("80F01002E812");
+        final SerialReadBuffer buffer = new SerialReadBuffer(16);
+        buffer.write(request, 0, request.length);
+        buffer.write(response, 0, response.length);
+        buffer.write(new byte[] {0x55}, 0, 1);
+
+        final long start = System.currentTimeMillis();
+        final int length = buffer.awaitFrame(request, SerialFrameFormat.SSM, 5000L);
+        assertTrue(System.currentTimeMillis() - start < 1000L);
+        assertEquals(request.length + response.length, length);
+    }
+
+    @Test
+    public void fallsBackToIdleOnBadChecksum() {
+        final byte[] request = sum("8010F005A800000020");
+        final byte[] response = sum("80F01002E812");
+        response[response.length - 1]++;
+        final SerialReadBuffer buffer = new SerialReadBuffer(16);
+        buffer.write(request, 0, request.length);
+        buffer.write(response, 0, response.length);
+
+        final long start = System.currentTimeMillis();
+        final int length = buffer.awaitFrame(request, SerialFrameFormat.SSM, 50L);
+        assertTrue(System.currentTimeMillis() - start >= 50L);
+        assertEquals(request.length + response.length, length);
+    }
+
+    @Test
+    public void skipsKwpResponsePending() {
+        final byte[] request = sum("8212F12101");
+        final byte[] pending = sum("83F1127F2178");
+        final byte[] response = sum("83F112610102");
+        final SerialReadBuffer buffer = new SerialReadBuffer(32);
+        buffer.write(request, 0, request.length);
+        buffer.write(pending, 0, pending.length);
+        // only the pending frame has arrived so the wait ends on the idle timeout
+        assertEquals(request.length + pending.length,
+                buffer.awaitFrame(request, SerialFrameFormat.KWP, 20L));
+
+        buffer.write(response, 0, response.length);
+        assertEquals(request.length + pending.length + response.length,
+                buffer.awaitFrame(request, SerialFrameFormat.KWP, 5000L));
+    }
+
+    @Test
+    public void completesDs2FrameWithoutEcho() {
+        final byte[] response = xor("1204A0");
+        final SerialReadBuffer buffer = new SerialReadBuffer(8);
+        buffer.write(response, 0, response.length);
+        assertEquals(response.length,
+                buffer.awaitFrame(xor("120400"), SerialFrameFormat.DS2, 5000L));
+    }
+
+    // hex frame with its sum checksum appended
+    private static byte[] sum(String hex) {
+        final byte[] bytes = asBytes(hex + "00");
+        int total = 0;
+        for (int i = 0; i < bytes.length - 1; i++) total += bytes[i] & 0xFF;
+        bytes[bytes.length - 1] = (byte) total;
+        return bytes;
+    }
+
+    // hex frame with its xor checksum appended
+    private static byte[] xor(String hex) {
+        final byte[] bytes = asBytes(hex + "00");
+        byte cs = 0;
+        for (int i = 0; i < bytes.length - 1; i++) cs ^= bytes[i];
+        bytes[bytes.length - 1] = cs;
+        return bytes;
+    }
+}
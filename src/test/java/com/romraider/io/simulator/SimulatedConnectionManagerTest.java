@@ -0,0 +1,159 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.io.simulator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.romraider.io.connection.ConnectionProperties;
+import com.romraider.io.protocol.ds2.iso9141.DS2Protocol;
+import com.romraider.io.protocol.ds2.iso9141.DS2ResponseProcessor;
+import com.romraider.io.protocol.ncs.iso14230.NCSProtocol;
+import com.romraider.io.protocol.ncs.iso14230.NCSResponseProcessor;
+import com.romraider.io.protocol.ssm.iso9141.SSMProtocol;
+import com.romraider.io.protocol.ssm.iso9141.SSMResponseProcessor;
+import com.romraider.logger.ecu.comms.manager.PollingStateImpl;
+import com.romraider.logger.ecu.comms.query.DS2EcuInit;
+import com.romraider.logger.ecu.definition.Module;
+import com.romraider.logger.ecu.exception.InvalidResponseException;
+
+public class SimulatedConnectionManagerTest {
+    private static final Module SSM_ECU = new Module(
+            "ECU", new byte[]{0x10}, "Engine", new byte[]{(byte) 0xF0}, true);
+    private static final Module NCS_ECU = new Module(
+            "ECU", new byte[]{0x10}, "Engine", new byte[]{(byte) 0xFC}, true);
+    private static final Module DS2_ECU = new Module(
+            "DME", new byte[]{0x12}, "Engine", new byte[]{0x00}, false);
+
+    @Test
+    public void ssmReadAddressIsEchoedAndValid() {
+        final byte[] memory = SimulatedConnectionManager.createMemory(null, 0);
+        memory[0x20] = 0x12;
+        memory[0x21] = 0x34;
+        final SimulatedConnectionManager manager = manager("SSM", memory);
+
+        final byte[] request = new SSMProtocol().constructReadAddressRequest(
+                SSM_ECU, new byte[][]{{0, 0, 0x20}, {0, 0, 0x21}});
+        final byte[] response = new byte[request.length + 8];
+        manager.send(request, response, new PollingStateImpl());
+
+        SSMResponseProcessor.validateResponse(response, request.length, SSM_ECU);
+        assertEquals(0x12, response[request.length + 5]);
+        assertEquals(0x34, response[request.length + 6]);
+    }
+
+    @Test
+    public void ncsReadsLoadedAddresses() {
+        final byte[] memory = SimulatedConnectionManager.createMemory(null, 0);
+        memory[0xFF8010] = 0x5A;
+        final SimulatedConnectionManager manager = manager("NCS", memory);
+        final NCSProtocol protocol = new NCSProtocol();
+
+        final Map<byte[], Integer> queries = new LinkedHashMap<byte[], Integer>();
+        queries.put(new byte[]{(byte) 0xFF, (byte) 0x80, 0x10}, 1);
+        final byte[] load = protocol.constructLoadAddressRequest(queries);
+        final byte[] loadResponse = new byte[4];
+        manager.send(load, loadResponse, new PollingStateImpl());
+        NCSResponseProcessor.validateResponse(loadResponse);
+
+        final byte[] read = protocol.constructReadAddressRequest(NCS_ECU, null);
+        final byte[] response = new byte[5];
+        manager.send(read, response, new PollingStateImpl());
+        assertArrayEquals(new byte[]{0x5A},
+                NCSResponseProcessor.extractResponseData(response));
+    }
+
+    @Test
+    public void ds2InitReturnsEcuId() {
+        final SimulatedConnectionManager manager = manager("DS2",
+                SimulatedConnectionManager.createMemory(null, 0));
+
+        final byte[] request = new DS2Protocol().constructEcuInitRequest(DS2_ECU);
+        final byte[] response = DS2ResponseProcessor.filterRequestFromResponse(
+                request, manager.send(request), new PollingStateImpl());
+        final DS2EcuInit init = new DS2EcuInit(
+                DS2ResponseProcessor.extractResponseData(response));
+        assertEquals("1437806", init.getEcuId());
+    }
+
+    @Test
+    public void errorsAreDetectedByTheProtocol() {
+        final SimulatedConnectionManager manager = manager("SSM",
+                SimulatedConnectionManager.createMemory(null, 0));
+        manager.setErrorRate(1.0);
+        manager.setSeed(1L);
+
+        final byte[] request = new SSMProtocol().constructReadAddressRequest(
+                SSM_ECU, new byte[][]{{0, 0, 0x20}});
+        for (int i = 0; i < 20; i++) {
+            final byte[] response = new byte[request.length + 7];
+            manager.send(request, response, new PollingStateImpl());
+            try {
+                SSMResponseProcessor.validateResponse(response, request.length, SSM_ECU);
+                fail("Expected an invalid response");
+            }
+            catch (InvalidResponseException expected) {
+            }
+        }
+    }
+
+    private static SimulatedConnectionManager manager(String protocol, byte[] memory) {
+        final SimulatedConnectionManager manager = new SimulatedConnectionManager(
+                protocol, new TestConnectionProperties(), memory);
+        manager.setBaudTiming(false);
+        manager.setLatency(0);
+        return manager;
+    }
+
+    private static final class TestConnectionProperties implements ConnectionProperties {
+        public int getBaudRate() {
+            return 4800;
+        }
+
+        public void setBaudRate(int b) {
+        }
+
+        public int getDataBits() {
+            return 8;
+        }
+
+        public int getStopBits() {
+            return 1;
+        }
+
+        public int getParity() {
+            return 0;
+        }
+
+        public int getConnectTimeout() {
+            return 1;
+        }
+
+        public int getSendTimeout() {
+            return 1;
+        }
+    }
+}
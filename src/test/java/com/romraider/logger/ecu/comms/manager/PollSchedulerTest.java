@@ -0,0 +1,134 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.logger.ecu.comms.manager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.romraider.Settings;
+import com.romraider.logger.ecu.comms.query.EcuQuery;
+import com.romraider.logger.ecu.comms.query.EcuQueryImpl;
+import com.romraider.logger.ecu.definition.EcuAddressImpl;
+import com.romraider.logger.ecu.definition.EcuDataConvertor;
+import com.romraider.logger.ecu.definition.EcuParameterConvertorImpl;
+import com.romraider.logger.ecu.definition.EcuParameterImpl;
+import com.romraider.logger.ecu.ui.handler.dash.GaugeMinMax;
+
+public class PollSchedulerTest {
+    private final Map<String, Integer> intervals = new HashMap<String, Integer>();
+
+    @Test
+    public final void testPollsEverythingByDefault() {
+        final List<EcuQuery> queries = queries(3);
+        final PollScheduler scheduler = new PollScheduler(intervals);
+        final List<EcuQuery> first = scheduler.next(queries, false);
+        assertEquals(queries, first);
+        assertFalse(scheduler.isReduced());
+        assertSame(first, scheduler.next(new ArrayList<EcuQuery>(queries), false));
+    }
+
+    @Test
+    public final void testInterleavesReducedIntervals() {
+        final List<EcuQuery> queries = queries(8);
+        final int[] interval = {1, 1, 2, 2, 4, 4, 4, 4};
+        for (int i = 0; i < interval.length; i++) {
+            intervals.put(queries.get(i).getLoggerData().getId(), interval[i]);
+        }
+        final PollScheduler scheduler = new PollScheduler(intervals);
+        final int[] polls = new int[queries.size()];
+        for (int cycle = 0; cycle < 8; cycle++) {
+            final List<EcuQuery> polled = scheduler.next(queries, false);
+            assertEquals(4, polled.size());
+            for (EcuQuery query : polled) {
+                polls[queries.indexOf(query)]++;
+            }
+        }
+        assertTrue(scheduler.isReduced());
+        for (int i = 0; i < interval.length; i++) {
+            assertEquals(8 / interval[i], polls[i]);
+        }
+        assertEquals(queries, scheduler.next(queries, true));
+    }
+
+    @Test
+    public final void testNeverPollsAnEmptyCycle() {
+        final List<EcuQuery> queries = queries(3);
+        final int[] interval = {2, 4, 8};
+        for (int i = 0; i < interval.length; i++) {
+            intervals.put(queries.get(i).getLoggerData().getId(), interval[i]);
+        }
+        final PollScheduler scheduler = new PollScheduler(intervals);
+        final int[] polls = new int[queries.size()];
+        for (int cycle = 0; cycle < 6; cycle++) {
+            final List<EcuQuery> polled = scheduler.next(queries, false);
+            assertFalse(polled.isEmpty());
+            for (EcuQuery query : polled) {
+                polls[queries.indexOf(query)]++;
+            }
+        }
+        assertTrue(polls[0] >= polls[1] && polls[1] >= polls[2]);
+        assertTrue(polls[2] > 0);
+
+        intervals.clear();
+        final List<EcuQuery> single = queries(1);
+        intervals.put(single.get(0).getLoggerData().getId(), 2);
+        for (int cycle = 0; cycle < 4; cycle++) {
+            assertEquals(single, scheduler.next(single, false));
+        }
+        assertFalse(scheduler.isReduced());
+    }
+
+    @Test
+    public final void testReplansWhenIntervalChanges() {
+        final List<EcuQuery> queries = queries(2);
+        final PollScheduler scheduler = new PollScheduler(intervals);
+        scheduler.next(queries, false);
+        intervals.put(queries.get(1).getLoggerData().getId(), 2);
+        assertEquals(2, scheduler.next(queries, false).size());
+        assertEquals(1, scheduler.next(queries, false).size());
+        intervals.remove(queries.get(1).getLoggerData().getId());
+        assertEquals(2, scheduler.next(queries, false).size());
+    }
+
+    private static List<EcuQuery> queries(int count) {
+        final List<EcuQuery> queries = new ArrayList<EcuQuery>();
+        for (int i = 0; i < count; i++) {
+            queries.add(new EcuQueryImpl(new EcuParameterImpl("T" + i, "test", "test",
+                    new EcuAddressImpl(String.format("0x%06X", i), 1, -1),
+                    null, null, null,
+                    new EcuDataConvertor[] {
+                        new EcuParameterConvertorImpl("raw", "x", "0", -1, "uint8",
+                                Settings.Endian.BIG, new HashMap<String, String>(),
+                                new GaugeMinMax(0, 255, 1))
+                    })));
+        }
+        return queries;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.logger.ecu.comms.manager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.romraider.logger.ecu.comms.query.Response;
+import com.romraider.logger.ecu.comms.query.ResponseImpl;
+import com.romraider.logger.ecu.ui.handler.DeliveryPolicy;
+
+public class ResponseRingBufferTest {
+
+    @Test
+    public final void testEveryCursorReceivesEachResponse() throws InterruptedException {
+        final ResponseRingBuffer ring = new ResponseRingBuffer(8);
+        final ResponseRingBuffer.Cursor first = ring.newCursor(DeliveryPolicy.LOSSLESS);
+        final ResponseRingBuffer.Cursor second = ring.newCursor(DeliveryPolicy.DROP_OLDEST);
+        final Response a = new ResponseImpl();
+        final Response b = new ResponseImpl();
+        ring.publish(a);
+        ring.publish(b);
+        assertSame(a, first.take());
+        assertSame(b, first.take());
+        assertSame(a, second.take());
+        assertSame(b, second.take());
+    }
+
+    @Test
+    public final void testDropOldestSkipsOverwrittenResponses() throws InterruptedException {
+        final ResponseRingBuffer ring = new ResponseRingBuffer(4);
+        final ResponseRingBuffer.Cursor cursor = ring.newCursor(DeliveryPolicy.DROP_OLDEST);
+        final List<Response> responses = publish(ring, 6);
+        assertSame(responses.get(2), cursor.take());
+        assertSame(responses.get(3), cursor.take());
+        assertEquals(2L, cursor.getDropped());
+    }
+
+    @Test
+    public final void testReaderCapacityBehindGetsOldestLeft() throws InterruptedException {
+        final ResponseRingBuffer ring = new ResponseRingBuffer(4);
+        final ResponseRingBuffer.Cursor cursor = ring.newCursor(DeliveryPolicy.DROP_OLDEST);
+        final List<Response> responses = publish(ring, 5);
+        assertSame(responses.get(1), cursor.take());
+        assertEquals(1L, cursor.getDropped());
+    }
+
+    @Test(timeout = 10000)
+    public final void testLaggingReaderNeverSeesNewerSlot() throws InterruptedException {
+        final int count = 200000;
+        final ResponseRingBuffer ring = new ResponseRingBuffer(4);
+        final ResponseRingBuffer.Cursor cursor = ring.newCursor(DeliveryPolicy.DROP_OLDEST);
+        final List<Response> responses = new ArrayList<Response>(count);
+        final Map<Response, Integer> order = new IdentityHashMap<Response, Integer>();
+        for (int i = 0; i < count; i++) {
+            final Response response = new ResponseImpl();
+            responses.add(response);
+            order.put(response, i);
+        }
+        final boolean[] ordered = {true};
+        final Thread consumer = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    int last = -1;
+                    Response response;
+                    while ((response = cursor.take()) != null) {
+                        final int taken = order.get(response);
+                        if (taken <= last) {
+                            ordered[0] = false;
+                        }
+                        last = taken;
+                    }
+                } catch (InterruptedException e) {
+                    // fall through
+                }
+            }
+        };
+        consumer.start();
+        for (Response response : responses) {
+            ring.publish(response);
+        }
+        cursor.close();
+        consumer.join();
+        assertTrue(ordered[0]);
+    }
+
+    @Test
+    public final void testLatestCoalescesBacklog() throws InterruptedException {
+        final ResponseRingBuffer ring = new ResponseRingBuffer(4);
+        final ResponseRingBuffer.Cursor cursor = ring.newCursor(DeliveryPolicy.LATEST);
+        final List<Response> responses = publish(ring, 3);
+        assertSame(responses.get(2), cursor.take());
+        assertEquals(2L, cursor.getDropped());
+    }
+
+    @Test
+    public final void testClosedCursorDrainsThenEnds() throws InterruptedException {
+        final ResponseRingBuffer ring = new ResponseRingBuffer(4);
+        final ResponseRingBuffer.Cursor cursor = ring.newCursor(DeliveryPolicy.LOSSLESS);
+        final List<Response> responses = publish(ring, 1);
+        cursor.close();
+        assertSame(responses.get(0), cursor.take());
+        assertNull(cursor.take());
+    }
+
+    @Test
+    public final void testReclaimOnlyWhenNoCursorCanRead() throws InterruptedException {
+        final ResponseRingBuffer ring = new ResponseRingBuffer(2);
+        final ResponseRingBuffer.Cursor cursor = ring.newCursor(DeliveryPolicy.DROP_OLDEST);
+        assertNull(ring.reclaim());
+        final List<Response> responses = publish(ring, 2);
+        assertNull(ring.reclaim());
+        assertSame(responses.get(0), cursor.take());
+        // still held by the consumer until its next take
+        assertNull(ring.reclaim());
+        assertSame(responses.get(1), cursor.take());
+        assertSame(responses.get(0), ring.reclaim());
+    }
+
+    @Test(timeout = 10000)
+    public final void testLosslessCursorReceivesAllUnderLoad() throws InterruptedException {
+        final int count = 100000;
+        final ResponseRingBuffer ring = new ResponseRingBuffer(16);
+        final ResponseRingBuffer.Cursor lossless = ring.newCursor(DeliveryPolicy.LOSSLESS);
+        final ResponseRingBuffer.Cursor latest = ring.newCursor(DeliveryPolicy.LATEST);
+        final long[] received = new long[1];
+        final Thread consumer = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    while (lossless.take() != null) {
+                        received[0]++;
+                    }
+                } catch (InterruptedException e) {
+                    // fall through
+                }
+            }
+        };
+        consumer.start();
+        for (int i = 0; i < count; i++) {
+            ring.publish(new ResponseImpl());
+        }
+        lossless.close();
+        latest.close();
+        consumer.join();
+        assertEquals(count, received[0]);
+        assertEquals(0L, lossless.getDropped());
+    }
+
+    private static List<Response> publish(ResponseRingBuffer ring, int count) {
+        final List<Response> responses = new ArrayList<Response>();
+        for (int i = 0; i < count; i++) {
+            final Response response = new ResponseImpl();
+            ring.publish(response);
+            responses.add(response);
+        }
+        return responses;
+    }
+}
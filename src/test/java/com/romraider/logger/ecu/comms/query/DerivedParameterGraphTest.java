@@ -0,0 +1,135 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.logger.ecu.comms.query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.romraider.logger.ecu.definition.EcuAddressImpl;
+import com.romraider.logger.ecu.definition.EcuData;
+import com.romraider.logger.ecu.definition.EcuDataConvertor;
+import com.romraider.logger.ecu.definition.EcuDerivedParameterConvertor;
+import com.romraider.logger.ecu.definition.EcuDerivedParameterConvertorImpl;
+import com.romraider.logger.ecu.definition.EcuDerivedParameterImpl;
+import com.romraider.logger.ecu.definition.EcuParameterImpl;
+import com.romraider.logger.ecu.ui.handler.dash.GaugeMinMax;
+
+public class DerivedParameterGraphTest {
+
+    @Test
+    public void convertsSharedParameterOncePerSample() {
+        final CountingConvertor rpmConvertor = new CountingConvertor();
+        final CountingConvertor loadConvertor = new CountingConvertor();
+        final EcuData rpm = parameter("P1", 0x10, 2, rpmConvertor);
+        final EcuData load = parameter("P2", 0x20, 1, loadConvertor);
+        final EcuQuery doubled = new EcuQueryImpl(derived("D1", "P1*2", rpm));
+        final EcuQuery sum = new EcuQueryImpl(derived("D2", "P1+P2", rpm, load));
+        final EcuQuery loadQuery = new EcuQueryImpl(load);
+        final List<EcuQuery> queries = Arrays.asList(doubled, sum, loadQuery);
+
+        final DerivedParameterGraph graph = new DerivedParameterGraph();
+        final List<EcuQuery> transmitted = graph.expand(queries);
+        assertEquals(2, transmitted.size());
+        assertTrue(transmitted.contains(loadQuery));
+        for (EcuQuery query : transmitted) {
+            assertFalse(query == doubled || query == sum);
+        }
+
+        for (int sample = 1; sample <= 2; sample++) {
+            for (EcuQuery query : graph.expand(queries)) {
+                query.setResponse(query == loadQuery
+                        ? new byte[]{3} : new byte[]{0x01, 0x00});
+            }
+            graph.evaluate(queries);
+            assertEquals(512.0, doubled.getResponse(), 0.0);
+            assertEquals(259.0, sum.getResponse(), 0.0);
+            assertEquals(sample, rpmConvertor.count);
+            assertEquals(sample, loadConvertor.count);
+        }
+        assertSame(transmitted, graph.expand(queries));
+    }
+
+    @Test
+    public void sendsQueriesWithoutDerivedParametersUnchanged() {
+        final List<EcuQuery> queries = Arrays.<EcuQuery>asList(
+                new EcuQueryImpl(parameter("P1", 0x10, 1, new CountingConvertor())));
+        assertSame(queries, new DerivedParameterGraph().expand(queries));
+    }
+
+    private static EcuData parameter(String id, int address, int length,
+            EcuDataConvertor convertor) {
+        return new EcuParameterImpl(id, id, id,
+                new EcuAddressImpl("0x" + Integer.toHexString(address), length, -1),
+                null, null, null, new EcuDataConvertor[]{convertor});
+    }
+
+    private static EcuData derived(String id, String expression, EcuData... ecuDatas) {
+        return new EcuDerivedParameterImpl(id, id, id, ecuDatas,
+                new EcuDerivedParameterConvertor[]{
+                    new EcuDerivedParameterConvertorImpl("units", expression, "0",
+                            new HashMap<String, String>(), new GaugeMinMax(0, 1000, 10))
+                });
+    }
+
+    private static final class CountingConvertor implements EcuDataConvertor {
+        private int count;
+
+        public double convert(byte[] bytes) {
+            count++;
+            int value = 0;
+            for (byte b : bytes) {
+                value = (value << 8) | (b & 0xFF);
+            }
+            return value;
+        }
+
+        public String format(double value) {
+            return String.valueOf(value);
+        }
+
+        public String getUnits() {
+            return "raw";
+        }
+
+        public GaugeMinMax getGaugeMinMax() {
+            return new GaugeMinMax(0, 65535, 1);
+        }
+
+        public String getFormat() {
+            return "0";
+        }
+
+        public String getExpression() {
+            return "x";
+        }
+
+        public String getDataType() {
+            return "uint16";
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.logger.ecu.comms.query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.romraider.Settings;
+import com.romraider.logger.ecu.definition.EcuAddressImpl;
+import com.romraider.logger.ecu.definition.EcuDataConvertor;
+import com.romraider.logger.ecu.definition.EcuParameterConvertorImpl;
+import com.romraider.logger.ecu.definition.EcuParameterImpl;
+import com.romraider.logger.ecu.ui.handler.dash.GaugeMinMax;
+
+public class EcuQueryPlannerTest {
+
+    @Test
+    public void mergesNearbyQueriesIntoRanges() {
+        final EcuQuery a = query(0x1000, "uint16");
+        final EcuQuery b = query(0x1004, "uint32");
+        final EcuQuery c = query(0x1002, "uint8");
+        final EcuQuery far = query(0x1100, "uint8");
+        final List<EcuQuery> queries = Arrays.asList(b, far, a, c);
+
+        final EcuQueryPlanner planner = new EcuQueryPlanner(63, 8);
+        final List<EcuQueryPlanner.Range> plan = planner.plan(queries);
+        assertEquals(2, plan.size());
+        assertEquals(0x1000, plan.get(0).getStart());
+        assertEquals(8, plan.get(0).getLength());
+        assertEquals(Arrays.asList(a, c, b), plan.get(0).getQueries());
+        assertSame(a, plan.get(0).getStartQuery().iterator().next());
+        assertEquals(1, plan.get(1).getLength());
+
+        assertSame(plan, planner.plan(Arrays.asList(b, far, a, c)));
+    }
+
+    @Test
+    public void splitsAtMaximumLengthAndGap() {
+        final EcuQuery a = query(0x1000, "uint32");
+        final EcuQuery b = query(0x1006, "uint32");
+        final EcuQuery c = query(0x1010, "uint8");
+
+        final List<EcuQueryPlanner.Range> plan =
+                new EcuQueryPlanner(12, 8).plan(Arrays.asList(a, b, c));
+        assertEquals(2, plan.size());
+        assertEquals(10, plan.get(0).getLength());
+        assertEquals(0x1010, plan.get(1).getStart());
+        assertEquals(1, plan.get(1).getLength());
+
+        assertEquals(3, new EcuQueryPlanner(63, 1).plan(Arrays.asList(a, b, c)).size());
+    }
+
+    private static EcuQuery query(int address, String dataType) {
+        return new EcuQueryImpl(new EcuParameterImpl("P" + address, "test", "test",
+                new EcuAddressImpl("0x" + Integer.toHexString(address), 1, -1),
+                null, null, null,
+                new EcuDataConvertor[] {
+                    new EcuParameterConvertorImpl("raw", "x", "0", -1, dataType,
+                            Settings.Endian.BIG, new HashMap<String, String>(),
+                            new GaugeMinMax(0, 255, 1))
+                }));
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.logger.ecu.definition;
+
+import static com.romraider.util.SaxParserFactory.getSaxParser;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.romraider.io.connection.ConnectionProperties;
+import com.romraider.logger.ecu.definition.xml.LoggerDefinitionHandler;
+
+public class LoggerDefinitionCacheTest {
+    private static final String LOGGER_DEFS =
+            "<logger version=\"test\">"
+            + "<protocols><protocol id=\"SSM\" baud=\"4800\" databits=\"8\" stopbits=\"1\""
+            + " parity=\"0\" connect_timeout=\"2000\" send_timeout=\"55\">"
+            + "<transports><transport id=\"iso9141\" name=\"K-Line\" desc=\"Serial\">"
+            + "<module id=\"ecu\" address=\"0x10\" desc=\"Engine\" tester=\"0xF0\" fastpoll=\"true\"/>"
+            + "</transport></transports>"
+            + "<parameters>"
+            + "<parameter id=\"P1\" name=\"Load\" desc=\"Engine load\">"
+            + "<address length=\"2\">0x000007</address>"
+            + "<conversions>"
+            + "<conversion units=\"%\" expr=\"x/2\" format=\"0.0\" gauge_min=\"0\" gauge_max=\"100\" gauge_step=\"10\"/>"
+            + "<conversion units=\"raw\" expr=\"x\" format=\"0\" storagetype=\"uint16\" endian=\"little\">"
+            + "<replace value=\"0\" with=\"Off\"/></conversion>"
+            + "</conversions></parameter>"
+            + "<parameter id=\"P2\" name=\"Twice load\" desc=\"Derived\">"
+            + "<depends><ref parameter=\"P1\"/></depends>"
+            + "<conversions><conversion units=\"%\" expr=\"[P1:%]*2\" format=\"0.00\"/></conversions>"
+            + "</parameter>"
+            + "</parameters>"
+            + "<switches><switch id=\"S1\" name=\"Clutch\" desc=\"Clutch switch\" byte=\"0x000121\" bit=\"7\"/>"
+            + "</switches>"
+            + "<dtcodes><dtcode id=\"D1\" name=\"P0100\" desc=\"MAF\" tmpaddr=\"0x00008E\" memaddr=\"0x0000A4\" bit=\"2\"/>"
+            + "</dtcodes>"
+            + "</protocol></protocols></logger>";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readsLoggerConfigWrittenForSameDefinition() throws Exception {
+        final File defs = writeDefinition(LOGGER_DEFS);
+        final LoggerDefinitionCache cache = new LoggerDefinitionCache(folder.newFolder("cache"));
+        assertNull(cache.getLoggerConfig(defs, "SSM", "S1", null));
+
+        cache.putLoggerConfig(defs, "SSM", "S1", null, parse(defs));
+        final LoggerConfig config = cache.getLoggerConfig(defs, "SSM", "S1", null);
+        assertNotNull(config);
+        assertNull(cache.getLoggerConfig(defs, "DS2", "S1", null));
+
+        assertEquals("test", config.getDefVersion());
+        final ConnectionProperties properties = config.getConnectionProperties();
+        assertEquals(4800, properties.getBaudRate());
+        assertEquals(55, properties.getSendTimeout());
+        final Map<Transport, Collection<Module>> transports = config.getProtocols().get("SSM");
+        final Transport transport = transports.keySet().iterator().next();
+        assertEquals("ISO9141", transport.getId());
+        final Module module = transports.get(transport).iterator().next();
+        assertArrayEquals(new byte[]{0x10}, module.getAddress());
+        assertTrue(module.getFastPoll());
+
+        assertEquals(2, config.getEcuParameters().size());
+        final EcuParameter load = config.getEcuParameters().get(0);
+        assertArrayEquals(new String[]{"0x000007", "0x000008"}, load.getAddress().getAddresses());
+        assertEquals(2, load.getConvertors().length);
+        final EcuDataConvertor raw = load.getConvertors()[1];
+        assertEquals(0x0201, raw.convert(new byte[]{1, 2}), 0.0);
+        assertEquals("Off", raw.format(0));
+        assertEquals(100.0, load.getConvertors()[0].getGaugeMinMax().max, 0.0);
+
+        final EcuParameter derived = config.getEcuParameters().get(1);
+        final EcuDerivedParameterConvertor convertor =
+                (EcuDerivedParameterConvertor) derived.getSelectedConvertor();
+        assertSame(load, convertor.getEcuDatas()[0]);
+        assertEquals(10.0, convertor.convert(new byte[]{0, 10}), 0.0);
+
+        final EcuSwitch clutch = config.getEcuSwitches().get(0);
+        assertEquals(7, clutch.getAddress().getBit());
+        assertEquals(1.0, clutch.getSelectedConvertor().convert(new byte[]{(byte) 0x80}), 0.0);
+        assertEquals("S1", config.getFileLoggingControllerSwitch().getId());
+        final EcuSwitch dtc = config.getEcuCodes().get(0);
+        assertArrayEquals(new String[]{"0x00008E", "0x0000A4"}, dtc.getAddress().getAddresses());
+        assertEquals(3.0, dtc.getSelectedConvertor().convert(new byte[]{4, 4}), 0.0);
+    }
+
+    @Test
+    public void ignoresEntryOnceDefinitionChanges() throws Exception {
+        final File defs = writeDefinition(LOGGER_DEFS);
+        final LoggerDefinitionCache cache = new LoggerDefinitionCache(folder.newFolder("cache"));
+        cache.putLoggerConfig(defs, "SSM", "S1", null, parse(defs));
+
+        writeDefinition(LOGGER_DEFS.replace("version=\"test\"", "version=\"next\""));
+        assertTrue(defs.setLastModified(defs.lastModified() + 2000));
+        assertNull(cache.getLoggerConfig(defs, "SSM", "S1", null));
+    }
+
+    @Test
+    public void readsEcuDefinitionsWrittenForSameFile() throws Exception {
+        final File defs = writeDefinition("<roms/>");
+        final LoggerDefinitionCache cache = new LoggerDefinitionCache(folder.newFolder("cache"));
+        final Map<String, EcuDefinition> definitions = new HashMap<String, EcuDefinition>();
+        definitions.put("2F12785206", new EcuDefinitionImpl(
+                "2F12785206", "A2WC510N", "2004 USDM WRX", null, defs));
+        cache.putEcuDefinitions(defs, definitions);
+
+        final EcuDefinition cached = cache.getEcuDefinitions(defs).get("2F12785206");
+        assertEquals("A2WC510N", cached.getCalId());
+        assertNull(cached.getInherits());
+        assertSame(defs, cached.getEcuDefFile());
+    }
+
+    private File writeDefinition(String xml) throws Exception {
+        final File defs = new File(folder.getRoot(), "logger.xml");
+        Files.write(defs.toPath(), xml.getBytes(StandardCharsets.UTF_8));
+        return defs;
+    }
+
+    private static LoggerConfig parse(File defs) throws Exception {
+        final LoggerDefinitionHandler handler = new LoggerDefinitionHandler("SSM", "S1", null);
+        getSaxParser().parse(defs, handler);
+        return new LoggerConfig(handler.getEcuParameters(), handler.getEcuSwitches(),
+                handler.getEcuCodes(), handler.getFileLoggingControllerSwitch(),
+                handler.getConnectionProperties(), handler.getVersion(),
+                handler.getProtocols());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.logger.ecu.definition.xml;
+
+import static com.romraider.util.SaxParserFactory.getSaxParser;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.romraider.logger.ecu.comms.query.EcuInit;
+import com.romraider.logger.ecu.definition.EcuParameter;
+
+public class LoggerDefinitionHandlerTest {
+    private static final String LOGGER_DEFS =
+            "<logger version=\"test\">"
+            + "<protocols><protocol id=\"SSM\" baud=\"4800\" databits=\"8\" stopbits=\"1\""
+            + " parity=\"0\" connect_timeout=\"2000\" send_timeout=\"55\">"
+            + "<parameters>"
+            + "<parameter id=\"P1\" name=\"Load\" desc=\"\" ecubyteindex=\"0\" ecubit=\"0\">"
+            + "<address>0x000007</address>"
+            + "<conversions><conversion units=\"%\" expr=\"x/2\" format=\"0.0\"/></conversions>"
+            + "</parameter>"
+            + "<parameter id=\"P2\" name=\"Speed\" desc=\"\" ecubyteindex=\"0\" ecubit=\"1\">"
+            + "<address>0x000010</address>"
+            + "<conversions><conversion units=\"km/h\" expr=\"x\" format=\"0\"/></conversions>"
+            + "</parameter>"
+            + "</parameters>"
+            + "<ecuparams>"
+            + "<ecuparam id=\"E1\" name=\"Knock\" desc=\"\">"
+            + "<ecu id=\"1111111111,2222222222\"><address length=\"2\">0xFF1000</address></ecu>"
+            + "<ecu id=\"3333333333\"><address bit=\"3\">0xFF2000</address></ecu>"
+            + "<conversions><conversion units=\"count\" expr=\"x\" format=\"0\"/></conversions>"
+            + "</ecuparam>"
+            + "<ecuparam id=\"E2\" name=\"Other\" desc=\"\">"
+            + "<ecu id=\"4444444444\"><address>0xFF3000</address></ecu>"
+            + "<conversions><conversion units=\"count\" expr=\"x\" format=\"0.0.0\"/></conversions>"
+            + "</ecuparam>"
+            + "</ecuparams>"
+            + "</protocol></protocols></logger>";
+
+    @Test
+    public void buildsOnlyParametersOfConnectedEcu() throws Exception {
+        final List<EcuParameter> params = parse(ecuInit("2222222222", 0x01));
+        assertEquals(2, params.size());
+        assertEquals("P1", params.get(0).getId());
+        final EcuParameter knock = params.get(1);
+        assertEquals("E1", knock.getId());
+        assertArrayEquals(new String[]{"0xFF1000", "0xFF1001"},
+                knock.getAddress().getAddresses());
+    }
+
+    @Test
+    public void usesAddressBitOfConnectedEcu() throws Exception {
+        final List<EcuParameter> params = parse(ecuInit("3333333333", 0x00));
+        assertEquals(1, params.size());
+        final EcuParameter knock = params.get(0);
+        assertArrayEquals(new String[]{"0xFF2000"}, knock.getAddress().getAddresses());
+        assertEquals(3, knock.getAddress().getBit());
+        assertEquals(1.0, knock.getSelectedConvertor().convert(new byte[]{0x08}), 0.0);
+    }
+
+    @Test
+    public void skipsEcuParamsWithoutEcuInit() throws Exception {
+        final List<EcuParameter> params = parse(null);
+        assertEquals(2, params.size());
+        assertTrue(params.get(0).getSelectedConvertor() != null);
+    }
+
+    private static List<EcuParameter> parse(EcuInit ecuInit) throws Exception {
+        final LoggerDefinitionHandler handler =
+                new LoggerDefinitionHandler("SSM", "S1", ecuInit);
+        getSaxParser().parse(new ByteArrayInputStream(
+                LOGGER_DEFS.getBytes(StandardCharsets.UTF_8)), handler);
+        return handler.getEcuParameters();
+    }
+
+    private static EcuInit ecuInit(final String ecuId, final int supported) {
+        return new EcuInit() {
+            @Override
+            public String getEcuId() {
+                return ecuId;
+            }
+
+            @Override
+            public byte[] getEcuInitBytes() {
+                return new byte[]{(byte) supported};
+            }
+        };
+    }
+}
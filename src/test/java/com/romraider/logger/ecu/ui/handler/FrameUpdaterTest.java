@@ -0,0 +1,95 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.logger.ecu.ui.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+
+import com.romraider.Settings;
+import com.romraider.logger.ecu.definition.EcuAddressImpl;
+import com.romraider.logger.ecu.definition.EcuDataConvertor;
+import com.romraider.logger.ecu.definition.EcuParameterConvertorImpl;
+import com.romraider.logger.ecu.definition.EcuParameterImpl;
+import com.romraider.logger.ecu.definition.LoggerData;
+import com.romraider.logger.ecu.ui.handler.dash.GaugeMinMax;
+
+public class FrameUpdaterTest {
+
+    @Test
+    public void coalescesValuesIntoOneFrame() throws Exception {
+        final LoggerData rpm = data("P8");
+        final LoggerData load = data("P2");
+        final double[][] seen = new double[2][];
+        final int[] frames = new int[1];
+        final boolean[] onEdt = {true};
+        final CountDownLatch latch = new CountDownLatch(1);
+        final FrameUpdater updater = new FrameUpdater(new FrameUpdater.Listener() {
+            public void updateValue(LoggerData loggerData, double value, double min, double max) {
+                onEdt[0] &= SwingUtilities.isEventDispatchThread();
+                seen[loggerData == rpm ? 0 : 1] = new double[] {value, min, max};
+            }
+
+            public void frameUpdated() {
+                frames[0]++;
+                latch.countDown();
+            }
+        });
+
+        // frames are drawn on the EDT, putting the values from it keeps a
+        // frame from being drawn between them however slow this thread is
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+                updater.put(rpm, 5);
+                updater.put(rpm, 1);
+                updater.put(load, 40);
+                updater.put(rpm, 9);
+                updater.put(rpm, 3);
+            }
+        });
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        Thread.sleep(FrameUpdater.FRAME_MILLIS * 3);
+
+        assertEquals(1, frames[0]);
+        assertTrue(onEdt[0]);
+        assertEquals(3, seen[0][0], 0.0);
+        assertEquals(1, seen[0][1], 0.0);
+        assertEquals(9, seen[0][2], 0.0);
+        assertEquals(40, seen[1][0], 0.0);
+    }
+
+    private static LoggerData data(String id) {
+        return new EcuParameterImpl(id, "test", "test",
+                new EcuAddressImpl("0x000020", 1, -1), null, null, null,
+                new EcuDataConvertor[] {
+                    new EcuParameterConvertorImpl("raw", "x", "0", -1, "uint8",
+                            Settings.Endian.BIG, new HashMap<String, String>(),
+                            new GaugeMinMax(0, 255, 1))
+                });
+    }
+}
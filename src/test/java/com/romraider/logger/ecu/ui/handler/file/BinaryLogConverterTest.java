@@ -0,0 +1,103 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.logger.ecu.ui.handler.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class BinaryLogConverterTest {
+    private static final String NEW_LINE = System.getProperty("line.separator");
+    private static final Map<String, String> NO_REPLACE = Collections.emptyMap();
+
+    @Test
+    public final void testConvertedLogMatchesCsvLayout() throws IOException {
+        final List<BinaryLogColumn> columns = Arrays.asList(
+                new BinaryLogColumn("Engine Speed", "rpm", BinaryLogColumn.STYLE_DECIMAL, "0", NO_REPLACE),
+                new BinaryLogColumn("Gear", "gear", BinaryLogColumn.STYLE_DECIMAL, "0",
+                        Collections.singletonMap("0", "N")),
+                new BinaryLogColumn("Clutch Switch", "switch", BinaryLogColumn.STYLE_SWITCH, "0", NO_REPLACE),
+                new BinaryLogColumn("A/F Sensor #1", "AFR", BinaryLogColumn.STYLE_DECIMAL, "0.00", NO_REPLACE));
+        final ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        final StringBuilder expected = new StringBuilder();
+        final BinaryLogWriter writer = new BinaryLogWriter(binary);
+        writer.writeSchema(columns, false, ",");
+        expected.append("Time (msec),Engine Speed (rpm),Gear (gear),Clutch Switch (switch),A/F Sensor #1 (AFR)")
+                .append(NEW_LINE);
+        final DecimalFormat rpm = new DecimalFormat("0");
+        final DecimalFormat afr = new DecimalFormat("0.00");
+        final long start = 1500000000000L;
+        // more than one block of rows
+        final int rows = BinaryLogWriter.ROWS_PER_BLOCK * 2 + 17;
+        for (int i = 0; i < rows; i++) {
+            final long timestamp = start + i * 47L + (i % 3);
+            final double[] values = {
+                    800 + i * 12.5,
+                    i % 6,
+                    i % 2,
+                    i == 5 ? Double.NaN : 10 + (i % 50) * 0.1234};
+            writer.writeRow(timestamp, values);
+            expected.append(timestamp - start)
+                    .append(',').append(rpm.format(values[0]))
+                    .append(',').append(values[1] == 0 ? "N" : rpm.format(values[1]))
+                    .append(',').append(values[2] > 0 ? "1" : "0")
+                    .append(',').append(afr.format(values[3]))
+                    .append(NEW_LINE);
+        }
+        writer.close();
+
+        final StringWriter csv = new StringWriter();
+        final long count = BinaryLogConverter.toCsv(
+                new ByteArrayInputStream(binary.toByteArray()), csv);
+        assertEquals(rows, count);
+        assertEquals(expected.toString(), csv.toString());
+        assertTrue(binary.size() * 4 < expected.length());
+    }
+
+    @Test
+    public final void testSchemaChangeWritesNewHeader() throws IOException {
+        final ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        final BinaryLogWriter writer = new BinaryLogWriter(binary);
+        writer.writeSchema(Collections.<BinaryLogColumn>emptyList(), false, ";");
+        writer.writeSchema(Collections.singletonList(new BinaryLogColumn(
+                "Boost", "psi", BinaryLogColumn.STYLE_DECIMAL, "0", NO_REPLACE)), false, ";");
+        writer.writeRow(100L, new double[] {7});
+        writer.writeRow(150L, new double[] {8});
+        writer.close();
+
+        final StringWriter csv = new StringWriter();
+        BinaryLogConverter.toCsv(new ByteArrayInputStream(binary.toByteArray()), csv);
+        assertEquals("Time (msec)" + NEW_LINE
+                + "Time (msec);Boost (psi)" + NEW_LINE
+                + "0;7" + NEW_LINE
+                + "50;8" + NEW_LINE, csv.toString());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.logger.ecu.ui.handler.graph;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class TimeSeriesBufferTest {
+
+    @Test
+    public final void testOldestSamplesAreReplacedWhenFull() {
+        final TimeSeriesBuffer buffer = new TimeSeriesBuffer(4);
+        for (int i = 0; i < 10; i++) {
+            buffer.add(i, i * 10.0);
+        }
+        assertEquals(4, buffer.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(6 + i, buffer.getTime(i));
+            assertEquals((6 + i) * 10.0, buffer.getValue(i), 0.0);
+        }
+        final long[] times = new long[4];
+        final double[] values = new double[4];
+        assertEquals(4, buffer.copy(times, values));
+        assertEquals(6, times[0]);
+        assertEquals(90.0, values[3], 0.0);
+    }
+
+    @Test
+    public final void testClearChangesModCount() {
+        final TimeSeriesBuffer buffer = new TimeSeriesBuffer(4);
+        buffer.add(1, 1.0);
+        final int modCount = buffer.getModCount();
+        buffer.clear();
+        assertEquals(0, buffer.size());
+        assertEquals(modCount + 1, buffer.getModCount());
+    }
+
+    @Test
+    public final void testDecimateKeepsSmallHistory() {
+        final TimeSeriesBuffer buffer = new TimeSeriesBuffer(8);
+        buffer.add(1, 3.0);
+        buffer.add(2, 4.0);
+        final long[] times = new long[4];
+        final double[] values = new double[4];
+        assertEquals(2, buffer.decimate(4, times, values));
+        assertEquals(2, times[1]);
+        assertEquals(4.0, values[1], 0.0);
+    }
+
+    @Test
+    public final void testDecimateKeepsBucketPeaksInTimeOrder() {
+        final TimeSeriesBuffer buffer = new TimeSeriesBuffer(16);
+        // wrap the ring so decimation starts part way through the arrays
+        for (int i = 0; i < 4; i++) {
+            buffer.add(-1, 0.0);
+        }
+        final double[] samples = {5, 1, 9, 5, 5, 5, 5, 5, 7, 7, 2, 7, 8, 8, 8, 0};
+        for (int i = 0; i < samples.length; i++) {
+            buffer.add(i, samples[i]);
+        }
+        final long[] times = new long[8];
+        final double[] values = new double[8];
+        final int count = buffer.decimate(8, times, values);
+        assertEquals(7, count);
+        final long[] expectedTimes = {1, 2, 4, 8, 10, 12, 15};
+        final double[] expectedValues = {1, 9, 5, 7, 2, 8, 0};
+        for (int i = 0; i < count; i++) {
+            assertEquals(expectedTimes[i], times[i]);
+            assertEquals(expectedValues[i], values[i], 0.0);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.maps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class AxisIndexTest {
+
+    @Test
+    public final void testAscendingMatchesLinearScan() {
+        final Random random = new Random(7);
+        for (int n = 1; n < 40; n++) {
+            final double[] values = new double[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = random.nextInt(20);
+            }
+            Arrays.sort(values);
+            final AxisIndex index = new AxisIndex(values, 0);
+            assertTrue(index.isAscending());
+            for (double x = -2; x < 23; x += 0.5) {
+                assertEquals(scanLower(values, x), index.lower(x));
+                assertEquals(scanUpper(values, x), index.upper(x));
+            }
+        }
+    }
+
+    @Test
+    public final void testDescendingBracketsAdjacentBreakpoints() {
+        final AxisIndex index = new AxisIndex(new double[] {10, 5, 0}, 0);
+        assertTrue(index.isMonotonic());
+        assertFalse(index.isAscending());
+        assertEquals(0, index.lower(7));
+        assertEquals(1, index.upper(7));
+        assertEquals(1, index.lower(5));
+        assertEquals(1, index.upper(5));
+        assertEquals(0, index.lower(12));
+        assertEquals(0, index.upper(12));
+        assertEquals(2, index.lower(-3));
+        assertEquals(2, index.upper(-3));
+    }
+
+    @Test
+    public final void testUnorderedAxisUsesLinearScan() {
+        final double[] values = {0, 10, 5, 20};
+        final AxisIndex index = new AxisIndex(values, 0);
+        assertFalse(index.isMonotonic());
+        for (double x = -1; x < 22; x += 0.5) {
+            assertEquals(scanLower(values, x), index.lower(x));
+            assertEquals(scanUpper(values, x), index.upper(x));
+        }
+    }
+
+    // the linear scan Table2D and Table3D used before the index
+    private static int scanLower(double[] values, double x) {
+        int start = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] <= x) start = i;
+        }
+        return start;
+    }
+
+    private static int scanUpper(double[] values, double x) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] >= x) return i;
+        }
+        return values.length - 1;
+    }
+}
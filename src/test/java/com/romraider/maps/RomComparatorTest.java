@@ -0,0 +1,92 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2022 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.maps;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class RomComparatorTest {
+    private static final int X_AXIS = 0x10;
+    private static final int Y_AXIS = 0x20;
+    private static final int DATA = 0x40;
+    private static final int SIZE_X = 4;
+    private static final int SIZE_Y = 3;
+
+    @Test
+    public final void testIdenticalTablesAreEqual() {
+        final byte[] binData = image();
+        assertTrue(RomComparator.equals(table(binData), table(binData.clone())));
+    }
+
+    @Test
+    public final void testAxisChangeIsDifferent() {
+        final byte[] binData = image();
+        final byte[] changed = binData.clone();
+        changed[X_AXIS + 2]++;
+        assertFalse(RomComparator.equals(table(binData), table(changed)));
+        final byte[] changedY = binData.clone();
+        changedY[Y_AXIS + SIZE_Y - 1]++;
+        assertFalse(RomComparator.equals(table(binData), table(changedY)));
+    }
+
+    @Test
+    public final void testLastRowChangeIsDifferent() {
+        final byte[] binData = image();
+        final byte[] changed = binData.clone();
+        changed[DATA + SIZE_X * SIZE_Y - 1]++;
+        assertFalse(RomComparator.equals(table(binData), table(changed)));
+    }
+
+    private static byte[] image() {
+        final byte[] binData = new byte[0x100];
+        for (int i = 0; i < binData.length; i++) {
+            binData[i] = (byte) (i * 7);
+        }
+        return binData;
+    }
+
+    private static Table3D table(byte[] binData) {
+        final Rom rom = new Rom(new RomID());
+        rom.populateTables(binData, null);
+        final Table3D table = new Table3D();
+        table.setName("Test Map");
+        table.setStorageType(1);
+        table.setStorageAddress(DATA);
+        table.setSizeX(SIZE_X);
+        table.setSizeY(SIZE_Y);
+        table.setXAxis(axis("X", X_AXIS, SIZE_X, rom));
+        table.setYAxis(axis("Y", Y_AXIS, SIZE_Y, rom));
+        table.setRom(rom);
+        table.populateTable(rom);
+        return table;
+    }
+
+    private static Table1D axis(String name, int address, int size, Rom rom) {
+        final Table1D axis = new Table1D();
+        axis.setName(name);
+        axis.setStorageType(1);
+        axis.setStorageAddress(address);
+        axis.setDataSize(size);
+        axis.setRom(rom);
+        return axis;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.maps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.romraider.Settings;
+import com.romraider.Settings.Endian;
+import com.romraider.xml.RomAttributeParser;
+
+public class RomImageTest {
+    private static final int[] STORAGE_TYPES = {1, 2, 4,
+            Settings.STORAGE_TYPE_MOVI20, Settings.STORAGE_TYPE_MOVI20S};
+
+    @Test
+    public final void testValuesMatchAttributeParser() {
+        final byte[] binData = new byte[512];
+        new Random(5).nextBytes(binData);
+        final RomImage image = RomImage.wrap(binData);
+        for (Endian endian : Endian.values()) {
+            for (int storageType : STORAGE_TYPES) {
+                for (int address = 1; address < binData.length - 4; address++) {
+                    for (boolean signed : new boolean[] {false, true}) {
+                        assertEquals(
+                                RomAttributeParser.parseByteValue(binData, endian, address, storageType, signed),
+                                image.getValue(address, storageType, endian, signed));
+                    }
+                    assertEquals(
+                            RomAttributeParser.parseByteValueMasked(binData, endian, address, storageType, false, 0x3C),
+                            image.getValueMasked(address, storageType, endian, false, 0x3C));
+                }
+            }
+            final byte[] floatBytes = new byte[4];
+            System.arraycopy(binData, 9, floatBytes, 0, 4);
+            assertEquals(RomAttributeParser.byteToFloat(floatBytes, Endian.BIG, endian),
+                    image.getFloat(9, endian), 0.0f);
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public final void testReadPastEndThrows() {
+        RomImage.wrap(new byte[8]).getValue(6, 4, Endian.BIG, false);
+    }
+
+    @Test
+    public final void testAddressIndexChainsCellsAtSameAddress() {
+        final RomAddressIndex index = new RomAddressIndex();
+        final Table table = new Table1D();
+        final DataCell[] cells = new DataCell[5000];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new DataCell(table, (Rom) null);
+            index.add(0x8000 + (i / 2) * 4, cells[i]);
+        }
+        assertEquals(cells.length / 2, index.size());
+        for (int i = 0; i < cells.length; i += 2) {
+            final DataCell first = index.get(0x8000 + (i / 2) * 4);
+            assertSame(cells[i + 1], first);
+            assertSame(cells[i], first.getNextAtAddress());
+            assertNull(first.getNextAtAddress().getNextAtAddress());
+        }
+        assertNull(index.get(0x8002));
+        index.clear();
+        assertEquals(0, index.size());
+        assertNull(index.get(0x8000));
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.maps.checksum;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ChecksumManagerTest {
+    private static final int SIZE = 0x30000;
+
+    @Test
+    public final void testStdMatchesWordLoop() {
+        final byte[] bin = image(1);
+        final ChecksumManager cm = manager(new ChecksumSTD(),
+                "start", "0", "end", "30000", "sumloc", "8000", "xorloc", "8004");
+        assertEquals(2, cm.update(bin));
+        final ByteBuffer bb = ByteBuffer.wrap(bin);
+        int sum = 0;
+        int xor = 0;
+        for (int i = 0; i < SIZE; i += 4) {
+            if (i == 0x8000 || i == 0x8004) continue;
+            sum += bb.getInt(i);
+            xor ^= bb.getInt(i);
+        }
+        assertEquals(sum, bb.getInt(0x8000));
+        assertEquals(xor, bb.getInt(0x8004));
+        assertEquals(2, cm.validate(bin));
+    }
+
+    @Test
+    public final void testAlt2MatchesReference() {
+        final byte[] bin = image(2);
+        final ChecksumManager cm = manager(new ChecksumALT2(),
+                "start", "0", "end", "30000", "sumloc", "100", "xorloc", "104", "skiploc", "20000");
+        cm.update(bin);
+        final int[] expected = alt2(bin, 0, 0x30000, 0x100, 0x104, 0x20000);
+        final ByteBuffer bb = ByteBuffer.wrap(bin);
+        assertEquals(expected[0], bb.getInt(0x100));
+        assertEquals(expected[1], bb.getInt(0x104));
+        assertEquals((short) expected[2], bb.getShort(0));
+        assertEquals((short) expected[3], bb.getShort(0x20000));
+        assertEquals(4, cm.validate(bin));
+    }
+
+    @Test
+    public final void testMotronicAndByteXorMatchByteLoops() {
+        final byte[] bin = image(3);
+        final ChecksumManager single = manager(new ChecksumMOTRONICSINGLE(),
+                "start", "10", "end", "1fff", "loc", "0", "initial", "1234");
+        final ChecksumManager dual = manager(new ChecksumMOTRONICDOUBLE(),
+                "start", "10", "end", "1fff", "loc", "2", "startsecond", "4000", "endsecond", "7fff");
+        final ChecksumManager xor = manager(new ChecksumBYTEXOR(),
+                "start", "8000", "end", "9000", "xorloc", "8800");
+        single.update(bin);
+        dual.update(bin);
+        xor.update(bin);
+        assertEquals(ChecksumMOTRONICSINGLE.calculate((short) 0x1234, bin, 0x10, 0x1fff),
+                ByteBuffer.wrap(bin).getShort(0));
+        assertEquals(ChecksumMOTRONICSINGLE.calculate(
+                ChecksumMOTRONICSINGLE.calculate((short) 0, bin, 0x10, 0x1fff), bin, 0x4000, 0x7fff),
+                ByteBuffer.wrap(bin).getShort(2));
+        byte x = 0;
+        for (int i = 0x8000; i < 0x9000; i++) {
+            if (i != 0x8800) x ^= bin[i];
+        }
+        assertEquals(x, bin[0x8800]);
+        assertEquals(1, single.validate(bin));
+        assertEquals(1, dual.validate(bin));
+        assertEquals(1, xor.validate(bin));
+    }
+
+    @Test
+    public final void testInvalidatedBytesAreRecalculated() {
+        final byte[] bin = image(4);
+        final ChecksumManager cm = manager(new ChecksumALT2(),
+                "start", "0", "end", "30000", "sumloc", "100", "xorloc", "104", "skiploc", "20000");
+        cm.update(bin);
+        final Random random = new Random(5);
+        for (int n = 0; n < 50; n++) {
+            final int offset = random.nextInt(SIZE - 8);
+            final int length = 1 + random.nextInt(7);
+            for (int i = offset; i < offset + length; i++) {
+                bin[i] = (byte) random.nextInt();
+            }
+            cm.invalidate(offset, length);
+            cm.update(bin);
+            final int[] expected = alt2(bin, 0, 0x30000, 0x100, 0x104, 0x20000);
+            final ByteBuffer bb = ByteBuffer.wrap(bin);
+            assertEquals(expected[0], bb.getInt(0x100));
+            assertEquals(expected[1], bb.getInt(0x104));
+            assertEquals((short) expected[2], bb.getShort(0));
+            assertEquals((short) expected[3], bb.getShort(0x20000));
+        }
+    }
+
+    @Test
+    public final void testValidateSeesUnreportedChange() {
+        final byte[] bin = image(6);
+        final ChecksumManager cm = manager(new ChecksumSTD(),
+                "start", "0", "end", "30000", "sumloc", "8000", "xorloc", "8004");
+        cm.update(bin);
+        bin[0x10] ^= 1;
+        assertEquals(0, cm.validate(bin));
+        bin[0x10] ^= 1;
+        assertEquals(2, cm.validate(bin));
+        final ChecksumManager xor = manager(new ChecksumBYTEXOR(),
+                "start", "8000", "end", "9000", "xorloc", "8800");
+        xor.update(bin);
+        bin[0x8010] ^= 1;
+        assertEquals(0, xor.validate(bin));
+        // a different image is always read in full
+        final byte[] copy = bin.clone();
+        copy[0x21] ^= 1;
+        assertEquals(0, cm.validate(copy));
+    }
+
+    private static ChecksumManager manager(ChecksumManager cm, String... vars) {
+        final Map<String, String> map = new HashMap<String, String>();
+        for (int i = 0; i < vars.length; i += 2) {
+            map.put(vars[i], vars[i + 1]);
+        }
+        cm.configure(map);
+        return cm;
+    }
+
+    private static byte[] image(long seed) {
+        final byte[] bin = new byte[SIZE];
+        new Random(seed).nextBytes(bin);
+        return bin;
+    }
+
+    // the word at a time calculation of the alt2 checksums
+    private static int[] alt2(byte[] bin, int start, int end, int sumloc, int xorloc, int skiploc) {
+        final ByteBuffer bb = ByteBuffer.wrap(bin);
+        int sumt = 0;
+        int xort = 0;
+        for (int i = start + 4; i < end; i += 4) {
+            if (i == sumloc || i == xorloc || i == skiploc) continue;
+            sumt += bb.getInt(i);
+            xort ^= bb.getInt(i);
+        }
+        short cal = 0;
+        for (int i = start + 2; i < skiploc; i += 2) {
+            if (i == sumloc || i == xorloc) {
+                final int dw = i == sumloc ? sumt : xort;
+                cal += (short) (dw >> 16);
+                cal += (short) dw;
+                i += 2;
+                continue;
+            }
+            cal += bb.getShort(i);
+        }
+        short code = 0;
+        for (int i = skiploc + 2; i < end; i += 2) {
+            code += bb.getShort(i);
+        }
+        return new int[] {sumt, xort, cal, code};
+    }
+}
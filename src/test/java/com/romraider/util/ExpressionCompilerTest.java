@@ -0,0 +1,103 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.romraider.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.nfunk.jep.JEP;
+
+public class ExpressionCompilerTest {
+    private static final String[] EXPRESSIONS = {
+        "x", "x*0.01", "x*.001333224", "(x-760)*.01933677", "x/.00390625",
+        "(x/.01933677)+760", "(x-7.350001)/-.000224304213", "x*1.8+32",
+        "-x^2", "2^-x", "2^3^x", "x%7", "-(x-128)*100/128", "x*1e-3+1.5E2",
+        "BitWise(24,x,1)", "BitWise(4,x,5)*0.5", "BitWise(0,x,7)", "BitWise(3,x,6)",
+        "sqrt(x)", "abs(x-200)", "log(x)", "ln(x+1)", "exp(x/100)",
+        "sin(x)+cos(x)*tan(x/3)", "atan(x)", "atan2(x, 3)", "mod(x,3)",
+        "if(x-100,1,2)", "sum(x,1,2,3)", "x>100", "x<=0 || x==14.7", "!(x>=5) && x!=3",
+        "1/x", "((((x))))", "  x  *  2  "
+    };
+    private static final double[] VALUES = {
+        0, 1, -1, 5, 14.7, 100, 128, 255, 760, 65535, -32768, 0.001, 4294967295.0
+    };
+
+    @Test
+    public final void testMatchesJep() {
+        for (String expression : EXPRESSIONS) {
+            final CompiledExpression compiled = ExpressionCompiler.compile(expression);
+            assertTrue(expression, compiled instanceof ExpressionProgram);
+            final JEP parser = createJep(expression);
+            for (double value : VALUES) {
+                parser.setVarValue("x", value);
+                assertEquals(expression + " at " + value,
+                        parser.getValue(), compiled.evaluate(value), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public final void testConstantsAreFolded() {
+        final CompiledExpression compiled = ExpressionCompiler.compile("x*(100/255)+2^3");
+        assertEquals(255 * (100.0 / 255) + 8, compiled.evaluate(255), 0.0);
+    }
+
+    @Test
+    public final void testUnsupportedFallsBackToJep() {
+        final CompiledExpression compiled = ExpressionCompiler.compile("cosh(x)");
+        assertTrue(compiled instanceof JepExpression);
+        final JEP parser = createJep("cosh(x)");
+        parser.setVarValue("x", 2.0);
+        assertEquals(parser.getValue(), compiled.evaluate(2.0), 0.0);
+    }
+
+    @Test
+    public final void testDeclaredVariables() {
+        final CompiledExpression compiled =
+                ExpressionCompiler.compile("P8*_P12_g_s_/(2*P8)", "P8", "_P12_g_s_");
+        assertEquals(2, compiled.getVariableCount());
+        assertEquals(5.0, compiled.evaluate(new double[] {3000, 10}), 0.0);
+    }
+
+    @Test
+    public final void testFreeVariables() {
+        final Map<String, Double> values = new HashMap<String, Double>();
+        values.put("rpm", 3000.0);
+        values.put("load", 1.5);
+        values.put("unused", 7.0);
+        assertEquals(4500.0, JEPUtil.evaluate("rpm*load", values), 0.0);
+        values.remove("load");
+        assertTrue(Double.isNaN(JEPUtil.evaluate("rpm*load", values)));
+    }
+
+    private static JEP createJep(String expression) {
+        final JEP parser = new JEP();
+        parser.addStandardFunctions();
+        parser.addFunction("BitWise", new BitWise());
+        parser.initSymTab();
+        parser.addVariable("x", 0);
+        parser.parseExpression(expression);
+        return parser;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RomDefinitionCacheTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void reusesIndexUntilDefinitionChanges() throws Exception {
+        final File definition = copyDefinition();
+        final File cacheFile = new File(folder.getRoot(), "definitions.idx");
+
+        final RomDefinitionCache cache = new RomDefinitionCache(cacheFile);
+        final RomDefinitionIndex index = cache.getIndex(definition);
+        assertSame(index, cache.getIndex(definition));
+        cache.save();
+        assertTrue(cacheFile.isFile());
+
+        final RomDefinitionCache reloaded = new RomDefinitionCache(cacheFile);
+        final RomDefinitionIndex cached = reloaded.getIndex(definition);
+        assertEquals(2, cached.getEntries().size());
+        assertEquals("32BITBASE", cached.findByXmlId("A2WC522S").getBase());
+        assertSame(cached, reloaded.getIndex(definition));
+
+        assertTrue(definition.setLastModified(definition.lastModified() + 2000));
+        assertNotSame(cached, reloaded.getIndex(definition));
+    }
+
+    @Test
+    public void rebuildsIndexWhenIncludedFileChanges() throws Exception {
+        final File definition = folder.newFile("main.xml");
+        Files.write(definition.toPath(), ("<roms xmlns:xi=\"http://www.w3.org/2001/XInclude\">"
+                + "<xi:include href=\"included.xml\"/></roms>").getBytes("UTF-8"));
+        final File included = new File(folder.getRoot(), "included.xml");
+        Files.write(included.toPath(), rom("FIRST").getBytes("UTF-8"));
+        final File cacheFile = new File(folder.getRoot(), "definitions.idx");
+
+        final RomDefinitionCache cache = new RomDefinitionCache(cacheFile);
+        assertEquals("FIRST", cache.getIndex(definition).getFirst().getRomID().getXmlid());
+        cache.save();
+
+        final RomDefinitionCache reloaded = new RomDefinitionCache(cacheFile);
+        final RomDefinitionIndex cached = reloaded.getIndex(definition);
+        assertSame(cached, reloaded.getIndex(definition));
+        Files.write(included.toPath(), rom("SECOND").getBytes("UTF-8"));
+        assertTrue(included.setLastModified(included.lastModified() + 2000));
+        final RomDefinitionIndex rebuilt = reloaded.getIndex(definition);
+        assertNotSame(cached, rebuilt);
+        assertEquals("SECOND", rebuilt.getFirst().getRomID().getXmlid());
+    }
+
+    @Test
+    public void discardsUnreadableCache() throws Exception {
+        final File cacheFile = folder.newFile("definitions.idx");
+        Files.write(cacheFile.toPath(), new byte[] {1, 2, 3});
+        final RomDefinitionCache cache = new RomDefinitionCache(cacheFile);
+        assertEquals(2, cache.getIndex(copyDefinition()).getEntries().size());
+    }
+
+    private static String rom(String xmlID) {
+        return "<rom><romid><xmlid>" + xmlID + "</xmlid></romid></rom>";
+    }
+
+    private File copyDefinition() throws Exception {
+        final File definition = new File(folder.getRoot(), "definition.xml");
+        Files.copy(new File("src/test/definitions/scalingbase_test.xml").toPath(),
+                definition.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return definition;
+    }
+}
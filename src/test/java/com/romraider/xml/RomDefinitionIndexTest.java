@@ -0,0 +1,89 @@
+/*
+ * RomRaider Open-Source Tuning, Logging and Reflashing
+ * Copyright (C) 2006-2026 RomRaider.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.romraider.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+
+import org.junit.Test;
+import org.xml.sax.SAXException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import com.romraider.xml.RomDefinitionIndex.Entry;
+
+public class RomDefinitionIndexTest {
+    private final File definition = new File("src/test/definitions/scalingbase_test.xml");
+
+    @Test
+    public void indexesTopLevelRoms() throws Exception {
+        final RomDefinitionIndex index = RomDefinitionIndex.build(definition);
+        assertEquals(2, index.getEntries().size());
+        assertEquals("32BITBASE", index.getFirst().getRomID().getXmlid());
+        assertNull(index.getFirst().getBase());
+
+        final Entry entry = index.findByXmlId("a2wc522s");
+        assertEquals("A2WC522S", entry.getRomID().getXmlid());
+        assertEquals("32BITBASE", entry.getBase());
+    }
+
+    @Test(expected = SAXException.class)
+    public void stopsIndexingWhenInterrupted() throws Exception {
+        Thread.currentThread().interrupt();
+        try {
+            RomDefinitionIndex.build(definition);
+        }
+        finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void findsRomByImageID() throws Exception {
+        final RomDefinitionIndex index = RomDefinitionIndex.build(definition);
+        final byte[] image = new byte[0x4000];
+        assertNull(index.findMatch(image));
+
+        System.arraycopy("a2wc522s".getBytes("US-ASCII"), 0, image, 0x2000, 8);
+        assertEquals("A2WC522S", index.findMatch(image).getRomID().getXmlid());
+        assertNull(index.findMatch(new byte[0x2004]));
+    }
+
+    @Test
+    public void materializesRomWithBaseChain() throws Exception {
+        final RomDefinitionIndex index = RomDefinitionIndex.build(definition);
+        final Node rom = index.materialize(index.findByXmlId("A2WC522S"));
+        final Document doc = rom.getOwnerDocument();
+        assertEquals(2, doc.getElementsByTagName("rom").getLength());
+        assertEquals("A2WC522S", ((Element) rom).getElementsByTagName("xmlid")
+                .item(0).getTextContent());
+    }
+
+    @Test
+    public void materializesBaseRomOnly() throws Exception {
+        final RomDefinitionIndex index = RomDefinitionIndex.build(definition);
+        final Node rom = index.materialize(index.getFirst());
+        assertEquals(1, rom.getOwnerDocument().getElementsByTagName("rom").getLength());
+    }
+}